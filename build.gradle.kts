@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.kapil"
@@ -58,6 +59,8 @@ dependencies {
 
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
+    jmh("org.springframework:spring-test")
+
 }
 
 configurations.configureEach {
@@ -87,6 +90,11 @@ tasks.withType<Test> {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    includeTests.set(false)
+}
+
 springBoot {
     mainClass.set("com.kapil.personalwebsite.PersonalWebsiteApplication")
 }
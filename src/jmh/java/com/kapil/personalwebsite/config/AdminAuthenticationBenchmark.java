@@ -0,0 +1,61 @@
+package com.kapil.personalwebsite.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures admin HTTP Basic authentication throughput, as seen by a bulk CMS sync repeating the same credentials:
+ * the BCrypt-backed {@link DaoAuthenticationProvider} alone against the same provider behind
+ * {@link CachingAuthenticationProvider}. Run with {@code ./gradlew jmh}.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminAuthenticationBenchmark {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "benchmark-password";
+
+    private AuthenticationProvider bcrypt;
+    private AuthenticationProvider cached;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername(USERNAME)
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("ADMIN")
+                .build());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(users);
+        provider.setPasswordEncoder(passwordEncoder);
+        bcrypt = provider;
+        cached = new CachingAuthenticationProvider(provider, Duration.ofMinutes(5), 64);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication bcryptOnly() {
+        return bcrypt.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication cachedCredentials() {
+        return cached.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the servlet filter chain (ban, probe, origin, rate limit and AI concurrency filters) per request route,
+ * and compares the shared {@link RouteClassifier} against the per-filter path matching it replaced: lowercasing the
+ * URI and scanning the probe list, then one predicate chain per filter over repeated {@code getServletPath()} calls.
+ * Run with {@code ./gradlew jmh}; use {@code -prof gc} to compare allocation rates.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    private static final String ORIGIN = "https://example.com";
+
+    private static final List<String> LEGACY_SENSITIVE_PATTERNS = List.of(
+            "/.env", "/.git/", "/.git/config", "/.gitignore", "/wp-config.php", "/wp-config.inc.php",
+            "/wp-config.bak", "/wp-config.txt", "/settings.py", "/config.php", "/config.inc.php", "/config.bak",
+            "/.htaccess", "/.htpasswd", "/.ssh/", "/.aws/", "/.docker/", "/docker-compose.yml",
+            "/docker-compose.yaml", "/.env.local", "/.env.production", "/.env.development", "/.env.test",
+            "/.env.backup", "/composer.json", "/package.json", "/yarn.lock", "/package-lock.json", "/.idea/",
+            "/.vscode/", "/.ds_store", "/web.config", "/application.properties", "/application.yml",
+            "/application.yaml", "/application-dev.properties", "/application-prod.properties",
+            "/application-local.properties");
+
+    @Param({"GET /blogs/published/some-post", "POST /blogs/published/some-post/ask", "POST /contact",
+            "GET /portfolio"})
+    public String route;
+
+    private String method;
+    private String servletPath;
+    private RouteClassifier routeClassifier;
+    private List<Filter> filters;
+
+    @Setup
+    public void setUp() {
+        method = route.substring(0, route.indexOf(' '));
+        servletPath = route.substring(route.indexOf(' ') + 1);
+        routeClassifier = new RouteClassifier("");
+        // Limits high enough that no iteration is rejected, so every request runs the whole chain.
+        var bucket = new RateLimitProperties.EndpointLimitConfig.BucketConfig(Integer.MAX_VALUE, 1);
+        var limits = new RateLimitProperties.EndpointLimitConfig(bucket, bucket, null);
+        RateLimitProperties properties = new RateLimitProperties(limits, limits, limits, limits, limits, false,
+                RateLimitProperties.Algorithm.GCRA, null, "benchmark", null, null);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProbeBanProperties probeBanProperties = new ProbeBanProperties(null, 0, 0, 0, 0, 0, 0, 0);
+        ProbeBanList probeBanList = new ProbeBanList(probeBanProperties);
+        filters = List.of(
+                new ProbeBanFilter(probeBanList, probeBanProperties, false),
+                new SensitiveFileProbeFilter(routeClassifier, probeBanList, false),
+                new OriginVerificationFilter("server-key", ORIGIN, false, routeClassifier),
+                new RateLimitFilter(properties, new InMemoryRateLimitStore(), meterRegistry, routeClassifier),
+                new AdaptiveConcurrencyFilter(new AdaptiveConcurrencyProperties(true, 1_000, 1, 1_000, 10_000, 0.5, 3),
+                        meterRegistry, routeClassifier));
+    }
+
+    @Benchmark
+    public void filterChain(Blackhole blackhole) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new Chain(filters, blackhole).doFilter(newRequest(), response);
+        blackhole.consume(response.getStatus());
+    }
+
+    @Benchmark
+    public Object routeClassification() {
+        return routeClassifier.classify(newRequest());
+    }
+
+    @Benchmark
+    public void legacyClassification(Blackhole blackhole) {
+        HttpServletRequest request = newRequest();
+        String normalizedPath = request.getRequestURI().toLowerCase();
+        blackhole.consume(LEGACY_SENSITIVE_PATTERNS.stream().anyMatch(normalizedPath::startsWith));
+        String requestUri = request.getRequestURI();
+        blackhole.consume(AppConstants.EXCLUDED_ORIGIN_VERIFICATION_PATHS.stream().anyMatch(requestUri::startsWith));
+        blackhole.consume(AppConstants.PUBLIC_BLOG_PATHS.stream().anyMatch(request.getServletPath()::startsWith));
+        blackhole.consume(legacyRateLimitEndpoint(request));
+        blackhole.consume(legacyAiEndpoint(request));
+    }
+
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + servletPath);
+        request.setContextPath("/api");
+        request.setServletPath(servletPath);
+        request.setRemoteAddr("203.0.113.42");
+        request.addHeader(AppConstants.ORIGIN_HEADER, ORIGIN);
+        return request;
+    }
+
+    /**
+     * The former RateLimitFilter rule matching, one predicate per rule in rule order.
+     */
+    private static String legacyRateLimitEndpoint(HttpServletRequest request) {
+        boolean post = AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod());
+        if (post && (request.getServletPath().equals(AppConstants.CONTACT_POLISH_PATH)
+                || request.getServletPath().equals(AppConstants.CONTACT_POLISH_PATH + "/"))) {
+            return AppConstants.ENDPOINT_TYPE_CONTACT_POLISH;
+        }
+        if (AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod())
+                && (request.getServletPath().equals(AppConstants.CONTACT_PATH)
+                || request.getServletPath().equals(AppConstants.CONTACT_PATH + "/"))) {
+            return AppConstants.ENDPOINT_TYPE_CONTACT;
+        }
+        String method = request.getMethod();
+        if ((AppConstants.POST_METHOD.equalsIgnoreCase(method) || "GET".equals(method))
+                && request.getServletPath().startsWith("/blogs/published/")
+                && (request.getServletPath().endsWith("/ask") || request.getServletPath().endsWith("/ask/stream"))) {
+            return AppConstants.ENDPOINT_TYPE_BLOG_ASK;
+        }
+        if (AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod())
+                && (request.getServletPath().equals(AppConstants.AI_CHAT_PATH)
+                || request.getServletPath().equals(AppConstants.AI_CHAT_PATH + "/"))) {
+            return AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT;
+        }
+        String servletPath = request.getServletPath();
+        return AppConstants.PUBLIC_BLOG_PATHS.stream().anyMatch(servletPath::startsWith)
+                ? AppConstants.ENDPOINT_TYPE_BLOG : null;
+    }
+
+    /**
+     * The former AdaptiveConcurrencyFilter AI endpoint check.
+     */
+    private static boolean legacyAiEndpoint(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String method = request.getMethod();
+        if (servletPath.startsWith("/blogs/published/")) {
+            return (AppConstants.POST_METHOD.equalsIgnoreCase(method) || "GET".equals(method))
+                    && (servletPath.endsWith("/ask") || servletPath.endsWith("/ask/stream"));
+        }
+        if (!AppConstants.POST_METHOD.equalsIgnoreCase(method)) {
+            return false;
+        }
+        String path = servletPath.endsWith("/") ? servletPath.substring(0, servletPath.length() - 1) : servletPath;
+        return path.equals(AppConstants.AI_CHAT_PATH) || path.equals(AppConstants.CONTACT_POLISH_PATH);
+    }
+
+    /**
+     * Runs the filters in order and ends in a handler that does nothing but consume the request.
+     */
+    private static final class Chain implements FilterChain {
+
+        private final List<Filter> filters;
+        private final Blackhole blackhole;
+        private int position;
+
+        Chain(List<Filter> filters, Blackhole blackhole) {
+            this.filters = filters;
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response)
+                throws IOException, ServletException {
+            if (position < filters.size()) {
+                filters.get(position++).doFilter(request, response, this);
+            } else {
+                blackhole.consume(request);
+            }
+        }
+
+    }
+
+}
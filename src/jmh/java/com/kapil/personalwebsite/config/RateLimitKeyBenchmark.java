@@ -0,0 +1,82 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former SHA-256 / composite-string rate-limit key derivation against the keyed 64-bit hash, both
+ * on its own and including the bucket lookup. Run with {@code ./gradlew jmh}; use {@code -prof gc} to compare
+ * allocation rates.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitKeyBenchmark {
+
+    private static final String CLIENT_IP = "203.0.113.42";
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0";
+    private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9";
+    private static final String ENDPOINT_TYPE = "BLOG";
+
+    private MessageDigest digest;
+    private ClientKeyHasher hasher;
+    private Map<String, Object> stringKeyedBuckets;
+    private Cache<Long, Object> longKeyedBuckets;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        digest = MessageDigest.getInstance("SHA-256");
+        hasher = ClientKeyHasher.fromSecret("benchmark");
+        stringKeyedBuckets = new ConcurrentHashMap<>();
+        longKeyedBuckets = Caffeine.newBuilder().maximumSize(100_000).build();
+        Object bucket = new Object();
+        stringKeyedBuckets.put(legacyFingerprintKey(), bucket);
+        longKeyedBuckets.put(hasher.fingerprint(CLIENT_IP, USER_AGENT, ACCEPT_LANGUAGE), bucket);
+    }
+
+    @Benchmark
+    public void legacyKeys(Blackhole blackhole) {
+        blackhole.consume(legacyFingerprintKey());
+        blackhole.consume("ip" + ":" + CLIENT_IP + ":" + ENDPOINT_TYPE);
+    }
+
+    @Benchmark
+    public void hashedKeys(Blackhole blackhole) {
+        blackhole.consume(hasher.fingerprint(CLIENT_IP, USER_AGENT, ACCEPT_LANGUAGE));
+        blackhole.consume(hasher.ip(CLIENT_IP));
+    }
+
+    @Benchmark
+    public Object legacyLookup() {
+        return stringKeyedBuckets.computeIfAbsent(legacyFingerprintKey(), k -> new Object());
+    }
+
+    @Benchmark
+    public Object hashedLookup() {
+        return longKeyedBuckets.get(hasher.fingerprint(CLIENT_IP, USER_AGENT, ACCEPT_LANGUAGE), k -> new Object());
+    }
+
+    private String legacyFingerprintKey() {
+        String raw = CLIENT_IP + "|" + USER_AGENT + "|" + ACCEPT_LANGUAGE;
+        byte[] hash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+        String fingerprint = HexFormat.of().formatHex(hash).substring(0, 24);
+        return "fp" + ":" + fingerprint + ":" + ENDPOINT_TYPE;
+    }
+
+}
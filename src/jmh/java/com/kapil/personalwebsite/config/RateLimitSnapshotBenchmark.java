@@ -0,0 +1,58 @@
+package com.kapil.personalwebsite.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures restoring a rate-limit snapshot of one million GCRA buckets, the startup cost a deploy pays to keep
+ * quotas. Each invocation restores into a fresh store. Run with {@code ./gradlew jmh}.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RateLimitSnapshotBenchmark {
+
+    private static final int BUCKETS = 1_000_000;
+    private static final RateLimitFilter.RateLimitConfig CONFIG =
+            new RateLimitFilter.RateLimitConfig(10, 60, RateLimitProperties.Algorithm.GCRA);
+
+    private Path file;
+    private long now;
+    private InMemoryRateLimitStore store;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        file = Files.createTempFile("rate-limit", ".snapshot");
+        now = System.currentTimeMillis();
+        InMemoryRateLimitStore source = new InMemoryRateLimitStore(BUCKETS);
+        for (long key = 0; key < BUCKETS; key++) {
+            source.tryAcquire("fp:BLOG", key, CONFIG, 1, now);
+        }
+        new RateLimitSnapshot(file, 0L, source, Long.MAX_VALUE / 1_000_000).checkpoint(now);
+    }
+
+    @Setup(Level.Invocation)
+    public void newStore() {
+        store = new InMemoryRateLimitStore(BUCKETS);
+    }
+
+    @Benchmark
+    public int restore() {
+        return new RateLimitSnapshot(file, 0L, store, Long.MAX_VALUE / 1_000_000).restore(now);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.kapil.personalwebsite.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kapil.personalwebsite.dto.ApiResponse;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures serving a published blog to a client accepting gzip: serializing the response with Jackson and
+ * compressing it on every request, as the handler and a compressing connector do, against replaying the bytes
+ * {@link ResponseBodyCache} stored through {@link ConditionalGetFilter}. Run with {@code ./gradlew jmh}.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBodyCacheBenchmark {
+
+    private static final String SLUG = "benchmark-post";
+
+    @Param({"2", "40"})
+    public int contentKilobytes;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Blog> body;
+    private ConditionalGetFilter filter;
+    private FilterChain handler;
+
+    @Setup
+    public void setUp() throws IOException, ServletException {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        String content = "<p>" + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. "
+                .repeat(contentKilobytes * 1024 / 57) + "</p>";
+        Blog blog = new Blog("Benchmark post", content, SLUG, BlogCategory.BACKEND_AND_SYSTEMS);
+        body = ApiResponse.success(blog, "Published blog retrieved successfully");
+        body.setTimestamp(null);
+        handler = (request, response) -> {
+            response.setContentType("application/json");
+            objectMapper.writeValue(response.getOutputStream(), body);
+        };
+        ConditionalGetProperties properties = new ConditionalGetProperties(true, 3_600, 100, true, 16, 0);
+        filter = new ConditionalGetFilter(properties, new ResponseValidatorCache(properties),
+                new ResponseBodyCache(properties), new RouteClassifier(""));
+        filter.doFilter(newRequest(), new MockHttpServletResponse(), handler);
+    }
+
+    private static MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blogs/published/" + SLUG);
+        request.setContextPath("/api");
+        request.setServletPath("/blogs/published/" + SLUG);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        return request;
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, body);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedBody() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(newRequest(), response, handler);
+        return response.getContentAsByteArray();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.ai.util.AiTextUtils;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures blog search over synthetic published posts: a {@link BlogSearchIndex} lookup against stripping and
+ * scanning every post's HTML per query, and applying one edit incrementally against rebuilding the index.
+ * Run with {@code ./gradlew jmh}.
+ *
+ * @author Kapil Garg
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlogSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "spring", "mongo", "caffeine", "index", "latency", "throughput", "thread", "virtual", "cache", "query",
+            "cursor", "snapshot", "filter", "gateway", "replica", "schema", "vector", "embedding", "token", "budget"
+    };
+    private static final String QUERY = "caffeine latency";
+
+    @Param({"300", "3000"})
+    public int blogCount;
+
+    private List<Blog> blogs;
+    private BlogSearchIndex index;
+    private Blog edited;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        blogs = new ArrayList<>(blogCount);
+        for (int i = 0; i < blogCount; i++) {
+            StringBuilder content = new StringBuilder("<p>");
+            for (int w = 0; w < 800; w++) {
+                content.append(WORDS[random.nextInt(WORDS.length)]).append(w % 12 == 11 ? ".</p><p>" : " ");
+            }
+            blogs.add(blog("id" + i, "Post " + WORDS[i % WORDS.length] + " " + i, content.append("</p>").toString()));
+        }
+        index = BlogSearchIndex.of(blogs);
+        edited = blog("id0", "Edited caffeine post", "<p>Caffeine latency after the edit.</p>");
+    }
+
+    private static Blog blog(String id, String title, String content) {
+        Blog blog = new Blog(title, content, "slug-" + id, BlogCategory.BACKEND_AND_SYSTEMS);
+        blog.setId(id);
+        blog.setStatus(BlogStatus.PUBLISHED);
+        blog.setPublishedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return blog;
+    }
+
+    @Benchmark
+    public List<BlogSearchResult> indexedSearch() {
+        return index.search(QUERY, 10);
+    }
+
+    @Benchmark
+    public List<Blog> scanSearch() {
+        List<Blog> matches = new ArrayList<>();
+        for (Blog blog : blogs) {
+            String text = AiTextUtils.stripHtmlTags(blog.getContent()).toLowerCase(Locale.ROOT);
+            if (text.contains("caffeine") || text.contains("latency")) {
+                matches.add(blog);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public BlogSearchIndex incrementalUpdate() {
+        return index.with(edited);
+    }
+
+    @Benchmark
+    public BlogSearchIndex fullRebuild() {
+        return BlogSearchIndex.of(blogs);
+    }
+
+}
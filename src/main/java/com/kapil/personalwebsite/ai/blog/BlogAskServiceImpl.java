@@ -1,19 +1,27 @@
 package com.kapil.personalwebsite.ai.blog;
 
+import com.kapil.personalwebsite.ai.budget.AiTokenBudget;
 import com.kapil.personalwebsite.ai.dto.BlogAskRequest;
 import com.kapil.personalwebsite.ai.dto.BlogAskResponse;
+import com.kapil.personalwebsite.ai.governor.LlmGovernor;
 import com.kapil.personalwebsite.ai.util.AiTextUtils;
 import com.kapil.personalwebsite.ai.util.BlogAiConstants;
 import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.exception.TokenBudgetExceededException;
 import com.kapil.personalwebsite.service.blog.BlogPublicService;
+import com.kapil.personalwebsite.util.AppConstants;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of BlogAskService using Spring AI ChatClient with blog content as context (simple RAG).
+ * Every call is charged against the client's {@link AiTokenBudget} and reconciled with the reported usage,
+ * and admitted to the model by the shared {@link LlmGovernor}.
  *
  * @author Kapil Garg
  */
@@ -24,9 +32,14 @@ public class BlogAskServiceImpl implements BlogAskService {
 
     private final BlogPublicService blogPublicService;
     private final ChatClient chatClient;
+    private final AiTokenBudget tokenBudget;
+    private final LlmGovernor llmGovernor;
 
-    public BlogAskServiceImpl(BlogPublicService blogPublicService, ChatClient.Builder chatClientBuilder) {
+    public BlogAskServiceImpl(BlogPublicService blogPublicService, ChatClient.Builder chatClientBuilder,
+                              AiTokenBudget tokenBudget, LlmGovernor llmGovernor) {
         this.blogPublicService = blogPublicService;
+        this.tokenBudget = tokenBudget;
+        this.llmGovernor = llmGovernor;
         this.chatClient = chatClientBuilder
                 .defaultSystem(BlogAiConstants.SYSTEM_PROMPT)
                 .build();
@@ -42,10 +55,17 @@ public class BlogAskServiceImpl implements BlogAskService {
         String context = buildContext(blog);
         String question = request.question() != null ? request.question() : "";
         String userMessage = buildUserMessage(blog, context, question);
-        String answer = chatClient.prompt()
-                .user(userMessage)
-                .call()
-                .content();
+        AiTokenBudget.Charge charge = tokenBudget.reserve(BlogAiConstants.SYSTEM_PROMPT, userMessage);
+        ChatResponse response;
+        try (LlmGovernor.Permit permit = llmGovernor.acquire(AppConstants.ENDPOINT_TYPE_BLOG_ASK, charge)) {
+            response = chatClient.prompt()
+                    .user(userMessage)
+                    .call()
+                    .chatResponse();
+            permit.reconcile(response);
+        }
+        charge.reconcile(response);
+        String answer = AiTextUtils.responseText(response);
         if (answer == null || answer.isBlank()) {
             return Optional.of(new BlogAskResponse(BlogAiConstants.FALLBACK_REPLY));
         }
@@ -64,10 +84,29 @@ public class BlogAskServiceImpl implements BlogAskService {
         String context = buildContext(blog);
         String question = request.question() != null ? request.question() : "";
         String userMessage = buildUserMessage(blog, context, question);
-        return chatClient.prompt()
-                .user(userMessage)
-                .stream()
-                .content();
+        AiTokenBudget.Charge charge;
+        try {
+            charge = tokenBudget.reserve(BlogAiConstants.SYSTEM_PROMPT, userMessage);
+        } catch (TokenBudgetExceededException e) {
+            return Flux.error(e);
+        }
+        // Usage is reported on the streamed chunks; settle with the largest total seen once the stream ends.
+        // The governor permit is tied to the subscription, so it is released however the stream terminates.
+        AtomicLong reportedTokens = new AtomicLong();
+        return Flux.using(
+                () -> llmGovernor.acquire(AppConstants.ENDPOINT_TYPE_BLOG_ASK, charge),
+                permit -> chatClient.prompt()
+                        .user(userMessage)
+                        .stream()
+                        .chatResponse()
+                        .doOnNext(response ->
+                                reportedTokens.accumulateAndGet(AiTokenBudget.totalTokens(response), Math::max))
+                        .doFinally(signal -> {
+                            charge.reconcile(reportedTokens.get());
+                            permit.reconcile(reportedTokens.get());
+                        })
+                        .mapNotNull(AiTextUtils::responseText),
+                LlmGovernor.Permit::close);
     }
 
     /**
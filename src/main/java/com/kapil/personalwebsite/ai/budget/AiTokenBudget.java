@@ -0,0 +1,169 @@
+package com.kapil.personalwebsite.ai.budget;
+
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitProperties;
+import com.kapil.personalwebsite.config.RateLimitStore;
+import com.kapil.personalwebsite.exception.TokenBudgetExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Instant;
+
+/**
+ * Per-client LLM token budget shared by the AI endpoints, enforced through the rate-limit store.
+ * A call is charged an estimate of its prompt plus completion tokens before the model is invoked, and the
+ * difference to the usage the model reports is charged or refunded afterwards, so long prompts against large
+ * contexts cost proportionally more of the budget than short ones.
+ * The client is identified by the IP key {@link RateLimitFilter} stores on the request; calls made outside a
+ * rate-limited request are not charged.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class AiTokenBudget {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AiTokenBudget.class);
+
+    private static final String NAMESPACE = "tok:AI";
+
+    private final RateLimitStore rateLimitStore;
+    private final RateLimitProperties.TokenBudget settings;
+    private final RateLimitFilter.RateLimitConfig config;
+
+    public AiTokenBudget(RateLimitProperties properties, RateLimitStore rateLimitStore) {
+        this.rateLimitStore = rateLimitStore;
+        this.settings = properties.tokenBudget();
+        this.config = new RateLimitFilter.RateLimitConfig(settings.maxTokens(), settings.windowMinutes(),
+                RateLimitProperties.Algorithm.GCRA);
+    }
+
+    /**
+     * Reserves the estimated cost of a model call for the current client.
+     *
+     * @param systemPrompt the system prompt sent with the call
+     * @param userMessage  the user message sent with the call
+     * @return the charge to reconcile once the call completes; carries the estimate even when nothing is charged
+     * @throws TokenBudgetExceededException if the estimate does not fit in the client's remaining budget
+     */
+    public Charge reserve(String systemPrompt, String userMessage) {
+        int estimate = estimateTokens(systemPrompt, userMessage);
+        Long clientKey = currentClientKey();
+        if (!settings.enabled() || clientKey == null) {
+            return new Charge(null, 0L, estimate);
+        }
+        RateLimitFilter.RateLimitCheckResult result = rateLimitStore.tryAcquire(NAMESPACE, clientKey, config,
+                estimate, Instant.now().toEpochMilli());
+        if (!result.allowed()) {
+            LOGGER.warn("AI token budget exceeded - estimated {} tokens, {} remaining", estimate, result.remaining());
+            throw new TokenBudgetExceededException(result.retryAfterSeconds());
+        }
+        return new Charge(this, clientKey, estimate);
+    }
+
+    /**
+     * Estimates the tokens a call will consume from its prompt size plus the configured completion allowance.
+     *
+     * @param systemPrompt the system prompt, may be null
+     * @param userMessage  the user message, may be null
+     * @return the estimated token count, at least 1
+     */
+    int estimateTokens(String systemPrompt, String userMessage) {
+        long chars = (systemPrompt != null ? systemPrompt.length() : 0L)
+                + (userMessage != null ? userMessage.length() : 0L);
+        long promptTokens = (chars + settings.charsPerToken() - 1) / settings.charsPerToken();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, promptTokens + settings.completionTokens()));
+    }
+
+    /**
+     * Returns the total token count a response reports, or 0 when the model did not report usage.
+     *
+     * @param response the chat response, may be null
+     * @return the reported total tokens
+     */
+    public static long totalTokens(ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return 0L;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        Integer total = usage != null ? usage.getTotalTokens() : null;
+        return total != null ? total : 0L;
+    }
+
+    private void adjust(long clientKey, long tokens) {
+        int permits = (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE, tokens));
+        rateLimitStore.adjust(NAMESPACE, clientKey, config, permits, Instant.now().toEpochMilli());
+    }
+
+    private static Long currentClientKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return attributes.getAttribute(RateLimitFilter.CLIENT_KEY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof Long key ? key : null;
+    }
+
+    /**
+     * Tokens reserved for one model call. Holds everything needed to reconcile, so it can be settled from a
+     * reactive callback after the request thread has moved on.
+     */
+    public static final class Charge {
+
+        private final AiTokenBudget budget;
+        private final long clientKey;
+        private final int estimatedTokens;
+
+        private Charge(AiTokenBudget budget, long clientKey, int estimatedTokens) {
+            this.budget = budget;
+            this.clientKey = clientKey;
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        /**
+         * Settles the charge against the usage reported by a completed call.
+         *
+         * @param response the chat response, may be null
+         */
+        public void reconcile(ChatResponse response) {
+            reconcile(totalTokens(response));
+        }
+
+        /**
+         * Settles the charge against the actual token count: overuse is charged, underuse refunded.
+         * An unreported count (0) keeps the estimate, since the call may still have consumed tokens.
+         *
+         * @param actualTokens the tokens the call consumed, 0 if unknown
+         */
+        public void reconcile(long actualTokens) {
+            if (budget == null || actualTokens <= 0 || actualTokens == estimatedTokens) {
+                return;
+            }
+            budget.adjust(clientKey, actualTokens - estimatedTokens);
+        }
+
+        /**
+         * Returns the whole reservation to the client, for a call that never reached the model.
+         */
+        public void refund() {
+            if (budget != null) {
+                budget.adjust(clientKey, -estimatedTokens);
+            }
+        }
+
+        /**
+         * Returns the estimated tokens of the call, which is also what the global governor reserves for it.
+         *
+         * @return the estimated token count
+         */
+        public int estimatedTokens() {
+            return estimatedTokens;
+        }
+
+    }
+
+}
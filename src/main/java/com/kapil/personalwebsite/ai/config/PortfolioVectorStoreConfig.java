@@ -27,6 +27,11 @@ import javax.sql.DataSource;
 @ConditionalOnProperty(prefix = "app.features", name = "embeddings.enabled", havingValue = "true")
 public class PortfolioVectorStoreConfig {
 
+    /**
+     * The pgvector table holding the portfolio chunks, keyed by chunk ID.
+     */
+    public static final String VECTOR_TABLE_NAME = "portfolio_vector_store";
+
     @Bean(name = "portfolioVectorStoreDataSource")
     @Conditional(NonBlankPortfolioVectorJdbcUrlCondition.class)
     public DataSource portfolioVectorStoreDataSource(
@@ -56,7 +61,7 @@ public class PortfolioVectorStoreConfig {
             @Qualifier("portfolioVectorStoreJdbcTemplate") JdbcTemplate jdbcTemplate,
             EmbeddingModel embeddingModel) {
         return PgVectorStore.builder(jdbcTemplate, embeddingModel)
-                .vectorTableName("portfolio_vector_store")
+                .vectorTableName(VECTOR_TABLE_NAME)
                 .initializeSchema(true)
                 .dimensions(3072)                          // gemini-embedding-001 output size
                 .indexType(PgVectorStore.PgIndexType.NONE) // HNSW max is 2000 dims
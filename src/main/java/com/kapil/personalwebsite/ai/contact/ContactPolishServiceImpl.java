@@ -1,12 +1,19 @@
 package com.kapil.personalwebsite.ai.contact;
 
+import com.kapil.personalwebsite.ai.budget.AiTokenBudget;
 import com.kapil.personalwebsite.ai.dto.ContactPolishRequest;
 import com.kapil.personalwebsite.ai.dto.ContactPolishResponse;
+import com.kapil.personalwebsite.ai.governor.LlmGovernor;
+import com.kapil.personalwebsite.ai.util.AiTextUtils;
+import com.kapil.personalwebsite.util.AppConstants;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Service;
 
 /**
  * Implementation of ContactPolishService using Spring AI ChatClient to suggest improved contact form message.
+ * Every call is charged against the client's {@link AiTokenBudget} and reconciled with the reported usage,
+ * and admitted to the model by the shared {@link LlmGovernor}.
  *
  * @author Kapil Garg
  */
@@ -23,8 +30,13 @@ public class ContactPolishServiceImpl implements ContactPolishService {
             """;
 
     private final ChatClient chatClient;
+    private final AiTokenBudget tokenBudget;
+    private final LlmGovernor llmGovernor;
 
-    public ContactPolishServiceImpl(ChatClient.Builder chatClientBuilder) {
+    public ContactPolishServiceImpl(ChatClient.Builder chatClientBuilder, AiTokenBudget tokenBudget,
+                                    LlmGovernor llmGovernor) {
+        this.tokenBudget = tokenBudget;
+        this.llmGovernor = llmGovernor;
         this.chatClient = chatClientBuilder
                 .defaultSystem(SYSTEM_PROMPT)
                 .build();
@@ -33,10 +45,17 @@ public class ContactPolishServiceImpl implements ContactPolishService {
     @Override
     public ContactPolishResponse polishMessage(ContactPolishRequest request) {
         String message = request.message() != null ? request.message() : "";
-        String suggested = chatClient.prompt()
-                .user(message)
-                .call()
-                .content();
+        AiTokenBudget.Charge charge = tokenBudget.reserve(SYSTEM_PROMPT, message);
+        ChatResponse response;
+        try (LlmGovernor.Permit permit = llmGovernor.acquire(AppConstants.ENDPOINT_TYPE_CONTACT_POLISH, charge)) {
+            response = chatClient.prompt()
+                    .user(message)
+                    .call()
+                    .chatResponse();
+            permit.reconcile(response);
+        }
+        charge.reconcile(response);
+        String suggested = AiTextUtils.responseText(response);
         if (suggested != null) {
             suggested = suggested.trim();
             if (suggested.length() > 2000) {
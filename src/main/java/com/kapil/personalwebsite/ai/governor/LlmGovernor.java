@@ -0,0 +1,525 @@
+package com.kapil.personalwebsite.ai.governor;
+
+import com.kapil.personalwebsite.ai.budget.AiTokenBudget;
+import com.kapil.personalwebsite.config.AdaptiveConcurrencyFilter;
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitProperties;
+import com.kapil.personalwebsite.config.RateLimitStore;
+import com.kapil.personalwebsite.exception.LlmCapacityExceededException;
+import com.kapil.personalwebsite.util.AppConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-wide admission control for model calls, shared by every AI endpoint so all clients together stay under
+ * the provider's quota instead of running into upstream 429s.
+ * Two limits apply: a cap on calls in flight on this instance, and a tokens-per-minute cap charged through the
+ * {@link RateLimitStore}, which makes it cluster-wide when the store is shared. A call that cannot start at once
+ * waits in a bounded FIFO queue for its endpoint type; queues are served round-robin so one busy endpoint cannot
+ * starve the others. Waiters whose deadline passes are shed rather than started late.
+ * <p>
+ * Tokens are borrowed from the store in leases of at least {@code 1/}{@value #LEASE_FRACTION} of the per-minute cap
+ * and handed out locally, like {@code LeasingRateLimitStore} does for request permits. Only the lock guards the
+ * queues, the in-flight count and the local lease; the store round trip to renew the lease is made by a waiting
+ * caller with the lock released, so a slow shared store delays only the calls that need new tokens, never a
+ * release or an admission that fits the lease. Tokens still leased when the lease expires are refunded to the store,
+ * also with the lock released, so an idle replica does not sit on the cluster's budget.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class LlmGovernor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LlmGovernor.class);
+
+    private static final String TPM_NAMESPACE = "llm:TPM";
+    private static final long TPM_KEY = 0L;
+
+    /**
+     * Upper bound on one wait, so a waiter held back only by the token cap re-checks it as tokens refill.
+     */
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    /**
+     * A lease borrows at least this fraction of the per-minute cap, so most calls are admitted without a round trip.
+     */
+    private static final int LEASE_FRACTION = 20;
+
+    /**
+     * How long borrowed tokens stay usable locally; unused ones are then refunded, so stale leases never let
+     * calls exceed the cap.
+     */
+    private static final long LEASE_TTL_MS = 3_000;
+
+    private static final List<String> ENDPOINT_TYPES = List.of(
+            AppConstants.ENDPOINT_TYPE_BLOG_ASK,
+            AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT,
+            AppConstants.ENDPOINT_TYPE_CONTACT_POLISH
+    );
+
+    private final LlmGovernorProperties properties;
+    private final RateLimitStore rateLimitStore;
+    private final RateLimitFilter.RateLimitConfig tpmConfig;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, EndpointQueue> queues = new LinkedHashMap<>();
+    private final List<EndpointQueue> rotation;
+    private int nextQueue;
+    private volatile int inFlight;
+    private int leasedTokens;
+    private long leaseExpiresAtMs;
+    private int expiredTokens;
+    private int tokenDeficit;
+    private boolean renewing;
+
+    @Autowired
+    public LlmGovernor(LlmGovernorProperties properties, RateLimitStore rateLimitStore, MeterRegistry meterRegistry) {
+        this(properties, rateLimitStore, meterRegistry, Clock.systemUTC());
+    }
+
+    LlmGovernor(LlmGovernorProperties properties, RateLimitStore rateLimitStore, MeterRegistry meterRegistry,
+                Clock clock) {
+        this.properties = properties;
+        this.rateLimitStore = rateLimitStore;
+        this.clock = clock;
+        this.tpmConfig = new RateLimitFilter.RateLimitConfig(properties.tokensPerMinute(), 1,
+                RateLimitProperties.Algorithm.GCRA);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.maxWaitMs());
+        this.retryAfterSeconds = Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(properties.maxWaitMs()));
+        for (String endpointType : ENDPOINT_TYPES) {
+            queues.put(endpointType, new EndpointQueue(endpointType, meterRegistry));
+        }
+        this.rotation = new ArrayList<>(queues.values());
+        Gauge.builder("ai.governor.in.flight", this, governor -> governor.inFlight)
+                .description("Model calls currently in flight on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits until a model call charged to a client's token budget may start. If the call is refused, the client's
+     * charge is refunded since the call never reached the model.
+     *
+     * @param endpointType the calling endpoint type
+     * @param charge       the client's token budget charge for the call
+     * @return the permit to release once the call completes
+     * @throws LlmCapacityExceededException if the endpoint's queue is full or the call's deadline passes first
+     */
+    public Permit acquire(String endpointType, AiTokenBudget.Charge charge) {
+        try {
+            return acquire(endpointType, charge.estimatedTokens());
+        } catch (LlmCapacityExceededException e) {
+            charge.refund();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until a model call may start and reserves its estimated tokens against the per-minute cap.
+     *
+     * @param endpointType    the calling endpoint type, one of the AI endpoint types in {@link AppConstants}
+     * @param estimatedTokens the tokens the call is expected to consume
+     * @return the permit to release once the call completes
+     * @throws LlmCapacityExceededException if the endpoint's queue is full or the call's deadline passes first
+     */
+    public Permit acquire(String endpointType, int estimatedTokens) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        EndpointQueue queue = queues.get(endpointType);
+        if (queue == null) {
+            throw new IllegalArgumentException("No LLM governor queue for endpoint type " + endpointType);
+        }
+        long start = System.nanoTime();
+        Waiter waiter = new Waiter(queue, Math.min(Math.max(1, estimatedTokens), properties.tokensPerMinute()),
+                start + maxWaitNanos, lock.newCondition());
+        lock.lock();
+        try {
+            if (queue.waiters.size() >= properties.queueCapacity()) {
+                queue.rejected.increment();
+                LOGGER.warn("LLM governor queue full for {} - {} waiting, {} in flight",
+                        endpointType, queue.waiters.size(), inFlight);
+                throw new LlmCapacityExceededException(retryAfterSeconds);
+            }
+            queue.add(waiter);
+            dispatch();
+            awaitTurn(waiter);
+        } finally {
+            int expired = takeExpiredTokens();
+            lock.unlock();
+            refundTokens(expired);
+        }
+        long waited = System.nanoTime() - start;
+        if (!waiter.granted) {
+            queue.shedWait.record(waited, TimeUnit.NANOSECONDS);
+            queue.shed.increment();
+            LOGGER.warn("LLM governor shed {} call after waiting {} ms", endpointType,
+                    TimeUnit.NANOSECONDS.toMillis(waited));
+            throw new LlmCapacityExceededException(retryAfterSeconds);
+        }
+        queue.grantedWait.record(waited, TimeUnit.NANOSECONDS);
+        markGranted();
+        return new Permit(this, waiter.tokens);
+    }
+
+    /**
+     * Stamps the grant time on the current request, if any, so the adaptive concurrency limit samples upstream
+     * latency from here rather than counting the wait in this governor's queue.
+     */
+    private static void markGranted() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(AdaptiveConcurrencyFilter.PERMIT_GRANTED_ATTRIBUTE, System.nanoTime(),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Blocks until the waiter is granted or shed. While the next call is short of leased tokens, one waiter at a
+     * time renews the lease; each wake-up re-runs dispatch, since shared tokens may have refilled without any
+     * permit being released.
+     */
+    private void awaitTurn(Waiter waiter) {
+        while (!waiter.granted && !waiter.shed) {
+            if (tokenDeficit > 0 && !renewing) {
+                boolean renewed = renewLease(tokenDeficit);
+                dispatch();
+                if (renewed) {
+                    continue;
+                }
+            }
+            if (waiter.granted || waiter.shed) {
+                return;
+            }
+            long remaining = waiter.deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                dispatch();
+                continue;
+            }
+            try {
+                waiter.condition.awaitNanos(Math.min(remaining, MAX_POLL_NANOS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!waiter.granted) {
+                    waiter.queue.remove(waiter);
+                    waiter.shed = true;
+                }
+                return;
+            }
+            if (!waiter.granted && !waiter.shed) {
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * Sheds expired waiters, then starts queue heads round-robin while the in-flight cap and the leased tokens
+     * allow. When the next head's tokens do not fit, dispatch records the shortfall, wakes the head to renew the
+     * lease and stops rather than letting smaller calls from other queues overtake it, so large calls are not
+     * starved. Never calls the store. Must be called with the lock held.
+     */
+    private void dispatch() {
+        long now = System.nanoTime();
+        for (EndpointQueue queue : rotation) {
+            queue.shedExpired(now);
+        }
+        expireLease(clock.millis());
+        tokenDeficit = 0;
+        while (inFlight < properties.maxConcurrent()) {
+            EndpointQueue queue = nextNonEmptyQueue();
+            if (queue == null) {
+                return;
+            }
+            Waiter head = queue.waiters.peekFirst();
+            if (head.tokens > leasedTokens) {
+                tokenDeficit = head.tokens - leasedTokens;
+                if (!renewing) {
+                    head.condition.signal();
+                }
+                return;
+            }
+            leasedTokens -= head.tokens;
+            queue.poll();
+            inFlight++;
+            head.granted = true;
+            head.condition.signal();
+            nextQueue = (rotation.indexOf(queue) + 1) % rotation.size();
+        }
+    }
+
+    private EndpointQueue nextNonEmptyQueue() {
+        for (int i = 0; i < rotation.size(); i++) {
+            EndpointQueue queue = rotation.get((nextQueue + i) % rotation.size());
+            if (!queue.waiters.isEmpty()) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Borrows at least {@code deficit} tokens from the store with the lock released, adding them to the local lease.
+     * Must be called with the lock held; returns with it held again.
+     *
+     * @return whether tokens were borrowed
+     */
+    private boolean renewLease(int deficit) {
+        renewing = true;
+        int block = Math.min(properties.tokensPerMinute(),
+                Math.max(deficit, properties.tokensPerMinute() / LEASE_FRACTION));
+        long nowMs = clock.millis();
+        int expired = takeExpiredTokens();
+        int borrowed = 0;
+        lock.unlock();
+        try {
+            refundTokens(expired);
+            borrowed = borrowTokens(block, deficit, nowMs);
+        } finally {
+            lock.lock();
+            renewing = false;
+        }
+        if (borrowed == 0) {
+            return false;
+        }
+        expireLease(nowMs);
+        leasedTokens += borrowed;
+        leaseExpiresAtMs = nowMs + LEASE_TTL_MS;
+        return true;
+    }
+
+    /**
+     * Sets aside the tokens of an expired lease for refunding. Must be called with the lock held.
+     */
+    private void expireLease(long nowMs) {
+        if (nowMs >= leaseExpiresAtMs && leasedTokens > 0) {
+            expiredTokens += leasedTokens;
+            leasedTokens = 0;
+        }
+    }
+
+    /**
+     * Hands the expired tokens set aside so far to the caller, who refunds them once the lock is released.
+     * Must be called with the lock held.
+     */
+    private int takeExpiredTokens() {
+        int expired = expiredTokens;
+        expiredTokens = 0;
+        return expired;
+    }
+
+    /**
+     * Gives expired lease tokens back to the store. Must be called with the lock released.
+     */
+    private void refundTokens(int tokens) {
+        if (tokens == 0) {
+            return;
+        }
+        try {
+            adjustTokens(-tokens);
+        } catch (RuntimeException e) {
+            LOGGER.warn("LLM governor could not refund {} expired tokens: {}", tokens, e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a full block of tokens from the store, or only the deficit when a full block no longer fits.
+     */
+    private int borrowTokens(int block, int deficit, long nowMs) {
+        try {
+            if (rateLimitStore.tryAcquire(TPM_NAMESPACE, TPM_KEY, tpmConfig, block, nowMs).allowed()) {
+                return block;
+            }
+            if (block > deficit
+                    && rateLimitStore.tryAcquire(TPM_NAMESPACE, TPM_KEY, tpmConfig, deficit, nowMs).allowed()) {
+                return deficit;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("LLM governor could not reserve tokens: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    private void release() {
+        int expired;
+        lock.lock();
+        try {
+            inFlight--;
+            dispatch();
+        } finally {
+            expired = takeExpiredTokens();
+            lock.unlock();
+        }
+        refundTokens(expired);
+    }
+
+    private void adjustTokens(long tokens) {
+        int permits = (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE, tokens));
+        rateLimitStore.adjust(TPM_NAMESPACE, TPM_KEY, tpmConfig, permits, clock.millis());
+    }
+
+    int inFlight() {
+        return inFlight;
+    }
+
+    int queueDepth(String endpointType) {
+        return queues.get(endpointType).depth;
+    }
+
+    /**
+     * Admission for one model call. Closing it frees the in-flight slot and is idempotent, so it can be released
+     * from a reactive callback as well as a try-with-resources block.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null, 0);
+
+        private final LlmGovernor governor;
+        private final int reservedTokens;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(LlmGovernor governor, int reservedTokens) {
+            this.governor = governor;
+            this.reservedTokens = reservedTokens;
+        }
+
+        /**
+         * Corrects the per-minute token cap by the usage reported in a completed call's response.
+         *
+         * @param response the chat response, may be null
+         */
+        public void reconcile(ChatResponse response) {
+            reconcile(AiTokenBudget.totalTokens(response));
+        }
+
+        /**
+         * Corrects the per-minute token cap by the difference between reserved and actual usage.
+         * An unreported count (0) keeps the reservation.
+         *
+         * @param actualTokens the tokens the call consumed, 0 if unknown
+         */
+        public void reconcile(long actualTokens) {
+            if (governor == null || actualTokens <= 0 || actualTokens == reservedTokens) {
+                return;
+            }
+            governor.adjustTokens(actualTokens - reservedTokens);
+        }
+
+        @Override
+        public void close() {
+            if (governor != null && closed.compareAndSet(false, true)) {
+                governor.release();
+            }
+        }
+
+    }
+
+    private static final class Waiter {
+
+        private final EndpointQueue queue;
+        private final int tokens;
+        private final long deadlineNanos;
+        private final Condition condition;
+        private boolean granted;
+        private boolean shed;
+
+        private Waiter(EndpointQueue queue, int tokens, long deadlineNanos, Condition condition) {
+            this.queue = queue;
+            this.tokens = tokens;
+            this.deadlineNanos = deadlineNanos;
+            this.condition = condition;
+        }
+
+    }
+
+    /**
+     * Waiters of one endpoint type plus its meters. The deque is guarded by the governor's lock; {@code depth}
+     * mirrors its size so the gauge can read it without locking.
+     */
+    private static final class EndpointQueue {
+
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private final Timer grantedWait;
+        private final Timer shedWait;
+        private final Counter shed;
+        private final Counter rejected;
+        private volatile int depth;
+
+        private EndpointQueue(String endpointType, MeterRegistry meterRegistry) {
+            Gauge.builder("ai.governor.queue.depth", this, queue -> queue.depth)
+                    .description("Model calls waiting for admission")
+                    .tag("endpoint", endpointType)
+                    .register(meterRegistry);
+            this.grantedWait = waitTimer(meterRegistry, endpointType, "granted");
+            this.shedWait = waitTimer(meterRegistry, endpointType, "shed");
+            this.shed = rejectionCounter(meterRegistry, endpointType, "deadline");
+            this.rejected = rejectionCounter(meterRegistry, endpointType, "queue_full");
+        }
+
+        private static Timer waitTimer(MeterRegistry meterRegistry, String endpointType, String outcome) {
+            return Timer.builder("ai.governor.wait")
+                    .description("Time model calls spent waiting for admission")
+                    .tag("endpoint", endpointType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private static Counter rejectionCounter(MeterRegistry meterRegistry, String endpointType, String reason) {
+            return Counter.builder("ai.governor.rejected")
+                    .description("Model calls refused by the governor")
+                    .tag("endpoint", endpointType)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        private void add(Waiter waiter) {
+            waiters.addLast(waiter);
+            depth = waiters.size();
+        }
+
+        private void poll() {
+            waiters.pollFirst();
+            depth = waiters.size();
+        }
+
+        private void remove(Waiter waiter) {
+            waiters.remove(waiter);
+            depth = waiters.size();
+        }
+
+        private void shedExpired(long now) {
+            for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (waiter.deadlineNanos - now <= 0) {
+                    it.remove();
+                    waiter.shed = true;
+                    waiter.condition.signal();
+                }
+            }
+            depth = waiters.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.kapil.personalwebsite.ai.governor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for the global LLM throughput governor under the {app.ai.governor} prefix.
+ *
+ * @param enabled         whether model calls pass through the governor
+ * @param maxConcurrent   model calls allowed in flight at once on this instance
+ * @param tokensPerMinute tokens all clients together may spend per minute; shared by replicas with a shared store
+ * @param queueCapacity   calls allowed to wait per endpoint type before new ones are rejected outright
+ * @param maxWaitMs       how long a call may wait for capacity before it is shed
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "app.ai.governor")
+public record LlmGovernorProperties(
+        Boolean enabled,
+        int maxConcurrent,
+        int tokensPerMinute,
+        int queueCapacity,
+        long maxWaitMs
+) {
+
+    public LlmGovernorProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (maxConcurrent <= 0) {
+            maxConcurrent = 8;
+        }
+        if (tokensPerMinute <= 0) {
+            tokensPerMinute = 250_000;
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = 20;
+        }
+        if (maxWaitMs <= 0) {
+            maxWaitMs = 10_000L;
+        }
+    }
+
+}
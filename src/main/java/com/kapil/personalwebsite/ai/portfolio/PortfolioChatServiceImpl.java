@@ -1,11 +1,16 @@
 package com.kapil.personalwebsite.ai.portfolio;
 
+import com.kapil.personalwebsite.ai.budget.AiTokenBudget;
 import com.kapil.personalwebsite.ai.dto.PortfolioChatRequest;
 import com.kapil.personalwebsite.ai.dto.PortfolioChatResponse;
 import com.kapil.personalwebsite.ai.dto.PortfolioChatSource;
+import com.kapil.personalwebsite.ai.governor.LlmGovernor;
+import com.kapil.personalwebsite.ai.util.AiTextUtils;
 import com.kapil.personalwebsite.ai.util.PortfolioAiConstants;
 import com.kapil.personalwebsite.ai.vector.PortfolioVectorMetadataKeys;
+import com.kapil.personalwebsite.util.AppConstants;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.document.Document;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,6 +24,8 @@ import java.util.Map;
  * Implementation of PortfolioChatService using Spring AI with portfolio data as context for chat interactions.
  * When embeddings are enabled and available, relevant document chunks are retrieved and appended to the context.
  * When unavailable, falls back to context-only mode gracefully.
+ * Every call is charged against the client's {@link AiTokenBudget} and reconciled with the reported usage,
+ * and admitted to the model by the shared {@link LlmGovernor}.
  *
  * @author Kapil Garg
  */
@@ -33,15 +40,21 @@ public class PortfolioChatServiceImpl implements PortfolioChatService {
     private final ObjectProvider<PortfolioEmbeddingRetrievalService> embeddingRetrievalServiceProvider;
 
     private final ChatClient chatClient;
+    private final AiTokenBudget tokenBudget;
+    private final LlmGovernor llmGovernor;
 
     @Value("${app.features.embeddings.require-retrieval}")
     private boolean requireRetrieval;
 
     public PortfolioChatServiceImpl(PortfolioRagService portfolioRagService,
                                     ObjectProvider<PortfolioEmbeddingRetrievalService> embeddingRetrievalServiceProvider,
-                                    ChatClient.Builder chatClientBuilder) {
+                                    ChatClient.Builder chatClientBuilder,
+                                    AiTokenBudget tokenBudget,
+                                    LlmGovernor llmGovernor) {
         this.portfolioRagService = portfolioRagService;
         this.embeddingRetrievalServiceProvider = embeddingRetrievalServiceProvider;
+        this.tokenBudget = tokenBudget;
+        this.llmGovernor = llmGovernor;
         this.chatClient = chatClientBuilder
                 .defaultSystem(PortfolioAiConstants.CHAT_SYSTEM_PROMPT)
                 .build();
@@ -71,7 +84,14 @@ public class PortfolioChatServiceImpl implements PortfolioChatService {
         List<Document> relevantDocs = fetchRelevantDocuments(message, projectId, retrieval);
         String context = buildContext(portfolioRagService.buildPortfolioContextSummary(), relevantDocs);
         String userMessage = PortfolioAiConstants.CHAT_USER_MESSAGE_TEMPLATE.formatted(context, message);
-        String reply = chatClient.prompt().user(userMessage).call().content();
+        AiTokenBudget.Charge charge = tokenBudget.reserve(PortfolioAiConstants.CHAT_SYSTEM_PROMPT, userMessage);
+        ChatResponse response;
+        try (LlmGovernor.Permit permit = llmGovernor.acquire(AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT, charge)) {
+            response = chatClient.prompt().user(userMessage).call().chatResponse();
+            permit.reconcile(response);
+        }
+        charge.reconcile(response);
+        String reply = AiTextUtils.responseText(response);
         if (reply == null || reply.isBlank()) {
             reply = PortfolioAiConstants.CHAT_FALLBACK_REPLY;
         } else {
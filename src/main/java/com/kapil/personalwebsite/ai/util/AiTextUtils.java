@@ -1,6 +1,7 @@
 package com.kapil.personalwebsite.ai.util;
 
 import com.kapil.personalwebsite.util.AppConstants;
+import org.springframework.ai.chat.model.ChatResponse;
 
 import java.util.regex.Pattern;
 
@@ -32,6 +33,19 @@ public final class AiTextUtils {
         return text.replaceAll("\\s+", " ").trim();
     }
 
+    /**
+     * Extracts the generated text of a chat response, as {@code ChatClient}'s {@code content()} would.
+     *
+     * @param response the chat response, may be null
+     * @return the generated text, or null if the response carries none
+     */
+    public static String responseText(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return null;
+        }
+        return response.getResult().getOutput().getText();
+    }
+
     /**
      * Returns the given value or an empty string if the value is null.
      *
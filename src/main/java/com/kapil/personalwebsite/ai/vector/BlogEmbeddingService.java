@@ -0,0 +1,185 @@
+package com.kapil.personalwebsite.ai.vector;
+
+import com.kapil.personalwebsite.ai.config.PortfolioVectorStoreConfig;
+import com.kapil.personalwebsite.entity.Blog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Embeds whole blogs for similarity comparisons, as the mean of their chunk embeddings.
+ * The chunks are the ones {@link PortfolioChunkDocumentService} builds for the vector store, embedded with the same
+ * model. Chunk embeddings are kept by chunk ID and reused while the chunk text is unchanged, so only edited blogs
+ * cost embedding calls. Chunks not held here yet are first looked up in the pgvector store, where the index service
+ * has already embedded them under the same ID, so a restart does not re-embed every blog.
+ *
+ * @author Kapil Garg
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.features", name = "embeddings.enabled", havingValue = "true")
+@ConditionalOnBean(EmbeddingModel.class)
+public class BlogEmbeddingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlogEmbeddingService.class);
+
+    private static final String STORED_CHUNKS_SQL = "SELECT id, content, embedding::text AS embedding FROM "
+            + PortfolioVectorStoreConfig.VECTOR_TABLE_NAME + " WHERE id = ANY(?::uuid[])";
+
+    private final EmbeddingModel embeddingModel;
+    private final PortfolioChunkDocumentService chunkDocumentService;
+    private final ObjectProvider<VectorStore> vectorStore;
+    private final Map<String, ChunkEmbedding> chunkEmbeddings = new HashMap<>();
+
+    @Value("${app.features.embeddings.index-batch-size}")
+    private int indexBatchSize;
+
+    public BlogEmbeddingService(EmbeddingModel embeddingModel, PortfolioChunkDocumentService chunkDocumentService,
+                                ObjectProvider<VectorStore> vectorStore) {
+        this.embeddingModel = embeddingModel;
+        this.chunkDocumentService = chunkDocumentService;
+        this.vectorStore = vectorStore;
+    }
+
+    /**
+     * Returns an embedding per blog, embedding only the chunks neither seen here nor stored in the vector store
+     * with the same text.
+     * Chunk embeddings of blogs not passed in are forgotten.
+     *
+     * @param blogs the blogs
+     * @return the mean chunk embedding by blog ID; blogs without text are left out
+     */
+    public synchronized Map<String, float[]> embedBlogs(Collection<Blog> blogs) {
+        Map<String, List<Document>> chunksByBlogId = new LinkedHashMap<>();
+        List<Document> missing = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Blog blog : blogs) {
+            List<Document> chunks = chunkDocumentService.buildBlogChunkDocuments(blog);
+            chunksByBlogId.put(blog.getId(), chunks);
+            for (Document chunk : chunks) {
+                seen.add(chunk.getId());
+                if (!isCached(chunk)) {
+                    missing.add(chunk);
+                }
+            }
+        }
+        chunkEmbeddings.keySet().retainAll(seen);
+        embed(loadStored(missing));
+        Map<String, float[]> embeddings = HashMap.newHashMap(chunksByBlogId.size());
+        chunksByBlogId.forEach((blogId, chunks) -> {
+            if (!chunks.isEmpty()) {
+                embeddings.put(blogId, mean(chunks));
+            }
+        });
+        return embeddings;
+    }
+
+    private boolean isCached(Document chunk) {
+        ChunkEmbedding cached = chunkEmbeddings.get(chunk.getId());
+        return cached != null && cached.text().equals(chunk.getText());
+    }
+
+    /**
+     * Takes the embeddings of the given chunks from the pgvector store where it holds them under the same ID and
+     * text. Rows written before a chunk was edited are skipped, and any other store, or a failed lookup, leaves
+     * every chunk to be embedded.
+     *
+     * @param chunks the chunks without an embedding here
+     * @return the chunks the store could not supply
+     */
+    private List<Document> loadStored(List<Document> chunks) {
+        VectorStore store = chunks.isEmpty() ? null : vectorStore.getIfAvailable();
+        Optional<JdbcTemplate> jdbcTemplate = store != null ? store.getNativeClient() : Optional.empty();
+        if (jdbcTemplate.isEmpty()) {
+            return chunks;
+        }
+        Map<String, Document> chunksById = HashMap.newHashMap(chunks.size());
+        chunks.forEach(chunk -> chunksById.put(chunk.getId(), chunk));
+        try {
+            jdbcTemplate.get().query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(STORED_CHUNKS_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", chunksById.keySet().toArray()));
+                return statement;
+            }, (RowCallbackHandler) row -> {
+                Document chunk = chunksById.get(row.getString("id"));
+                if (chunk != null && chunk.getText().equals(row.getString("content"))) {
+                    chunkEmbeddings.put(chunk.getId(),
+                            new ChunkEmbedding(chunk.getText(), parseVector(row.getString("embedding"))));
+                }
+            });
+        } catch (DataAccessException e) {
+            LOGGER.warn("Blog embeddings: could not read stored chunk vectors, embedding them instead: {}",
+                    e.getMessage());
+        }
+        List<Document> missing = chunks.stream().filter(chunk -> !isCached(chunk)).toList();
+        LOGGER.info("Blog embeddings: reused {} stored chunk vector(s)", chunks.size() - missing.size());
+        return missing;
+    }
+
+    /**
+     * Parses pgvector's text form, {@code [0.1,0.2,...]}.
+     */
+    private static float[] parseVector(String text) {
+        String[] parts = text.substring(1, text.length() - 1).split(",");
+        float[] vector = new float[parts.length];
+        for (int d = 0; d < parts.length; d++) {
+            vector[d] = Float.parseFloat(parts[d]);
+        }
+        return vector;
+    }
+
+    private void embed(List<Document> chunks) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        int batchSize = Math.max(1, indexBatchSize);
+        LOGGER.info("Blog embeddings: embedding {} new or changed chunk(s) in batches of {}", chunks.size(),
+                batchSize);
+        for (int i = 0; i < chunks.size(); i += batchSize) {
+            List<Document> batch = chunks.subList(i, Math.min(i + batchSize, chunks.size()));
+            List<float[]> vectors = embeddingModel.embed(batch.stream().map(Document::getText).toList());
+            for (int j = 0; j < batch.size(); j++) {
+                chunkEmbeddings.put(batch.get(j).getId(), new ChunkEmbedding(batch.get(j).getText(), vectors.get(j)));
+            }
+        }
+    }
+
+    private float[] mean(List<Document> chunks) {
+        float[] sum = null;
+        for (Document chunk : chunks) {
+            float[] vector = chunkEmbeddings.get(chunk.getId()).vector();
+            if (sum == null) {
+                sum = new float[vector.length];
+            }
+            for (int d = 0; d < sum.length; d++) {
+                sum[d] += vector[d];
+            }
+        }
+        for (int d = 0; d < sum.length; d++) {
+            sum[d] /= chunks.size();
+        }
+        return sum;
+    }
+
+    /**
+     * A chunk's embedding and the text it was computed from.
+     *
+     * @param text   the chunk text
+     * @param vector the embedding
+     */
+    private record ChunkEmbedding(String text, float[] vector) {
+    }
+
+}
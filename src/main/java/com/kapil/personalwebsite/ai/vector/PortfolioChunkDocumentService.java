@@ -176,9 +176,31 @@ public class PortfolioChunkDocumentService {
      */
     private void addBlogChunks(List<Document> out) {
         for (Blog blog : dataProvider.getPublishedBlogs()) {
-            addChunkSeries(out, "blog", blog.getSlug(), blog.getTitle(), blog.getSlug(), null,
-                    PortfolioEntityTextBuilder.buildBlogText(blog));
+            addBlogChunks(out, blog);
         }
     }
 
+    /**
+     * Builds the chunked documents of a single blog, exactly as they are indexed with the rest of the portfolio.
+     *
+     * @param blog the blog
+     * @return the blog's chunk documents (maybe empty)
+     */
+    public List<Document> buildBlogChunkDocuments(Blog blog) {
+        List<Document> documents = new ArrayList<>();
+        addBlogChunks(documents, blog);
+        return documents;
+    }
+
+    /**
+     * Adds the chunks of one blog to the list of documents.
+     *
+     * @param out  the list of documents
+     * @param blog the blog
+     */
+    private void addBlogChunks(List<Document> out, Blog blog) {
+        addChunkSeries(out, "blog", blog.getSlug(), blog.getTitle(), blog.getSlug(), null,
+                PortfolioEntityTextBuilder.buildBlogText(blog));
+    }
+
 }
@@ -0,0 +1,204 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import com.kapil.personalwebsite.util.ExceptionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adaptive concurrency limit in front of the AI endpoints (portfolio chat, blog ask and contact polish).
+ * The limit follows {@link AdaptiveConcurrencyLimit}: it shrinks when model-backed requests get slow or fail and
+ * grows back as they recover. Requests over the limit are rejected at once with 503 and Retry-After instead of
+ * holding a worker thread while a slow upstream times out, which keeps workers free for the cheap blog reads.
+ * Runs after {@link RateLimitFilter}, so only clients within their own quota compete for AI capacity.
+ * <p>
+ * Streamed answers hold their slot until the async response completes, but their duration reflects answer length
+ * rather than upstream health, so only a stream's failure or timeout adjusts the limit. Requests the application
+ * turned away itself, marked with {@link #LOCAL_REJECTION_ATTRIBUTE}, release their slot without adjusting it
+ * either, so the LLM governor shedding load does not also shrink this limit. Latency is likewise measured from
+ * when the governor granted the model call, recorded in {@link #PERMIT_GRANTED_ATTRIBUTE}, so time spent queueing
+ * for the governor counts as local load rather than upstream congestion.
+ *
+ * @author Kapil Garg
+ */
+@Component
+@Order(3)
+public class AdaptiveConcurrencyFilter implements Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyFilter.class);
+
+    /**
+     * Request attribute set when a 503 was produced locally, e.g. by the LLM governor, rather than by a slow or
+     * failing upstream.
+     */
+    public static final String LOCAL_REJECTION_ATTRIBUTE =
+            AdaptiveConcurrencyFilter.class.getName() + ".localRejection";
+
+    /**
+     * Request attribute holding the {@link System#nanoTime()} at which the LLM governor granted the request's model
+     * call; latency samples start there when it is set.
+     */
+    public static final String PERMIT_GRANTED_ATTRIBUTE =
+            AdaptiveConcurrencyFilter.class.getName() + ".permitGranted";
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final AdaptiveConcurrencyLimit limit;
+    private final long latencyThresholdNanos;
+    private final Counter rejections;
+    private final RouteClassifier routeClassifier;
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyProperties properties, MeterRegistry meterRegistry,
+                                     RouteClassifier routeClassifier) {
+        this.properties = properties;
+        this.routeClassifier = routeClassifier;
+        this.limit = new AdaptiveConcurrencyLimit(properties.initialLimit(), properties.minLimit(),
+                properties.maxLimit(), properties.backoffRatio());
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.latencyThresholdMs());
+        Gauge.builder("ai.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit for AI endpoints")
+                .register(meterRegistry);
+        Gauge.builder("ai.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("AI requests currently admitted by the adaptive concurrency limit")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("ai.concurrency.rejected")
+                .description("AI requests rejected by the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!properties.enabled() || HttpMethod.OPTIONS.matches(httpRequest.getMethod())
+                || !routeClassifier.classify(httpRequest).isAi()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long ticket = limit.tryAcquire();
+        if (ticket == AdaptiveConcurrencyLimit.REJECTED) {
+            rejections.increment();
+            LOGGER.warn("AI concurrency limit of {} reached - Path: {}", limit.limit(), httpRequest.getRequestURI());
+            sendServiceBusyResponse(httpResponse);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        boolean disconnected = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } catch (IOException | ServletException e) {
+            ExceptionUtils.handleClientDisconnect(e, LOGGER, httpRequest);
+            disconnected = true; // the client left, which says nothing about upstream health
+        } finally {
+            if (disconnected || httpRequest.getAttribute(LOCAL_REJECTION_ATTRIBUTE) != null) {
+                limit.releaseWithoutSample();
+            } else if (completed && httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(new StreamReleaseListener(ticket));
+            } else {
+                boolean congested = !completed || isServerError(httpResponse)
+                        || System.nanoTime() - sampleStart(httpRequest, start) > latencyThresholdNanos;
+                limit.release(ticket, congested);
+            }
+        }
+    }
+
+    /**
+     * Returns when the upstream part of the request began: the governor's grant if there was one, else admission.
+     */
+    private static long sampleStart(HttpServletRequest request, long admittedAt) {
+        return request.getAttribute(PERMIT_GRANTED_ATTRIBUTE) instanceof Long grantedAt ? grantedAt : admittedAt;
+    }
+
+    private static boolean isServerError(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    /**
+     * Sends a 503 Service Unavailable response with JSON body and Retry-After header.
+     *
+     * @param response the HTTP servlet response
+     * @throws IOException in case of I/O errors
+     */
+    private void sendServiceBusyResponse(HttpServletResponse response) throws IOException {
+        long retryAfterSeconds = properties.retryAfterSeconds();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(AppConstants.APPLICATION_JSON);
+        response.setCharacterEncoding(AppConstants.UTF_ENCODING);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        String jsonResponse = """
+                {
+                    "error": "Service busy",
+                    "message": "The AI assistant is at capacity. Please try again after %d seconds.",
+                    "retryAfter": %d
+                }
+                """.formatted(retryAfterSeconds, retryAfterSeconds);
+        response.getWriter().write(jsonResponse);
+    }
+
+    int currentLimit() {
+        return limit.limit();
+    }
+
+    /**
+     * Releases a streamed request's slot exactly once, when its async response ends.
+     */
+    private final class StreamReleaseListener implements AsyncListener {
+
+        private final long ticket;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private StreamReleaseListener(long ticket) {
+            this.ticket = ticket;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limit.releaseWithoutSample();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releaseCongested();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releaseCongested();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void releaseCongested() {
+            if (released.compareAndSet(false, true)) {
+                limit.release(ticket, true);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.kapil.personalwebsite.config;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) concurrency limit driven by observed request outcomes.
+ * A request slower than the latency threshold, or one that failed, multiplies the limit by the backoff ratio;
+ * a fast request grows it by {@code 1 / limit}, so the limit rises by about one per limit's worth of successes.
+ * Growth only happens while the limit is actually being used, so an idle period cannot inflate it.
+ * <p>
+ * Each acquisition remembers the current decrease epoch and only a request admitted after the latest decrease
+ * may decrease again. Without this, every request in flight during one slow spell would back off in turn and
+ * collapse the limit to the minimum.
+ *
+ * @author Kapil Garg
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Returned by {@link #tryAcquire()} when the limit is reached.
+     */
+    static final long REJECTED = -1L;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private long epoch;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the current limit are in flight.
+     *
+     * @return the ticket to pass to {@link #release}, or {@link #REJECTED}
+     */
+    synchronized long tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return REJECTED;
+        }
+        inFlight++;
+        return epoch;
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit by its outcome.
+     *
+     * @param ticket    the value {@link #tryAcquire()} returned for the request
+     * @param congested whether the request was slow or failed
+     */
+    synchronized void release(long ticket, boolean congested) {
+        int wasInFlight = inFlight--;
+        if (congested) {
+            if (ticket == epoch) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                epoch++;
+            }
+        } else if (wasInFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * Releases an admitted request without adjusting the limit, for outcomes that say nothing about latency.
+     */
+    synchronized void releaseWithoutSample() {
+        inFlight--;
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+}
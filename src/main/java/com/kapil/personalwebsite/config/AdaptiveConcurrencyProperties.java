@@ -0,0 +1,54 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for the adaptive AI concurrency limit under the {app.ai.concurrency} prefix.
+ *
+ * @param enabled            whether AI requests pass through the limiter
+ * @param initialLimit       the concurrent AI requests allowed at startup
+ * @param minLimit           the floor the limit never shrinks below
+ * @param maxLimit           the ceiling the limit never grows above
+ * @param latencyThresholdMs the upstream response time, excluding any wait for the LLM governor, above which a
+ *                           request counts as a congestion signal
+ * @param backoffRatio       the factor the limit is multiplied by on congestion, between 0.5 and 1
+ * @param retryAfterSeconds  the Retry-After sent with rejections
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "app.ai.concurrency")
+public record AdaptiveConcurrencyProperties(
+        Boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        long latencyThresholdMs,
+        double backoffRatio,
+        long retryAfterSeconds
+) {
+
+    public AdaptiveConcurrencyProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (minLimit <= 0) {
+            minLimit = 2;
+        }
+        if (maxLimit < minLimit) {
+            maxLimit = Math.max(minLimit, 64);
+        }
+        if (initialLimit <= 0) {
+            initialLimit = 16;
+        }
+        initialLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        if (latencyThresholdMs <= 0) {
+            latencyThresholdMs = 6_000L;
+        }
+        if (backoffRatio < 0.5 || backoffRatio >= 1.0) {
+            backoffRatio = 0.9;
+        }
+        if (retryAfterSeconds <= 0) {
+            retryAfterSeconds = 2L;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates admin requests carrying an {@code Authorization: Bearer} token issued by {@link AdminTokenService}.
+ * Registered inside Spring Security's filter chain ahead of HTTP Basic; a missing, forged or expired token leaves
+ * the request unauthenticated, so protected endpoints still answer 401.
+ *
+ * @author Kapil Garg
+ */
+public class AdminTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final AdminTokenService adminTokenService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public AdminTokenAuthenticationFilter(AdminTokenService adminTokenService) {
+        this.adminTokenService = adminTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(AppConstants.AUTHORIZATION_HEADER);
+        if (header != null && header.regionMatches(true, 0, AppConstants.BEARER_PREFIX, 0,
+                AppConstants.BEARER_PREFIX.length())) {
+            String token = header.substring(AppConstants.BEARER_PREFIX.length()).trim();
+            PreAuthenticatedAuthenticationToken authentication =
+                    adminTokenService.verify(token, System.currentTimeMillis());
+            if (authentication != null) {
+                authentication.setDetails(detailsSource.buildDetails(request));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.SecurityStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived, HMAC-SHA256 signed admin bearer tokens.
+ * An admin exchanges HTTP Basic credentials for a token once, and later requests are authenticated by checking the
+ * signature and expiry alone, with no BCrypt check, session or lookup.
+ * <p>
+ * A token is {@code base64url(expiry:authorities:username).base64url(signature)}. Every replica configured with the
+ * same {@code admin.token.secret} accepts the same tokens; without a secret a random one is generated at startup,
+ * so tokens only work on the instance that issued them and are invalidated by a restart.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class AdminTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminTokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final int MAX_TOKEN_LENGTH = 1024;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public AdminTokenService(@Value("${admin.token.secret:}") String secret,
+                             @Value("${admin.token.ttl-seconds:900}") long ttlSeconds) {
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (!SecurityStringUtils.isConfigured(secret)) {
+            LOGGER.warn("Admin token secret not configured. Tokens are signed with a random key and only accepted " +
+                    "by this instance until it restarts. Set ADMIN_TOKEN_SECRET to share tokens across replicas.");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException(
+                    "Admin token secret must be at least " + MIN_SECRET_BYTES + " bytes long. " +
+                            "Please set a longer ADMIN_TOKEN_SECRET environment variable.");
+        }
+        return bytes;
+    }
+
+    /**
+     * Issues a token for an authenticated admin.
+     *
+     * @param authentication the admin's authentication
+     * @param currentTimeMs  the current epoch millisecond
+     * @return the signed token and when it expires
+     */
+    public IssuedToken issue(Authentication authentication, long currentTimeMs) {
+        long expiresAt = currentTimeMs / 1000 + ttlSeconds;
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = ENCODER.encodeToString((expiresAt + ":" + authorities + ":" + authentication.getName())
+                .getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), "Bearer", expiresAt);
+    }
+
+    /**
+     * Verifies a token's signature and expiry.
+     *
+     * @param token         the token presented by the client
+     * @param currentTimeMs the current epoch millisecond
+     * @return the authenticated admin, or null if the token is malformed, forged or expired
+     */
+    public PreAuthenticatedAuthenticationToken verify(String token, long currentTimeMs) {
+        int dot = token.indexOf('.');
+        if (token.length() > MAX_TOKEN_LENGTH || dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            String[] fields = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split(":", 3);
+            if (fields.length != 3 || Long.parseLong(fields[0]) * 1000 <= currentTimeMs) {
+                return null;
+            }
+            Collection<GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1]);
+            return new PreAuthenticatedAuthenticationToken(fields[2], null, authorities);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * A signed admin token.
+     *
+     * @param token     the bearer token
+     * @param tokenType always {@code Bearer}
+     * @param expiresAt epoch second the token expires at
+     */
+    public record IssuedToken(String token, String tokenType, long expiresAt) {
+    }
+
+}
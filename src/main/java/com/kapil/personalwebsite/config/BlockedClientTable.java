@@ -0,0 +1,70 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived "blocked until" table of bucket keys a rate limit bucket has just denied.
+ * The filter consults it before touching any bucket, so a client hammering an exhausted quota is turned away
+ * with one hash lookup instead of bucket locks and store round trips. Each entry expires on its own when its
+ * block ends, measured on the caller's clock, and the table is bounded; an evicted entry only sends that client
+ * back through the buckets.
+ *
+ * @author Kapil Garg
+ */
+final class BlockedClientTable {
+
+    private final Cache<Long, Long> blockedUntil;
+
+    BlockedClientTable(int maxEntries) {
+        this.blockedUntil = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                // Placeholder durations; block() sets each entry's expiry from the caller's time right after.
+                .expireAfter(new Expiry<Long, Long>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Long untilMs, long currentTime) {
+                        return Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Long untilMs, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Long untilMs, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Blocks a key until the given time, extending but never shortening an existing block.
+     *
+     * @param key           the bucket key
+     * @param untilMs       the epoch millisecond the block ends
+     * @param currentTimeMs the current epoch millisecond
+     */
+    void block(long key, long untilMs, long currentTimeMs) {
+        long until = blockedUntil.asMap().merge(key, untilMs, Math::max);
+        blockedUntil.policy().expireVariably().ifPresent(expiry ->
+                expiry.setExpiresAfter(key, Math.max(0L, until - currentTimeMs), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Returns when the key's block ends, or 0 if the key is not blocked at {@code currentTimeMs}.
+     *
+     * @param key           the bucket key
+     * @param currentTimeMs the current epoch millisecond
+     * @return the epoch millisecond the block ends, or 0
+     */
+    long blockedUntil(long key, long currentTimeMs) {
+        Long until = blockedUntil.getIfPresent(key);
+        return until != null && until > currentTimeMs ? until : 0L;
+    }
+
+}
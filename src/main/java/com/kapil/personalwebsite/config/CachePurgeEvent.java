@@ -0,0 +1,13 @@
+package com.kapil.personalwebsite.config;
+
+import java.util.Set;
+
+/**
+ * Asks {@link CdnPurgeDispatcher} to purge CDN responses tagged with any of the surrogate keys once the publishing
+ * transaction commits. Admin mutations without an event of their own publish this one.
+ *
+ * @param surrogateKeys the surrogate keys to purge, see {@link SurrogateKeys}
+ * @author Kapil Garg
+ */
+public record CachePurgeEvent(Set<String> surrogateKeys) {
+}
@@ -0,0 +1,118 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Authentication provider that remembers recently verified HTTP Basic credentials, so repeated admin calls skip
+ * the BCrypt check of the delegate provider. A bulk CMS sync otherwise spends tens of milliseconds of CPU per request
+ * re-verifying the same password.
+ * <p>
+ * Credentials are never stored: the username and password are hashed with HMAC-SHA256 under a random per-process
+ * salt, the first 8 bytes of the digest key the cache, and a hit is accepted only if the full digest matches in
+ * constant time. Only successful authentications are cached, each for a short TTL, so wrong passwords always pay the
+ * full BCrypt cost and a password change on restart invalidates everything.
+ *
+ * @author Kapil Garg
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final SecretKeySpec salt;
+    private final ThreadLocal<Mac> mac;
+    private final Cache<Long, VerifiedCredential> verified;
+
+    /**
+     * Creates a provider caching the delegate's successful authentications.
+     *
+     * @param delegate   the provider performing the full credential check
+     * @param ttl        how long a verified credential is remembered
+     * @param maxEntries the most credentials remembered at once
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries) {
+        this(delegate, ttl, maxEntries, Ticker.systemTicker());
+    }
+
+    CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries, Ticker ticker) {
+        this.delegate = delegate;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.salt = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        byte[] digest = digest(authentication.getName(), password);
+        long key = ByteBuffer.wrap(digest).getLong();
+        VerifiedCredential cached = verified.getIfPresent(key);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest)) {
+            UsernamePasswordAuthenticationToken result =
+                    UsernamePasswordAuthenticationToken.authenticated(cached.principal(), null, cached.authorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            verified.put(key, new VerifiedCredential(digest, result.getPrincipal(), result.getAuthorities()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Hashes the username and password with the per-process salt; the username's length is mixed in so the
+     * boundary between the two matters.
+     */
+    private byte[] digest(String username, String password) {
+        Mac hmac = mac.get();
+        hmac.update(ByteBuffer.allocate(Integer.BYTES).putInt(username.length()).array());
+        hmac.update(username.getBytes(StandardCharsets.UTF_8));
+        return hmac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(salt);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, Object principal,
+                                      Collection<? extends GrantedAuthority> authorities) {
+    }
+
+}
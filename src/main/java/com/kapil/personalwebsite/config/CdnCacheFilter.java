@@ -0,0 +1,142 @@
+package com.kapil.personalwebsite.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * CDN cache headers for the public blog and portfolio reads.
+ * Each response gets the Cache-Control of its route's {@link CdnCacheProperties.Policy}, with {@code s-maxage},
+ * {@code stale-while-revalidate} and {@code stale-if-error} for the CDN, and surrogate keys naming the content it
+ * shows: {@code blog:{slug}} for a blog, {@code blogs:list} for listings, and the collection name for the portfolio
+ * routes. {@link CdnPurgeDispatcher} purges those keys when the content changes, so the CDN can keep responses long.
+ * <p>
+ * The headers are set before the handler runs, so 304 answers from {@link ConditionalGetFilter} carry them too. A
+ * response whose status turns out to be anything but 200 or 304 is switched to {@code no-store} before its body is
+ * written, so errors and missing blogs are never cached.
+ *
+ * @author Kapil Garg
+ */
+@Component
+@Order(4)
+public class CdnCacheFilter implements Filter {
+
+    private static final String BLOG_PATH = "/blogs/published";
+    private static final String CATEGORY_SEGMENT = "category/";
+    private static final String SEARCH_SEGMENT = "search";
+    private static final String[] PORTFOLIO_PATHS = {
+            "/portfolio", "/projects", "/skills", "/experiences", "/educations", "/certifications"
+    };
+    private static final String NO_STORE = "no-store";
+    private static final int BLOG = 1;
+    private static final int PORTFOLIO = 2;
+
+    private final CdnCacheProperties properties;
+    private final RouteClassifier routeClassifier;
+    private final PathTrie paths = new PathTrie(false);
+
+    public CdnCacheFilter(CdnCacheProperties properties, RouteClassifier routeClassifier) {
+        this.properties = properties;
+        this.routeClassifier = routeClassifier;
+        paths.insertPrefix(BLOG_PATH, BLOG);
+        for (String path : PORTFOLIO_PATHS) {
+            paths.insertExact(path, PORTFOLIO);
+            paths.insertExact(path + "/", PORTFOLIO);
+        }
+        paths.insertPrefix("/projects/", PORTFOLIO);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String servletPath = httpRequest.getServletPath();
+        int group = properties.enabled() && HttpMethod.GET.matches(httpRequest.getMethod()) && servletPath != null
+                ? paths.match(servletPath, 0)
+                : 0;
+        if (group == 0 || routeClassifier.classify(httpRequest) == RouteClassifier.Route.BLOG_ASK) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CdnCacheProperties.Policy policy;
+        String surrogateKey;
+        if (group == BLOG) {
+            String slug = blogSlug(servletPath);
+            policy = slug == null ? properties.blogList() : properties.blogPost();
+            surrogateKey = slug == null ? SurrogateKeys.BLOG_LIST : SurrogateKeys.blog(slug);
+        } else {
+            policy = properties.portfolio();
+            surrogateKey = firstSegment(servletPath);
+        }
+        httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, policy.headerValue());
+        httpResponse.setHeader(properties.surrogateKeyHeader(), surrogateKey);
+        chain.doFilter(request, new UncachedErrorResponse(httpResponse));
+    }
+
+    /**
+     * Returns the slug of a single-blog path, or null for listings (including anything derived from several blogs).
+     */
+    static String blogSlug(String servletPath) {
+        if (servletPath.length() <= BLOG_PATH.length() + 1) {
+            return null;
+        }
+        String rest = servletPath.substring(BLOG_PATH.length() + 1);
+        return rest.startsWith(CATEGORY_SEGMENT) || rest.equals(SEARCH_SEGMENT) || rest.indexOf('/') >= 0
+                ? null
+                : rest;
+    }
+
+    private static String firstSegment(String servletPath) {
+        int end = servletPath.indexOf('/', 1);
+        return end < 0 ? servletPath.substring(1) : servletPath.substring(1, end);
+    }
+
+    /**
+     * Switches the response to {@code no-store} as soon as it is given a status other than 200 or 304.
+     */
+    private static final class UncachedErrorResponse extends HttpServletResponseWrapper {
+
+        UncachedErrorResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            markUncachedUnlessOk(sc);
+            super.setStatus(sc);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            markUncachedUnlessOk(sc);
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            markUncachedUnlessOk(sc);
+            super.sendError(sc, msg);
+        }
+
+        private void markUncachedUnlessOk(int sc) {
+            if (sc != HttpStatus.OK.value() && sc != HttpStatus.NOT_MODIFIED.value()) {
+                setHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for CDN cache headers and purging under the {http.cdn} prefix.
+ *
+ * @param enabled            whether public reads get Cache-Control and surrogate key headers
+ * @param surrogateKeyHeader the response header carrying the space-separated surrogate keys
+ * @param blogList           the policy for blog listings
+ * @param blogPost           the policy for a single published blog
+ * @param portfolio          the policy for the portfolio, projects, skills, experiences, educations and certifications
+ * @param purge              where and how surrogate key purges are sent
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "http.cdn")
+public record CdnCacheProperties(
+        Boolean enabled,
+        String surrogateKeyHeader,
+        Policy blogList,
+        Policy blogPost,
+        Policy portfolio,
+        Purge purge
+) {
+
+    public CdnCacheProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (surrogateKeyHeader == null || surrogateKeyHeader.isBlank()) {
+            surrogateKeyHeader = "Surrogate-Key";
+        }
+        if (blogList == null) {
+            blogList = new Policy(60, 300, 600, 86_400);
+        }
+        if (blogPost == null) {
+            blogPost = new Policy(60, 3_600, 86_400, 86_400);
+        }
+        if (portfolio == null) {
+            portfolio = new Policy(300, 3_600, 86_400, 86_400);
+        }
+        if (purge == null) {
+            purge = new Purge(null, null, null, 0, 0, 0);
+        }
+    }
+
+    /**
+     * How long browsers and shared caches may keep a response.
+     *
+     * @param maxAgeSeconds               how long browsers may use a response without revalidating it
+     * @param sMaxageSeconds              how long the CDN may use a response; purges end it early
+     * @param staleWhileRevalidateSeconds how long after that the CDN may serve it while refetching in the background
+     * @param staleIfErrorSeconds         how long after that the CDN may serve it while the API is failing
+     */
+    public record Policy(int maxAgeSeconds, int sMaxageSeconds, int staleWhileRevalidateSeconds,
+                         int staleIfErrorSeconds) {
+
+        /**
+         * Returns the policy as a Cache-Control header value.
+         *
+         * @return the header value
+         */
+        public String headerValue() {
+            return "public, max-age=" + maxAgeSeconds
+                    + ", s-maxage=" + sMaxageSeconds
+                    + ", stale-while-revalidate=" + staleWhileRevalidateSeconds
+                    + ", stale-if-error=" + staleIfErrorSeconds;
+        }
+
+    }
+
+    /**
+     * Where surrogate key purges are sent.
+     *
+     * @param url               the purge endpoint, receiving {@code {"surrogate_keys": [...]}} as a POST; blank
+     *                          disables purging
+     * @param tokenHeader       the header carrying the purge token
+     * @param token             the purge token; blank sends none
+     * @param batchMillis       how long purges are collected and deduplicated before being sent
+     * @param maxKeysPerRequest the most surrogate keys sent in one purge request
+     * @param repeatAfterSeconds how long after a blog change its keys are purged a second time; at least
+     *                           {@code blog.read-model.refresh-seconds}, so the CDN cannot keep a copy refetched
+     *                           from a replica whose snapshot predates the change
+     */
+    public record Purge(String url, String tokenHeader, String token, int batchMillis, int maxKeysPerRequest,
+                        int repeatAfterSeconds) {
+
+        public Purge {
+            if (url == null) {
+                url = "";
+            }
+            if (tokenHeader == null || tokenHeader.isBlank()) {
+                tokenHeader = "Fastly-Key";
+            }
+            if (token == null) {
+                token = "";
+            }
+            if (batchMillis <= 0) {
+                batchMillis = 2_000;
+            }
+            if (maxKeysPerRequest <= 0) {
+                maxKeysPerRequest = 256;
+            }
+            if (repeatAfterSeconds <= 0) {
+                repeatAfterSeconds = 330;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.service.PersonalInfoChangedEvent;
+import com.kapil.personalwebsite.service.blog.BlogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Purges CDN responses by surrogate key once content changes commit.
+ * Committed blog changes purge the blog under its current and previous slug plus every listing, personal information
+ * changes purge the portfolio, and any other admin mutation can publish a {@link CachePurgeEvent}. Keys are collected
+ * in a set and sent every {@code http.cdn.purge.batch-millis} as {@code {"surrogate_keys": [...]}} POSTs to
+ * {@code http.cdn.purge.url}, so a bulk edit touching many blogs sends each key once, in as few requests as possible.
+ * Keys from a failed request are put back and retried with the next batch. Nothing is collected while no purge URL
+ * is configured.
+ * <p>
+ * Only the committing replica has updated its {@link com.kapil.personalwebsite.service.blog.PublishedBlogReadModel}
+ * when the first purge goes out; the others serve their previous snapshot until their next periodic reload, and a
+ * CDN refetch landing on one of them would cache the old post again. Blog keys are therefore purged a second time
+ * {@code http.cdn.purge.repeat-after-seconds} later, once every replica has reloaded.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class CdnPurgeDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdnPurgeDispatcher.class);
+
+    private static final String SURROGATE_KEYS_FIELD = "surrogate_keys";
+
+    private final CdnCacheProperties.Purge properties;
+    private final RestTemplate restTemplate;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> repeatAtMs = new ConcurrentHashMap<>();
+
+    public CdnPurgeDispatcher(CdnCacheProperties properties, RestTemplate restTemplate) {
+        this.properties = properties.purge();
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Queues surrogate keys for the next purge batch.
+     *
+     * @param surrogateKeys the keys to purge
+     */
+    public void enqueue(Collection<String> surrogateKeys) {
+        if (properties.url().isBlank()) {
+            return;
+        }
+        surrogateKeys.stream().filter(Objects::nonNull).forEach(pending::add);
+    }
+
+    /**
+     * Queues the blog under its current and previous slug, and every listing, once a blog change has committed.
+     *
+     * @param event the blog change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(SurrogateKeys.BLOG_LIST);
+        if (event.blog().getSlug() != null) {
+            keys.add(SurrogateKeys.blog(event.blog().getSlug()));
+        }
+        if (event.previousSlug() != null) {
+            keys.add(SurrogateKeys.blog(event.previousSlug()));
+        }
+        enqueue(keys);
+        if (!properties.url().isBlank()) {
+            long repeatAt = System.currentTimeMillis() + properties.repeatAfterSeconds() * 1_000L;
+            keys.forEach(key -> repeatAtMs.merge(key, repeatAt, Math::max));
+        }
+    }
+
+    /**
+     * Queues the portfolio once a personal information change has committed.
+     *
+     * @param event the personal information change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonalInfoChanged(PersonalInfoChangedEvent event) {
+        enqueue(List.of(SurrogateKeys.PORTFOLIO));
+    }
+
+    /**
+     * Queues the keys of any other committed admin mutation.
+     *
+     * @param event the purge request
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCachePurge(CachePurgeEvent event) {
+        enqueue(event.surrogateKeys());
+    }
+
+    /**
+     * Sends every queued key, in requests of at most {@code http.cdn.purge.max-keys-per-request} keys.
+     */
+    @Scheduled(fixedDelayString = "${http.cdn.purge.batch-millis:2000}")
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    /**
+     * Queues the repeat purges due by {@code nowMs}, then sends every queued key.
+     */
+    void flush(long nowMs) {
+        for (Iterator<Map.Entry<String, Long>> it = repeatAtMs.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Long> repeat = it.next();
+            if (repeat.getValue() <= nowMs) {
+                pending.add(repeat.getKey());
+                it.remove();
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(pending.size());
+        for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        int max = properties.maxKeysPerRequest();
+        for (int from = 0; from < batch.size(); from += max) {
+            List<String> keys = batch.subList(from, Math.min(batch.size(), from + max));
+            try {
+                send(keys);
+                LOGGER.debug("Purged {} surrogate keys from the CDN", keys.size());
+            } catch (RestClientException e) {
+                pending.addAll(batch.subList(from, batch.size()));
+                LOGGER.warn("CDN purge of {} surrogate keys failed; retrying with the next batch: {}",
+                        batch.size() - from, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void send(List<String> keys) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (!properties.token().isBlank()) {
+            headers.set(properties.tokenHeader(), properties.token());
+        }
+        HttpEntity<Map<String, List<String>>> request =
+                new HttpEntity<>(Map.of(SURROGATE_KEYS_FIELD, List.copyOf(keys)), headers);
+        restTemplate.exchange(properties.url(), HttpMethod.POST, request, Void.class);
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.kapil.personalwebsite.config;
+
+/**
+ * A client IP address parsed into 128 bits, with IPv4 held in its IPv4-mapped IPv6 form ({@code ::ffff:a.b.c.d})
+ * so both families share one prefix space; an IPv4 /24 is the mapped /120.
+ * Parsing is done by hand over the characters so no {@code InetAddress} or intermediate strings are created.
+ *
+ * @param high the upper 64 bits of the address
+ * @param low  the lower 64 bits of the address
+ * @author Kapil Garg
+ */
+record ClientAddress(long high, long low) {
+
+    /**
+     * Number of leading bits shared by every IPv4-mapped address.
+     */
+    static final int IPV4_MAPPED_PREFIX = 96;
+
+    private static final long IPV4_MAPPED_MARKER = 0x0000_FFFF_0000_0000L;
+
+    /**
+     * Parses an IPv4 or IPv6 literal, accepting surrounding brackets and an IPv6 zone suffix.
+     *
+     * @param text the address text, may be null
+     * @return the parsed address, or null if {@code text} is not an IP literal
+     */
+    static ClientAddress parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        if (end > 1 && text.charAt(0) == '[' && text.charAt(end - 1) == ']') {
+            start = 1;
+            end--;
+        }
+        int zone = text.indexOf('%', start);
+        if (zone >= 0 && zone < end) {
+            end = zone;
+        }
+        if (text.indexOf(':', start) >= 0) {
+            return parseIpv6(text, start, end);
+        }
+        long ipv4 = parseIpv4(text, start, end);
+        return ipv4 < 0 ? null : new ClientAddress(0L, IPV4_MAPPED_MARKER | ipv4);
+    }
+
+    boolean isIpv4() {
+        return high == 0L && (low & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED_MARKER;
+    }
+
+    /**
+     * Returns whether this is a loopback address: {@code ::1} or anything in IPv4 {@code 127.0.0.0/8}.
+     */
+    boolean isLoopback() {
+        return high == 0L && (low == 1L || isIpv4() && (low >>> 24 & 0xFF) == 127);
+    }
+
+    /**
+     * Returns this address with every bit after the first {@code prefixLength} bits cleared.
+     *
+     * @param prefixLength the number of leading bits to keep, 0 to 128
+     * @return the network address
+     */
+    ClientAddress mask(int prefixLength) {
+        return new ClientAddress(high & leadingBits(prefixLength), low & leadingBits(prefixLength - 64));
+    }
+
+    /**
+     * Returns bit {@code index} of the address, counting from the most significant bit.
+     */
+    int bit(int index) {
+        return index < 64 ? (int) (high >>> (63 - index)) & 1 : (int) (low >>> (127 - index)) & 1;
+    }
+
+    private static long leadingBits(int bits) {
+        if (bits <= 0) {
+            return 0L;
+        }
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    /**
+     * Parses dotted-quad IPv4 text into its 32-bit value.
+     *
+     * @return the address as a non-negative long, or -1 if malformed
+     */
+    private static long parseIpv4(String text, int start, int end) {
+        long value = 0;
+        int octets = 0;
+        int i = start;
+        while (octets < 4) {
+            int octet = 0;
+            int digits = 0;
+            while (i < end && digits < 3 && isDigit(text.charAt(i))) {
+                octet = octet * 10 + (text.charAt(i++) - '0');
+                digits++;
+            }
+            if (digits == 0 || octet > 255) {
+                return -1;
+            }
+            value = value << 8 | octet;
+            if (++octets < 4) {
+                if (i >= end || text.charAt(i) != '.') {
+                    return -1;
+                }
+                i++;
+            }
+        }
+        return i == end ? value : -1;
+    }
+
+    private static ClientAddress parseIpv6(String text, int start, int end) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressAt = -1;
+        int i = start;
+        if (end - start >= 2 && text.charAt(i) == ':' && text.charAt(i + 1) == ':') {
+            compressAt = 0;
+            i += 2;
+        }
+        while (i < end) {
+            if (count == 8) {
+                return null;
+            }
+            int groupStart = i;
+            int group = 0;
+            while (i < end && i - groupStart < 4 && Character.digit(text.charAt(i), 16) >= 0) {
+                group = group << 4 | Character.digit(text.charAt(i++), 16);
+            }
+            if (i < end && text.charAt(i) == '.') {
+                // Trailing dotted IPv4 occupies the last two groups.
+                long ipv4 = count <= 6 ? parseIpv4(text, groupStart, end) : -1;
+                if (ipv4 < 0) {
+                    return null;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xFFFF);
+                i = end;
+                break;
+            }
+            if (i == groupStart) {
+                return null;
+            }
+            groups[count++] = group;
+            if (i < end) {
+                if (text.charAt(i) != ':') {
+                    return null;
+                }
+                i++;
+                if (i < end && text.charAt(i) == ':') {
+                    if (compressAt >= 0) {
+                        return null;
+                    }
+                    compressAt = count;
+                    i++;
+                } else if (i == end) {
+                    return null;
+                }
+            }
+        }
+        if (compressAt < 0 ? count != 8 : count == 8) {
+            return null;
+        }
+        long high = 0;
+        long low = 0;
+        int zeros = 8 - count;
+        int position = 0;
+        for (int g = 0; g <= count; g++) {
+            if (g == compressAt) {
+                position += zeros;
+            }
+            if (g == count) {
+                break;
+            }
+            if (position < 4) {
+                high |= (long) groups[g] << (48 - 16 * position);
+            } else {
+                low |= (long) groups[g] << (48 - 16 * (position - 4));
+            }
+            position++;
+        }
+        return new ClientAddress(high, low);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
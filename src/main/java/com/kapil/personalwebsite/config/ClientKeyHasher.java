@@ -0,0 +1,130 @@
+package com.kapil.personalwebsite.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * Keyed 64-bit hash deriving rate-limit keys straight from request header characters.
+ * Reads each string four chars at a time through {@link String#charAt}, so deriving a key allocates nothing.
+ * Not cryptographic: the secret seed only keeps clients from precomputing colliding header values offline.
+ *
+ * @author Kapil Garg
+ */
+final class ClientKeyHasher {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final long IP_DOMAIN = 0x9e3779b97f4a7c15L;
+    private static final long SUBNET_DOMAIN = 0xc2b2ae3d27d4eb4fL;
+
+    private final long seed;
+
+    private ClientKeyHasher(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a hasher keyed by the given secret, or by a random per-process seed when the secret is blank.
+     * Replicas sharing a rate limit store must use the same secret so they derive identical keys.
+     *
+     * @param secret the configured key secret, may be null or blank
+     * @return the hasher
+     */
+    static ClientKeyHasher fromSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            return new ClientKeyHasher(new SecureRandom().nextLong());
+        }
+        long seed = 0L;
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            seed = fmix(seed ^ (b & 0xFF)) * C1;
+        }
+        return new ClientKeyHasher(fmix(seed ^ bytes.length));
+    }
+
+    /**
+     * Hashes the client fingerprint fields; the length of each field is mixed in so field boundaries matter.
+     *
+     * @param clientIp       the normalized client IP address
+     * @param userAgent      the User-Agent header, empty if absent
+     * @param acceptLanguage the Accept-Language header, empty if absent
+     * @return the 64-bit fingerprint key
+     */
+    long fingerprint(String clientIp, String userAgent, String acceptLanguage) {
+        long h = update(seed, clientIp);
+        h = update(h, userAgent);
+        h = update(h, acceptLanguage);
+        return fmix(h);
+    }
+
+    /**
+     * Hashes the client IP alone for the IP aggregate bucket, in a separate domain from fingerprints.
+     *
+     * @param clientIp the normalized client IP address
+     * @return the 64-bit IP key
+     */
+    long ip(String clientIp) {
+        return fmix(update(seed ^ IP_DOMAIN, clientIp));
+    }
+
+    /**
+     * Hashes a parsed client address for the IP aggregate bucket; used in place of {@link #ip(String)} whenever
+     * the client IP is a valid literal, so equivalent spellings of one address share a bucket.
+     *
+     * @param address the parsed client address
+     * @return the 64-bit IP key
+     */
+    long ip(ClientAddress address) {
+        return fmix(round(round(seed ^ IP_DOMAIN, address.high()), address.low()));
+    }
+
+    /**
+     * Hashes a network address together with its prefix length for the subnet bucket.
+     *
+     * @param network      the masked network address
+     * @param prefixLength the 128-bit prefix length the network was masked at
+     * @return the 64-bit subnet key
+     */
+    long subnet(ClientAddress network, int prefixLength) {
+        long h = round(round(seed ^ SUBNET_DOMAIN, network.high()), network.low());
+        return fmix(round(h, prefixLength));
+    }
+
+    private static long update(long h, String s) {
+        int length = s.length();
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            long block = s.charAt(i)
+                    | (long) s.charAt(i + 1) << 16
+                    | (long) s.charAt(i + 2) << 32
+                    | (long) s.charAt(i + 3) << 48;
+            h = round(h, block);
+        }
+        long tail = 0L;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) s.charAt(i) << shift;
+        }
+        return round(h, tail ^ (long) length << 48);
+    }
+
+    private static long round(long h, long block) {
+        block *= C1;
+        block = Long.rotateLeft(block, 31);
+        block *= C2;
+        h ^= block;
+        return Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+}
@@ -0,0 +1,347 @@
+package com.kapil.personalwebsite.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Conditional GET and response replay for the public blog and portfolio reads.
+ * Full responses get a strong ETag, a hash of the response body, and a Last-Modified of when that body was first
+ * served, both remembered in {@link ResponseValidatorCache}, and the serialized body is kept with a gzip-compressed
+ * copy in {@link ResponseBodyCache}. While the validator is fresh, a request is answered before the handler runs:
+ * with 304 if its If-None-Match (or, without one, If-Modified-Since) matches, otherwise with the cached bytes,
+ * compressed if Accept-Encoding allows. Neither MongoDB, the JSON serializer nor the compressor is touched.
+ * Otherwise the handler runs as usual and the body is hashed; if it still matches the client's copy, 304 is sent
+ * instead of the body.
+ * <p>
+ * Hashing the body keeps the ETag correct for content that changes directly in MongoDB; for that to work the
+ * response must be byte-stable, so {@link ConditionalGetResponseAdvice} leaves the per-response timestamp out of
+ * the bodies handled here. The gzip representation's ETag carries a {@code -gzip} suffix, and If-None-Match is
+ * compared ignoring it and any weak prefix.
+ * <p>
+ * Both caches are keyed by the servlet path and only the query parameters its handler reads, {@code after} and
+ * {@code limit} on the blog listings and {@code limit} on related posts, written in a fixed order. A request with any
+ * other parameter is passed through uncached, so made-up query strings cannot push the real URLs out of the caches.
+ *
+ * @author Kapil Garg
+ */
+@Component
+@Order(5)
+public class ConditionalGetFilter implements Filter {
+
+    /**
+     * Request attribute set on requests whose response is validated here.
+     */
+    public static final String CONDITIONAL_ATTRIBUTE = ConditionalGetFilter.class.getName() + ".conditional";
+
+    private static final String[] EXACT_PATHS = {
+            "/portfolio", "/projects", "/skills", "/experiences", "/educations", "/certifications"
+    };
+    private static final String[] PREFIX_PATHS = {"/blogs/published", "/projects/"};
+    private static final String BLOG_PREFIX = "/blogs/published/";
+    private static final String[] PAGED_PATHS = {"/blogs/published", BLOG_PREFIX};
+    private static final String PAGED_PREFIX = "/blogs/published/category/";
+    private static final String RELATED_SUFFIX = "/related";
+
+    /**
+     * Paths under {@link #PREFIX_PATHS} whose responses vary with free-form query strings, which would only churn
+     * the caches.
+     */
+    private static final String[] EXCLUDED_PATHS = {"/blogs/published/search"};
+    private static final int UNCONDITIONAL = 0;
+    private static final int CONDITIONAL = 1;
+    private static final int PAGED = 2;
+    private static final String AFTER_PARAM = "after";
+    private static final String LIMIT_PARAM = "limit";
+
+    /**
+     * Largest {@code limit} cached; every handler clamps to at most this, so larger values are left uncached.
+     */
+    private static final int MAX_CACHED_LIMIT = 100;
+    private static final int ETAG_BYTES = 16;
+    private static final String WEAK_PREFIX = "W/";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip\"";
+
+    private final ConditionalGetProperties properties;
+    private final ResponseValidatorCache validators;
+    private final ResponseBodyCache bodies;
+    private final RouteClassifier routeClassifier;
+    private final PathTrie paths = new PathTrie(false);
+
+    public ConditionalGetFilter(ConditionalGetProperties properties, ResponseValidatorCache validators,
+                                ResponseBodyCache bodies, RouteClassifier routeClassifier) {
+        this.properties = properties;
+        this.validators = validators;
+        this.bodies = bodies;
+        this.routeClassifier = routeClassifier;
+        for (String path : EXACT_PATHS) {
+            paths.insertExact(path, CONDITIONAL);
+            paths.insertExact(path + "/", CONDITIONAL);
+        }
+        for (String prefix : PREFIX_PATHS) {
+            paths.insertPrefix(prefix, CONDITIONAL);
+        }
+        for (String path : PAGED_PATHS) {
+            paths.insertExact(path, PAGED);
+        }
+        paths.insertPrefix(PAGED_PREFIX, PAGED);
+        for (String path : EXCLUDED_PATHS) {
+            paths.insertExact(path, UNCONDITIONAL);
+            paths.insertExact(path + "/", UNCONDITIONAL);
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String key = isConditional(httpRequest) ? keyFor(httpRequest) : null;
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean acceptsGzip = acceptsGzip(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseValidatorCache.Validator fresh = validators.fresh(key, System.currentTimeMillis());
+        if (fresh != null) {
+            ResponseBodyCache.CachedBody cached = bodies.get(key, fresh.etag());
+            if (notModified(httpRequest, fresh)) {
+                sendNotModified(httpResponse, fresh, cached != null && cached.gzip() != null && acceptsGzip);
+                return;
+            }
+            if (cached != null) {
+                sendBody(httpResponse, fresh, cached, acceptsGzip);
+                return;
+            }
+        }
+        long generation = validators.generation();
+        Set<String> headersBefore = Set.copyOf(httpResponse.getHeaderNames());
+        httpRequest.setAttribute(CONDITIONAL_ATTRIBUTE, Boolean.TRUE);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(httpResponse);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpStatus.OK.value()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] json = wrapper.getContentAsByteArray();
+        String etag = etagOf(json);
+        ResponseValidatorCache.Validator validator =
+                validators.record(key, etag, generation, System.currentTimeMillis());
+        ResponseBodyCache.CachedBody body = bodies.store(key, etag, json, wrapper.getContentType(),
+                handlerHeaders(httpResponse, headersBefore));
+        if (notModified(httpRequest, validator)) {
+            sendNotModified(httpResponse, validator, body.gzip() != null && acceptsGzip);
+            return;
+        }
+        sendBody(httpResponse, validator, body, acceptsGzip);
+    }
+
+    private boolean isConditional(HttpServletRequest request) {
+        if (!properties.enabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        String servletPath = request.getServletPath();
+        return servletPath != null
+                && paths.match(servletPath, UNCONDITIONAL) != UNCONDITIONAL
+                && routeClassifier.classify(request) != RouteClassifier.Route.BLOG_ASK;
+    }
+
+    /**
+     * Builds the cache key from the servlet path and the query parameters its handler reads, in a fixed order, with
+     * a blank cursor dropped and the limit in canonical form.
+     *
+     * @param request a request {@link #isConditional} accepted
+     * @return the key, or null if the query carries a parameter the handler does not read, a repeated one, or a
+     * limit out of range
+     */
+    private String keyFor(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String query = request.getQueryString();
+        if (query == null || query.isEmpty()) {
+            return servletPath;
+        }
+        boolean paged = paths.match(servletPath, UNCONDITIONAL) == PAGED;
+        boolean limited = paged || servletPath.startsWith(BLOG_PREFIX) && servletPath.endsWith(RELATED_SUFFIX);
+        String after = null;
+        String limit = null;
+        for (String param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int equals = param.indexOf('=');
+            String name = equals < 0 ? param : param.substring(0, equals);
+            String value = equals < 0 ? "" : param.substring(equals + 1);
+            if (paged && after == null && AFTER_PARAM.equals(name)) {
+                after = value;
+            } else if (limited && limit == null && LIMIT_PARAM.equals(name)) {
+                limit = value;
+            } else {
+                return null;
+            }
+        }
+        StringBuilder key = new StringBuilder(servletPath);
+        char separator = '?';
+        if (after != null && !after.isBlank()) {
+            key.append(separator).append(AFTER_PARAM).append('=').append(after);
+            separator = '&';
+        }
+        if (limit != null) {
+            int pageSize = parseLimit(limit);
+            if (pageSize < 0) {
+                return null;
+            }
+            key.append(separator).append(LIMIT_PARAM).append('=').append(pageSize);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Parses a limit of 1 to {@value #MAX_CACHED_LIMIT} written as plain digits, returning -1 for anything else.
+     */
+    private static int parseLimit(String value) {
+        if (value.isEmpty() || value.length() > 3) {
+            return -1;
+        }
+        int limit = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            limit = limit * 10 + (c - '0');
+        }
+        return limit >= 1 && limit <= MAX_CACHED_LIMIT ? limit : -1;
+    }
+
+    /**
+     * Returns the headers the handler added, other than Content-Type and Content-Length, to replay with the body.
+     */
+    private static Map<String, List<String>> handlerHeaders(HttpServletResponse response, Set<String> before) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!before.contains(name)
+                    && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return Map.copyOf(headers);
+    }
+
+    /**
+     * Evaluates If-None-Match, or If-Modified-Since when the request carries no If-None-Match.
+     */
+    private static boolean notModified(HttpServletRequest request, ResponseValidatorCache.Validator validator) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(tag -> "*".equals(tag) || baseEtag(tag).equals(validator.etag()));
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && validator.lastModifiedMs() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Strips the weak prefix and the gzip suffix from an entity tag, leaving the ETag of the uncompressed body.
+     */
+    private static String baseEtag(String tag) {
+        String strong = tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+        return strong.endsWith(GZIP_ETAG_SUFFIX)
+                ? strong.substring(0, strong.length() - GZIP_ETAG_SUFFIX.length()) + "\""
+                : strong;
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX;
+    }
+
+    /**
+     * Returns true if the Accept-Encoding header admits gzip, explicitly or through {@code *}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if (GZIP.equalsIgnoreCase(name)) {
+                return !refused;
+            }
+            if ("*".equals(name)) {
+                wildcard = !refused;
+            }
+        }
+        return wildcard;
+    }
+
+    private static void sendNotModified(HttpServletResponse response, ResponseValidatorCache.Validator validator,
+                                        boolean gzip) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        setValidatorHeaders(response, validator, gzip);
+    }
+
+    private static void sendBody(HttpServletResponse response, ResponseValidatorCache.Validator validator,
+                                 ResponseBodyCache.CachedBody body, boolean acceptsGzip) throws IOException {
+        boolean gzip = acceptsGzip && body.gzip() != null;
+        byte[] bytes = gzip ? body.gzip() : body.json();
+        response.setStatus(HttpStatus.OK.value());
+        body.headers().forEach((name, values) -> {
+            response.setHeader(name, values.getFirst());
+            values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+        });
+        if (body.contentType() != null) {
+            response.setContentType(body.contentType());
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        setValidatorHeaders(response, validator, gzip);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private static void setValidatorHeaders(HttpServletResponse response, ResponseValidatorCache.Validator validator,
+                                            boolean gzip) {
+        response.setHeader(HttpHeaders.ETAG, gzip ? gzipEtag(validator.etag()) : validator.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, validator.lastModifiedMs());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Returns the strong ETag of a body: the first 128 bits of its SHA-256, base64url-encoded and quoted.
+     */
+    static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, ETAG_BYTES))
+                    + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for conditional GET handling and the response body cache under the {http.conditional-get}
+ * prefix.
+ *
+ * @param enabled               whether public reads get ETag and Last-Modified validators and 304 answers
+ * @param revalidateSeconds     how long a recorded validator is trusted to answer a conditional request without
+ *                              running the handler; covers content that changes directly in MongoDB rather than
+ *                              through the API
+ * @param maxEntries            the most request keys (path and query string) validators are kept for
+ * @param bodyCacheEnabled      whether the serialized and gzip-compressed bodies are kept and replayed while their
+ *                              validator is fresh
+ * @param bodyCacheMaxMegabytes the most memory the cached bodies may take
+ * @param gzipMinBytes          the smallest body worth storing a gzip-compressed copy of
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "http.conditional-get")
+public record ConditionalGetProperties(
+        Boolean enabled,
+        int revalidateSeconds,
+        int maxEntries,
+        Boolean bodyCacheEnabled,
+        int bodyCacheMaxMegabytes,
+        int gzipMinBytes
+) {
+
+    public ConditionalGetProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (revalidateSeconds <= 0) {
+            revalidateSeconds = 60;
+        }
+        if (maxEntries <= 0) {
+            maxEntries = 10_000;
+        }
+        if (bodyCacheEnabled == null) {
+            bodyCacheEnabled = true;
+        }
+        if (bodyCacheMaxMegabytes <= 0) {
+            bodyCacheMaxMegabytes = 32;
+        }
+        if (gzipMinBytes <= 0) {
+            gzipMinBytes = 1_024;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.dto.ApiResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Leaves the per-response timestamp out of {@link ApiResponse} bodies validated by {@link ConditionalGetFilter},
+ * so the same data always serializes to the same bytes and therefore the same ETag. The time the content was
+ * produced is carried by the Last-Modified header instead.
+ *
+ * @author Kapil Garg
+ */
+@RestControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse
+                && request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetFilter.CONDITIONAL_ATTRIBUTE) != null) {
+            apiResponse.setTimestamp(null);
+        }
+        return body;
+    }
+
+}
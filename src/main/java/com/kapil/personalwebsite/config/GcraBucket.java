@@ -0,0 +1,152 @@
+package com.kapil.personalwebsite.config;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generic Cell Rate Algorithm bucket tracked by a single theoretical arrival time (TAT).
+ * Requests are spaced by an emission interval of {@code window / maxRequests} with a burst tolerance that admits
+ * up to {@code maxRequests} back-to-back requests, so memory per key is constant and the check is one CAS loop.
+ * The TAT arithmetic is exposed as static helpers so stores persisting the TAT elsewhere apply identical rules.
+ *
+ * @author Kapil Garg
+ */
+final class GcraBucket implements RateLimitBucket {
+
+    /**
+     * Returned by {@link #admit} when the requested permits do not fit.
+     */
+    static final long DENIED = Long.MIN_VALUE;
+
+    /**
+     * Theoretical arrival time in microseconds; microsecond resolution keeps the emission interval exact enough
+     * for limits that do not divide the window evenly.
+     */
+    private final AtomicLong theoreticalArrivalMicros = new AtomicLong();
+
+    @Override
+    public RateLimitFilter.RateLimitCheckResult tryAcquire(long currentTimeMs, RateLimitFilter.RateLimitConfig config,
+                                                           int permits) {
+        long nowMicros = currentTimeMs * 1_000L;
+        while (true) {
+            long tat = theoreticalArrivalMicros.get();
+            long newTat = admit(tat, nowMicros, config, permits);
+            if (newTat == DENIED) {
+                return denied(tat, nowMicros, config, permits);
+            }
+            if (theoreticalArrivalMicros.compareAndSet(tat, newTat)) {
+                return allowed(newTat, nowMicros, config);
+            }
+        }
+    }
+
+    @Override
+    public void adjust(long currentTimeMs, RateLimitFilter.RateLimitConfig config, int permits) {
+        long nowMicros = currentTimeMs * 1_000L;
+        theoreticalArrivalMicros.updateAndGet(tat -> adjusted(tat, nowMicros, config, permits));
+    }
+
+    @Override
+    public boolean isIdle(long currentTimeMs, RateLimitFilter.RateLimitConfig config) {
+        return theoreticalArrivalMicros.get() <= currentTimeMs * 1_000L;
+    }
+
+    @Override
+    public long resetAtMs(RateLimitFilter.RateLimitConfig config) {
+        return (theoreticalArrivalMicros.get() + 999L) / 1_000L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The state is the TAT alone: 8 bytes.
+     */
+    @Override
+    public void writeState(ByteBuffer out) {
+        out.putLong(theoreticalArrivalMicros.get());
+    }
+
+    /**
+     * Recreates a bucket from the state {@link #writeState} wrote.
+     *
+     * @param in the buffer positioned at the state
+     * @return the restored bucket
+     */
+    static GcraBucket restore(ByteBuffer in) {
+        GcraBucket bucket = new GcraBucket();
+        bucket.theoreticalArrivalMicros.set(in.getLong());
+        return bucket;
+    }
+
+    /**
+     * Computes the TAT after admitting {@code permits} requests at {@code nowMicros}.
+     *
+     * @param tatMicros the current theoretical arrival time, 0 for a fresh bucket
+     * @param nowMicros the current time in microseconds
+     * @param config    the bucket thresholds
+     * @param permits   the number of requests to admit
+     * @return the new TAT, or {@link #DENIED} if the requests exceed the burst tolerance
+     */
+    static long admit(long tatMicros, long nowMicros, RateLimitFilter.RateLimitConfig config, int permits) {
+        if (permits > config.maxRequests()) {
+            return DENIED;
+        }
+        long newTat = Math.max(tatMicros, nowMicros) + permits * intervalMicros(config);
+        return nowMicros < newTat - windowMicros(config) ? DENIED : newTat;
+    }
+
+    /**
+     * Computes the TAT after charging or refunding {@code permits} requests unconditionally.
+     * A refund never moves the TAT before {@code nowMicros}, so unused quota cannot be banked.
+     *
+     * @param tatMicros the current theoretical arrival time, 0 for a fresh bucket
+     * @param nowMicros the current time in microseconds
+     * @param config    the bucket thresholds
+     * @param permits   the number of requests to charge, negative to refund
+     * @return the new TAT
+     */
+    static long adjusted(long tatMicros, long nowMicros, RateLimitFilter.RateLimitConfig config, int permits) {
+        return Math.max(nowMicros, Math.max(tatMicros, nowMicros) + permits * intervalMicros(config));
+    }
+
+    /**
+     * Builds the result for admitted requests from the TAT they produced.
+     */
+    static RateLimitFilter.RateLimitCheckResult allowed(long newTatMicros, long nowMicros,
+                                                        RateLimitFilter.RateLimitConfig config) {
+        long allowAt = newTatMicros - windowMicros(config);
+        int remaining = (int) Math.min(config.maxRequests() - 1L, (nowMicros - allowAt) / intervalMicros(config));
+        return new RateLimitFilter.RateLimitCheckResult(true, Math.max(0, remaining), toEpochSeconds(newTatMicros), 0L);
+    }
+
+    /**
+     * Builds the result for rejected requests, reporting when {@code permits} would next fit.
+     */
+    static RateLimitFilter.RateLimitCheckResult denied(long tatMicros, long nowMicros,
+                                                       RateLimitFilter.RateLimitConfig config, int permits) {
+        if (permits > config.maxRequests()) {
+            return new RateLimitFilter.RateLimitCheckResult(false, 0, toEpochSeconds(Math.max(tatMicros, nowMicros)),
+                    RateLimitBucket.toRetryAfterSeconds(config.windowMillis()));
+        }
+        long allowAt = Math.max(tatMicros, nowMicros) + permits * intervalMicros(config) - windowMicros(config);
+        long available = Math.max(0L, (nowMicros - (Math.max(tatMicros, nowMicros) - windowMicros(config)))
+                / intervalMicros(config));
+        return new RateLimitFilter.RateLimitCheckResult(false, (int) Math.min(available, config.maxRequests()),
+                toEpochSeconds(tatMicros), RateLimitBucket.toRetryAfterSeconds((allowAt - nowMicros + 999) / 1_000L));
+    }
+
+    private static long windowMicros(RateLimitFilter.RateLimitConfig config) {
+        return config.windowMillis() * 1_000L;
+    }
+
+    private static long intervalMicros(RateLimitFilter.RateLimitConfig config) {
+        return Math.max(1L, windowMicros(config) / Math.max(1, config.maxRequests()));
+    }
+
+    /**
+     * Converts a TAT to the epoch second at which the bucket is fully drained, rounding up.
+     */
+    private static long toEpochSeconds(long micros) {
+        return (micros + 999_999L) / 1_000_000L;
+    }
+
+}
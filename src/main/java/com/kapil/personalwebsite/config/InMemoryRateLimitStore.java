@@ -0,0 +1,341 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Default rate-limit store keeping buckets in local Caffeine caches, one per namespace.
+ * Each entry expires at its bucket's own reset time, recomputed after every use, when the bucket is back to its
+ * initial state; debt charged through {@link #adjust} past the window therefore outlives an idle window instead of
+ * being forgotten. Expiry is amortized over normal cache activity instead of a periodic full scan.
+ * Each namespace holds at most {@code maxEntries} buckets, and all namespaces together at most {@code maxBytes} of
+ * bucket state: the byte budget is split evenly across live namespaces and each entry is weighed at its config's
+ * {@link RateLimitFilter.RateLimitConfig#maxStateBytes()} plus a fixed overhead, so heap stays flat under a key flood
+ * whatever the algorithm. Once a namespace is full, a key it does not track is on probation: its requests are
+ * charged to a single bucket shared by all such keys in the namespace, with one client's limit, and only a request
+ * that bucket allows earns the key a bucket of its own. A flood of rotated addresses or User-Agents therefore gets
+ * one client's allowance in total rather than a fresh allowance per key, at the cost of new visitors being turned
+ * away while it lasts; Caffeine's frequency-based admission then keeps clients seen repeatedly over one-off keys.
+ * Each instance enforces its own quota, so behind N replicas a client effectively gets N times the limit.
+ * Namespaces restored by {@link RateLimitSnapshot} are staged until first used, and only adopted if they were
+ * written under the same limits the caller now passes, so a changed limit starts from fresh buckets.
+ * When a live namespace is used with a config of a newer {@link RateLimitFilter.RateLimitConfig#generation()}, as
+ * after a rule reload, its buckets carry over as long as the algorithm is unchanged, sliding logs being copied into
+ * rings of the new capacity; a changed algorithm starts the namespace empty. Configs older than the namespace's, from
+ * requests still running under the previous rules, never move it back.
+ *
+ * @author Kapil Garg
+ */
+final class InMemoryRateLimitStore implements RateLimitStore {
+
+    /**
+     * Approximate heap cost of one cache entry besides the bucket state: the Caffeine node, the boxed key and the
+     * bucket object header.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Map<String, Namespace> namespaces = new ConcurrentHashMap<>();
+    private final Map<String, Namespace> staged = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Ticker ticker;
+
+    InMemoryRateLimitStore() {
+        this(RateLimitProperties.Store.DEFAULT_MAX_ENTRIES);
+    }
+
+    InMemoryRateLimitStore(int maxEntries) {
+        this(maxEntries, RateLimitProperties.Store.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a store bounded to {@code maxEntries} buckets per namespace and {@code maxBytes} of bucket state overall.
+     *
+     * @param maxEntries the maximum number of tracked buckets per namespace
+     * @param maxBytes   the bucket state budget shared by all namespaces
+     */
+    InMemoryRateLimitStore(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, Ticker.systemTicker());
+    }
+
+    InMemoryRateLimitStore(int maxEntries, Ticker ticker) {
+        this(maxEntries, RateLimitProperties.Store.DEFAULT_MAX_BYTES, ticker);
+    }
+
+    InMemoryRateLimitStore(int maxEntries, long maxBytes, Ticker ticker) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public RateLimitFilter.RateLimitCheckResult tryAcquire(String namespace, long key,
+                                                           RateLimitFilter.RateLimitConfig config,
+                                                           int permits, long currentTimeMs) {
+        Namespace ns = namespaceFor(namespace, config, currentTimeMs);
+        RateLimitBucket bucket = ns.buckets().getIfPresent(key);
+        if (bucket == null) {
+            if (ns.isFull()) {
+                RateLimitFilter.RateLimitCheckResult probation = ns.unadmitted().tryAcquire(currentTimeMs, config,
+                        permits);
+                if (!probation.allowed()) {
+                    return probation;
+                }
+            }
+            bucket = bucketFor(ns, key);
+        }
+        RateLimitFilter.RateLimitCheckResult result = bucket.tryAcquire(currentTimeMs, config, permits);
+        ns.expireAtReset(key, bucket, currentTimeMs);
+        return result;
+    }
+
+    @Override
+    public void adjust(String namespace, long key, RateLimitFilter.RateLimitConfig config, int permits,
+                       long currentTimeMs) {
+        Namespace ns = namespaceFor(namespace, config, currentTimeMs);
+        RateLimitBucket bucket = bucketFor(ns, key);
+        bucket.adjust(currentTimeMs, config, permits);
+        ns.expireAtReset(key, bucket, currentTimeMs);
+    }
+
+    @Override
+    public int evictIdle(long currentTimeMs, long maxWindowMs) {
+        long removed = 0;
+        for (Namespace ns : namespaces.values()) {
+            long before = ns.buckets().estimatedSize();
+            ns.buckets().cleanUp();
+            removed += Math.max(0L, before - ns.buckets().estimatedSize());
+        }
+        return (int) removed;
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Namespace ns : namespaces.values()) {
+            size += ns.buckets().estimatedSize();
+        }
+        return size;
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Creates an empty namespace for {@code config} with this store's bounds, to be filled and staged.
+     */
+    Namespace newNamespace(RateLimitFilter.RateLimitConfig config) {
+        return new Namespace(config, maxEntries, ticker);
+    }
+
+    /**
+     * Stages a restored namespace, adopted on first use if its config matches the caller's.
+     */
+    void stage(String name, Namespace namespace) {
+        staged.put(name, namespace);
+        rebalance();
+    }
+
+    /**
+     * Visits every namespace holding state, including staged ones not yet adopted.
+     */
+    void forEachNamespace(BiConsumer<String, Namespace> action) {
+        namespaces.forEach(action);
+        staged.forEach((name, ns) -> {
+            if (!namespaces.containsKey(name)) {
+                action.accept(name, ns);
+            }
+        });
+    }
+
+    /**
+     * Looks up a namespace, moving it forward first if {@code config} is newer than the one it was built for.
+     */
+    private Namespace namespaceFor(String namespace, RateLimitFilter.RateLimitConfig config, long currentTimeMs) {
+        Namespace ns = namespaces.get(namespace);
+        if (ns == null) {
+            ns = namespaces.computeIfAbsent(namespace, n -> adopt(n, config));
+            rebalance();
+        }
+        if (ns.config() != config && config.generation() >= ns.config().generation()
+                && !ns.config().equals(config)) {
+            Namespace before = ns;
+            ns = namespaces.compute(namespace, (n, current) -> reconfigure(current, config, currentTimeMs));
+            if (ns.buckets() != before.buckets()) {
+                rebalance();
+            }
+        }
+        return ns;
+    }
+
+    /**
+     * Looks up the bucket for a key, creating it if needed; a full namespace makes room by evicting.
+     */
+    private static RateLimitBucket bucketFor(Namespace ns, long key) {
+        RateLimitBucket bucket = ns.buckets().getIfPresent(key);
+        if (bucket == null) {
+            RateLimitFilter.RateLimitConfig owner = ns.config();
+            bucket = ns.buckets().get(key, k -> owner.newBucket());
+        }
+        return bucket;
+    }
+
+    /**
+     * Splits the byte budget evenly across every namespace holding state, live or staged, capping each at
+     * {@code maxEntries} of its own entries. Runs only when a namespace is created or replaced.
+     */
+    private synchronized void rebalance() {
+        int count = namespaces.size();
+        for (String name : staged.keySet()) {
+            if (!namespaces.containsKey(name)) {
+                count++;
+            }
+        }
+        long share = maxBytes / Math.max(1, count);
+        forEachNamespace((name, ns) -> ns.buckets().policy().eviction()
+                .ifPresent(eviction -> eviction.setMaximum(Math.min(share, maxEntries * entryWeight(ns.config())))));
+    }
+
+    /**
+     * Takes over the staged namespace restored for {@code name} if it was written under the limits of
+     * {@code config}, and otherwise starts an empty one.
+     */
+    private Namespace adopt(String name, RateLimitFilter.RateLimitConfig config) {
+        Namespace restored = staged.remove(name);
+        return restored != null && restored.config().sameLimits(config)
+                ? new Namespace(config, restored.buckets())
+                : new Namespace(config, maxEntries, ticker);
+    }
+
+    /**
+     * Moves a namespace forward to a newer config, keeping its buckets when the algorithm is unchanged. Kept buckets
+     * whose limits changed are re-expired at their reset time under the new limits.
+     */
+    private Namespace reconfigure(Namespace current, RateLimitFilter.RateLimitConfig config, long currentTimeMs) {
+        if (current == null) {
+            return new Namespace(config, maxEntries, ticker);
+        }
+        if (current.config().equals(config) || current.config().generation() > config.generation()) {
+            return current;
+        }
+        RateLimitFilter.RateLimitConfig old = current.config();
+        if (old.algorithm() != config.algorithm()) {
+            return new Namespace(config, maxEntries, ticker);
+        }
+        if (config.algorithm() == RateLimitProperties.Algorithm.SLIDING_LOG
+                && old.maxRequests() != config.maxRequests()) {
+            return resized(current, config, currentTimeMs);
+        }
+        Namespace next = new Namespace(config, current.buckets());
+        if (!old.sameLimits(config)) {
+            next.expireAllAtReset(currentTimeMs);
+        }
+        return next;
+    }
+
+    /**
+     * Copies a sliding-log namespace into one whose logs hold {@code config.maxRequests()} timestamps, keeping the
+     * newest of each client's requests.
+     */
+    private Namespace resized(Namespace current, RateLimitFilter.RateLimitConfig config, long currentTimeMs) {
+        int capacity = config.maxRequests();
+        Cache<Long, RateLimitBucket> buckets = new Namespace(config, maxEntries, ticker).buckets();
+        current.buckets().asMap()
+                .forEach((key, bucket) -> buckets.put(key, ((RequestWindow) bucket).resized(capacity)));
+        Namespace next = new Namespace(config, buckets);
+        next.expireAllAtReset(currentTimeMs);
+        return next;
+    }
+
+    /**
+     * Weighs a bucket at the most state its config can hold plus the cache entry, key and bucket object around it.
+     * Buckets are weighed once on insert, so the weight is an upper bound rather than their current size.
+     */
+    static int entryWeight(RateLimitFilter.RateLimitConfig config) {
+        return ENTRY_OVERHEAD_BYTES + config.maxStateBytes();
+    }
+
+    /**
+     * The weight-bounded bucket cache of one namespace, and the bucket shared by keys on probation while it is full.
+     */
+    record Namespace(RateLimitFilter.RateLimitConfig config, Cache<Long, RateLimitBucket> buckets,
+                     RateLimitBucket unadmitted) {
+
+        Namespace(RateLimitFilter.RateLimitConfig config, Cache<Long, RateLimitBucket> buckets) {
+            this(config, buckets, config.newBucket());
+        }
+
+        Namespace(RateLimitFilter.RateLimitConfig config, int maxEntries, Ticker ticker) {
+            // Sized for maxEntries until the store splits its byte budget across namespaces.
+            this(config, Caffeine.newBuilder()
+                    .expireAfter(new FirstWindowExpiry(TimeUnit.MILLISECONDS.toNanos(config.windowMillis())))
+                    .maximumWeight((long) maxEntries * entryWeight(config))
+                    .weigher((Long key, RateLimitBucket bucket) -> entryWeight(config))
+                    .ticker(ticker)
+                    .build());
+        }
+
+        /**
+         * Returns whether another bucket would only fit by evicting one.
+         */
+        boolean isFull() {
+            return buckets.policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(0L) + entryWeight(config) > eviction.getMaximum())
+                    .orElse(false);
+        }
+
+        /**
+         * Sets the key's entry to expire once its bucket is back to its initial state under this namespace's
+         * config.
+         *
+         * @param key           the client key
+         * @param bucket        the bucket just used for the key
+         * @param currentTimeMs the current time in milliseconds
+         */
+        void expireAtReset(long key, RateLimitBucket bucket, long currentTimeMs) {
+            long remainingMs = Math.max(0L, bucket.resetAtMs(config) - currentTimeMs);
+            buckets.policy().expireVariably()
+                    .ifPresent(expiry -> expiry.setExpiresAfter(key, remainingMs, TimeUnit.MILLISECONDS));
+        }
+
+        /**
+         * Re-expires every cached bucket at its reset time, after the buckets were carried over to a new config.
+         */
+        void expireAllAtReset(long currentTimeMs) {
+            buckets.asMap().forEach((key, bucket) -> expireAtReset(key, bucket, currentTimeMs));
+        }
+
+    }
+
+    /**
+     * Expires a new entry one window after creation, the longest any unused bucket needs; the store then moves
+     * the expiry to the bucket's reset time after each use. Reads and updates leave the expiry alone.
+     */
+    private record FirstWindowExpiry(long windowNanos) implements Expiry<Long, RateLimitBucket> {
+
+        @Override
+        public long expireAfterCreate(Long key, RateLimitBucket bucket, long currentTime) {
+            return windowNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, RateLimitBucket bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long key, RateLimitBucket bucket, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator that borrows blocks of permits from a shared store and hands them out locally.
+ * Only the first request of each block, or one arriving after its lease expired, makes a round trip to the
+ * shared store, so the hot path stays in-process. Permits come out of the shared quota before they are used,
+ * so the combined limit is never exceeded; unused permits of an expired or evicted lease are refunded to the shared
+ * store, so a client that stops after one request does not lose the rest of its block. A block is also capped at
+ * a tenth of the rule's limit, so one lease never holds a large share of a small quota.
+ *
+ * @author Kapil Garg
+ */
+final class LeasingRateLimitStore implements RateLimitStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeasingRateLimitStore.class);
+
+    /**
+     * A lease holds at most {@code maxRequests / MAX_LEASE_FRACTION} permits, and at least one.
+     */
+    static final int MAX_LEASE_FRACTION = 10;
+
+    private final RateLimitStore shared;
+    private final int leaseSize;
+    private final long leaseTtlMs;
+    private final int maxEntries;
+    private final Ticker ticker;
+    private final Executor executor;
+    private final Map<String, Cache<Long, Lease>> leases = new ConcurrentHashMap<>();
+
+    LeasingRateLimitStore(RateLimitStore shared, int leaseSize, long leaseTtlMs) {
+        this(shared, leaseSize, leaseTtlMs, RateLimitProperties.Store.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a leasing decorator.
+     *
+     * @param shared     the store every replica draws permits from
+     * @param leaseSize  the number of permits borrowed per round trip
+     * @param leaseTtlMs how long borrowed permits stay valid locally
+     * @param maxEntries the maximum number of leases held per namespace
+     */
+    LeasingRateLimitStore(RateLimitStore shared, int leaseSize, long leaseTtlMs, int maxEntries) {
+        this(shared, leaseSize, leaseTtlMs, maxEntries, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    LeasingRateLimitStore(RateLimitStore shared, int leaseSize, long leaseTtlMs, int maxEntries, Ticker ticker,
+                          Executor executor) {
+        this.shared = shared;
+        this.leaseSize = leaseSize;
+        this.leaseTtlMs = leaseTtlMs;
+        this.maxEntries = maxEntries;
+        this.ticker = ticker;
+        this.executor = executor;
+    }
+
+    RateLimitStore shared() {
+        return shared;
+    }
+
+    @Override
+    public RateLimitFilter.RateLimitCheckResult tryAcquire(String namespace, long key,
+                                                           RateLimitFilter.RateLimitConfig config,
+                                                           int permits, long currentTimeMs) {
+        if (permits != 1) {
+            return shared.tryAcquire(namespace, key, config, permits, currentTimeMs);
+        }
+        Cache<Long, Lease> cache = leases.computeIfAbsent(namespace, this::newLeaseCache);
+        while (true) {
+            Lease lease = cache.get(key, k -> new Lease(config));
+            synchronized (lease) {
+                if (!lease.retired) {
+                    return tryAcquire(lease, namespace, key, config, currentTimeMs);
+                }
+            }
+            // The lease was evicted and refunded between the lookup and the lock; fetch its replacement.
+        }
+    }
+
+    /**
+     * Serves one permit from the lease, borrowing a new block when it is used up or expired.
+     * Must be called holding the lease's monitor.
+     */
+    private RateLimitFilter.RateLimitCheckResult tryAcquire(Lease lease, String namespace, long key,
+                                                            RateLimitFilter.RateLimitConfig config,
+                                                            long currentTimeMs) {
+        if (lease.permits > 0 && currentTimeMs < lease.expiresAtMs) {
+            lease.permits--;
+            return new RateLimitFilter.RateLimitCheckResult(true, lease.permits + lease.sharedRemaining,
+                    lease.resetEpochSeconds, 0L);
+        }
+        refund(namespace, key, lease.config, lease.takePermits(), currentTimeMs);
+        int block = Math.max(1, Math.min(leaseSize, config.maxRequests() / MAX_LEASE_FRACTION));
+        RateLimitFilter.RateLimitCheckResult result =
+                shared.tryAcquire(namespace, key, config, block, currentTimeMs);
+        if (!result.allowed() && block > 1) {
+            // Near the limit a full block no longer fits; take whatever is left so no quota is stranded.
+            block = Math.max(1, Math.min(block - 1, result.remaining()));
+            result = shared.tryAcquire(namespace, key, config, block, currentTimeMs);
+        }
+        if (!result.allowed()) {
+            return result;
+        }
+        lease.config = config;
+        lease.permits = block - 1;
+        lease.sharedRemaining = result.remaining();
+        lease.resetEpochSeconds = result.resetEpochSeconds();
+        lease.expiresAtMs = currentTimeMs + leaseTtlMs;
+        lease.grantedAtMs = currentTimeMs;
+        lease.grantedAtNanos = ticker.read();
+        return new RateLimitFilter.RateLimitCheckResult(true, lease.permits + lease.sharedRemaining,
+                lease.resetEpochSeconds, 0L);
+    }
+
+    private Cache<Long, Lease> newLeaseCache(String namespace) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(leaseTtlMs))
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .executor(executor)
+                .removalListener((Long key, Lease lease, RemovalCause cause) -> {
+                    if (key != null && lease != null && cause.wasEvicted()) {
+                        onEvicted(namespace, key, lease);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Retires an expired or evicted lease and refunds its unused permits. The refund is timed on the cache's
+     * ticker relative to when the block was granted, so it lines up with the clock the permits were charged on.
+     */
+    private void onEvicted(String namespace, long key, Lease lease) {
+        int permits;
+        RateLimitFilter.RateLimitConfig config;
+        long refundAtMs;
+        synchronized (lease) {
+            lease.retired = true;
+            permits = lease.takePermits();
+            config = lease.config;
+            refundAtMs = lease.grantedAtMs + TimeUnit.NANOSECONDS.toMillis(ticker.read() - lease.grantedAtNanos);
+        }
+        refund(namespace, key, config, permits, refundAtMs);
+    }
+
+    /**
+     * Gives unused leased permits back to the shared store. A failed refund only costs the client those permits.
+     */
+    private void refund(String namespace, long key, RateLimitFilter.RateLimitConfig config, int permits,
+                        long currentTimeMs) {
+        if (permits == 0) {
+            return;
+        }
+        try {
+            shared.adjust(namespace, key, config, -permits, currentTimeMs);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not refund {} leased rate limit permits for {}: {}", permits, namespace,
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void adjust(String namespace, long key, RateLimitFilter.RateLimitConfig config, int permits,
+                       long currentTimeMs) {
+        shared.adjust(namespace, key, config, permits, currentTimeMs);
+    }
+
+    @Override
+    public int evictIdle(long currentTimeMs, long maxWindowMs) {
+        leases.values().forEach(Cache::cleanUp);
+        return shared.evictIdle(currentTimeMs, maxWindowMs);
+    }
+
+    @Override
+    public long size() {
+        return shared.size();
+    }
+
+    /**
+     * Permits borrowed for one key, guarded by the lease's own monitor.
+     */
+    private static final class Lease {
+
+        private RateLimitFilter.RateLimitConfig config;
+        private int permits;
+        private int sharedRemaining;
+        private long resetEpochSeconds;
+        private long expiresAtMs;
+        private long grantedAtMs;
+        private long grantedAtNanos;
+        private boolean retired;
+
+        private Lease(RateLimitFilter.RateLimitConfig config) {
+            this.config = config;
+        }
+
+        /**
+         * Empties the lease, returning the permits it still held.
+         */
+        private int takePermits() {
+            int taken = permits;
+            permits = 0;
+            return taken;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for the startup index check under the {mongo.indexes} prefix.
+ *
+ * @param ensureOnStartup whether the indexes declared on the queried entities are created at startup when missing,
+ *                        independently of {@code spring.data.mongodb.auto-index-creation}
+ * @param verify          what happens when a repository query plans a collection scan or an in-memory sort
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "mongo.indexes")
+public record MongoIndexProperties(
+        Boolean ensureOnStartup,
+        Verify verify
+) {
+
+    public MongoIndexProperties {
+        if (ensureOnStartup == null) {
+            ensureOnStartup = true;
+        }
+        if (verify == null) {
+            verify = Verify.WARN;
+        }
+    }
+
+    /**
+     * How query plans are verified at startup.
+     */
+    public enum Verify {
+
+        /**
+         * Plans are not checked.
+         */
+        OFF,
+
+        /**
+         * Unindexed plans are logged as warnings.
+         */
+        WARN,
+
+        /**
+         * Unindexed plans fail startup.
+         */
+        FAIL
+
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.entity.*;
+import com.mongodb.MongoException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes sure every repository query is served by an index.
+ * At startup the indexes declared on the queried entities are created if missing, since
+ * {@code spring.data.mongodb.auto-index-creation} is off in production, and each query shape the repositories run
+ * is explained. A winning plan containing a {@code COLLSCAN} or an in-memory {@code SORT} stage is logged, or fails
+ * startup when {@code mongo.indexes.verify} is {@code FAIL}. An unreachable database only produces a warning, so a
+ * MongoDB outage does not keep the application from starting.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class MongoIndexVerifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexVerifier.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Blog.class, Project.class, Experience.class);
+    private static final Set<String> UNINDEXED_STAGES = Set.of("COLLSCAN", "SORT");
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexProperties properties;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate, MongoIndexProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates the declared indexes and verifies the query plans once the application is ready, before the read
+     * models load.
+     */
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            if (properties.ensureOnStartup()) {
+                ensureIndexes();
+            }
+            if (properties.verify() != MongoIndexProperties.Verify.OFF) {
+                verify();
+            }
+        } catch (DataAccessException | MongoException e) {
+            LOGGER.warn("Could not check MongoDB indexes: {}", e.getMessage());
+        }
+    }
+
+    private void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (DataAccessException e) {
+                    LOGGER.warn("Could not create index {} on {}: {}", index.getIndexOptions().get("name"),
+                            mongoTemplate.getCollectionName(type), e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Explains every query shape and reports those whose plan scans the collection or sorts in memory.
+     *
+     * @throws IllegalStateException if a plan is unindexed and verification is set to fail
+     */
+    void verify() {
+        List<String> unindexed = new ArrayList<>();
+        for (QueryShape shape : queryShapes()) {
+            Document plan = explain(shape);
+            List<String> stages = unindexedStages(plan);
+            if (!stages.isEmpty()) {
+                unindexed.add(shape.name() + " " + stages);
+            }
+        }
+        if (unindexed.isEmpty()) {
+            LOGGER.info("MongoDB query plans verified: every repository query uses an index");
+            return;
+        }
+        String message = "Repository queries without a supporting index: " + String.join(", ", unindexed);
+        if (properties.verify() == MongoIndexProperties.Verify.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    private Document explain(QueryShape shape) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(shape.type());
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document filter = mapper.getMappedObject(shape.query().getQueryObject(), entity);
+        Document sort = mapper.getMappedSort(shape.query().getSortObject(), entity);
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.type()))
+                .find(filter)
+                .sort(sort)
+                .limit(shape.query().getLimit())
+                .explain();
+    }
+
+    /**
+     * Returns the stages of an explained winning plan that read without an index, outermost first.
+     *
+     * @param explain the explain output
+     * @return the COLLSCAN and SORT stages found, or an empty list
+     */
+    static List<String> unindexedStages(Document explain) {
+        List<String> stages = new ArrayList<>();
+        Object queryPlanner = explain.get("queryPlanner");
+        if (queryPlanner instanceof Document planner) {
+            collectStages(planner.get("winningPlan"), stages);
+        }
+        return stages;
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage && UNINDEXED_STAGES.contains(stage)) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    /**
+     * The query shapes the repositories run, with representative values.
+     */
+    private static List<QueryShape> queryShapes() {
+        BlogCategory category = BlogCategory.values()[0];
+        Sort listing = Sort.by(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+        return List.of(
+                new QueryShape("BlogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc", Blog.class,
+                        published().with(Sort.by(Sort.Direction.DESC, "publishedAt"))),
+                new QueryShape("BlogRepository.findPublishedSummaries", Blog.class,
+                        published().with(listing).limit(20)),
+                new QueryShape("BlogRepository.findPublishedSummaries(category)", Blog.class,
+                        Query.query(Criteria.where("status").is(BlogStatus.PUBLISHED).and("isActive").is(true)
+                                .and("category").is(category)).with(listing).limit(20)),
+                new QueryShape("BlogRepository.findByIsActiveTrueOrderByCreatedAtDesc", Blog.class,
+                        Query.query(Criteria.where("isActive").is(true))
+                                .with(Sort.by(Sort.Direction.DESC, "createdAt"))),
+                new QueryShape("BlogRepository.findBySlugAndStatusAndIsActiveTrue", Blog.class,
+                        Query.query(Criteria.where("slug").is("slug").and("status").is(BlogStatus.PUBLISHED)
+                                .and("isActive").is(true))),
+                new QueryShape("ProjectRepository.findByIsActiveTrueOrderByDisplayOrderDesc", Project.class,
+                        Query.query(Criteria.where("isActive").is(true))
+                                .with(Sort.by(Sort.Direction.DESC, "displayOrder"))),
+                new QueryShape("ExperienceRepository.findAllByOrderByDisplayOrderDesc", Experience.class,
+                        new Query().with(Sort.by(Sort.Direction.DESC, "displayOrder")))
+        );
+    }
+
+    private static Query published() {
+        return Query.query(Criteria.where("status").is(BlogStatus.PUBLISHED).and("isActive").is(true));
+    }
+
+    /**
+     * A repository query to explain.
+     *
+     * @param name  the repository method it stands for
+     * @param type  the queried entity
+     * @param query the query, with representative values
+     */
+    private record QueryShape(String name, Class<?> type, Query query) {
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.kapil.personalwebsite.config;
+
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Rate-limit store shared by every replica through MongoDB.
+ * Each bucket is one document, keyed by namespace and hex client key, holding a GCRA theoretical arrival time
+ * updated with a compare-and-set on the previous value, so whichever algorithm is configured locally, shared
+ * buckets are always tracked with GCRA.
+ * Documents carry a TTL so MongoDB removes drained buckets by itself.
+ *
+ * @author Kapil Garg
+ */
+final class MongoRateLimitStore implements RateLimitStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoRateLimitStore.class);
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_TAT = "tat_micros";
+    private static final String FIELD_EXPIRE_AT = "expire_at";
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+
+    /**
+     * Creates the store and ensures the TTL index that expires drained buckets.
+     *
+     * @param mongoTemplate the template used for all bucket reads and writes
+     * @param collection    the collection holding bucket documents
+     */
+    MongoRateLimitStore(MongoTemplate mongoTemplate, String collection) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+        mongoTemplate.indexOps(collection)
+                .ensureIndex(new Index().on(FIELD_EXPIRE_AT, Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public RateLimitFilter.RateLimitCheckResult tryAcquire(String namespace, long clientKey,
+                                                           RateLimitFilter.RateLimitConfig config,
+                                                           int permits, long currentTimeMs) {
+        String key = namespace + ":" + Long.toHexString(clientKey);
+        long nowMicros = currentTimeMs * 1_000L;
+        try {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                Document current = mongoTemplate.findById(key, Document.class, collection);
+                long tat = current != null ? current.getLong(FIELD_TAT) : 0L;
+                long newTat = GcraBucket.admit(tat, nowMicros, config, permits);
+                if (newTat == GcraBucket.DENIED) {
+                    return GcraBucket.denied(tat, nowMicros, config, permits);
+                }
+                if (current == null ? insert(key, newTat) : compareAndSet(key, tat, newTat)) {
+                    return GcraBucket.allowed(newTat, nowMicros, config);
+                }
+            }
+            LOGGER.warn("Rate limit bucket {} is too contended, rejecting request", key);
+            return new RateLimitFilter.RateLimitCheckResult(false, 0, currentTimeMs / 1000 + 1, 1L);
+        } catch (DataAccessException e) {
+            // An unavailable limiter must not take the API down with it.
+            LOGGER.warn("Shared rate limit store unavailable, allowing request for {}: {}", key, e.getMessage());
+            return new RateLimitFilter.RateLimitCheckResult(true, Math.max(0, config.maxRequests() - permits),
+                    (currentTimeMs + config.windowMillis()) / 1000, 0L);
+        }
+    }
+
+    @Override
+    public void adjust(String namespace, long clientKey, RateLimitFilter.RateLimitConfig config, int permits,
+                       long currentTimeMs) {
+        String key = namespace + ":" + Long.toHexString(clientKey);
+        long nowMicros = currentTimeMs * 1_000L;
+        try {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                Document current = mongoTemplate.findById(key, Document.class, collection);
+                if (current == null && permits <= 0) {
+                    return; // nothing to refund, the bucket has already drained
+                }
+                long tat = current != null ? current.getLong(FIELD_TAT) : 0L;
+                long newTat = GcraBucket.adjusted(tat, nowMicros, config, permits);
+                if (current == null ? insert(key, newTat) : compareAndSet(key, tat, newTat)) {
+                    return;
+                }
+            }
+            LOGGER.warn("Rate limit bucket {} is too contended, dropping adjustment of {} permits", key, permits);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Shared rate limit store unavailable, dropping adjustment for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public int evictIdle(long currentTimeMs, long maxWindowMs) {
+        return 0; // the TTL index expires drained buckets
+    }
+
+    @Override
+    public long size() {
+        return mongoTemplate.estimatedCount(collection);
+    }
+
+    private boolean insert(String key, long newTat) {
+        try {
+            mongoTemplate.insert(new Document(FIELD_ID, key)
+                    .append(FIELD_TAT, newTat)
+                    .append(FIELD_EXPIRE_AT, toExpiry(newTat)), collection);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false; // another replica created the bucket first
+        }
+    }
+
+    private boolean compareAndSet(String key, long expectedTat, long newTat) {
+        Query query = Query.query(Criteria.where(FIELD_ID).is(key).and(FIELD_TAT).is(expectedTat));
+        Update update = new Update().set(FIELD_TAT, newTat).set(FIELD_EXPIRE_AT, toExpiry(newTat));
+        UpdateResult result = mongoTemplate.updateFirst(query, update, collection);
+        return result.getModifiedCount() == 1;
+    }
+
+    /**
+     * A bucket is indistinguishable from a fresh one once its TAT has passed.
+     */
+    private static Date toExpiry(long tatMicros) {
+        return new Date(tatMicros / 1_000L + 1_000L);
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 /**
  * Strict origin verification filter for ALL API endpoints.
  * Protects all endpoints from unauthorized usage by verifying request origin.
+ * Excluded monitoring paths and public blog reads are recognized from the {@link RouteClassifier} route.
  *
  * @author Kapil Garg
  */
@@ -39,10 +40,12 @@ public class OriginVerificationFilter implements Filter {
     private final String serverApiKey;
     private final Set<String> allowedOriginsSet;
     private final boolean allowLoopbackNoOrigin;
+    private final RouteClassifier routeClassifier;
 
     public OriginVerificationFilter(@Value("${api.server-key}") String serverApiKey,
                                     @Value("${cors.allowed-origins}") String allowedOrigins,
-                                    @Value("${cors.allow-loopback-no-origin:false}") boolean allowLoopbackNoOrigin) {
+                                    @Value("${cors.allow-loopback-no-origin:false}") boolean allowLoopbackNoOrigin,
+                                    RouteClassifier routeClassifier) {
         this.allowedOriginsSet = StringUtils.hasText(allowedOrigins)
                 ? Arrays.stream(allowedOrigins.split(",")).map(String::trim).filter(StringUtils::hasText).collect(Collectors.toSet())
                 : Collections.emptySet();
@@ -53,6 +56,7 @@ public class OriginVerificationFilter implements Filter {
         }
         this.serverApiKey = serverApiKey;
         this.allowLoopbackNoOrigin = allowLoopbackNoOrigin;
+        this.routeClassifier = routeClassifier;
     }
 
     /**
@@ -91,8 +95,8 @@ public class OriginVerificationFilter implements Filter {
             throws IOException, ServletException {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
-        String requestPath = httpRequest.getRequestURI();
-        if (isExcludedPath(requestPath)) {
+        RouteClassifier.Route route = routeClassifier.classify(httpRequest);
+        if (route == RouteClassifier.Route.EXCLUDED) {
             try {
                 chain.doFilter(request, response);
             } catch (IOException | ServletException e) {
@@ -108,9 +112,10 @@ public class OriginVerificationFilter implements Filter {
             }
             return;
         }
-        if (!isRequestAuthorized(httpRequest)) {
+        // Blog endpoints are public - rate limiting provides the real protection
+        if (!route.isPublicBlog() && !authorizeOtherEndpoint(httpRequest)) {
             LOGGER.warn("Unauthorized request blocked - Path: {}, Origin: {}, Referer: {}, RemoteAddr: {}, User-Agent: {}",
-                    requestPath,
+                    httpRequest.getRequestURI(),
                     httpRequest.getHeader(AppConstants.ORIGIN_HEADER),
                     httpRequest.getHeader(AppConstants.REFERER_HEADER),
                     httpRequest.getRemoteAddr(),
@@ -125,35 +130,6 @@ public class OriginVerificationFilter implements Filter {
         }
     }
 
-    /**
-     * Check if the request path is excluded from origin verification.
-     *
-     * @param requestPath the request URI path
-     * @return true if the path is excluded, false otherwise
-     */
-    private boolean isExcludedPath(String requestPath) {
-        if (requestPath == null) {
-            return false;
-        }
-        return AppConstants.EXCLUDED_ORIGIN_VERIFICATION_PATHS.stream().anyMatch(requestPath::startsWith);
-    }
-
-    /**
-     * Verify if the request is authorized based on Origin, Referer headers or API key.
-     * Blog endpoints are always authorized as they are public read endpoints.
-     *
-     * @param request the HTTP servlet request
-     * @return true if the request is authorized, false otherwise
-     */
-    private boolean isRequestAuthorized(HttpServletRequest request) {
-        String servletPath = request.getServletPath();
-        if (isBlogEndpoint(servletPath)) {
-            // Blog endpoints are public - rate limiting provides the real protection
-            return true;
-        }
-        return authorizeOtherEndpoint(request);
-    }
-
     /**
      * Authorize non-blog endpoints based on user authentication, API key, Origin, or Referer headers.
      *
@@ -192,19 +168,6 @@ public class OriginVerificationFilter implements Filter {
                 SecurityStringUtils.constantTimeEquals(serverApiKey, apiKey);
     }
 
-    /**
-     * Check if the request path is a blog endpoint (public read endpoint).
-     *
-     * @param servletPath the servlet path
-     * @return true if the path is a blog endpoint, false otherwise
-     */
-    private boolean isBlogEndpoint(String servletPath) {
-        if (servletPath == null) {
-            return false;
-        }
-        return AppConstants.PUBLIC_BLOG_PATHS.stream().anyMatch(servletPath::startsWith);
-    }
-
     /**
      * Check if the given origin is in the list of allowed origins.
      *
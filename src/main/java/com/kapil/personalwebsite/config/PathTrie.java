@@ -0,0 +1,148 @@
+package com.kapil.personalwebsite.config;
+
+import java.util.Arrays;
+
+/**
+ * Compact character trie over request paths, matching stored prefixes and exact paths in a single pass.
+ * Like {@link PrefixTrie}, nodes live in parallel arrays rather than node objects; children are chained as
+ * first-child/next-sibling lists, which stays small for the short ASCII paths routed here. A case-insensitive trie
+ * folds ASCII letters while walking, so lookups never copy the path. Built once and read-only afterwards, which makes
+ * concurrent lookups safe.
+ *
+ * @author Kapil Garg
+ */
+final class PathTrie {
+
+    private static final int NO_VALUE = -1;
+
+    private final boolean ignoreCase;
+    private char[] labels = new char[32];
+    private int[] firstChild = new int[32];
+    private int[] nextSibling = new int[32];
+    private int[] prefixValues = new int[32];
+    private int[] exactValues = new int[32];
+    private int nodeCount = 1;
+
+    PathTrie(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        Arrays.fill(prefixValues, NO_VALUE);
+        Arrays.fill(exactValues, NO_VALUE);
+    }
+
+    /**
+     * Associates a value with every path starting with {@code prefix}, replacing any previous prefix value.
+     *
+     * @param prefix the path prefix
+     * @param value  the value to store, must be non-negative
+     */
+    void insertPrefix(String prefix, int value) {
+        int node = nodeFor(prefix, value); // may reallocate the arrays, so read them only afterwards
+        prefixValues[node] = value;
+    }
+
+    /**
+     * Associates a value with exactly {@code path}, replacing any previous exact value. An exact match takes
+     * precedence over every prefix containing the path.
+     *
+     * @param path  the full path
+     * @param value the value to store, must be non-negative
+     */
+    void insertExact(String path, int value) {
+        int node = nodeFor(path, value);
+        exactValues[node] = value;
+    }
+
+    /**
+     * Returns the exact value stored for the path, or else the value of the longest stored prefix of it.
+     *
+     * @param path         the path to look up
+     * @param defaultValue the value returned when nothing stored matches the path
+     * @return the matched value or {@code defaultValue}
+     */
+    int match(String path, int defaultValue) {
+        int match = prefixValues[0];
+        int node = 0;
+        for (int i = 0, length = path.length(); i < length; i++) {
+            node = child(node, fold(path.charAt(i)));
+            if (node == 0) {
+                return match == NO_VALUE ? defaultValue : match;
+            }
+            if (prefixValues[node] != NO_VALUE) {
+                match = prefixValues[node];
+            }
+        }
+        if (exactValues[node] != NO_VALUE) {
+            return exactValues[node];
+        }
+        return match == NO_VALUE ? defaultValue : match;
+    }
+
+    /**
+     * Returns whether some stored prefix starts the path, stopping at the first one found.
+     *
+     * @param path the path to look up
+     * @return true if the path starts with a stored prefix
+     */
+    boolean matchesPrefix(String path) {
+        if (prefixValues[0] != NO_VALUE) {
+            return true;
+        }
+        int node = 0;
+        for (int i = 0, length = path.length(); i < length; i++) {
+            node = child(node, fold(path.charAt(i)));
+            if (node == 0) {
+                return false;
+            }
+            if (prefixValues[node] != NO_VALUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int nodeFor(String path, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Path trie values must be non-negative: " + value);
+        }
+        int node = 0;
+        for (int i = 0; i < path.length(); i++) {
+            char c = fold(path.charAt(i));
+            int next = child(node, c);
+            if (next == 0) {
+                next = newNode(c); // may reallocate the arrays, so link the child only afterwards
+                nextSibling[next] = firstChild[node];
+                firstChild[node] = next;
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int child = firstChild[node];
+        while (child != 0 && labels[child] != c) {
+            child = nextSibling[child];
+        }
+        return child;
+    }
+
+    private char fold(char c) {
+        return ignoreCase && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            prefixValues = Arrays.copyOf(prefixValues, capacity);
+            exactValues = Arrays.copyOf(exactValues, capacity);
+            Arrays.fill(prefixValues, nodeCount, capacity, NO_VALUE);
+            Arrays.fill(exactValues, nodeCount, capacity, NO_VALUE);
+        }
+        labels[nodeCount] = label;
+        return nodeCount++;
+    }
+
+}
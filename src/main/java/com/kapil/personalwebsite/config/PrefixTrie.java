@@ -0,0 +1,82 @@
+package com.kapil.personalwebsite.config;
+
+import java.util.Arrays;
+
+/**
+ * Compact binary trie over 128-bit {@link ClientAddress} prefixes answering longest-prefix-match lookups.
+ * Nodes live in parallel int arrays rather than node objects, so a lookup walks at most 128 array slots and
+ * allocates nothing. Built once at startup and read-only afterwards, which makes concurrent lookups safe.
+ *
+ * @author Kapil Garg
+ */
+final class PrefixTrie {
+
+    private static final int NO_VALUE = -1;
+
+    /**
+     * {@code children[2 * node + bit]} is the child index, or 0 for none (the root is never a child).
+     */
+    private int[] children = new int[32];
+    private int[] values = new int[16];
+    private int nodeCount = 1;
+
+    PrefixTrie() {
+        Arrays.fill(values, NO_VALUE);
+    }
+
+    /**
+     * Associates a non-negative value with every address in the given prefix, replacing any previous value.
+     *
+     * @param prefix       the network address
+     * @param prefixLength the number of significant leading bits, 0 to 128
+     * @param value        the value to store, must be non-negative
+     */
+    void insert(ClientAddress prefix, int prefixLength, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Prefix trie values must be non-negative: " + value);
+        }
+        int node = 0;
+        for (int depth = 0; depth < prefixLength; depth++) {
+            int slot = 2 * node + prefix.bit(depth);
+            if (children[slot] == 0) {
+                int child = newNode(); // may reallocate children, so read the array only afterwards
+                children[slot] = child;
+            }
+            node = children[slot];
+        }
+        values[node] = value;
+    }
+
+    /**
+     * Returns the value of the longest stored prefix containing the address.
+     *
+     * @param address      the address to look up
+     * @param defaultValue the value returned when no stored prefix contains the address
+     * @return the matched value or {@code defaultValue}
+     */
+    int longestMatch(ClientAddress address, int defaultValue) {
+        int match = values[0];
+        int node = 0;
+        for (int depth = 0; depth < 128; depth++) {
+            node = children[2 * node + address.bit(depth)];
+            if (node == 0) {
+                break;
+            }
+            if (values[node] != NO_VALUE) {
+                match = values[node];
+            }
+        }
+        return match == NO_VALUE ? defaultValue : match;
+    }
+
+    private int newNode() {
+        if (nodeCount == values.length) {
+            int capacity = values.length * 2;
+            children = Arrays.copyOf(children, capacity * 2);
+            values = Arrays.copyOf(values, capacity);
+            Arrays.fill(values, nodeCount, capacity, NO_VALUE);
+        }
+        return nodeCount++;
+    }
+
+}
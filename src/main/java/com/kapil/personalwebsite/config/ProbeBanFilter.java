@@ -0,0 +1,132 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns away clients on the {@link ProbeBanList} before anything else handles their request.
+ * Runs straight after the forwarded-header filter, ahead of Spring Security's filter chain, so a banned scanner
+ * never reaches authentication, the rate limiter, Mongo or a controller. The response is a pre-serialized 403.
+ * Clients are identified as in {@link SensitiveFileProbeFilter}, so a spoofed X-Forwarded-For cannot pin a ban on
+ * someone else unless {@code rate.limit.trust-proxy-headers} is set.
+ * <p>
+ * With {@code security.probe-ban.tarpit-ms} set, the response is held back for that long to slow the scan down.
+ * The request is parked in async mode and answered from a scheduler thread, so tarpitting holds a connection but
+ * no worker thread; at most {@code tarpit-max-parked} requests are parked and the rest are answered at once.
+ *
+ * @author Kapil Garg
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ProbeBanFilter implements Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProbeBanFilter.class);
+
+    private static final String CONTENT_TYPE = AppConstants.APPLICATION_JSON + ";charset=" + AppConstants.UTF_ENCODING;
+    private static final byte[] BANNED_BODY = """
+            {
+                "error": "Forbidden",
+                "status": 403
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final ProbeBanList probeBanList;
+    private final boolean trustProxyHeaders;
+    private final long tarpitMs;
+    private final int tarpitMaxParked;
+    private final AtomicInteger parked = new AtomicInteger();
+    private final ScheduledExecutorService tarpit;
+
+    public ProbeBanFilter(ProbeBanList probeBanList, ProbeBanProperties properties,
+                          @Value("${rate.limit.trust-proxy-headers:false}") boolean trustProxyHeaders) {
+        this.probeBanList = probeBanList;
+        this.trustProxyHeaders = trustProxyHeaders;
+        this.tarpitMs = properties.tarpitMs();
+        this.tarpitMaxParked = properties.tarpitMaxParked();
+        this.tarpit = tarpitMs > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "probe-tarpit");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String clientIp = ProbeBanList.clientIpOf(httpRequest, trustProxyHeaders);
+        if (!probeBanList.isBanned(clientIp, System.currentTimeMillis())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (tarpit == null || !httpRequest.isAsyncSupported() || !tryPark()) {
+            writeBanned(httpResponse);
+            return;
+        }
+        AsyncContext asyncContext = httpRequest.startAsync();
+        asyncContext.setTimeout(tarpitMs + TimeUnit.SECONDS.toMillis(5));
+        tarpit.schedule(() -> release(asyncContext, httpResponse), tarpitMs, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean tryPark() {
+        if (parked.incrementAndGet() <= tarpitMaxParked) {
+            return true;
+        }
+        parked.decrementAndGet();
+        return false;
+    }
+
+    private void release(AsyncContext asyncContext, HttpServletResponse response) {
+        try {
+            writeBanned(response);
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Tarpitted client went away: {}", e.getMessage());
+        } finally {
+            parked.decrementAndGet();
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                LOGGER.debug("Tarpitted request already completed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the pre-serialized 403 response.
+     *
+     * @param response the HTTP servlet response
+     * @throws IOException in case of I/O errors
+     */
+    private static void writeBanned(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(BANNED_BODY.length);
+        response.getOutputStream().write(BANNED_BODY);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (tarpit != null) {
+            tarpit.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, expiring ban list of client IPs caught scanning for sensitive files.
+ * {@link SensitiveFileProbeFilter} records each probe as a strike; an IP reaching
+ * {@link ProbeBanProperties#threshold()} strikes within the window is banned for
+ * {@link ProbeBanProperties#banMinutes()}, and {@link ProbeBanFilter} turns its requests away before any other
+ * filter runs. Strikes and bans live in size-bounded Caffeine caches keyed by a 64-bit hash of the parsed
+ * address, so a scan from many addresses can only evict entries, never grow the heap. Loopback addresses and
+ * anything that is not an IP literal are never struck or banned, so a local proxy cannot lock everyone out.
+ * <p>
+ * Probes and banned requests are counted per IP and logged as one summary line per interval instead of a WARN
+ * per hit; only the ban itself is logged as it happens.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class ProbeBanList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProbeBanList.class);
+
+    private static final int SUMMARY_TOP_IPS = 5;
+
+    private final ProbeBanProperties properties;
+    private final ClientKeyHasher keyHasher = ClientKeyHasher.fromSecret(null);
+    private final Cache<Long, AtomicInteger> strikes;
+    private final BlockedClientTable bans;
+    private final long banMs;
+    private final Cache<String, LongAdder> probesByIp;
+    private final LongAdder bannedRequests = new LongAdder();
+    private final AtomicInteger newBans = new AtomicInteger();
+
+    @Autowired
+    public ProbeBanList(ProbeBanProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ProbeBanList(ProbeBanProperties properties, Ticker ticker) {
+        this.properties = properties;
+        // Written once on a client's first probe and only mutated afterwards, so the window starts at that probe.
+        this.strikes = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(Duration.ofSeconds(properties.windowSeconds()))
+                .ticker(ticker)
+                .build();
+        this.bans = new BlockedClientTable(properties.maxEntries());
+        this.banMs = TimeUnit.MINUTES.toMillis(properties.banMinutes());
+        this.probesByIp = Caffeine.newBuilder().maximumSize(properties.maxEntries()).build();
+    }
+
+    /**
+     * Records a probe from the client, banning it once it reaches the threshold.
+     *
+     * @param clientIp      the client IP address
+     * @param currentTimeMs the current epoch millisecond
+     * @return true if this probe got the client banned
+     */
+    public boolean recordProbe(String clientIp, long currentTimeMs) {
+        probesByIp.get(String.valueOf(clientIp), ip -> new LongAdder()).increment();
+        ClientAddress address = bannableAddress(clientIp);
+        if (!properties.enabled() || address == null) {
+            return false;
+        }
+        long key = keyHasher.ip(address);
+        int count = strikes.get(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count < properties.threshold()) {
+            return false;
+        }
+        strikes.invalidate(key);
+        bans.block(key, currentTimeMs + banMs, currentTimeMs);
+        newBans.incrementAndGet();
+        LOGGER.warn("Banned IP {} for {} minutes after {} sensitive file probes", clientIp,
+                properties.banMinutes(), count);
+        return true;
+    }
+
+    /**
+     * Returns whether the client is banned, counting the request toward the next summary if it is.
+     *
+     * @param clientIp      the client IP address
+     * @param currentTimeMs the current epoch millisecond
+     * @return true if the client is banned
+     */
+    public boolean isBanned(String clientIp, long currentTimeMs) {
+        if (!properties.enabled()) {
+            return false;
+        }
+        ClientAddress address = bannableAddress(clientIp);
+        if (address == null || bans.blockedUntil(keyHasher.ip(address), currentTimeMs) == 0) {
+            return false;
+        }
+        bannedRequests.increment();
+        return true;
+    }
+
+    /**
+     * Logs probe activity since the previous summary in one line, then starts a new interval.
+     * Runs every minute by default and stays silent when there was nothing to report.
+     */
+    @Scheduled(fixedDelayString = "${security.probe-ban.summary-interval-seconds:60}",
+            initialDelayString = "${security.probe-ban.summary-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void logSummary() {
+        Map<String, Long> counts = probesByIp.asMap().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+        probesByIp.invalidateAll();
+        long banned = bannedRequests.sumThenReset();
+        int bansIssued = newBans.getAndSet(0);
+        if (counts.isEmpty() && banned == 0) {
+            return;
+        }
+        String topIps = counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(SUMMARY_TOP_IPS)
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(", "));
+        LOGGER.warn("Sensitive file probes: {} from {} IPs (top: {}), {} new bans, {} requests from banned IPs",
+                counts.values().stream().mapToLong(Long::longValue).sum(), counts.size(), topIps, bansIssued, banned);
+    }
+
+    /**
+     * Resolves the address a probe is charged to, under the same trust rules as {@link RateLimitFilter}.
+     * Without trusted proxy headers this is the peer of the connection: by the time the probe filters run,
+     * the forwarded-header filter has already rewritten {@code getRemoteAddr()} from the client-supplied
+     * X-Forwarded-For, so the request wrappers are peeled off to reach the container's own request.
+     *
+     * @param request           the HTTP servlet request
+     * @param trustProxyHeaders whether X-Forwarded-For and X-Real-IP are trusted
+     * @return the client IP address
+     */
+    static String clientIpOf(HttpServletRequest request, boolean trustProxyHeaders) {
+        if (trustProxyHeaders) {
+            return RateLimitFilter.getClientIp(request, true);
+        }
+        ServletRequest original = request;
+        while (original instanceof ServletRequestWrapper wrapper) {
+            original = wrapper.getRequest();
+        }
+        return original.getRemoteAddr();
+    }
+
+    /**
+     * Parses the client address, or returns null when it must never be banned: not an IP literal, or loopback.
+     */
+    private static ClientAddress bannableAddress(String clientIp) {
+        ClientAddress address = ClientAddress.parse(clientIp);
+        return address == null || address.isLoopback() ? null : address;
+    }
+
+}
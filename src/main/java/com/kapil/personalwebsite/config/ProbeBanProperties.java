@@ -0,0 +1,57 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for the probe-scanner ban list under the {security.probe-ban} prefix.
+ *
+ * @param enabled                whether clients tripping the probe patterns get banned
+ * @param threshold              the probes from one IP within {@code windowSeconds} that trigger a ban
+ * @param windowSeconds          the window probes are counted in, starting at a client's first probe
+ * @param banMinutes             how long a ban lasts
+ * @param maxEntries             the most IPs tracked for strikes and for bans
+ * @param tarpitMs               the delay before banned clients get their response; 0 answers at once
+ * @param tarpitMaxParked        the most banned requests held in the tarpit at once; beyond it they are answered at once
+ * @param summaryIntervalSeconds how often probe activity is logged as one summary line
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "security.probe-ban")
+public record ProbeBanProperties(
+        Boolean enabled,
+        int threshold,
+        int windowSeconds,
+        int banMinutes,
+        int maxEntries,
+        long tarpitMs,
+        int tarpitMaxParked,
+        int summaryIntervalSeconds
+) {
+
+    public ProbeBanProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (threshold <= 0) {
+            threshold = 3;
+        }
+        if (windowSeconds <= 0) {
+            windowSeconds = 600;
+        }
+        if (banMinutes <= 0) {
+            banMinutes = 60;
+        }
+        if (maxEntries <= 0) {
+            maxEntries = 10_000;
+        }
+        if (tarpitMs < 0) {
+            tarpitMs = 0L;
+        }
+        if (tarpitMaxParked <= 0) {
+            tarpitMaxParked = 256;
+        }
+        if (summaryIntervalSeconds <= 0) {
+            summaryIntervalSeconds = 60;
+        }
+    }
+
+}
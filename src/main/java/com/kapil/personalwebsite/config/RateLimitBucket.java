@@ -0,0 +1,83 @@
+package com.kapil.personalwebsite.config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * State of a single rate-limit bucket under one of the configured {@link RateLimitProperties.Algorithm}s.
+ * Implementations are thread-safe; the filter calls them concurrently without any external locking.
+ *
+ * @author Kapil Garg
+ */
+interface RateLimitBucket {
+
+    /**
+     * Checks the bucket and records the current request if it is admitted.
+     *
+     * @param currentTimeMs the current time in milliseconds
+     * @param config        the thresholds of the rule owning this bucket
+     * @return the outcome of the check including remaining quota, reset time and retry delay
+     */
+    default RateLimitFilter.RateLimitCheckResult tryAcquire(long currentTimeMs, RateLimitFilter.RateLimitConfig config) {
+        return tryAcquire(currentTimeMs, config, 1);
+    }
+
+    /**
+     * Checks the bucket and records {@code permits} requests at once if all of them fit; otherwise records nothing.
+     *
+     * @param currentTimeMs the current time in milliseconds
+     * @param config        the thresholds of the rule owning this bucket
+     * @param permits       the number of requests to record, at least 1
+     * @return the outcome of the check including remaining quota, reset time and retry delay
+     */
+    RateLimitFilter.RateLimitCheckResult tryAcquire(long currentTimeMs, RateLimitFilter.RateLimitConfig config,
+                                                    int permits);
+
+    /**
+     * Charges ({@code permits > 0}) or refunds ({@code permits < 0}) requests without an admission check, used to
+     * reconcile an up-front estimate with the actual cost once it is known. Charges may push the bucket past its
+     * limit, so later requests wait until the debt has drained.
+     *
+     * @param currentTimeMs the current time in milliseconds
+     * @param config        the thresholds of the rule owning this bucket
+     * @param permits       the number of requests to add, negative to give back
+     */
+    void adjust(long currentTimeMs, RateLimitFilter.RateLimitConfig config, int permits);
+
+    /**
+     * Reports whether the bucket carries no state worth keeping, i.e. a fresh bucket would behave identically.
+     *
+     * @param currentTimeMs the current time in milliseconds
+     * @param config        the thresholds of the rule owning this bucket
+     * @return true if the bucket can be dropped from the cache
+     */
+    boolean isIdle(long currentTimeMs, RateLimitFilter.RateLimitConfig config);
+
+    /**
+     * Returns the time at which the bucket, left alone, is back to its initial state, including any debt charged
+     * through {@link #adjust}.
+     *
+     * @param config the thresholds of the rule owning this bucket
+     * @return the reset time in milliseconds, or 0 for a bucket that was never used
+     */
+    long resetAtMs(RateLimitFilter.RateLimitConfig config);
+
+    /**
+     * Writes the bucket's state in its compact snapshot encoding, read back by
+     * {@link RateLimitFilter.RateLimitConfig#restoreBucket}. At most
+     * {@link RateLimitFilter.RateLimitConfig#maxStateBytes()} bytes are written.
+     *
+     * @param out the buffer to write to
+     */
+    void writeState(ByteBuffer out);
+
+    /**
+     * Converts a millisecond delay into whole seconds for the Retry-After header, rounding up and never below one.
+     *
+     * @param delayMs the delay in milliseconds
+     * @return the delay in seconds, at least 1
+     */
+    static long toRetryAfterSeconds(long delayMs) {
+        return Math.max(1L, (delayMs + 999) / 1000);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-serialized 429 response for one Retry-After value: the JSON body as bytes plus the header value, written
+ * straight to the output stream. Responses for delays up to an hour are built once and cached, so rejecting a
+ * client costs no formatting or encoding.
+ *
+ * @author Kapil Garg
+ */
+final class RateLimitExceededResponse {
+
+    private static final int CACHED_SECONDS = 3_600;
+    private static final String CONTENT_TYPE = AppConstants.APPLICATION_JSON + ";charset=" + AppConstants.UTF_ENCODING;
+    private static final AtomicReferenceArray<RateLimitExceededResponse> CACHE =
+            new AtomicReferenceArray<>(CACHED_SECONDS + 1);
+
+    private final byte[] body;
+    private final String retryAfter;
+
+    private RateLimitExceededResponse(long retryAfterSeconds) {
+        this.retryAfter = String.valueOf(retryAfterSeconds);
+        this.body = """
+                {
+                    "error": "Rate limit exceeded",
+                    "message": "Too many requests. Please try again after %d seconds.",
+                    "retryAfter": %d
+                }
+                """.formatted(retryAfterSeconds, retryAfterSeconds).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the response for a Retry-After delay, from the cache when the delay is within an hour.
+     *
+     * @param retryAfterSeconds the number of seconds until the client may retry
+     * @return the pre-serialized response
+     */
+    static RateLimitExceededResponse forRetryAfter(long retryAfterSeconds) {
+        if (retryAfterSeconds < 0 || retryAfterSeconds > CACHED_SECONDS) {
+            return new RateLimitExceededResponse(retryAfterSeconds);
+        }
+        int index = (int) retryAfterSeconds;
+        RateLimitExceededResponse cached = CACHE.get(index);
+        if (cached == null) {
+            // Racing threads build identical responses, so whichever lands is fine.
+            cached = new RateLimitExceededResponse(retryAfterSeconds);
+            CACHE.set(index, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Writes the status, headers and body to the response.
+     *
+     * @param response the HTTP servlet response
+     * @throws IOException in case of I/O errors
+     */
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.setHeader("Retry-After", retryAfter);
+        response.getOutputStream().write(body);
+    }
+
+}
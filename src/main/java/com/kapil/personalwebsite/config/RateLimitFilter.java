@@ -2,6 +2,10 @@ package com.kapil.personalwebsite.config;
 
 import com.kapil.personalwebsite.util.AppConstants;
 import com.kapil.personalwebsite.util.ExceptionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,22 +15,34 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.function.Predicate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Rate limiting filter for contact form, blog, and AI endpoints to prevent spam and abuse.
- * Implements a dual-bucket sliding window algorithm with separate limits for client fingerprint and IP aggregate.
+ * Implements tiered rate limiting with separate limits for client fingerprint, IP aggregate and, where configured,
+ * subnet aggregate, tracked with the sliding-log, GCRA or token-bucket algorithm selected in
+ * {@link RateLimitProperties#algorithm()}. The subnet tier stops clients rotating addresses within one IPv6 /64
+ * or IPv4 /24 from escaping the IP aggregate limit.
+ * Each request is matched to its rule by the {@link RouteClassifier} route, with a single map lookup.
+ * Keys a bucket denies are remembered in a per-endpoint {@link BlockedClientTable} until the bucket recovers, and
+ * their further requests get a pre-serialized 429 without any bucket being touched.
+ * With {@code rate.limit.store.snapshot-path} set, in-memory bucket state is restored from a
+ * {@link RateLimitSnapshot} on startup and checkpointed periodically, so quotas survive restarts.
+ * <p>
+ * The compiled rules are held in an {@link AtomicReference} and replaced as a whole by {@link #reload}, driven by
+ * {@link RateLimitRulesReloader}, so limits change without a restart and the request path never takes a lock.
+ * <p>
+ * Meters: {@code rate.limit.requests} counts allowed and rejected checks per endpoint and bucket type,
+ * {@code rate.limit.blocked} counts requests turned away by the blocked table, {@code rate.limit.check} times each
+ * bucket check, {@code rate.limit.buckets} tracks the live bucket count, and {@code rate.limit.cleanup} with
+ * {@code rate.limit.cleanup.removed} report the cost and yield of each cleanup run.
  *
  * @author Kapil Garg
  */
@@ -36,47 +52,143 @@ public class RateLimitFilter implements Filter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
 
+    /**
+     * Request attribute holding the client's 64-bit IP key (a {@code Long}) on rate-limited requests, so
+     * downstream limiters such as the AI token budget charge the same client identity.
+     */
+    public static final String CLIENT_KEY_ATTRIBUTE = RateLimitFilter.class.getName() + ".clientKey";
+
     private static final String BUCKET_FP = "fp";
     private static final String BUCKET_IP = "ip";
+    private static final String BUCKET_SUBNET = "net";
+
+    private static final RateLimitCheckResult NOT_LIMITED = new RateLimitCheckResult(true, Integer.MAX_VALUE, 0, 0);
+
+    private final AtomicReference<RuleSet> ruleSet = new AtomicReference<>();
+    private final RateLimitStore rateLimitStore;
+    private final ClientKeyHasher keyHasher;
+    private final MeterRegistry meterRegistry;
+    private final RouteClassifier routeClassifier;
+    private final RateLimitSnapshot snapshot;
+    private final Timer cleanupTimer;
+    private final Counter cleanupRemoved;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore rateLimitStore,
+                           MeterRegistry meterRegistry, RouteClassifier routeClassifier) {
+        this.rateLimitStore = rateLimitStore;
+        this.keyHasher = ClientKeyHasher.fromSecret(properties.keySecret());
+        this.meterRegistry = meterRegistry;
+        this.routeClassifier = routeClassifier;
+        if (properties.store().type() != RateLimitProperties.Store.Type.MEMORY
+                && (properties.keySecret() == null || properties.keySecret().isBlank())) {
+            LOGGER.warn("rate.limit.key-secret is not set; each instance derives different rate limit keys, " +
+                    "so the shared rate limit store cannot combine quotas across replicas.");
+        }
+        this.ruleSet.set(compile(properties, 1, "startup", null));
+        Gauge.builder("rate.limit.buckets", rateLimitStore, RateLimitStore::size)
+                .description("Rate limit buckets currently tracked by the store")
+                .register(meterRegistry);
+        this.cleanupTimer = Timer.builder("rate.limit.cleanup")
+                .description("Time spent flushing expired rate limit entries")
+                .register(meterRegistry);
+        this.cleanupRemoved = Counter.builder("rate.limit.cleanup.removed")
+                .description("Expired rate limit entries removed by cleanup runs")
+                .register(meterRegistry);
+        LOGGER.info("RateLimitFilter initialized with {} algorithm", properties.algorithm());
+        this.snapshot = RateLimitSnapshot.create(properties, rateLimitStore);
+        if (snapshot != null) {
+            snapshot.restore(Instant.now().toEpochMilli());
+        }
+        warnIfTrustingProxyHeaders(properties);
+    }
+
+    /**
+     * Atomically replaces the active rules with ones compiled from {@code properties}. Requests already being
+     * checked finish under the rules they started with. Bucket state carries over wherever the new limits can use
+     * it, and clients blocked under unchanged limits stay blocked. The key secret and store settings are fixed at
+     * startup, since changing them would orphan every existing bucket.
+     *
+     * @param properties the new rate limit properties
+     * @param source     where the properties came from, reported in {@link #rules()}
+     * @return the version of the rule set now in force
+     */
+    public synchronized long reload(RateLimitProperties properties, String source) {
+        RuleSet current = ruleSet.get();
+        if (!Objects.equals(properties.keySecret(), current.properties().keySecret())
+                || !properties.store().equals(current.properties().store())) {
+            LOGGER.warn("rate.limit.key-secret and rate.limit.store.* changes only take effect on restart");
+        }
+        RuleSet next = compile(properties, current.version() + 1, source, current);
+        ruleSet.set(next);
+        LOGGER.info("Rate limit rules version {} loaded from {} with {} algorithm",
+                next.version(), source, properties.algorithm());
+        warnIfTrustingProxyHeaders(properties);
+        return next.version();
+    }
 
     /**
-     * One SHA-256 digest per request-handling thread to avoid allocating a new MessageDigest on every request.
+     * Describes the rule set currently in force.
+     *
+     * @return the active rules with their version and source
      */
-    private static final ThreadLocal<Optional<MessageDigest>> SHA256_DIGEST = ThreadLocal.withInitial(() -> {
-        try {
-            return Optional.of(MessageDigest.getInstance("SHA-256"));
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.error("SHA-256 unavailable, falling back to raw IP for rate limit key", e);
-            return Optional.empty();
+    public RulesStatus rules() {
+        RuleSet current = ruleSet.get();
+        Map<String, EndpointLimits> endpoints = new LinkedHashMap<>();
+        for (EndpointRule rule : current.rules()) {
+            endpoints.put(rule.endpointType(),
+                    new EndpointLimits(rule.fingerprintConfig(), rule.ipConfig(), rule.subnetConfig()));
         }
-    });
-
-    private final List<EndpointRule> rules;
-    private final boolean trustProxyHeaders;
-    private final Map<String, RequestWindow> requestCache = new ConcurrentHashMap<>();
-
-    public RateLimitFilter(RateLimitProperties properties) {
-        this.trustProxyHeaders = properties.trustProxyHeaders();
-        this.rules = List.of(
-                new EndpointRule(this::isContactPolishEndpoint, AppConstants.ENDPOINT_TYPE_CONTACT_POLISH,
-                        toConfig(properties.contactPolish().fingerprint()), toConfig(properties.contactPolish().ip())),
-                new EndpointRule(this::isContactEndpoint, AppConstants.ENDPOINT_TYPE_CONTACT,
-                        toConfig(properties.contact().fingerprint()), toConfig(properties.contact().ip())),
-                new EndpointRule(this::isBlogAskEndpoint, AppConstants.ENDPOINT_TYPE_BLOG_ASK,
-                        toConfig(properties.blogAsk().fingerprint()), toConfig(properties.blogAsk().ip())),
-                new EndpointRule(this::isPortfolioChatEndpoint, AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT,
-                        toConfig(properties.portfolioChat().fingerprint()), toConfig(properties.portfolioChat().ip())),
-                new EndpointRule(this::isBlogEndpoint, AppConstants.ENDPOINT_TYPE_BLOG,
-                        toConfig(properties.blog().fingerprint()), toConfig(properties.blog().ip()))
+        return new RulesStatus(current.version(), current.loadedAt(), current.source(),
+                current.properties().algorithm(), current.properties().trustProxyHeaders(), endpoints);
+    }
+
+    /**
+     * Compiles properties into an immutable rule set, reusing {@code previous}'s blocked tables where the limits
+     * they were filled under are unchanged.
+     */
+    private RuleSet compile(RateLimitProperties properties, long version, String source, RuleSet previous) {
+        List<EndpointRule> rules = List.of(
+                rule(RouteClassifier.Route.CONTACT_POLISH, properties.contactPolish(), properties, version, previous),
+                rule(RouteClassifier.Route.CONTACT, properties.contact(), properties, version, previous),
+                rule(RouteClassifier.Route.BLOG_ASK, properties.blogAsk(), properties, version, previous),
+                rule(RouteClassifier.Route.PORTFOLIO_CHAT, properties.portfolioChat(), properties, version, previous),
+                rule(RouteClassifier.Route.PUBLIC_BLOG, properties.blog(), properties, version, previous)
         );
-        if (trustProxyHeaders) {
+        Map<RouteClassifier.Route, EndpointRule> byRoute = new EnumMap<>(RouteClassifier.Route.class);
+        rules.forEach(rule -> byRoute.put(rule.route(), rule));
+        return new RuleSet(version, Instant.now(), source, properties, rules, byRoute,
+                properties.trustProxyHeaders(), new SubnetAggregator(properties.subnet()));
+    }
+
+    private EndpointRule rule(RouteClassifier.Route route, RateLimitProperties.EndpointLimitConfig limits,
+                              RateLimitProperties properties, long version, RuleSet previous) {
+        RateLimitProperties.Algorithm algorithm = properties.algorithm();
+        RateLimitConfig fingerprintConfig = toConfig(limits.fingerprint(), algorithm, version);
+        RateLimitConfig ipConfig = toConfig(limits.ip(), algorithm, version);
+        RateLimitConfig subnetConfig = toConfig(limits.subnet(), algorithm, version);
+        EndpointRule old = previous == null ? null : previous.byRoute().get(route);
+        BlockedClientTable blockedClients = old != null && fingerprintConfig.sameLimits(old.fingerprintConfig())
+                && ipConfig.sameLimits(old.ipConfig())
+                && (subnetConfig == null ? old.subnetConfig() == null : subnetConfig.sameLimits(old.subnetConfig()))
+                ? old.blockedClients()
+                : new BlockedClientTable(properties.store().maxEntries());
+        return new EndpointRule(route, fingerprintConfig, ipConfig, subnetConfig, blockedClients, meterRegistry);
+    }
+
+    private static void warnIfTrustingProxyHeaders(RateLimitProperties properties) {
+        if (properties.trustProxyHeaders()) {
             LOGGER.warn("Proxy header trust is enabled. Ensure your proxy/load balancer strips " +
                     "client-supplied X-Forwarded-For and X-Real-IP headers to prevent rate limit bypass.");
         }
     }
 
-    private static RateLimitConfig toConfig(RateLimitProperties.EndpointLimitConfig.BucketConfig cfg) {
-        return new RateLimitConfig(cfg.maxRequests(), cfg.windowMinutes());
+    /**
+     * Converts bound bucket thresholds into a RateLimitConfig of rule set {@code version}, or null when the bucket is
+     * not configured.
+     */
+    private static RateLimitConfig toConfig(RateLimitProperties.EndpointLimitConfig.BucketConfig cfg,
+                                            RateLimitProperties.Algorithm algorithm, long version) {
+        return cfg == null ? null : new RateLimitConfig(cfg.maxRequests(), cfg.windowMinutes(), algorithm, version);
     }
 
     @Override
@@ -88,30 +200,52 @@ public class RateLimitFilter implements Filter {
             chain.doFilter(request, response);
             return;
         }
-        String clientIp = getClientIp(httpRequest);
-        for (EndpointRule rule : rules) {
-            if (rule.matcher().test(httpRequest)) {
-                String fingerprint = buildClientFingerprint(clientIp, httpRequest);
-                String fpKey = buildRateLimitKey(BUCKET_FP, fingerprint, rule.endpointType());
-                String ipKey = buildRateLimitKey(BUCKET_IP, clientIp, rule.endpointType());
-                RateLimitCheckResult fpResult = checkRateLimit(fpKey, rule.fingerprintConfig());
-                RateLimitCheckResult ipResult = checkRateLimit(ipKey, rule.ipConfig());
-                // Headers always reflect the fingerprint bucket so clients see their own quota.
-                setRateLimitHeaders(httpResponse, rule.fingerprintConfig().maxRequests(),
-                        fpResult.remaining(), fpResult.resetEpochSeconds());
-                if (!fpResult.allowed() || !ipResult.allowed()) {
-                    boolean ipBlocked = fpResult.allowed();
-                    int retryWindowMinutes = ipBlocked
-                            ? rule.ipConfig().windowMinutes()
-                            : rule.fingerprintConfig().windowMinutes();
-                    LOGGER.warn("Rate limit exceeded ({}) for {} endpoint - IP: {} - Path: {}",
-                            ipBlocked ? "IP aggregate" : "fingerprint",
-                            rule.endpointType(), clientIp, httpRequest.getRequestURI());
-                    sendRateLimitExceededResponse(httpResponse, retryWindowMinutes);
-                    return;
-                }
-                break; // at most one rule matches per request
+        RuleSet current = ruleSet.get();
+        EndpointRule rule = current.byRoute().get(routeClassifier.classify(httpRequest));
+        if (rule != null) {
+            String clientIp = getClientIp(httpRequest, current.trustProxyHeaders());
+            ClientAddress address = ClientAddress.parse(clientIp);
+            long fingerprint = buildClientFingerprint(clientIp, httpRequest);
+            long ipKey = address != null ? keyHasher.ip(address) : keyHasher.ip(clientIp);
+            boolean subnetLimited = rule.subnetConfig() != null && address != null;
+            long subnetKey = subnetLimited ? subnetKeyOf(address, current.subnetAggregator()) : 0L;
+            long currentTime = Instant.now().toEpochMilli();
+            long blockedUntil = blockedUntil(rule, fingerprint, ipKey, subnetLimited, subnetKey, currentTime);
+            if (blockedUntil > 0) {
+                // Known over-quota client: answer from the blocked table without touching any bucket.
+                rule.blockedCount().increment();
+                setRateLimitHeaders(httpResponse, rule.fingerprintConfig().maxRequests(), 0,
+                        (blockedUntil + 999) / 1000);
+                RateLimitExceededResponse.forRetryAfter((blockedUntil - currentTime + 999) / 1000)
+                        .writeTo(httpResponse);
+                return;
             }
+            RateLimitCheckResult fpResult = checkRateLimit(rule.fingerprintNamespace(), fingerprint,
+                    rule.fingerprintConfig(), rule.fingerprintMeters(), currentTime);
+            RateLimitCheckResult ipResult =
+                    checkRateLimit(rule.ipNamespace(), ipKey, rule.ipConfig(), rule.ipMeters(), currentTime);
+            RateLimitCheckResult subnetResult = subnetLimited
+                    ? checkRateLimit(rule.subnetNamespace(), subnetKey, rule.subnetConfig(), rule.subnetMeters(),
+                    currentTime)
+                    : NOT_LIMITED;
+            // Headers always reflect the fingerprint bucket so clients see their own quota.
+            setRateLimitHeaders(httpResponse, rule.fingerprintConfig().maxRequests(),
+                    fpResult.remaining(), fpResult.resetEpochSeconds());
+            if (!fpResult.allowed() || !ipResult.allowed() || !subnetResult.allowed()) {
+                String blockedBucket = !fpResult.allowed() ? "fingerprint"
+                        : !ipResult.allowed() ? "IP aggregate" : "subnet aggregate";
+                // The client must wait for every exhausted bucket, so report the longest delay.
+                long retryAfterSeconds = Math.max(fpResult.retryAfterSeconds(),
+                        Math.max(ipResult.retryAfterSeconds(), subnetResult.retryAfterSeconds()));
+                LOGGER.warn("Rate limit exceeded ({}) for {} endpoint - IP: {} - Path: {}",
+                        blockedBucket, rule.endpointType(), clientIp, httpRequest.getRequestURI());
+                block(rule, fpResult, fingerprint, currentTime);
+                block(rule, ipResult, ipKey, currentTime);
+                block(rule, subnetResult, subnetKey, currentTime);
+                RateLimitExceededResponse.forRetryAfter(retryAfterSeconds).writeTo(httpResponse);
+                return;
+            }
+            httpRequest.setAttribute(CLIENT_KEY_ATTRIBUTE, ipKey);
         }
         try {
             chain.doFilter(request, response);
@@ -121,106 +255,29 @@ public class RateLimitFilter implements Filter {
     }
 
     /**
-     * Builds a client fingerprint by hashing the combination of client IP, User-Agent, and Accept-Language headers.
+     * Builds a client fingerprint by hashing the combination of client IP, User-Agent, and Accept-Language headers
+     * with a keyed 64-bit hash computed directly over the header characters.
      *
      * @param clientIp the normalized client IP address
      * @param request  the HTTP servlet request
-     * @return a 24-character hex string fingerprint or the raw client IP if hashing fails
+     * @return the 64-bit fingerprint key
      */
-    String buildClientFingerprint(String clientIp, HttpServletRequest request) {
+    long buildClientFingerprint(String clientIp, HttpServletRequest request) {
         String userAgent = Objects.toString(request.getHeader(AppConstants.USER_AGENT_HEADER), "");
         String acceptLang = Objects.toString(request.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER), "");
-        String raw = clientIp + "|" + userAgent + "|" + acceptLang;
-        Optional<MessageDigest> digestHolder = SHA256_DIGEST.get();
-        if (digestHolder.isEmpty()) {
-            return clientIp;
-        }
-        byte[] hash = digestHolder.get().digest(raw.getBytes(StandardCharsets.UTF_8));
-        return HexFormat.of().formatHex(hash).substring(0, 24);
-    }
-
-    /**
-     * Checks if the request is for the contact polish endpoint with POST method.
-     *
-     * @param request the HTTP servlet request
-     * @return true if it's a POST request to /contact/polish, false otherwise
-     */
-    private boolean isContactPolishEndpoint(HttpServletRequest request) {
-        if (!AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod())) {
-            return false;
-        }
-        String servletPath = request.getServletPath();
-        return servletPath != null &&
-                (servletPath.equals(AppConstants.CONTACT_POLISH_PATH) || servletPath.equals(AppConstants.CONTACT_POLISH_PATH + "/"));
-    }
-
-    /**
-     * Checks if the request is for the contact endpoint with POST method.
-     *
-     * @param request the HTTP servlet request
-     * @return true if it's a POST request to /contact, false otherwise
-     */
-    private boolean isContactEndpoint(HttpServletRequest request) {
-        if (!AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod())) {
-            return false;
-        }
-        String servletPath = request.getServletPath();
-        return servletPath != null &&
-                (servletPath.equals(AppConstants.CONTACT_PATH) || servletPath.equals(AppConstants.CONTACT_PATH + "/"));
-    }
-
-    /**
-     * Checks if the request is for the blog ask endpoint (POST /blogs/published/.../ask).
-     *
-     * @param request the HTTP servlet request
-     * @return true if it's a POST request to /blogs/published/{slug}/ask, false otherwise
-     */
-    private boolean isBlogAskEndpoint(HttpServletRequest request) {
-        String method = request.getMethod();
-        if (!AppConstants.POST_METHOD.equalsIgnoreCase(method) && !HttpMethod.GET.matches(method)) {
-            return false;
-        }
-        String servletPath = request.getServletPath();
-        if (servletPath == null || !servletPath.startsWith("/blogs/published/")) {
-            return false;
-        }
-        return servletPath.endsWith("/ask") || servletPath.endsWith("/ask/stream");
-    }
-
-    /**
-     * Checks if the request is for a blog endpoint.
-     *
-     * @param request the HTTP servlet request
-     * @return true if it's a request to /blogs, false otherwise
-     */
-    private boolean isBlogEndpoint(HttpServletRequest request) {
-        String servletPath = request.getServletPath();
-        return servletPath != null && AppConstants.PUBLIC_BLOG_PATHS.stream().anyMatch(servletPath::startsWith);
-    }
-
-    /**
-     * Checks if the request is for the portfolio chat endpoint with POST method.
-     *
-     * @param request the HTTP servlet request
-     * @return true if it's a POST request to /ai/chat, false otherwise
-     */
-    private boolean isPortfolioChatEndpoint(HttpServletRequest request) {
-        if (!AppConstants.POST_METHOD.equalsIgnoreCase(request.getMethod())) {
-            return false;
-        }
-        String servletPath = request.getServletPath();
-        return servletPath != null &&
-                (servletPath.equals(AppConstants.AI_CHAT_PATH) || servletPath.equals(AppConstants.AI_CHAT_PATH + "/"));
+        return keyHasher.fingerprint(clientIp, userAgent, acceptLang);
     }
 
     /**
      * Extracts the client IP address from the request considering proxy headers if configured.
-     * Normalizes the IP address (trim and lowercase) to prevent key duplication issues.
+     * The result is only trimmed; bucket keys come from the parsed address, so differently written forms of one
+     * address (case, zero compression) still share a bucket.
      *
-     * @param request the HTTP servlet request
-     * @return the normalized client IP address
+     * @param request           the HTTP servlet request
+     * @param trustProxyHeaders whether X-Forwarded-For and X-Real-IP are trusted
+     * @return the trimmed client IP address
      */
-    private String getClientIp(HttpServletRequest request) {
+    static String getClientIp(HttpServletRequest request, boolean trustProxyHeaders) {
         String clientIp;
         if (!trustProxyHeaders) {
             clientIp = request.getRemoteAddr();
@@ -233,59 +290,57 @@ public class RateLimitFilter implements Filter {
                 clientIp = (xRealIp != null && !xRealIp.trim().isEmpty()) ? xRealIp.trim() : request.getRemoteAddr();
             }
         }
-        return clientIp.trim().toLowerCase();
+        return clientIp.trim();
     }
 
     /**
-     * Builds a namespaced rate-limit cache key.
+     * Checks the bucket for the given key and records the current request if allowed.
      *
-     * @param bucketType   the bucket type ("fp" for fingerprint or "ip" for IP aggregate)
-     * @param identifier   the bucket identifier (fingerprint hash or client IP)
-     * @param endpointType the endpoint type (e.g., "contact", "blog_ask") to allow separate limits per endpoint
-     * @return a composite key in the format "{bucketType}:{identifier}:{endpointType}"
+     * @param namespace   the bucket namespace ("{bucketType}:{endpointType}")
+     * @param key         the 64-bit fingerprint, IP or subnet key
+     * @param config      the rate limit configuration for the endpoint
+     * @param meters      the meters of the bucket type being checked
+     * @param currentTime the current epoch millisecond
+     * @return a RateLimitCheckResult
      */
-    private String buildRateLimitKey(String bucketType, String identifier, String endpointType) {
-        return bucketType + ":" + identifier + ":" + endpointType;
+    private RateLimitCheckResult checkRateLimit(String namespace, long key, RateLimitConfig config,
+                                                BucketMeters meters, long currentTime) {
+        long start = System.nanoTime();
+        RateLimitCheckResult result = rateLimitStore.tryAcquire(namespace, key, config, 1, currentTime);
+        meters.check().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (result.allowed() ? meters.allowed() : meters.rejected()).increment();
+        return result;
     }
 
     /**
-     * Checks the sliding window for the given key and records the current request if allowed.
+     * Derives the subnet aggregate key for the network the client address belongs to.
      *
-     * @param rateLimitKey the composite rate limit key (fingerprint:ENDPOINT_TYPE)
-     * @param config       the rate limit configuration for the endpoint
-     * @return a RateLimitCheckResult
+     * @param address          the parsed client address
+     * @param subnetAggregator the active subnet aggregation rules
+     * @return the 64-bit subnet key
      */
-    private RateLimitCheckResult checkRateLimit(String rateLimitKey, RateLimitConfig config) {
-        long currentTime = Instant.now().toEpochMilli();
-        long windowDurationMs = config.windowMinutes() * 60_000L;
-        long windowStart = currentTime - windowDurationMs;
-        RequestWindow window = requestCache.computeIfAbsent(rateLimitKey, k -> new RequestWindow());
-        synchronized (window) {
-            window.removeOldRequests(windowStart);
-            int currentCount = window.getRequestCount();
-            if (currentCount >= config.maxRequests()) {
-                long resetEpochSeconds = computeResetEpochSeconds(window, currentTime, windowDurationMs);
-                return new RateLimitCheckResult(false, 0, resetEpochSeconds);
-            }
-            window.addRequest(currentTime);
-            int remaining = config.maxRequests() - currentCount - 1;
-            long resetEpochSeconds = computeResetEpochSeconds(window, currentTime, windowDurationMs);
-            return new RateLimitCheckResult(true, remaining, resetEpochSeconds);
-        }
+    private long subnetKeyOf(ClientAddress address, SubnetAggregator subnetAggregator) {
+        int prefixLength = subnetAggregator.prefixLengthOf(address);
+        return keyHasher.subnet(address.mask(prefixLength), prefixLength);
     }
 
     /**
-     * Computes the epoch-second timestamp at which the current sliding window will reset.
-     *
-     * @param window           the RequestWindow containing the timestamps of recent requests
-     * @param currentTimeMs    the current time in milliseconds
-     * @param windowDurationMs the duration of the rate limit window in milliseconds
-     * @return the epoch-second timestamp when the window will reset
+     * Returns when the latest block on any of the client's keys ends, or 0 if none of them is blocked.
      */
-    private long computeResetEpochSeconds(RequestWindow window, long currentTimeMs, long windowDurationMs) {
-        long oldestTimestamp = window.getOldestTimestamp();
-        long resetMs = (oldestTimestamp > 0) ? oldestTimestamp + windowDurationMs : currentTimeMs + windowDurationMs;
-        return resetMs / 1000;
+    private static long blockedUntil(EndpointRule rule, long fingerprint, long ipKey, boolean subnetLimited,
+                                     long subnetKey, long currentTime) {
+        BlockedClientTable blocked = rule.blockedClients();
+        long until = Math.max(blocked.blockedUntil(fingerprint, currentTime), blocked.blockedUntil(ipKey, currentTime));
+        return subnetLimited ? Math.max(until, blocked.blockedUntil(subnetKey, currentTime)) : until;
+    }
+
+    /**
+     * Records a denied bucket's key in the rule's blocked table until the bucket can admit a request again.
+     */
+    private static void block(EndpointRule rule, RateLimitCheckResult result, long key, long currentTime) {
+        if (!result.allowed() && result.retryAfterSeconds() > 0) {
+            rule.blockedClients().block(key, currentTime + result.retryAfterSeconds() * 1000L, currentTime);
+        }
     }
 
     /**
@@ -298,46 +353,36 @@ public class RateLimitFilter implements Filter {
     }
 
     /**
-     * Sends a 429 Too Many Requests response with JSON body and Retry-After header.
-     *
-     * @param response   the HTTP servlet response
-     * @param windowMins the time window in minutes
-     * @throws IOException in case of I/O errors
+     * Cleans up expired entries from the rate limit store, called by the scheduled cleanup service.
+     * Stores expire entries on their own; this only flushes pending maintenance and reports the evictions.
      */
-    private void sendRateLimitExceededResponse(HttpServletResponse response, int windowMins) throws IOException {
-        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-        response.setContentType(AppConstants.APPLICATION_JSON);
-        response.setCharacterEncoding(AppConstants.UTF_ENCODING);
-        long retryAfterSeconds = (long) windowMins * 60;
-        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
-        String jsonResponse = """
-                {
-                    "error": "Rate limit exceeded",
-                    "message": "Too many requests. Please try again after %d minutes.",
-                    "retryAfter": %d
-                }
-                """.formatted(windowMins, retryAfterSeconds);
-        response.getWriter().write(jsonResponse);
+    public void cleanupExpiredEntries() {
+        long currentTime = Instant.now().toEpochMilli();
+        long maxWindowMs = (getMaxWindowMinutes() + 1) * 60_000L;
+        long start = System.nanoTime();
+        int removed = rateLimitStore.evictIdle(currentTime, maxWindowMs);
+        cleanupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        cleanupRemoved.increment(removed);
+        if (removed > 0) {
+            LOGGER.debug("Cleaned up {} expired rate limit entries. Cache size: {}", removed, rateLimitStore.size());
+        }
     }
 
     /**
-     * Cleans up expired entries from the request cache called by the scheduled cleanup service.
+     * Checkpoints the rate limit state to the configured snapshot file, called by the scheduled cleanup service
+     * and on shutdown. Does nothing when snapshots are disabled.
      */
-    public void cleanupExpiredEntries() {
-        long currentTime = Instant.now().toEpochMilli();
-        long windowStart = currentTime - ((getMaxWindowMinutes() + 1) * 60_000L);
-        int beforeSize = requestCache.size();
-        requestCache.entrySet().removeIf(entry -> {
-            RequestWindow window = entry.getValue();
-            synchronized (window) {
-                window.removeOldRequests(windowStart);
-                return window.getRequestCount() == 0;
-            }
-        });
-        int afterSize = requestCache.size();
-        if (beforeSize != afterSize) {
-            LOGGER.debug("Cleaned up {} expired rate limit entries. Cache size: {} -> {}",
-                    beforeSize - afterSize, beforeSize, afterSize);
+    public void checkpoint() {
+        if (snapshot == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int written = snapshot.checkpoint(Instant.now().toEpochMilli());
+            LOGGER.debug("Checkpointed {} rate limit buckets in {} ms", written,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            LOGGER.error("Failed to checkpoint rate limit state", e);
         }
     }
 
@@ -345,61 +390,159 @@ public class RateLimitFilter implements Filter {
      * Determines the maximum window duration across all configured rules to optimize cache cleanup.
      */
     private long getMaxWindowMinutes() {
-        return rules.stream()
-                .mapToLong(r -> Math.max(r.fingerprintConfig().windowMinutes(), r.ipConfig().windowMinutes()))
+        return ruleSet.get().rules().stream()
+                .mapToLong(r -> Math.max(
+                        Math.max(r.fingerprintConfig().windowMinutes(), r.ipConfig().windowMinutes()),
+                        r.subnetConfig() == null ? 0 : r.subnetConfig().windowMinutes()))
                 .max()
                 .orElse(0L);
     }
 
     /**
-     * Sliding window of request timestamps for a single rate-limit bucket.
+     * Holds the per-endpoint rate-limit thresholds and the algorithm used to track them, stamped with the version
+     * of the rule set they belong to so stores can tell a reload from a request still running under older rules.
+     * Configs built outside the rule set, which never change at runtime, have generation 0.
      */
-    private static class RequestWindow {
+    public record RateLimitConfig(int maxRequests, int windowMinutes, RateLimitProperties.Algorithm algorithm,
+                                  long generation) {
 
-        private final ConcurrentLinkedQueue<Long> requests = new ConcurrentLinkedQueue<>();
+        public RateLimitConfig(int maxRequests, int windowMinutes, RateLimitProperties.Algorithm algorithm) {
+            this(maxRequests, windowMinutes, algorithm, 0L);
+        }
 
-        void addRequest(long timestamp) {
-            requests.offer(timestamp);
+        /**
+         * Reports whether {@code other} has the same thresholds and algorithm, whatever its generation.
+         */
+        boolean sameLimits(RateLimitConfig other) {
+            return other != null && maxRequests == other.maxRequests && windowMinutes == other.windowMinutes
+                    && algorithm == other.algorithm;
         }
 
-        void removeOldRequests(long windowStart) {
-            while (!requests.isEmpty() && requests.peek() < windowStart) {
-                requests.poll();
-            }
+        long windowMillis() {
+            return windowMinutes * 60_000L;
         }
 
-        int getRequestCount() {
-            return requests.size();
+        /**
+         * Creates an empty bucket tracked with this config's algorithm.
+         */
+        RateLimitBucket newBucket() {
+            return switch (algorithm) {
+                case GCRA -> new GcraBucket();
+                case TOKEN_BUCKET -> new TokenBucket();
+                case SLIDING_LOG -> new RequestWindow(maxRequests);
+            };
+        }
+
+        /**
+         * Recreates a bucket of this config's algorithm from its snapshot encoding.
+         */
+        RateLimitBucket restoreBucket(ByteBuffer in) {
+            return switch (algorithm) {
+                case GCRA -> GcraBucket.restore(in);
+                case TOKEN_BUCKET -> TokenBucket.restore(in);
+                case SLIDING_LOG -> RequestWindow.restore(in, maxRequests);
+            };
         }
 
         /**
-         * Returns the timestamp of the oldest request in the window, or {@code 0} if empty.
+         * Returns the most bytes {@link RateLimitBucket#writeState} writes for a bucket of this config.
          */
-        long getOldestTimestamp() {
-            Long oldest = requests.peek();
-            return oldest != null ? oldest : 0L;
+        int maxStateBytes() {
+            return switch (algorithm) {
+                case GCRA -> Long.BYTES;
+                case TOKEN_BUCKET -> Double.BYTES + Long.BYTES;
+                case SLIDING_LOG -> Integer.BYTES + Math.max(1, maxRequests) * Long.BYTES;
+            };
+        }
+
+    }
+
+    /**
+     * Result of a single rate-limit check, carrying enough information to populate X-RateLimit-* and Retry-After
+     * response headers. {@code retryAfterSeconds} is zero when the request was allowed.
+     */
+    public record RateLimitCheckResult(boolean allowed, int remaining, long resetEpochSeconds, long retryAfterSeconds) {
+    }
+
+    /**
+     * Associates a {@link RouteClassifier.Route} with its tiered rate-limit configuration and key name.
+     * Add a new instance in {@link #compile} to rate-limit an additional route.
+     * Bucket namespaces ("{bucketType}:{endpointType}") and meters are built once here so nothing is built or
+     * looked up per request. {@code subnetConfig} is null when the endpoint has no subnet bucket.
+     */
+    private record EndpointRule(RouteClassifier.Route route, String endpointType,
+                                RateLimitConfig fingerprintConfig, RateLimitConfig ipConfig,
+                                RateLimitConfig subnetConfig, String fingerprintNamespace, String ipNamespace,
+                                String subnetNamespace, BlockedClientTable blockedClients,
+                                BucketMeters fingerprintMeters, BucketMeters ipMeters, BucketMeters subnetMeters,
+                                Counter blockedCount) {
+
+        EndpointRule(RouteClassifier.Route route, RateLimitConfig fingerprintConfig, RateLimitConfig ipConfig,
+                     RateLimitConfig subnetConfig, BlockedClientTable blockedClients, MeterRegistry meterRegistry) {
+            this(route, route.endpointType(), fingerprintConfig, ipConfig, subnetConfig,
+                    BUCKET_FP + ":" + route.endpointType(), BUCKET_IP + ":" + route.endpointType(),
+                    BUCKET_SUBNET + ":" + route.endpointType(), blockedClients,
+                    new BucketMeters(meterRegistry, route.endpointType(), BUCKET_FP),
+                    new BucketMeters(meterRegistry, route.endpointType(), BUCKET_IP),
+                    new BucketMeters(meterRegistry, route.endpointType(), BUCKET_SUBNET),
+                    Counter.builder("rate.limit.blocked")
+                            .description("Requests rejected from the blocked-client table without a bucket check")
+                            .tag("endpoint", route.endpointType())
+                            .register(meterRegistry));
         }
 
     }
 
     /**
-     * Holds the per-endpoint rate-limit thresholds.
+     * Immutable compiled rules, swapped as a whole on reload so the request path reads them without locking.
      */
-    private record RateLimitConfig(int maxRequests, int windowMinutes) {
+    private record RuleSet(long version, Instant loadedAt, String source, RateLimitProperties properties,
+                           List<EndpointRule> rules, Map<RouteClassifier.Route, EndpointRule> byRoute,
+                           boolean trustProxyHeaders, SubnetAggregator subnetAggregator) {
     }
 
     /**
-     * Result of a single rate-limit check, carrying enough information to populate X-RateLimit-* response headers.
+     * The active rule set as reported by the admin endpoint.
+     *
+     * @param version           increments on every reload, starting at 1 for the startup configuration
+     * @param loadedAt          when the rule set was compiled
+     * @param source            where the rules came from: {@code startup}, the rules file or the admin endpoint
+     * @param algorithm         the algorithm every bucket is tracked with
+     * @param trustProxyHeaders whether client addresses are taken from proxy headers
+     * @param endpoints         the limits of each endpoint type
      */
-    record RateLimitCheckResult(boolean allowed, int remaining, long resetEpochSeconds) {
+    public record RulesStatus(long version, Instant loadedAt, String source, RateLimitProperties.Algorithm algorithm,
+                              boolean trustProxyHeaders, Map<String, EndpointLimits> endpoints) {
     }
 
     /**
-     * Associates an endpoint-matching predicate with its dual-bucket rate-limit configuration and key name.
-     * Add a new instance in the constructor to rate-limit an additional endpoint.
+     * The bucket limits of one endpoint type; {@code subnet} is null when the endpoint has no subnet bucket.
      */
-    private record EndpointRule(Predicate<HttpServletRequest> matcher, String endpointType,
-                                RateLimitConfig fingerprintConfig, RateLimitConfig ipConfig) {
+    public record EndpointLimits(RateLimitConfig fingerprint, RateLimitConfig ip, RateLimitConfig subnet) {
+    }
+
+    /**
+     * Check timer and outcome counters for one bucket type of one endpoint.
+     */
+    private record BucketMeters(Timer check, Counter allowed, Counter rejected) {
+
+        BucketMeters(MeterRegistry meterRegistry, String endpointType, String bucketType) {
+            this(Timer.builder("rate.limit.check")
+                            .description("Time spent checking a rate limit bucket")
+                            .tags("endpoint", endpointType, "bucket", bucketType)
+                            .register(meterRegistry),
+                    requestCounter(meterRegistry, endpointType, bucketType, "allowed"),
+                    requestCounter(meterRegistry, endpointType, bucketType, "rejected"));
+        }
+
+        private static Counter requestCounter(MeterRegistry meterRegistry, String endpointType, String bucketType,
+                                              String outcome) {
+            return Counter.builder("rate.limit.requests")
+                    .description("Rate limit bucket checks by outcome")
+                    .tags("endpoint", endpointType, "bucket", bucketType, "outcome", outcome)
+                    .register(meterRegistry);
+        }
+
     }
 
 }
@@ -2,8 +2,12 @@ package com.kapil.personalwebsite.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.List;
+
 /**
  * Type-safe binding for all rate-limit configuration under the {rate.limit} prefix.
+ * {@code keySecret} seeds the hash deriving bucket keys from client headers; replicas sharing a store need the same
+ * value, and a random per-process seed is used when it is blank.
  *
  * @author Kapil Garg
  */
@@ -14,13 +18,165 @@ public record RateLimitProperties(
         EndpointLimitConfig blog,
         EndpointLimitConfig blogAsk,
         EndpointLimitConfig portfolioChat,
-        boolean trustProxyHeaders
+        boolean trustProxyHeaders,
+        Algorithm algorithm,
+        Store store,
+        String keySecret,
+        Subnet subnet,
+        TokenBudget tokenBudget
 ) {
 
+    public RateLimitProperties {
+        if (algorithm == null) {
+            algorithm = Algorithm.SLIDING_LOG;
+        }
+        if (store == null) {
+            store = new Store(null, 0, 0, null, 0, 0, null, 0, 0);
+        }
+        if (subnet == null) {
+            subnet = new Subnet(null, null, null);
+        }
+        if (tokenBudget == null) {
+            tokenBudget = new TokenBudget(false, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Algorithm used to track every rate-limit bucket.
+     */
+    public enum Algorithm {
+
+        /**
+         * Exact sliding window keeping one timestamp per admitted request (memory grows with maxRequests).
+         */
+        SLIDING_LOG,
+
+        /**
+         * Generic Cell Rate Algorithm tracking a single theoretical arrival time per bucket.
+         */
+        GCRA,
+
+        /**
+         * Token bucket refilled continuously at maxRequests per window, tracking a level and a refill time.
+         */
+        TOKEN_BUCKET
+
+    }
+
+    /**
+     * Where bucket state lives and how replicas share it.
+     *
+     * @param type            the backing store; {@code memory} is per instance, {@code mongo} is shared by replicas
+     * @param leaseSize       permits borrowed from the store per round trip; values above 1 enable local leasing
+     * @param leaseTtlSeconds how long a lease stays valid before its unused permits are refunded to the store
+     * @param collection      the MongoDB collection holding shared bucket state
+     * @param maxEntries      the maximum number of buckets kept in memory per endpoint and bucket type
+     * @param maxBytes        the bucket state budget of the in-memory store, shared by every endpoint and bucket type
+     * @param snapshotPath    file the in-memory store is checkpointed to and restored from; blank disables it
+     * @param snapshotIntervalSeconds how often the in-memory store is checkpointed
+     * @param snapshotRestoreBudgetMs the longest startup may spend restoring the snapshot before giving up on
+     *                                the remaining buckets
+     */
+    public record Store(Type type, int leaseSize, int leaseTtlSeconds, String collection, int maxEntries,
+                        long maxBytes, String snapshotPath, int snapshotIntervalSeconds, long snapshotRestoreBudgetMs) {
+
+        public static final int DEFAULT_MAX_ENTRIES = 100_000;
+        public static final long DEFAULT_MAX_BYTES = 128L * 1024 * 1024;
+
+        public Store {
+            if (type == null) {
+                type = Type.MEMORY;
+            }
+            if (leaseTtlSeconds <= 0) {
+                leaseTtlSeconds = 5;
+            }
+            if (collection == null || collection.isBlank()) {
+                collection = "rate_limits";
+            }
+            if (maxEntries <= 0) {
+                maxEntries = DEFAULT_MAX_ENTRIES;
+            }
+            if (maxBytes <= 0) {
+                maxBytes = DEFAULT_MAX_BYTES;
+            }
+            if (snapshotPath == null) {
+                snapshotPath = "";
+            }
+            if (snapshotIntervalSeconds <= 0) {
+                snapshotIntervalSeconds = 60;
+            }
+            if (snapshotRestoreBudgetMs <= 0) {
+                snapshotRestoreBudgetMs = 5_000;
+            }
+        }
+
+        /**
+         * Supported rate-limit store backends.
+         */
+        public enum Type {
+            MEMORY,
+            MONGO
+        }
+
+    }
+
+    /**
+     * How client addresses are grouped into networks for the subnet bucket tier.
+     *
+     * @param ipv4Prefix the IPv4 prefix length requests are aggregated at, 24 by default
+     * @param ipv6Prefix the IPv6 prefix length requests are aggregated at, 64 by default (48 for whole sites)
+     * @param overrides  {@code cidr=prefix} entries changing the aggregation inside specific ranges
+     */
+    public record Subnet(Integer ipv4Prefix, Integer ipv6Prefix, List<String> overrides) {
+
+        public Subnet {
+            if (ipv4Prefix == null) {
+                ipv4Prefix = 24;
+            }
+            if (ipv6Prefix == null) {
+                ipv6Prefix = 64;
+            }
+            overrides = overrides == null ? List.of() : overrides.stream().filter(o -> !o.isBlank()).toList();
+        }
+
+    }
+
+    /**
+     * Per-client budget of LLM tokens shared by every AI endpoint, charged on top of the request-count buckets.
+     * Each call is charged an estimate up front and reconciled with the usage the model reports afterwards.
+     * The budget is always tracked with GCRA so its state stays constant-size however large the token limit is.
+     *
+     * @param enabled          whether AI calls are charged against the budget
+     * @param maxTokens        tokens a client may spend per window
+     * @param windowMinutes    the window the budget refills over
+     * @param completionTokens the completion size assumed when estimating a call up front
+     * @param charsPerToken    prompt characters assumed per token when estimating a call up front
+     */
+    public record TokenBudget(boolean enabled, int maxTokens, int windowMinutes, int completionTokens,
+                              int charsPerToken) {
+
+        public TokenBudget {
+            if (maxTokens <= 0) {
+                maxTokens = 50_000;
+            }
+            if (windowMinutes <= 0) {
+                windowMinutes = 60;
+            }
+            if (completionTokens <= 0) {
+                completionTokens = 512;
+            }
+            if (charsPerToken <= 0) {
+                charsPerToken = 4;
+            }
+        }
+
+    }
+
     /**
-     * Per-endpoint rate-limit settings split into two independent buckets.
+     * Per-endpoint rate-limit settings split into independent buckets.
+     * The {@code subnet} bucket is optional; without it the endpoint is not limited per network.
      */
-    public record EndpointLimitConfig(BucketConfig fingerprint, BucketConfig ip) {
+    public record EndpointLimitConfig(BucketConfig fingerprint, BucketConfig ip, BucketConfig subnet) {
 
         /**
          * Sliding-window thresholds for a single rate-limit bucket.
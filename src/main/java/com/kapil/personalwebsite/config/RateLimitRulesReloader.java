@@ -0,0 +1,141 @@
+package com.kapil.personalwebsite.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads {@link RateLimitFilter} rules at runtime from {@code rate.limit.*} properties text, supplied either by
+ * the admin endpoint or by the file at {@code rate.limit.rules-file}, which is polled for changes.
+ * The text only needs the keys being changed: it is bound on top of the application's own configuration, so
+ * everything it omits keeps its configured value. Rules that fail to bind or validate are rejected and the active
+ * rules stay in force.
+ * <p>
+ * The file is polled by modification time rather than watched, since mounted config volumes swap files through
+ * symlinks that directory watches miss.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class RateLimitRulesReloader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitRulesReloader.class);
+
+    private static final String PREFIX = "rate.limit";
+
+    private final RateLimitFilter rateLimitFilter;
+    private final ConfigurableEnvironment environment;
+    private final Path rulesFile;
+    private FileTime rulesFileModified;
+
+    public RateLimitRulesReloader(RateLimitFilter rateLimitFilter, ConfigurableEnvironment environment,
+                                  @Value("${rate.limit.rules-file:}") String rulesFile) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.environment = environment;
+        this.rulesFile = rulesFile == null || rulesFile.isBlank() ? null : Path.of(rulesFile);
+    }
+
+    /**
+     * Binds the given properties text over the application configuration and swaps in the resulting rules.
+     *
+     * @param propertiesText {@code rate.limit.*} entries in properties format
+     * @param source         where the text came from, reported with the active rules
+     * @return the version of the rule set now in force
+     * @throws IllegalArgumentException if the text does not bind to valid rate limit rules
+     */
+    public long reload(String propertiesText, String source) {
+        Properties overrides = new Properties();
+        try {
+            overrides.load(new StringReader(propertiesText));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Rate limit rules are not valid properties: " + e.getMessage(), e);
+        }
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        sources.add(new MapConfigurationPropertySource(overrides));
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        Binder binder = new Binder(sources, new PropertySourcesPlaceholdersResolver(environment));
+        RateLimitProperties properties;
+        try {
+            properties = binder.bind(PREFIX, Bindable.of(RateLimitProperties.class))
+                    .orElseThrow(() -> new IllegalArgumentException("No rate.limit properties found"));
+        } catch (BindException e) {
+            String cause = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            throw new IllegalArgumentException("Invalid rate limit rules: " + cause, e);
+        }
+        validate(properties);
+        return rateLimitFilter.reload(properties, source);
+    }
+
+    /**
+     * Reloads the rules file when its modification time changes.
+     * Runs every 10 seconds by default; a no-op unless {@code rate.limit.rules-file} is set.
+     */
+    @Scheduled(fixedDelayString = "${rate.limit.rules-file-poll-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void pollRulesFile() {
+        if (rulesFile == null || !Files.isRegularFile(rulesFile)) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(rulesFile);
+            if (modified.equals(rulesFileModified)) {
+                return;
+            }
+            rulesFileModified = modified;
+            reload(Files.readString(rulesFile, StandardCharsets.UTF_8), rulesFile.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Failed to reload rate limit rules from {}: {}", rulesFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Rejects rule sets with missing endpoints or non-positive thresholds, which would fail on the request path.
+     */
+    private static void validate(RateLimitProperties properties) {
+        validate("contact", properties.contact());
+        validate("contact-polish", properties.contactPolish());
+        validate("blog", properties.blog());
+        validate("blog-ask", properties.blogAsk());
+        validate("portfolio-chat", properties.portfolioChat());
+    }
+
+    private static void validate(String endpoint, RateLimitProperties.EndpointLimitConfig limits) {
+        if (limits == null || limits.fingerprint() == null || limits.ip() == null) {
+            throw new IllegalArgumentException(
+                    "rate.limit." + endpoint + " needs both fingerprint and ip bucket limits");
+        }
+        validate(endpoint + ".fingerprint", limits.fingerprint());
+        validate(endpoint + ".ip", limits.ip());
+        if (limits.subnet() != null) {
+            validate(endpoint + ".subnet", limits.subnet());
+        }
+    }
+
+    private static void validate(String bucket, RateLimitProperties.EndpointLimitConfig.BucketConfig config) {
+        if (config.maxRequests() <= 0 || config.windowMinutes() <= 0) {
+            throw new IllegalArgumentException(
+                    "rate.limit." + bucket + " needs a positive max-requests and window-minutes");
+        }
+    }
+
+}
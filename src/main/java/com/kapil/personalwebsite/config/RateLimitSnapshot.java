@@ -0,0 +1,299 @@
+package com.kapil.personalwebsite.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Checkpoints the buckets of an {@link InMemoryRateLimitStore} to a file and restores them from a memory-mapped
+ * view of it on startup, so a deploy or crash does not hand every client a fresh contact and AI quota.
+ * <p>
+ * Layout (version 1, big-endian): a header of magic {@code RLSS}, version, flags, creation time, key check and
+ * namespace count; then per namespace its name, algorithm, thresholds, entry count and {@code key, state} entries
+ * in each bucket's {@link RateLimitBucket#writeState} encoding; then a CRC32 of everything before it.
+ * The key check is a bucket key derived from a fixed input, so a snapshot written under a different
+ * {@code rate.limit.key-secret} is discarded rather than restored onto unrelated clients.
+ * <p>
+ * Checkpoints are written to a temporary file and atomically moved into place, so a crash mid-write leaves the
+ * previous snapshot intact. A checkpoint never grows past its size cap: namespaces are written cheapest bucket first,
+ * so the small contact and AI quotas always fit, and the namespaces with the largest sliding logs are cut short
+ * rather than failing the whole checkpoint. Restore skips buckets whose window has passed and stops once its time
+ * budget is spent.
+ *
+ * @author Kapil Garg
+ */
+final class RateLimitSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitSnapshot.class);
+
+    static final int MAGIC = 0x524C5353; // "RLSS"
+    static final short VERSION = 1;
+    static final String KEY_CHECK_INPUT = "rate-limit-snapshot";
+
+    private static final int HEADER_BYTES = Integer.BYTES + 2 * Short.BYTES + 2 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    /**
+     * Largest snapshot written; it is buffered in one piece, so it must stay below 2 GiB.
+     */
+    static final long MAX_SNAPSHOT_BYTES = 1L << 30;
+
+    private final Path path;
+    private final long keyCheck;
+    private final InMemoryRateLimitStore store;
+    private final long restoreBudgetNanos;
+    private final long maxBytes;
+
+    RateLimitSnapshot(Path path, long keyCheck, InMemoryRateLimitStore store, long restoreBudgetMs) {
+        this(path, keyCheck, store, restoreBudgetMs, MAX_SNAPSHOT_BYTES);
+    }
+
+    RateLimitSnapshot(Path path, long keyCheck, InMemoryRateLimitStore store, long restoreBudgetMs, long maxBytes) {
+        this.path = path;
+        this.keyCheck = keyCheck;
+        this.store = store;
+        this.restoreBudgetNanos = TimeUnit.MILLISECONDS.toNanos(restoreBudgetMs);
+        this.maxBytes = Math.min(maxBytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the snapshot for the configured store, or returns null when snapshots are disabled or cannot work:
+     * no snapshot path, a store other than the in-memory one, or no key secret to keep keys stable across restarts.
+     *
+     * @param properties the rate limit properties
+     * @param store      the rate limit store, possibly wrapped by a leasing decorator
+     * @return the snapshot, or null if state is not persisted
+     */
+    static RateLimitSnapshot create(RateLimitProperties properties, RateLimitStore store) {
+        RateLimitProperties.Store storeProperties = properties.store();
+        if (storeProperties.snapshotPath().isBlank()) {
+            return null;
+        }
+        RateLimitStore backing = store instanceof LeasingRateLimitStore leasing ? leasing.shared() : store;
+        if (!(backing instanceof InMemoryRateLimitStore inMemory)) {
+            LOGGER.info("Rate limit snapshot disabled: only the in-memory store is snapshotted");
+            return null;
+        }
+        if (properties.keySecret() == null || properties.keySecret().isBlank()) {
+            LOGGER.warn("Rate limit snapshot disabled: rate.limit.key-secret is not set, so bucket keys would " +
+                    "not survive a restart");
+            return null;
+        }
+        long keyCheck = ClientKeyHasher.fromSecret(properties.keySecret()).ip(KEY_CHECK_INPUT);
+        return new RateLimitSnapshot(Path.of(storeProperties.snapshotPath()), keyCheck, inMemory,
+                storeProperties.snapshotRestoreBudgetMs());
+    }
+
+    /**
+     * Writes the non-idle buckets of the store to the snapshot file, replacing the previous snapshot. Once the size
+     * cap is reached, the remaining buckets are left out.
+     *
+     * @param currentTimeMs the current epoch millisecond
+     * @return the number of buckets written
+     * @throws IOException if the snapshot cannot be written
+     */
+    int checkpoint(long currentTimeMs) throws IOException {
+        List<Map.Entry<String, InMemoryRateLimitStore.Namespace>> namespaces = new ArrayList<>();
+        store.forEachNamespace((name, ns) -> namespaces.add(Map.entry(name, ns)));
+        // Cheapest buckets first: the contact and AI quotas always fit and the largest sliding logs are cut first.
+        namespaces.sort(Comparator.comparingInt(entry -> entry.getValue().config().maxStateBytes()));
+        // Reserve room per namespace up front so the whole snapshot is one buffer; entries past a namespace's
+        // reservation (inserts racing the checkpoint, or the size cap) are left out rather than growing it.
+        int[] reserved = new int[namespaces.size()];
+        long capacity = HEADER_BYTES + Long.BYTES;
+        int included = 0;
+        boolean truncated = false;
+        while (included < reserved.length) {
+            InMemoryRateLimitStore.Namespace ns = namespaces.get(included).getValue();
+            long room = maxBytes - capacity - namespaceHeaderBytes(namespaces.get(included).getKey());
+            if (room < 0) {
+                break;
+            }
+            long entryBytes = Long.BYTES + ns.config().maxStateBytes();
+            long wanted = Math.min(ns.buckets().estimatedSize() * 9 / 8 + 64,
+                    store.maxEntries() + store.maxEntries() / 8L);
+            reserved[included] = (int) Math.min(wanted, room / entryBytes);
+            truncated |= reserved[included] < wanted;
+            capacity += namespaceHeaderBytes(namespaces.get(included).getKey()) + reserved[included] * entryBytes;
+            included++;
+        }
+        if (truncated || included < namespaces.size()) {
+            LOGGER.warn("Rate limit snapshot capped at {} bytes; {} of {} namespaces written, the largest buckets " +
+                    "left out", maxBytes, included, namespaces.size());
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        int written = 0;
+        // A heap buffer sized to the reservation rather than a mapping: nothing stays mapped while the temporary
+        // file is moved, and only the bytes actually used reach the disk.
+        ByteBuffer out = ByteBuffer.allocate((int) capacity);
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putLong(currentTimeMs).putLong(keyCheck).putInt(included).putInt(0);
+        for (int i = 0; i < included; i++) {
+            written += writeNamespace(out, namespaces.get(i).getKey(), namespaces.get(i).getValue(),
+                    reserved[i], currentTimeMs);
+        }
+        int end = out.position();
+        CRC32 crc = new CRC32();
+        crc.update(out.duplicate().position(0).limit(end));
+        out.putLong(crc.getValue());
+        out.flip();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            while (out.hasRemaining()) {
+                position += channel.write(out, position);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    /**
+     * Writes one namespace's non-idle buckets, at most {@code maxCount} of them.
+     */
+    private static int writeNamespace(ByteBuffer out, String name, InMemoryRateLimitStore.Namespace ns,
+                                      int maxCount, long currentTimeMs) {
+        RateLimitFilter.RateLimitConfig config = ns.config();
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) nameBytes.length).put(nameBytes)
+                .put((byte) config.algorithm().ordinal())
+                .putInt(config.maxRequests())
+                .putInt(config.windowMinutes());
+        int countPosition = out.position();
+        out.putInt(0);
+        int count = 0;
+        for (Map.Entry<Long, RateLimitBucket> entry : ns.buckets().asMap().entrySet()) {
+            if (count == maxCount) {
+                break;
+            }
+            RateLimitBucket bucket = entry.getValue();
+            if (bucket.isIdle(currentTimeMs, config)) {
+                continue;
+            }
+            out.putLong(entry.getKey());
+            bucket.writeState(out);
+            count++;
+        }
+        out.putInt(countPosition, count);
+        return count;
+    }
+
+    private static int namespaceHeaderBytes(String name) {
+        return Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length + 1 + 3 * Integer.BYTES;
+    }
+
+    /**
+     * Restores the snapshot file into the store, skipping buckets whose window has already passed.
+     * A missing, corrupt, incompatible or foreign snapshot is logged and ignored; the store then starts empty.
+     *
+     * @param currentTimeMs the current epoch millisecond
+     * @return the number of buckets restored
+     */
+    int restore(long currentTimeMs) {
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String problem = validate(in);
+            if (problem != null) {
+                LOGGER.warn("Ignoring rate limit snapshot {}: {}", path, problem);
+                return 0;
+            }
+            int restored = readNamespaces(in, currentTimeMs, start + restoreBudgetNanos);
+            LOGGER.info("Restored {} rate limit buckets from {} in {} ms", restored, path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return restored;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to restore rate limit snapshot {}: {}", path, e.toString());
+            return 0;
+        }
+    }
+
+    /**
+     * Checks the header and trailer, leaving the buffer positioned at the first namespace.
+     *
+     * @return why the snapshot cannot be restored, or null if it can
+     */
+    private String validate(ByteBuffer in) {
+        if (in.limit() < HEADER_BYTES + Long.BYTES || in.getInt() != MAGIC) {
+            return "not a rate limit snapshot";
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            return "unsupported version " + version;
+        }
+        int end = in.limit() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(in.duplicate().position(0).limit(end));
+        if (crc.getValue() != in.getLong(end)) {
+            return "checksum mismatch";
+        }
+        in.getShort(); // flags
+        in.getLong(); // created at
+        if (in.getLong() != keyCheck) {
+            return "written with a different key secret";
+        }
+        in.limit(end);
+        return null;
+    }
+
+    /**
+     * Reads every namespace into a fresh store namespace and stages it, until the restore deadline passes.
+     */
+    private int readNamespaces(ByteBuffer in, long currentTimeMs, long deadlineNanos) {
+        int namespaceCount = in.getInt();
+        in.getInt(); // reserved
+        RateLimitProperties.Algorithm[] algorithms = RateLimitProperties.Algorithm.values();
+        int restored = 0;
+        for (int n = 0; n < namespaceCount; n++) {
+            byte[] nameBytes = new byte[in.getShort()];
+            in.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            RateLimitProperties.Algorithm algorithm = algorithms[in.get()];
+            int maxRequests = in.getInt();
+            int windowMinutes = in.getInt();
+            RateLimitFilter.RateLimitConfig config =
+                    new RateLimitFilter.RateLimitConfig(maxRequests, windowMinutes, algorithm);
+            int count = in.getInt();
+            InMemoryRateLimitStore.Namespace ns = store.newNamespace(config);
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if ((i & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() - deadlineNanos > 0) {
+                    LOGGER.warn("Rate limit snapshot restore exceeded its budget; remaining buckets start empty");
+                    store.stage(name, ns);
+                    return restored;
+                }
+                long key = in.getLong();
+                RateLimitBucket bucket = config.restoreBucket(in);
+                if (kept < store.maxEntries() && !bucket.isIdle(currentTimeMs, config)) {
+                    ns.buckets().put(key, bucket);
+                    ns.expireAtReset(key, bucket, currentTimeMs);
+                    kept++;
+                    restored++;
+                }
+            }
+            store.stage(name, ns);
+        }
+        return restored;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.kapil.personalwebsite.config;
+
+/**
+ * Storage SPI for rate-limit bucket state.
+ * The default keeps buckets in the local JVM; shared implementations let every replica enforce one combined quota.
+ * Implementations must be thread-safe.
+ *
+ * @author Kapil Garg
+ */
+public interface RateLimitStore {
+
+    /**
+     * Records {@code permits} requests against the bucket identified by {@code namespace} and {@code key} if all
+     * of them fit.
+     *
+     * @param namespace     the bucket family, e.g. {@code fp:CONTACT}; a small fixed set of constant strings
+     * @param key           the 64-bit client key within the namespace
+     * @param config        the thresholds and algorithm of the bucket
+     * @param permits       the number of requests to record, at least 1
+     * @param currentTimeMs the current time in milliseconds
+     * @return the outcome of the check including remaining quota, reset time and retry delay
+     */
+    RateLimitFilter.RateLimitCheckResult tryAcquire(String namespace, long key, RateLimitFilter.RateLimitConfig config,
+                                                    int permits, long currentTimeMs);
+
+    /**
+     * Charges or refunds {@code permits} against a bucket without an admission check, reconciling an earlier
+     * {@link #tryAcquire} made with an estimated cost once the actual cost is known.
+     *
+     * @param namespace     the bucket family
+     * @param key           the 64-bit client key within the namespace
+     * @param config        the thresholds and algorithm of the bucket
+     * @param permits       the number of requests to add, negative to give back
+     * @param currentTimeMs the current time in milliseconds
+     */
+    void adjust(String namespace, long key, RateLimitFilter.RateLimitConfig config, int permits, long currentTimeMs);
+
+    /**
+     * Drops buckets that no longer hold any state, for stores that do not expire entries on their own.
+     *
+     * @param currentTimeMs the current time in milliseconds
+     * @param maxWindowMs   the longest window configured across all rules
+     * @return the number of buckets removed
+     */
+    int evictIdle(long currentTimeMs, long maxWindowMs);
+
+    /**
+     * Returns the number of buckets currently held, used for logging and metrics.
+     *
+     * @return the bucket count
+     */
+    long size();
+
+}
@@ -0,0 +1,49 @@
+package com.kapil.personalwebsite.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Configuration for rate-limit store selection.
+ * Allows switching between per-instance and shared state, optionally with local leasing, via configuration.
+ *
+ * @author Kapil Garg
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitStoreConfig.class);
+
+    /**
+     * Creates the RateLimitStore bean based on configuration.
+     *
+     * @param properties    the rate limit properties
+     * @param mongoTemplate the MongoDB template, only resolved for the mongo store
+     * @return the configured rate limit store
+     */
+    @Bean
+    public RateLimitStore rateLimitStore(RateLimitProperties properties, ObjectProvider<MongoTemplate> mongoTemplate) {
+        RateLimitProperties.Store store = properties.store();
+        RateLimitStore rateLimitStore;
+        if (store.type() == RateLimitProperties.Store.Type.MONGO) {
+            LOGGER.info("Using shared MongoDB rate limit store (collection: {})", store.collection());
+            rateLimitStore = new MongoRateLimitStore(mongoTemplate.getObject(), store.collection());
+        } else {
+            LOGGER.info("Using in-memory rate limit store (max {} buckets per namespace, {} MiB in total)",
+                    store.maxEntries(), store.maxBytes() / (1024 * 1024));
+            rateLimitStore = new InMemoryRateLimitStore(store.maxEntries(), store.maxBytes());
+        }
+        if (store.leaseSize() > 1) {
+            LOGGER.info("Leasing {} permits per rate limit round trip (lease TTL: {}s)",
+                    store.leaseSize(), store.leaseTtlSeconds());
+            rateLimitStore = new LeasingRateLimitStore(rateLimitStore, store.leaseSize(),
+                    store.leaseTtlSeconds() * 1000L, store.maxEntries());
+        }
+        return rateLimitStore;
+    }
+
+}
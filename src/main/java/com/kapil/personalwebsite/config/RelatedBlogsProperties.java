@@ -0,0 +1,33 @@
+package com.kapil.personalwebsite.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Type-safe binding for the precomputed related posts under the {blog.related} prefix.
+ *
+ * @param size            how many related posts are kept, and returned at most, per blog
+ * @param minSimilarity   the cosine similarity below which another post is not considered related
+ * @param recomputeMillis how often the background job checks whether the neighbour lists are stale, which also
+ *                        bounds how long a burst of edits is coalesced into one recomputation
+ * @author Kapil Garg
+ */
+@ConfigurationProperties(prefix = "blog.related")
+public record RelatedBlogsProperties(
+        Integer size,
+        Double minSimilarity,
+        Long recomputeMillis
+) {
+
+    public RelatedBlogsProperties {
+        if (size == null || size < 1) {
+            size = 5;
+        }
+        if (minSimilarity == null) {
+            minSimilarity = 0.05;
+        }
+        if (recomputeMillis == null || recomputeMillis < 1) {
+            recomputeMillis = 5_000L;
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.kapil.personalwebsite.config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sliding log of request timestamps for a single rate-limit bucket.
+ * Backed by a primitive ring buffer holding at most the bucket's {@code maxRequests} timestamps, so counting,
+ * reading the oldest timestamp and recording a request are O(1). The ring starts small and doubles as it fills,
+ * so a client seen once costs a few longs rather than a full window's worth.
+ *
+ * @author Kapil Garg
+ */
+final class RequestWindow implements RateLimitBucket {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int capacity;
+    private long[] timestamps;
+    private int head;
+    private int count;
+
+    /**
+     * Creates a window able to hold {@code capacity} timestamps (the bucket's maximum requests per window).
+     *
+     * @param capacity the maximum number of requests tracked by this window
+     */
+    RequestWindow(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.timestamps = new long[Math.min(this.capacity, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public synchronized RateLimitFilter.RateLimitCheckResult tryAcquire(long currentTimeMs,
+                                                                        RateLimitFilter.RateLimitConfig config,
+                                                                        int permits) {
+        long windowDurationMs = config.windowMillis();
+        removeOldRequests(currentTimeMs - windowDurationMs);
+        int limit = Math.min(config.maxRequests(), capacity);
+        if (count + permits > limit) {
+            // Enough of the oldest entries must expire to make room for every requested permit.
+            int mustExpire = count + permits - limit;
+            long retryAfterMs = permits <= limit && count > 0
+                    ? timestamps[(head + mustExpire - 1) % timestamps.length] + windowDurationMs - currentTimeMs
+                    : windowDurationMs;
+            return new RateLimitFilter.RateLimitCheckResult(false, Math.max(0, limit - count),
+                    computeResetEpochSeconds(currentTimeMs, windowDurationMs),
+                    RateLimitBucket.toRetryAfterSeconds(retryAfterMs));
+        }
+        // Callers race between reading the clock and taking the lock; clamp so the log stays ordered.
+        long newest = count > 0 ? timestamps[(head + count - 1) % timestamps.length] : currentTimeMs;
+        long timestamp = Math.max(currentTimeMs, newest);
+        append(timestamp, permits);
+        return new RateLimitFilter.RateLimitCheckResult(true, limit - count,
+                computeResetEpochSeconds(currentTimeMs, windowDurationMs), 0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The log holds at most {@code capacity} timestamps, so charges beyond a full window are dropped; refunds
+     * remove the newest entries.
+     */
+    @Override
+    public synchronized void adjust(long currentTimeMs, RateLimitFilter.RateLimitConfig config, int permits) {
+        removeOldRequests(currentTimeMs - config.windowMillis());
+        if (permits < 0) {
+            count = Math.max(0, count + permits);
+            return;
+        }
+        long newest = count > 0 ? timestamps[(head + count - 1) % timestamps.length] : currentTimeMs;
+        long timestamp = Math.max(currentTimeMs, newest);
+        append(timestamp, Math.min(permits, capacity - count));
+    }
+
+    @Override
+    public synchronized boolean isIdle(long currentTimeMs, RateLimitFilter.RateLimitConfig config) {
+        removeOldRequests(currentTimeMs - config.windowMillis());
+        return count == 0;
+    }
+
+    @Override
+    public synchronized long resetAtMs(RateLimitFilter.RateLimitConfig config) {
+        return count > 0 ? timestamps[(head + count - 1) % timestamps.length] + config.windowMillis() : 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The state is the entry count followed by the timestamps, oldest first: 4 + 8 * count bytes.
+     */
+    @Override
+    public synchronized void writeState(ByteBuffer out) {
+        out.putInt(count);
+        for (int i = 0; i < count; i++) {
+            out.putLong(timestamps[(head + i) % timestamps.length]);
+        }
+    }
+
+    /**
+     * Recreates a window from the state {@link #writeState} wrote, keeping the newest entries if the state holds
+     * more than {@code capacity}.
+     *
+     * @param in       the buffer positioned at the state
+     * @param capacity the maximum number of requests tracked by the window
+     * @return the restored window
+     */
+    static RequestWindow restore(ByteBuffer in, int capacity) {
+        RequestWindow window = new RequestWindow(capacity);
+        int stored = in.getInt();
+        int skip = Math.max(0, stored - window.capacity);
+        in.position(in.position() + skip * Long.BYTES);
+        for (int i = skip; i < stored; i++) {
+            window.append(in.getLong(), 1);
+        }
+        return window;
+    }
+
+    /**
+     * Copies the newest {@code min(count, capacity)} timestamps into a new window of {@code capacity}, so a client
+     * already at or over a lowered limit stays limited until its own requests age out.
+     *
+     * @param capacity the maximum number of requests tracked by the new window
+     * @return the resized window
+     */
+    synchronized RequestWindow resized(int capacity) {
+        RequestWindow window = new RequestWindow(capacity);
+        for (int i = Math.max(0, count - window.capacity); i < count; i++) {
+            window.append(timestamps[(head + i) % timestamps.length], 1);
+        }
+        return window;
+    }
+
+    /**
+     * Appends {@code permits} copies of {@code timestamp}, growing the ring as needed. The caller ensures the
+     * total stays within {@code capacity}.
+     */
+    private void append(long timestamp, int permits) {
+        if (count + permits > timestamps.length) {
+            grow(count + permits);
+        }
+        for (int i = 0; i < permits; i++) {
+            timestamps[(head + count) % timestamps.length] = timestamp;
+            count++;
+        }
+    }
+
+    /**
+     * Reallocates the ring, oldest entry first, doubling until it holds {@code needed} entries or the capacity.
+     */
+    private void grow(int needed) {
+        int length = timestamps.length;
+        while (length < needed) {
+            length = length * 2;
+        }
+        long[] grown = new long[Math.min(capacity, length)];
+        for (int i = 0; i < count; i++) {
+            grown[i] = timestamps[(head + i) % timestamps.length];
+        }
+        timestamps = grown;
+        head = 0;
+    }
+
+    /**
+     * Advances the head past every timestamp older than {@code windowStart}.
+     * Timestamps are appended in non-decreasing order, so expired entries are always at the head.
+     */
+    private void removeOldRequests(long windowStart) {
+        while (count > 0 && timestamps[head] < windowStart) {
+            head = (head + 1) % timestamps.length;
+            count--;
+        }
+    }
+
+    /**
+     * Computes the epoch-second timestamp at which the oldest request leaves the window.
+     */
+    private long computeResetEpochSeconds(long currentTimeMs, long windowDurationMs) {
+        long resetMs = (count > 0 ? timestamps[head] : currentTimeMs) + windowDurationMs;
+        return resetMs / 1000;
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized response bodies of the public reads, each stored as the JSON bytes and, when large enough to be worth
+ * it, a gzip-compressed copy, so {@link ConditionalGetFilter} can replay a response without running the handler,
+ * Jackson or the compressor.
+ * <p>
+ * Entries are keyed like {@link ResponseValidatorCache} and tagged with the ETag of their body. A body is only
+ * replayed while the validator for its key is fresh and has the same ETag, so invalidating the validators on a
+ * content change also retires the bodies; they are then evicted by size or after ten minutes without use. The
+ * cache is bounded by the total size of the bodies, not their number, since blog posts run to tens of kilobytes.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final Cache<String, CachedBody> bodies;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+
+    public ResponseBodyCache(ConditionalGetProperties properties) {
+        this.enabled = properties.bodyCacheEnabled();
+        this.gzipMinBytes = properties.gzipMinBytes();
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(properties.bodyCacheMaxMegabytes() * 1024L * 1024L)
+                .weigher((String key, CachedBody body) -> body.weight())
+                .expireAfterAccess(IDLE_EXPIRY)
+                .build();
+    }
+
+    /**
+     * Returns the cached body for a key if it is the representation the ETag names.
+     *
+     * @param key  the servlet path and the query parameters its handler reads
+     * @param etag the ETag of the current validator
+     * @return the body, or null
+     */
+    public CachedBody get(String key, String etag) {
+        CachedBody body = bodies.getIfPresent(key);
+        return body != null && body.etag().equals(etag) ? body : null;
+    }
+
+    /**
+     * Builds the representation of a full response and caches it, compressing it first if it is large enough.
+     * While the cache is disabled nothing is compressed, since the copy would be used only once.
+     *
+     * @param key         the servlet path and the query parameters its handler reads
+     * @param etag        the ETag of the body
+     * @param json        the serialized body
+     * @param contentType the Content-Type of the body
+     * @param headers     the headers the handler set, to be replayed with the body
+     * @return the representation, also when the cache is disabled
+     */
+    public CachedBody store(String key, String etag, byte[] json, String contentType,
+                            Map<String, List<String>> headers) {
+        if (!enabled) {
+            return new CachedBody(etag, json, null, contentType, headers);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        CachedBody body = new CachedBody(etag, json, gzip != null && gzip.length < json.length ? gzip : null,
+                contentType, headers);
+        bodies.put(key, body);
+        return body;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A cached response body.
+     *
+     * @param etag        the ETag of the uncompressed body
+     * @param json        the uncompressed body
+     * @param gzip        the gzip-compressed body, or null if it was too small to be worth compressing
+     * @param contentType the Content-Type of the body
+     * @param headers     the headers the handler set
+     */
+    public record CachedBody(String etag, byte[] json, byte[] gzip, String contentType,
+                             Map<String, List<String>> headers) {
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+    }
+
+}
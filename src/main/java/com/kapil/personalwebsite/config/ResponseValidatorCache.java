@@ -0,0 +1,131 @@
+package com.kapil.personalwebsite.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kapil.personalwebsite.service.PersonalInfoChangedEvent;
+import com.kapil.personalwebsite.service.blog.BlogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the ETag and Last-Modified of the last full response for each public read, keyed by servlet path and
+ * the query parameters its handler reads, so {@link ConditionalGetFilter} can answer a matching conditional request with 304 without running
+ * the handler. A validator is trusted for {@code http.conditional-get.revalidate-seconds} after it was last
+ * confirmed by a full response, and dropped as soon as a blog or the portfolio changes through the API.
+ * <p>
+ * Every invalidation bumps a generation, and a response only records its validator if no invalidation happened
+ * while it was being produced, so a request that read the old content cannot re-record a stale ETag.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class ResponseValidatorCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseValidatorCache.class);
+
+    private static final String BLOGS_PREFIX = "/blogs/";
+    private static final String PORTFOLIO_PREFIX = "/portfolio";
+
+    private final Cache<String, Validator> validators;
+    private final long revalidateMillis;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseValidatorCache(ConditionalGetProperties properties) {
+        this.revalidateMillis = TimeUnit.SECONDS.toMillis(properties.revalidateSeconds());
+        this.validators = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .build();
+    }
+
+    /**
+     * Returns the validator for a key if it was confirmed recently enough to answer without running the handler.
+     *
+     * @param key   the servlet path and the query parameters its handler reads
+     * @param nowMs the current time in milliseconds
+     * @return the validator, or null if there is none or it is due for revalidation
+     */
+    public Validator fresh(String key, long nowMs) {
+        Validator validator = validators.getIfPresent(key);
+        return validator != null && nowMs - validator.checkedAtMs() < revalidateMillis ? validator : null;
+    }
+
+    /**
+     * Returns the current generation, to pass back to {@link #record} once the response has been produced.
+     *
+     * @return the generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Records the ETag of a full response. Last-Modified is kept from the previous validator while the ETag is
+     * unchanged, so it reflects when the content last changed rather than when it was last served.
+     *
+     * @param key        the servlet path and the query parameters its handler reads
+     * @param etag       the strong ETag of the response body
+     * @param generation the generation read before the response was produced
+     * @param nowMs      the current time in milliseconds
+     * @return the validator to send with the response
+     */
+    public Validator record(String key, String etag, long generation, long nowMs) {
+        Validator previous = validators.getIfPresent(key);
+        long lastModifiedMs = previous != null && previous.etag().equals(etag)
+                ? previous.lastModifiedMs()
+                : nowMs / 1000 * 1000;
+        Validator validator = new Validator(etag, lastModifiedMs, nowMs);
+        if (this.generation.get() == generation) {
+            validators.put(key, validator);
+        }
+        return validator;
+    }
+
+    /**
+     * Drops the validators of every key under a path prefix.
+     *
+     * @param prefix the servlet path prefix
+     */
+    public void invalidate(String prefix) {
+        generation.incrementAndGet();
+        validators.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        LOGGER.debug("Response validators invalidated under {}", prefix);
+    }
+
+    /**
+     * Drops the blog validators once a blog change has committed, after the published blog snapshot was patched.
+     *
+     * @param event the blog change
+     */
+    @Order(100)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        invalidate(BLOGS_PREFIX);
+    }
+
+    /**
+     * Drops the portfolio validators once a personal information change has committed.
+     *
+     * @param event the personal information change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonalInfoChanged(PersonalInfoChangedEvent event) {
+        invalidate(PORTFOLIO_PREFIX);
+    }
+
+    /**
+     * A recorded response validator.
+     *
+     * @param etag           the strong ETag, quoted
+     * @param lastModifiedMs when the content behind the ETag was first served, truncated to whole seconds
+     * @param checkedAtMs    when a full response last confirmed the ETag
+     */
+    public record Validator(String etag, long lastModifiedMs, long checkedAtMs) {
+    }
+
+}
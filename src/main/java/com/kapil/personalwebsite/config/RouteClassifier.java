@@ -0,0 +1,206 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies each request into a {@link Route} once, for all servlet filters to share.
+ * Sensitive-file probes and paths excluded from origin verification are matched against the request URI, and the
+ * application routes against the servlet path, each with a {@link PathTrie} compiled at startup, so a request is
+ * classified in one walk over each path instead of every filter scanning its own pattern list. The first filter to
+ * ask stores the route as the {@link #ROUTE_ATTRIBUTE} request attribute, and later filters read it back.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class RouteClassifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RouteClassifier.class);
+
+    /**
+     * Request attribute holding the request's {@link Route} once it has been classified.
+     */
+    public static final String ROUTE_ATTRIBUTE = RouteClassifier.class.getName() + ".route";
+
+    /**
+     * Default list of sensitive file patterns to block.
+     * These are common targets for reconnaissance attacks.
+     */
+    private static final List<String> DEFAULT_SENSITIVE_PATTERNS = Arrays.asList(
+            "/.env",
+            "/.git/",
+            "/.git/config",
+            "/.gitignore",
+            "/wp-config.php",
+            "/wp-config.inc.php",
+            "/wp-config.bak",
+            "/wp-config.txt",
+            "/settings.py",
+            "/config.php",
+            "/config.inc.php",
+            "/config.bak",
+            "/.htaccess",
+            "/.htpasswd",
+            "/.ssh/",
+            "/.aws/",
+            "/.docker/",
+            "/docker-compose.yml",
+            "/docker-compose.yaml",
+            "/.env.local",
+            "/.env.production",
+            "/.env.development",
+            "/.env.test",
+            "/.env.backup",
+            "/composer.json",
+            "/package.json",
+            "/yarn.lock",
+            "/package-lock.json",
+            "/.idea/",
+            "/.vscode/",
+            "/.DS_Store",
+            "/web.config",
+            "/application.properties",
+            "/application.yml",
+            "/application.yaml",
+            "/application-dev.properties",
+            "/application-prod.properties",
+            "/application-local.properties"
+    );
+
+    private static final String BLOG_ASK_PREFIX = "/blogs/published/";
+
+    private static final Route[] ROUTES = Route.values();
+
+    private final PathTrie probes = new PathTrie(true);
+    private final PathTrie excluded = new PathTrie(false);
+    private final PathTrie routes = new PathTrie(false);
+
+    /**
+     * Constructor that allows configuration of blocked paths via properties.
+     * If not configured, uses default patterns.
+     *
+     * @param blockedPaths comma-separated list of paths to block (optional)
+     */
+    public RouteClassifier(@Value("${security.blocked-paths}") String blockedPaths) {
+        List<String> sensitivePatterns = StringUtils.hasText(blockedPaths)
+                ? Arrays.stream(blockedPaths.split(",")).map(String::trim).filter(StringUtils::hasText).toList()
+                : DEFAULT_SENSITIVE_PATTERNS;
+        sensitivePatterns.forEach(pattern -> probes.insertPrefix(pattern, Route.PROBE.ordinal()));
+        LOGGER.info("RouteClassifier initialized with {} {} blocked paths", sensitivePatterns.size(),
+                StringUtils.hasText(blockedPaths) ? "custom" : "default");
+        AppConstants.EXCLUDED_ORIGIN_VERIFICATION_PATHS
+                .forEach(path -> excluded.insertPrefix(path, Route.EXCLUDED.ordinal()));
+        AppConstants.PUBLIC_BLOG_PATHS.forEach(path -> routes.insertPrefix(path, Route.PUBLIC_BLOG.ordinal()));
+        routes.insertPrefix(BLOG_ASK_PREFIX, Route.BLOG_ASK.ordinal());
+        insertEndpoint(AppConstants.CONTACT_PATH, Route.CONTACT);
+        insertEndpoint(AppConstants.CONTACT_POLISH_PATH, Route.CONTACT_POLISH);
+        insertEndpoint(AppConstants.AI_CHAT_PATH, Route.PORTFOLIO_CHAT);
+    }
+
+    private void insertEndpoint(String path, Route route) {
+        routes.insertExact(path, route.ordinal());
+        routes.insertExact(path + "/", route.ordinal());
+    }
+
+    /**
+     * Returns the request's route, classifying it on the first call and reading it back from the request after.
+     *
+     * @param request the HTTP servlet request
+     * @return the route the request belongs to
+     */
+    public Route classify(HttpServletRequest request) {
+        if (request.getAttribute(ROUTE_ATTRIBUTE) instanceof Route route) {
+            return route;
+        }
+        Route route = resolve(request);
+        request.setAttribute(ROUTE_ATTRIBUTE, route);
+        return route;
+    }
+
+    private Route resolve(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        if (requestUri != null) {
+            if (probes.matchesPrefix(requestUri)) {
+                return Route.PROBE;
+            }
+            if (excluded.matchesPrefix(requestUri)) {
+                return Route.EXCLUDED;
+            }
+        }
+        String servletPath = request.getServletPath();
+        if (servletPath == null) {
+            return Route.OTHER;
+        }
+        Route route = ROUTES[routes.match(servletPath, Route.OTHER.ordinal())];
+        String method = request.getMethod();
+        return switch (route) {
+            case CONTACT, CONTACT_POLISH, PORTFOLIO_CHAT ->
+                    AppConstants.POST_METHOD.equalsIgnoreCase(method) ? route : Route.OTHER;
+            case BLOG_ASK -> (AppConstants.POST_METHOD.equalsIgnoreCase(method) || HttpMethod.GET.matches(method))
+                    && (servletPath.endsWith("/ask") || servletPath.endsWith("/ask/stream"))
+                    ? Route.BLOG_ASK : Route.PUBLIC_BLOG;
+            default -> route;
+        };
+    }
+
+    /**
+     * What a request is, as far as the servlet filters are concerned.
+     */
+    public enum Route {
+
+        /**
+         * A sensitive-file or reconnaissance probe, answered with 404.
+         */
+        PROBE(null, false),
+        /**
+         * Monitoring paths excluded from origin verification.
+         */
+        EXCLUDED(null, false),
+        PUBLIC_BLOG(AppConstants.ENDPOINT_TYPE_BLOG, false),
+        BLOG_ASK(AppConstants.ENDPOINT_TYPE_BLOG_ASK, true),
+        PORTFOLIO_CHAT(AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT, true),
+        CONTACT(AppConstants.ENDPOINT_TYPE_CONTACT, false),
+        CONTACT_POLISH(AppConstants.ENDPOINT_TYPE_CONTACT_POLISH, true),
+        OTHER(null, false);
+
+        private final String endpointType;
+        private final boolean ai;
+
+        Route(String endpointType, boolean ai) {
+            this.endpointType = endpointType;
+            this.ai = ai;
+        }
+
+        /**
+         * @return the rate-limited endpoint type, or null if the route is not rate limited
+         */
+        public String endpointType() {
+            return endpointType;
+        }
+
+        /**
+         * @return true if the route is served by a model call
+         */
+        public boolean isAi() {
+            return ai;
+        }
+
+        /**
+         * @return true if the route is a public blog read, which needs no origin verification
+         */
+        public boolean isPublicBlog() {
+            return this == PUBLIC_BLOG || this == BLOG_ASK;
+        }
+
+    }
+
+}
@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.util.StringUtils;
@@ -20,7 +22,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import com.kapil.personalwebsite.util.SecurityStringUtils;
+import java.time.Duration;
 import java.util.Arrays;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -37,25 +41,30 @@ public class SecurityConfig {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecurityConfig.class);
 
+    private static final int AUTH_CACHE_MAX_ENTRIES = 64;
+
     private final long corsMaxAge;
     private final String adminUsername;
     private final String adminPassword;
     private final String corsAllowedOrigins;
     private final String corsAllowedMethods;
     private final boolean corsAllowCredentials;
+    private final long authCacheTtlSeconds;
 
     public SecurityConfig(@Value("${cors.max-age}") long corsMaxAge,
                           @Value("${admin.username}") String adminUsername,
                           @Value("${admin.password}") String adminPassword,
                           @Value("${cors.allowed-origins}") String corsAllowedOrigins,
                           @Value("${cors.allowed-methods}") String corsAllowedMethods,
-                          @Value("${cors.allow-credentials}") boolean corsAllowCredentials) {
+                          @Value("${cors.allow-credentials}") boolean corsAllowCredentials,
+                          @Value("${admin.auth-cache-ttl-seconds:300}") long authCacheTtlSeconds) {
         this.corsMaxAge = corsMaxAge;
         this.adminUsername = adminUsername;
         this.adminPassword = adminPassword;
         this.corsAllowedOrigins = corsAllowedOrigins;
         this.corsAllowedMethods = corsAllowedMethods;
         this.corsAllowCredentials = corsAllowCredentials;
+        this.authCacheTtlSeconds = authCacheTtlSeconds;
         validateAdminCredentials(adminUsername, adminPassword);
     }
 
@@ -83,12 +92,15 @@ public class SecurityConfig {
 
     /**
      * Configures HTTP security with CORS-based origin filtering for all endpoints.
+     * Admin requests authenticate with HTTP Basic or with a bearer token from {@link AdminTokenService}.
      *
+     * @param http              the HTTP security builder
+     * @param adminTokenService verifies admin bearer tokens
      * @return the security filter chain
      * @throws Exception in case of configuration errors
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AdminTokenService adminTokenService) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -109,6 +121,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/ai/chat").permitAll()
                         .requestMatchers(HttpMethod.POST, "/admin/ai/reindex-portfolio").authenticated()
                         .requestMatchers(HttpMethod.GET, "/admin/ai/reindex-portfolio/status/*").authenticated()
+                        .requestMatchers("/admin/rate-limit/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/admin/auth/token").authenticated()
                         .requestMatchers(HttpMethod.GET, "/portfolio").permitAll()
                         .requestMatchers(HttpMethod.GET, "/experiences").permitAll()
                         .requestMatchers(HttpMethod.GET, "/projects").permitAll()
@@ -123,8 +137,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/portfolio").authenticated()
                         .anyRequest().authenticated()
                 )
+                .addFilterBefore(new AdminTokenAuthenticationFilter(adminTokenService), BasicAuthenticationFilter.class)
                 .httpBasic(httpBasic -> httpBasic.realmName("Blog Admin API"))
-                .userDetailsService(userDetailsService());
+                .authenticationProvider(adminAuthenticationProvider());
         return http.build();
     }
 
@@ -152,6 +167,7 @@ public class SecurityConfig {
         configuration.addAllowedHeader(AppConstants.ORIGIN_HEADER);
         configuration.addAllowedHeader(AppConstants.REFERER_HEADER);
         configuration.addAllowedHeader(AppConstants.ACCEPT_HEADER);
+        configuration.addExposedHeader(AppConstants.X_NEXT_CURSOR);
         configuration.setAllowCredentials(corsAllowCredentials);
         configuration.setMaxAge(corsMaxAge);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -180,6 +196,23 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin);
     }
 
+    /**
+     * Authenticates admin requests against {@link #userDetailsService()}. Successful logins are remembered for
+     * {@code admin.auth-cache-ttl-seconds}, so bulk admin calls with the same credentials skip the BCrypt check.
+     *
+     * @return the authentication provider
+     */
+    @Bean
+    public AuthenticationProvider adminAuthenticationProvider() {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService());
+        provider.setPasswordEncoder(passwordEncoder());
+        if (authCacheTtlSeconds <= 0) {
+            return provider;
+        }
+        return new CachingAuthenticationProvider(provider, Duration.ofSeconds(authCacheTtlSeconds),
+                AUTH_CACHE_MAX_ENTRIES);
+    }
+
     /**
      * Password encoder for secure password storage.
      *
@@ -0,0 +1,73 @@
+package com.kapil.personalwebsite.config;
+
+/**
+ * Maps a client address to the network it is rate limited under for the subnet bucket tier.
+ * IPv4 addresses aggregate at {@code ipv4Prefix} and IPv6 at {@code ipv6Prefix}, unless the address falls inside
+ * an override range, where the longest matching range decides the prefix. Overrides are written as
+ * {@code cidr=prefix} with both prefix lengths relative to the address family, e.g. {@code 100.64.0.0/10=32}
+ * tracks carrier-grade NAT clients per address instead of per /24.
+ *
+ * @author Kapil Garg
+ */
+final class SubnetAggregator {
+
+    private final int ipv4Prefix;
+    private final int ipv6Prefix;
+    private final PrefixTrie overrides = new PrefixTrie();
+
+    /**
+     * Creates an aggregator from the configured prefix lengths and override ranges.
+     *
+     * @param settings the subnet settings
+     * @throws IllegalArgumentException if a prefix length or override entry is malformed
+     */
+    SubnetAggregator(RateLimitProperties.Subnet settings) {
+        this.ipv4Prefix = ClientAddress.IPV4_MAPPED_PREFIX + checkPrefix(settings.ipv4Prefix(), 32, "IPv4");
+        this.ipv6Prefix = checkPrefix(settings.ipv6Prefix(), 128, "IPv6");
+        for (String entry : settings.overrides()) {
+            addOverride(entry.trim());
+        }
+    }
+
+    /**
+     * Returns the absolute (128-bit) prefix length the client is aggregated at.
+     *
+     * @param address the parsed client address
+     * @return the prefix length, 0 to 128
+     */
+    int prefixLengthOf(ClientAddress address) {
+        return overrides.longestMatch(address, address.isIpv4() ? ipv4Prefix : ipv6Prefix);
+    }
+
+    private void addOverride(String entry) {
+        int slash = entry.indexOf('/');
+        int equals = entry.indexOf('=', slash + 1);
+        ClientAddress network = slash > 0 ? ClientAddress.parse(entry.substring(0, slash)) : null;
+        if (network == null || equals < 0) {
+            throw new IllegalArgumentException("Invalid rate limit subnet override '" + entry
+                    + "'; expected <address>/<length>=<aggregate prefix>");
+        }
+        int familyBits = network.isIpv4() ? 32 : 128;
+        int offset = network.isIpv4() ? ClientAddress.IPV4_MAPPED_PREFIX : 0;
+        int rangeLength = checkPrefix(parseInt(entry, slash + 1, equals), familyBits, entry);
+        int aggregate = checkPrefix(parseInt(entry, equals + 1, entry.length()), familyBits, entry);
+        overrides.insert(network.mask(offset + rangeLength), offset + rangeLength, offset + aggregate);
+    }
+
+    private static int parseInt(String entry, int start, int end) {
+        try {
+            return Integer.parseInt(entry, start, end, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid prefix length in rate limit subnet override '" + entry + "'", e);
+        }
+    }
+
+    private static int checkPrefix(int prefix, int familyBits, String context) {
+        if (prefix < 0 || prefix > familyBits) {
+            throw new IllegalArgumentException("Rate limit subnet prefix " + prefix + " out of range 0-"
+                    + familyBits + " for " + context);
+        }
+        return prefix;
+    }
+
+}
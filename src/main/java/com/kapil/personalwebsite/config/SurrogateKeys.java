@@ -0,0 +1,38 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.util.AppConstants;
+
+/**
+ * Surrogate keys tagging CDN-cached responses, so a change can purge exactly the responses that show it.
+ *
+ * @author Kapil Garg
+ */
+public final class SurrogateKeys {
+
+    /**
+     * Every blog listing: all published blogs, a category, and anything else derived from the set of blogs.
+     */
+    public static final String BLOG_LIST = "blogs:list";
+
+    /**
+     * The personal information.
+     */
+    public static final String PORTFOLIO = "portfolio";
+
+    private static final String BLOG_PREFIX = "blog:";
+
+    private SurrogateKeys() {
+        throw new UnsupportedOperationException(AppConstants.UTILITY_CLASS_INSTANTIATION_MSG);
+    }
+
+    /**
+     * Returns the key of a single published blog.
+     *
+     * @param slug the blog slug
+     * @return the surrogate key
+     */
+    public static String blog(String slug) {
+        return BLOG_PREFIX + slug;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.kapil.personalwebsite.config;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classic token bucket holding up to {@code maxRequests} tokens, refilled continuously at
+ * {@code maxRequests / window}. State is a token level and the time of the last refill.
+ *
+ * @author Kapil Garg
+ */
+final class TokenBucket implements RateLimitBucket {
+
+    private double tokens = Double.NaN;
+    private long lastRefillMs;
+
+    @Override
+    public synchronized RateLimitFilter.RateLimitCheckResult tryAcquire(long currentTimeMs,
+                                                                        RateLimitFilter.RateLimitConfig config,
+                                                                        int permits) {
+        int capacity = config.maxRequests();
+        // Milliseconds per token rather than tokens per millisecond keeps whole-second boundaries exact.
+        double msPerToken = (double) config.windowMillis() / Math.max(1, capacity);
+        refill(currentTimeMs, capacity, msPerToken);
+        if (permits > capacity || tokens < permits) {
+            long retryMs = permits > capacity
+                    ? config.windowMillis()
+                    : (long) Math.ceil((permits - tokens) * msPerToken);
+            return new RateLimitFilter.RateLimitCheckResult(false, Math.max(0, (int) tokens),
+                    computeResetEpochSeconds(currentTimeMs, capacity, msPerToken),
+                    RateLimitBucket.toRetryAfterSeconds(retryMs));
+        }
+        tokens -= permits;
+        return new RateLimitFilter.RateLimitCheckResult(true, Math.max(0, (int) tokens),
+                computeResetEpochSeconds(currentTimeMs, capacity, msPerToken), 0L);
+    }
+
+    @Override
+    public synchronized void adjust(long currentTimeMs, RateLimitFilter.RateLimitConfig config, int permits) {
+        int capacity = config.maxRequests();
+        refill(currentTimeMs, capacity, (double) config.windowMillis() / Math.max(1, capacity));
+        // The level may go negative; refills pay the debt back before new requests fit.
+        tokens = Math.min(capacity, tokens - permits);
+    }
+
+    @Override
+    public synchronized boolean isIdle(long currentTimeMs, RateLimitFilter.RateLimitConfig config) {
+        // Debt charged through adjust() takes longer than a window to pay back, so ask when the bucket is full.
+        return Double.isNaN(tokens) || resetAtMs(config) <= currentTimeMs;
+    }
+
+    @Override
+    public synchronized long resetAtMs(RateLimitFilter.RateLimitConfig config) {
+        if (Double.isNaN(tokens)) {
+            return 0L;
+        }
+        int capacity = config.maxRequests();
+        double msPerToken = (double) config.windowMillis() / Math.max(1, capacity);
+        return lastRefillMs + (long) Math.ceil(Math.max(0.0, capacity - tokens) * msPerToken);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The state is the token level and the last refill time: 16 bytes.
+     */
+    @Override
+    public synchronized void writeState(ByteBuffer out) {
+        out.putDouble(tokens).putLong(lastRefillMs);
+    }
+
+    /**
+     * Recreates a bucket from the state {@link #writeState} wrote.
+     *
+     * @param in the buffer positioned at the state
+     * @return the restored bucket
+     */
+    static TokenBucket restore(ByteBuffer in) {
+        TokenBucket bucket = new TokenBucket();
+        bucket.tokens = in.getDouble();
+        bucket.lastRefillMs = in.getLong();
+        return bucket;
+    }
+
+    /**
+     * Adds the tokens accrued since the last refill, capped at capacity. A new bucket starts full.
+     */
+    private void refill(long currentTimeMs, int capacity, double msPerToken) {
+        if (Double.isNaN(tokens)) {
+            tokens = capacity;
+        } else if (currentTimeMs > lastRefillMs) {
+            tokens = Math.min(capacity, tokens + (currentTimeMs - lastRefillMs) / msPerToken);
+        }
+        lastRefillMs = Math.max(lastRefillMs, currentTimeMs);
+    }
+
+    /**
+     * Computes the epoch second at which the bucket will be full again.
+     */
+    private long computeResetEpochSeconds(long currentTimeMs, int capacity, double msPerToken) {
+        if (capacity <= 0) {
+            return currentTimeMs / 1000;
+        }
+        long fullInMs = (long) Math.ceil((capacity - tokens) * msPerToken);
+        return (currentTimeMs + fullInMs + 999) / 1000;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.kapil.personalwebsite.controller;
+
+import com.kapil.personalwebsite.config.AdminTokenService;
+import com.kapil.personalwebsite.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoint exchanging HTTP Basic credentials for a short-lived bearer token.
+ * Scripts making many admin calls (bulk blog edits, reindex status polling) authenticate once here and send
+ * {@code Authorization: Bearer <token>} afterwards, which is verified without a BCrypt check.
+ *
+ * @author Kapil Garg
+ */
+@RestController
+@RequestMapping("/admin/auth")
+@RequiredArgsConstructor
+public class AdminAuthController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminAuthController.class);
+
+    private final AdminTokenService adminTokenService;
+
+    /**
+     * Issues a bearer token for the admin authenticated with HTTP Basic.
+     * A bearer token cannot be used to obtain a new one, so a leaked token cannot be kept alive past its expiry.
+     *
+     * @param authentication the authenticated admin
+     * @return the token and its expiry, or 403 if the caller did not authenticate with a password
+     */
+    @PostMapping("/token")
+    public ResponseEntity<ApiResponse<AdminTokenService.IssuedToken>> issueToken(Authentication authentication) {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Tokens can only be issued for password authentication",
+                            HttpStatus.FORBIDDEN.value()));
+        }
+        AdminTokenService.IssuedToken token = adminTokenService.issue(authentication, System.currentTimeMillis());
+        LOGGER.info("POST /admin/auth/token - issued admin token expiring at {}", token.expiresAt());
+        return ResponseEntity.ok(ApiResponse.success(token, "Admin token issued"));
+    }
+
+}
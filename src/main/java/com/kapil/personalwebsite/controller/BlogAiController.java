@@ -4,6 +4,8 @@ import com.kapil.personalwebsite.ai.blog.BlogAskService;
 import com.kapil.personalwebsite.ai.dto.BlogAskRequest;
 import com.kapil.personalwebsite.ai.dto.BlogAskResponse;
 import com.kapil.personalwebsite.dto.ApiResponse;
+import com.kapil.personalwebsite.exception.LlmCapacityExceededException;
+import com.kapil.personalwebsite.exception.TokenBudgetExceededException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -82,7 +84,9 @@ public class BlogAiController {
                 .doOnError(ex -> {
                     try {
                         emitter.send(SseEmitter.event().name("error")
-                                .data("Error generating answer."));
+                                .data(ex instanceof TokenBudgetExceededException
+                                        || ex instanceof LlmCapacityExceededException
+                                        ? ex.getMessage() : "Error generating answer."));
                     } catch (IOException ignored) {
                         // Ignore send failures on error path
                         LOGGER.debug("Failed to send SSE error event for streaming failure");
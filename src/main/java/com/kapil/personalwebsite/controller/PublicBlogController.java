@@ -1,11 +1,17 @@
 package com.kapil.personalwebsite.controller;
 
+import com.kapil.personalwebsite.config.RelatedBlogsProperties;
 import com.kapil.personalwebsite.dto.ApiResponse;
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
 import com.kapil.personalwebsite.entity.Blog;
 import com.kapil.personalwebsite.entity.BlogCategory;
 import com.kapil.personalwebsite.mapper.BlogResponseMapper;
 import com.kapil.personalwebsite.service.blog.BlogAnalyticsService;
 import com.kapil.personalwebsite.service.blog.BlogPublicService;
+import com.kapil.personalwebsite.util.AppConstants;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,7 +24,7 @@ import java.util.Optional;
 
 /**
  * REST controller for public blog access endpoints.
- * Handles published blog listing, category filtering, detail retrieval and view counts.
+ * Handles published blog listing, category filtering, search, detail retrieval, related posts and view counts.
  *
  * @author Kapil Garg
  */
@@ -29,35 +35,104 @@ public class PublicBlogController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PublicBlogController.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_RESULTS = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final BlogPublicService blogPublicService;
     private final BlogAnalyticsService blogAnalyticsService;
+    private final RelatedBlogsProperties relatedBlogsProperties;
 
     /**
-     * Retrieves all published blogs (public access).
+     * Retrieves one page of published blog summaries (public access), newest first.
+     * The cursor for the next page is returned in the {@value AppConstants#X_NEXT_CURSOR} header.
      *
-     * @return a ResponseEntity containing the list of published blogs
+     * @param after the cursor of the previous page, or absent for the first page
+     * @param limit the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return a ResponseEntity containing the page of published blog summaries
      */
     @GetMapping("/published")
-    public ResponseEntity<ApiResponse<List<Blog>>> getPublishedBlogs() {
-        LOGGER.info("GET /blogs/published - Fetching all published blogs (public)");
-        List<Blog> blogs = blogPublicService.getPublishedBlogs();
-        ApiResponse<List<Blog>> response = ApiResponse.success(blogs, "Published blogs retrieved successfully");
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ApiResponse<List<BlogSummary>>> getPublishedBlogs(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        LOGGER.info("GET /blogs/published - Fetching published blogs (public), after={}, limit={}", after, limit);
+        return buildSummaryPageResponse(null, after, limit, "Published blogs retrieved successfully");
     }
 
     /**
-     * Retrieves published blogs by category (public access).
+     * Retrieves one page of published blog summaries by category (public access), newest first.
+     * The cursor for the next page is returned in the {@value AppConstants#X_NEXT_CURSOR} header.
      *
      * @param category the blog category
-     * @return a ResponseEntity containing the list of published blogs in the category
+     * @param after    the cursor of the previous page, or absent for the first page
+     * @param limit    the page size, capped at {@value #MAX_PAGE_SIZE}
+     * @return a ResponseEntity containing the page of published blog summaries in the category
      */
     @GetMapping("/published/category/{category}")
-    public ResponseEntity<ApiResponse<List<Blog>>> getPublishedBlogsByCategory(@PathVariable BlogCategory category) {
-        LOGGER.info("GET /blogs/published/category/{} - Fetching published blogs by category (public)", category);
-        List<Blog> blogs = blogPublicService.getPublishedBlogsByCategory(category);
-        ApiResponse<List<Blog>> response = ApiResponse.success(blogs,
+    public ResponseEntity<ApiResponse<List<BlogSummary>>> getPublishedBlogsByCategory(
+            @PathVariable BlogCategory category,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        LOGGER.info("GET /blogs/published/category/{} - Fetching published blogs by category (public), after={}, " +
+                "limit={}", category, after, limit);
+        return buildSummaryPageResponse(category, after, limit,
                 String.format("Published blogs in category '%s' retrieved successfully", category));
-        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Searches published blogs by title and content (public access), most relevant first.
+     *
+     * @param q     the search query, at most {@value #MAX_QUERY_LENGTH} characters
+     * @param limit the maximum number of results, capped at {@value #MAX_SEARCH_RESULTS}
+     * @return a ResponseEntity containing the matching blogs with highlighted snippets, or a 400 status for a
+     * blank or overlong query
+     */
+    @GetMapping("/published/search")
+    public ResponseEntity<ApiResponse<List<BlogSearchResult>>> searchPublishedBlogs(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_RESULTS) int limit) {
+        LOGGER.info("GET /blogs/published/search - Searching published blogs (public), limit={}", limit);
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            String message = q.isBlank()
+                    ? "Search query must not be blank"
+                    : String.format("Search query must be at most %d characters", MAX_QUERY_LENGTH);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(message, HttpStatus.BAD_REQUEST.value()));
+        }
+        List<BlogSearchResult> results = blogPublicService.searchPublishedBlogs(q.strip(),
+                Math.clamp(limit, 1, MAX_SEARCH_RESULTS));
+        return ResponseEntity.ok(ApiResponse.success(results,
+                String.format("Found %d published blogs matching the search", results.size())));
+    }
+
+    /**
+     * Fetches a page of summaries and builds the response, answering 400 for a malformed cursor.
+     *
+     * @param category the category to list, or null for all categories
+     * @param after    the raw cursor parameter
+     * @param limit    the requested page size
+     * @param message  the success message
+     * @return the response entity
+     */
+    private ResponseEntity<ApiResponse<List<BlogSummary>>> buildSummaryPageResponse(BlogCategory category,
+                                                                                    String after, int limit,
+                                                                                    String message) {
+        BlogCursor cursor;
+        try {
+            cursor = after == null || after.isBlank() ? null : BlogCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        BlogSummaryPage page = blogPublicService.getPublishedBlogSummaries(category, cursor, pageSize);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(AppConstants.X_NEXT_CURSOR, page.nextCursor().toString());
+        }
+        return builder.body(ApiResponse.success(page.items(), message));
     }
 
     /**
@@ -73,6 +148,30 @@ public class PublicBlogController {
         return BlogResponseMapper.buildBlogResponse(slug, blog.orElse(null));
     }
 
+    /**
+     * Retrieves the published blogs most related to a published blog (public access), most similar first.
+     * The lists are precomputed in the background, so this is a lookup rather than a similarity search.
+     *
+     * @param slug  the slug of the blog
+     * @param limit the maximum number of related blogs, capped at {@code blog.related.size}
+     * @return a ResponseEntity containing the related blog summaries, or a 404 status if the blog is not found
+     */
+    @GetMapping("/published/{slug}/related")
+    public ResponseEntity<ApiResponse<List<BlogSummary>>> getRelatedBlogs(
+            @PathVariable String slug,
+            @RequestParam(required = false) Integer limit) {
+        LOGGER.info("GET /blogs/published/{}/related - Fetching related blogs (public), limit={}", slug, limit);
+        int size = relatedBlogsProperties.size();
+        Optional<List<BlogSummary>> related = blogPublicService.getRelatedBlogs(slug,
+                limit == null ? size : Math.clamp(limit, 1, size));
+        if (related.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(
+                    String.format("Blog with slug '%s' not found", slug), HttpStatus.NOT_FOUND.value()));
+        }
+        return ResponseEntity.ok(ApiResponse.success(related.get(),
+                String.format("Blogs related to '%s' retrieved successfully", slug)));
+    }
+
     /**
      * Increments the view count of a blog (public access).
      *
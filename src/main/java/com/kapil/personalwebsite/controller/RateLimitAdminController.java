@@ -0,0 +1,60 @@
+package com.kapil.personalwebsite.controller;
+
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitRulesReloader;
+import com.kapil.personalwebsite.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin endpoint to inspect and hot-reload the rate limit rules without a restart.
+ * New rules are sent as {@code rate.limit.*} properties text and only need the keys being changed.
+ *
+ * @author Kapil Garg
+ */
+@RestController
+@RequestMapping("/admin/rate-limit")
+@RequiredArgsConstructor
+public class RateLimitAdminController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitAdminController.class);
+
+    private final RateLimitFilter rateLimitFilter;
+    private final RateLimitRulesReloader rateLimitRulesReloader;
+
+    /**
+     * Returns the rate limit rules currently in force with their version.
+     *
+     * @return the active rules
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<ApiResponse<RateLimitFilter.RulesStatus>> getRules() {
+        return ResponseEntity.ok(ApiResponse.success(rateLimitFilter.rules(), "Rate limit rules retrieved"));
+    }
+
+    /**
+     * Swaps in new rate limit rules built from the given properties over the application configuration.
+     *
+     * @param rules {@code rate.limit.*} entries in properties format
+     * @return the rules now in force, or 400 if the properties are invalid
+     */
+    @PutMapping(value = "/rules", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<ApiResponse<RateLimitFilter.RulesStatus>> reloadRules(@RequestBody String rules) {
+        try {
+            long version = rateLimitRulesReloader.reload(rules, "admin endpoint");
+            LOGGER.info("PUT /admin/rate-limit/rules - rate limit rules version {} in force", version);
+            return ResponseEntity.ok(ApiResponse.success(rateLimitFilter.rules(), "Rate limit rules reloaded"));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("PUT /admin/rate-limit/rules - rejected: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST.value()));
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.kapil.personalwebsite.dto.blog;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset pagination cursor for the published blog listing, which is ordered by publishedAt then ID, newest first.
+ * Encoded as {@code <publishedAt>,<id>} with an ISO-8601 local date-time, e.g.
+ * {@code 2025-03-14T09:30:00.123,65f2c0a1e4b0a1b2c3d4e5f6}; the date is empty for a blog without one.
+ *
+ * @param publishedAt the publishedAt of the last blog already returned, or null if it has none
+ * @param id          the ID of the last blog already returned
+ * @author Kapil Garg
+ */
+public record BlogCursor(LocalDateTime publishedAt, String id) {
+
+    /**
+     * Parses a cursor from its string form.
+     *
+     * @param value the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static BlogCursor parse(String value) {
+        int comma = value.lastIndexOf(',');
+        if (comma < 0 || comma == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: expected <publishedAt>,<id>");
+        }
+        try {
+            LocalDateTime publishedAt = comma == 0 ? null : LocalDateTime.parse(value.substring(0, comma));
+            return new BlogCursor(publishedAt, value.substring(comma + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: publishedAt is not an ISO-8601 date-time", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (publishedAt != null ? publishedAt.toString() : "") + "," + id;
+    }
+
+}
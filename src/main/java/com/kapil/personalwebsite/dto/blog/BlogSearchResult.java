@@ -0,0 +1,42 @@
+package com.kapil.personalwebsite.dto.blog;
+
+import com.kapil.personalwebsite.entity.BlogCategory;
+
+import java.time.LocalDateTime;
+
+/**
+ * A published blog matching a search, with its relevance and a highlighted excerpt of the matching text.
+ *
+ * @param id            the blog ID
+ * @param title         the blog title
+ * @param slug          the blog slug
+ * @param excerpt       the blog excerpt
+ * @param featuredImage the featured image URL
+ * @param publishedAt   when the blog was published
+ * @param category      the blog category
+ * @param score         the BM25 relevance score; higher is more relevant
+ * @param snippet       HTML-escaped text around the first match, with matched words wrapped in {@code <mark>}
+ * @author Kapil Garg
+ */
+public record BlogSearchResult(
+
+        String id,
+
+        String title,
+
+        String slug,
+
+        String excerpt,
+
+        String featuredImage,
+
+        LocalDateTime publishedAt,
+
+        BlogCategory category,
+
+        double score,
+
+        String snippet
+
+) {
+}
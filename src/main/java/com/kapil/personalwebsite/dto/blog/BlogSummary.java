@@ -0,0 +1,54 @@
+package com.kapil.personalwebsite.dto.blog;
+
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a published blog for listing pages.
+ * Read from Mongo with a field projection, so the full HTML content is never loaded or serialized for a listing.
+ *
+ * @author Kapil Garg
+ */
+public record BlogSummary(
+
+        String id,
+
+        String title,
+
+        String slug,
+
+        String excerpt,
+
+        String featuredImage,
+
+        Integer readingTime,
+
+        LocalDateTime publishedAt,
+
+        BlogCategory category
+
+) {
+
+    /**
+     * Creates the summary of a blog.
+     *
+     * @param blog the blog
+     * @return the summary
+     */
+    public static BlogSummary of(Blog blog) {
+        return new BlogSummary(blog.getId(), blog.getTitle(), blog.getSlug(), blog.getExcerpt(),
+                blog.getFeaturedImage(), blog.getReadingTime(), blog.getPublishedAt(), blog.getCategory());
+    }
+
+    /**
+     * Returns the cursor pointing just after this blog in the published listing.
+     *
+     * @return the cursor for the next page
+     */
+    public BlogCursor cursor() {
+        return new BlogCursor(publishedAt, id);
+    }
+
+}
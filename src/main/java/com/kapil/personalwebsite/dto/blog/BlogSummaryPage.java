@@ -0,0 +1,13 @@
+package com.kapil.personalwebsite.dto.blog;
+
+import java.util.List;
+
+/**
+ * One page of the published blog listing.
+ *
+ * @param items      the blogs on this page, newest first
+ * @param nextCursor the cursor for the following page, or null if this is the last page
+ * @author Kapil Garg
+ */
+public record BlogSummaryPage(List<BlogSummary> items, BlogCursor nextCursor) {
+}
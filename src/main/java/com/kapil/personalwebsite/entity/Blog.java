@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -22,6 +24,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "blogs")
+@CompoundIndexes({
+        @CompoundIndex(name = "published_listing",
+                def = "{'status': 1, 'is_active': 1, 'published_at': -1, '_id': -1}"),
+        @CompoundIndex(name = "published_category_listing",
+                def = "{'category': 1, 'status': 1, 'is_active': 1, 'published_at': -1, '_id': -1}"),
+        @CompoundIndex(name = "active_created",
+                def = "{'is_active': 1, 'created_at': -1}")
+})
 public class Blog {
 
     @Id
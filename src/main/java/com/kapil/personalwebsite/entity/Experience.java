@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -74,6 +75,7 @@ public class Experience {
     @Field("company_website")
     private String companyWebsite;
 
+    @Indexed(name = "display_order")
     @Field("display_order")
     private Integer displayOrder = 0;
 
@@ -1,10 +1,12 @@
 package com.kapil.personalwebsite.exception;
 
+import com.kapil.personalwebsite.config.AdaptiveConcurrencyFilter;
 import com.kapil.personalwebsite.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -82,6 +84,62 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Email Sending Failed", ex.getMessage(), request);
     }
 
+    /**
+     * Handles exhausted AI token budgets with a 429 carrying the Retry-After delay.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(TokenBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleTokenBudgetExceeded(TokenBudgetExceededException ex,
+                                                                   HttpServletRequest request) {
+        LOGGER.warn("AI token budget exceeded for path: {}", request.getRequestURI());
+        ResponseEntity<ErrorResponse> response =
+                createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles model calls the LLM governor could not admit in time with a 503 carrying the Retry-After delay,
+     * marking the request so the adaptive concurrency limit does not count the rejection as upstream congestion.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(LlmCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleLlmCapacityExceeded(LlmCapacityExceededException ex,
+                                                                   HttpServletRequest request) {
+        LOGGER.warn("LLM capacity exceeded for path: {}", request.getRequestURI());
+        request.setAttribute(AdaptiveConcurrencyFilter.LOCAL_REJECTION_ATTRIBUTE, Boolean.TRUE);
+        ResponseEntity<ErrorResponse> response =
+                createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service busy", ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles reads of an in-memory read model that has not been built yet with a 503 carrying the Retry-After delay.
+     *
+     * @param ex      the exception
+     * @param request the HTTP request
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(ReadModelUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleReadModelUnavailable(ReadModelUnavailableException ex,
+                                                                    HttpServletRequest request) {
+        LOGGER.warn("Read model unavailable for path: {}", request.getRequestURI());
+        ResponseEntity<ErrorResponse> response =
+                createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable", ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     /**
      * Handles authentication failures.
      *
@@ -0,0 +1,21 @@
+package com.kapil.personalwebsite.exception;
+
+/**
+ * Exception thrown when the global LLM governor cannot admit a model call in time.
+ *
+ * @author Kapil Garg
+ */
+public class LlmCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LlmCapacityExceededException(long retryAfterSeconds) {
+        super("The AI assistant is busy. Please try again after %d seconds.".formatted(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.kapil.personalwebsite.exception;
+
+/**
+ * Exception thrown when an in-memory read model a public endpoint is served from has not been built yet.
+ *
+ * @author Kapil Garg
+ */
+public class ReadModelUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReadModelUnavailableException(String feature, long retryAfterSeconds) {
+        super("%s is not available yet. Please try again after %d seconds.".formatted(feature, retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.kapil.personalwebsite.exception;
+
+/**
+ * Exception thrown when a client has spent its AI token budget for the current window.
+ *
+ * @author Kapil Garg
+ */
+public class TokenBudgetExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TokenBudgetExceededException(long retryAfterSeconds) {
+        super("AI usage limit reached. Please try again after %d seconds.".formatted(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
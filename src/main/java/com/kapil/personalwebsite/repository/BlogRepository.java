@@ -1,7 +1,6 @@
 package com.kapil.personalwebsite.repository;
 
 import com.kapil.personalwebsite.entity.Blog;
-import com.kapil.personalwebsite.entity.BlogCategory;
 import com.kapil.personalwebsite.entity.BlogStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -15,7 +14,7 @@ import java.util.Optional;
  * @author Kapil Garg
  */
 @Repository
-public interface BlogRepository extends MongoRepository<Blog, String> {
+public interface BlogRepository extends MongoRepository<Blog, String>, BlogRepositoryCustom {
 
     /**
      * Finds all active blogs ordered by creation date in descending order.
@@ -74,13 +73,4 @@ public interface BlogRepository extends MongoRepository<Blog, String> {
      */
     Optional<Blog> findByIdAndStatusAndIsActiveTrue(String id, BlogStatus status);
 
-    /**
-     * Finds all published blogs by category ordered by published date in descending order.
-     *
-     * @param category the blog category
-     * @param status   the blog status
-     * @return list of published blogs in the specified category
-     */
-    List<Blog> findByCategoryAndStatusOrderByPublishedAtDesc(BlogCategory category, BlogStatus status);
-
 }
@@ -0,0 +1,27 @@
+package com.kapil.personalwebsite.repository;
+
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.entity.BlogCategory;
+
+import java.util.List;
+
+/**
+ * Custom Blog queries that derived query methods cannot express.
+ *
+ * @author Kapil Garg
+ */
+public interface BlogRepositoryCustom {
+
+    /**
+     * Finds one page of published, active blogs as summaries, newest first, using keyset pagination.
+     * Only the summary fields are read from Mongo.
+     *
+     * @param category the category to list, or null for all categories
+     * @param after    the cursor of the last blog already returned, or null for the first page
+     * @param limit    the maximum number of blogs to return
+     * @return the blogs ordered by publishedAt then ID, descending
+     */
+    List<BlogSummary> findPublishedSummaries(BlogCategory category, BlogCursor after, int limit);
+
+}
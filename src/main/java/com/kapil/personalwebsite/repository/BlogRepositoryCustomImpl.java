@@ -0,0 +1,64 @@
+package com.kapil.personalwebsite.repository;
+
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+/**
+ * MongoTemplate-backed implementation of {@link BlogRepositoryCustom}.
+ * Keyset pagination seeks past the cursor with an indexed range predicate instead of skipping rows, so every page
+ * costs the same however deep into the archive it is.
+ *
+ * @author Kapil Garg
+ */
+@RequiredArgsConstructor
+public class BlogRepositoryCustomImpl implements BlogRepositoryCustom {
+
+    private static final String PUBLISHED_AT = "publishedAt";
+    private static final String ID = "id";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<BlogSummary> findPublishedSummaries(BlogCategory category, BlogCursor after, int limit) {
+        Criteria criteria = Criteria.where("status").is(BlogStatus.PUBLISHED).and("isActive").is(true);
+        if (category != null) {
+            criteria.and("category").is(category);
+        }
+        if (after != null) {
+            criteria.orOperator(afterCursor(after));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.desc(PUBLISHED_AT), Sort.Order.desc(ID)))
+                .limit(limit);
+        query.fields().include("title", "slug", "excerpt", "featuredImage", "readingTime", PUBLISHED_AT, "category");
+        return mongoTemplate.query(Blog.class).as(BlogSummary.class).matching(query).all();
+    }
+
+    /**
+     * Builds the predicates selecting blogs after the cursor in descending (publishedAt, id) order.
+     * Blogs without a publishedAt sort last.
+     */
+    private static Criteria[] afterCursor(BlogCursor after) {
+        Object id = ObjectId.isValid(after.id()) ? new ObjectId(after.id()) : after.id();
+        if (after.publishedAt() == null) {
+            return new Criteria[]{Criteria.where(PUBLISHED_AT).is(null).and(ID).lt(id)};
+        }
+        return new Criteria[]{
+                Criteria.where(PUBLISHED_AT).lt(after.publishedAt()),
+                Criteria.where(PUBLISHED_AT).is(after.publishedAt()).and(ID).lt(id),
+                Criteria.where(PUBLISHED_AT).is(null)
+        };
+    }
+
+}
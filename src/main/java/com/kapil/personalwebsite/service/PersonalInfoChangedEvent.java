@@ -0,0 +1,14 @@
+package com.kapil.personalwebsite.service;
+
+import com.kapil.personalwebsite.entity.PersonalInfo;
+
+/**
+ * Published by {@link PersonalInfoService} after the personal information is updated.
+ * Listeners that cache views of the portfolio should use {@code @TransactionalEventListener} so they only see
+ * changes that committed.
+ *
+ * @param personalInfo the personal information as saved
+ * @author Kapil Garg
+ */
+public record PersonalInfoChangedEvent(PersonalInfo personalInfo) {
+}
@@ -1,14 +1,17 @@
 package com.kapil.personalwebsite.service;
 
 import com.kapil.personalwebsite.config.RateLimitFilter;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 /**
- * Service for cleaning up expired rate limit entries.
+ * Service for cleaning up expired rate limit entries and checkpointing rate limit state.
  * Uses Spring's scheduling mechanism for proper lifecycle management.
  *
  * @author Kapil Garg
@@ -23,7 +26,7 @@ public class RateLimitCleanupService {
 
     /**
      * Cleans up expired entries from the rate limit cache.
-     * Runs every 2 minutes to remove old entries and prevent memory leaks.
+     * Runs every 2 minutes to flush expirations the bounded cache has not yet processed during normal traffic.
      */
     @Scheduled(fixedRate = 2 * 60 * 1000)
     public void cleanupExpiredEntries() {
@@ -34,4 +37,25 @@ public class RateLimitCleanupService {
         }
     }
 
+    /**
+     * Checkpoints rate limit state so quotas survive a restart. A no-op unless a snapshot path is configured.
+     */
+    @Scheduled(fixedDelayString = "${rate.limit.store.snapshot-interval-seconds:60}",
+            initialDelayString = "${rate.limit.store.snapshot-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void checkpointState() {
+        try {
+            rateLimitFilter.checkpoint();
+        } catch (Exception e) {
+            LOGGER.error("Error during rate limit checkpoint", e);
+        }
+    }
+
+    /**
+     * Writes a final checkpoint on shutdown so a deploy loses no more than the requests still in flight.
+     */
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpointState();
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.entity.Blog;
+
+/**
+ * Published by {@link BlogAdminService} after a blog is created, updated, published, unpublished or deleted.
+ * Listeners that keep derived views of published blogs should use {@code @TransactionalEventListener} so they only
+ * see changes that committed.
+ *
+ * @param blog         the blog as saved; a deleted blog has {@code isActive} false
+ * @param previousSlug the slug before the change if it changed, otherwise null
+ * @author Kapil Garg
+ */
+public record BlogChangedEvent(Blog blog, String previousSlug) {
+}
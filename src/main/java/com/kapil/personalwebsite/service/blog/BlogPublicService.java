@@ -1,7 +1,12 @@
 package com.kapil.personalwebsite.service.blog;
 
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
 import com.kapil.personalwebsite.entity.Blog;
 import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.exception.ReadModelUnavailableException;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,11 +43,33 @@ public interface BlogPublicService {
     Optional<Blog> getPublishedBlogById(String id);
 
     /**
-     * Retrieves all published blogs by category.
+     * Retrieves one page of published blog summaries, newest first.
      *
-     * @param category the blog category
-     * @return a list of published blogs in the specified category
+     * @param category the category to list, or null for all categories
+     * @param after    the cursor returned with the previous page, or null for the first page
+     * @param limit    the maximum number of blogs on the page
+     * @return the page of summaries and the cursor for the next page
      */
-    List<Blog> getPublishedBlogsByCategory(BlogCategory category);
+    BlogSummaryPage getPublishedBlogSummaries(BlogCategory category, BlogCursor after, int limit);
+
+    /**
+     * Searches the published blogs' titles and content.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of results
+     * @return the matching blogs, most relevant first
+     * @throws ReadModelUnavailableException if the search index has not been built yet
+     */
+    List<BlogSearchResult> searchPublishedBlogs(String query, int limit);
+
+    /**
+     * Retrieves the published blogs most related to a published blog.
+     *
+     * @param slug  the slug of the blog
+     * @param limit the maximum number of related blogs
+     * @return an Optional containing the related blogs, most similar first, or empty if the blog is not published
+     * @throws ReadModelUnavailableException if the related lists have not been computed yet
+     */
+    Optional<List<BlogSummary>> getRelatedBlogs(String slug, int limit);
 
 }
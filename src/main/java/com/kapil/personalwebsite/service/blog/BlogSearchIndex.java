@@ -0,0 +1,415 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.ai.util.AiTextUtils;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.entity.Blog;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.*;
+
+/**
+ * Immutable, in-memory BM25 full-text index over the published, active blogs.
+ * Each blog is a document numbered in insertion order; its title and its HTML-stripped content are tokenized
+ * (lowercased, split on anything but letters and digits, stop words dropped, plural {@code s} trimmed), with title
+ * terms counted {@value #TITLE_BOOST} times so they outweigh body terms. Every term maps to a posting list of
+ * document numbers stored as gaps from the previous one, with a parallel array of term frequencies.
+ * <p>
+ * {@link #with(Blog)} returns a new index sharing every posting list the change does not touch: the old version of
+ * the blog is dropped from its own terms' lists, and the new version gets the next document number, so it is simply
+ * appended and the gaps stay positive. Once removed documents outnumber live ones the numbers are compacted by a
+ * full rebuild. Indexes, like {@link PublishedBlogSnapshot}, share the blogs with readers, which must not modify them.
+ *
+ * @author Kapil Garg
+ */
+public final class BlogSearchIndex {
+
+    /**
+     * How many times a title term counts compared to a body term.
+     */
+    static final int TITLE_BOOST = 3;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_LEAD = 60;
+    private static final String ELLIPSIS = "…";
+    private static final String MARK_OPEN = "<mark>";
+    private static final String MARK_CLOSE = "</mark>";
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "how", "if", "in", "into", "is",
+            "it", "its", "of", "on", "or", "so", "that", "the", "their", "then", "there", "these", "this", "to",
+            "was", "were", "what", "when", "which", "who", "why", "will", "with", "you", "your");
+
+    private static final BlogSearchIndex EMPTY = new BlogSearchIndex(Map.of(), new Document[0], Map.of(), 0, 0L);
+
+    private final Map<String, Postings> postings;
+    private final Document[] documents;
+    private final Map<String, Integer> documentsByBlogId;
+    private final int liveDocuments;
+    private final long totalLength;
+
+    private BlogSearchIndex(Map<String, Postings> postings, Document[] documents,
+                            Map<String, Integer> documentsByBlogId, int liveDocuments, long totalLength) {
+        this.postings = postings;
+        this.documents = documents;
+        this.documentsByBlogId = documentsByBlogId;
+        this.liveDocuments = liveDocuments;
+        this.totalLength = totalLength;
+    }
+
+    /**
+     * Builds an index of the published, active blogs among the given ones.
+     *
+     * @param blogs the blogs
+     * @return the index
+     */
+    public static BlogSearchIndex of(Collection<Blog> blogs) {
+        List<Document> listed = blogs.stream()
+                .filter(PublishedBlogSnapshot::isListed)
+                .map(Document::of)
+                .toList();
+        if (listed.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        Map<String, Integer> byBlogId = HashMap.newHashMap(listed.size());
+        Document[] documents = listed.toArray(Document[]::new);
+        long totalLength = 0;
+        for (int number = 0; number < documents.length; number++) {
+            Document document = documents[number];
+            for (int t = 0; t < document.terms().length; t++) {
+                builders.computeIfAbsent(document.terms()[t], term -> new PostingsBuilder())
+                        .add(number, document.frequencies()[t]);
+            }
+            byBlogId.put(document.blog().getId(), number);
+            totalLength += document.length();
+        }
+        Map<String, Postings> postings = HashMap.newHashMap(builders.size());
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+        return new BlogSearchIndex(postings, documents, byBlogId, documents.length, totalLength);
+    }
+
+    /**
+     * Returns an index with the blog replacing any earlier version of it: indexed if it is published and active,
+     * removed otherwise.
+     *
+     * @param blog the changed blog
+     * @return the new index
+     */
+    public BlogSearchIndex with(Blog blog) {
+        boolean listed = PublishedBlogSnapshot.isListed(blog);
+        Integer previous = documentsByBlogId.get(blog.getId());
+        if (previous == null && !listed) {
+            return this;
+        }
+        Map<String, Postings> changedPostings = new HashMap<>(postings);
+        Map<String, Integer> changedByBlogId = new HashMap<>(documentsByBlogId);
+        Document[] changedDocuments = Arrays.copyOf(documents, documents.length + (listed ? 1 : 0));
+        int live = liveDocuments;
+        long length = totalLength;
+        if (previous != null) {
+            Document removed = documents[previous];
+            for (String term : removed.terms()) {
+                Postings remaining = changedPostings.get(term).without(previous);
+                if (remaining == null) {
+                    changedPostings.remove(term);
+                } else {
+                    changedPostings.put(term, remaining);
+                }
+            }
+            changedDocuments[previous] = null;
+            changedByBlogId.remove(blog.getId());
+            live--;
+            length -= removed.length();
+        }
+        if (listed) {
+            int number = documents.length;
+            Document added = Document.of(blog);
+            for (int t = 0; t < added.terms().length; t++) {
+                Postings existing = changedPostings.get(added.terms()[t]);
+                changedPostings.put(added.terms()[t], existing == null
+                        ? new PostingsBuilder().add(number, added.frequencies()[t]).build()
+                        : existing.append(number, added.frequencies()[t]));
+            }
+            changedDocuments[number] = added;
+            changedByBlogId.put(blog.getId(), number);
+            live++;
+            length += added.length();
+        }
+        if (changedDocuments.length > 2 * live + 64) {
+            return of(Arrays.stream(changedDocuments).filter(Objects::nonNull).map(Document::blog).toList());
+        }
+        return new BlogSearchIndex(changedPostings, changedDocuments, changedByBlogId, live, length);
+    }
+
+    /**
+     * Finds the blogs best matching a free-text query, scored with BM25 over the query's terms.
+     *
+     * @param query the query text
+     * @param limit the maximum number of results
+     * @return the results, most relevant first; empty if the query has no searchable terms
+     */
+    public List<BlogSearchResult> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || liveDocuments == 0) {
+            return List.of();
+        }
+        double averageLength = (double) totalLength / liveDocuments;
+        double[] scores = new double[documents.length];
+        int[] matched = new int[documents.length];
+        int matchedCount = 0;
+        int scoredTerms = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            if (++scoredTerms > MAX_QUERY_TERMS) {
+                break;
+            }
+            double idf = Math.log(1 + (liveDocuments - list.size() + 0.5) / (list.size() + 0.5));
+            int number = 0;
+            for (int i = 0; i < list.size(); i++) {
+                number += list.gaps()[i];
+                int frequency = list.frequencies()[i];
+                double norm = K1 * (1 - B + B * documents[number].length() / averageLength);
+                if (scores[number] == 0) {
+                    matched[matchedCount++] = number;
+                }
+                scores[number] += idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, Comparator
+                .comparingDouble((Integer number) -> scores[number])
+                .thenComparingInt(number -> number));
+        for (int i = 0; i < matchedCount; i++) {
+            top.add(matched[i]);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<BlogSearchResult> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int number = top.poll();
+            results.add(documents[number].result(scores[number], terms));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Returns the number of indexed blogs.
+     *
+     * @return the size
+     */
+    public int size() {
+        return liveDocuments;
+    }
+
+    /**
+     * Splits text into normalized, searchable terms in order of appearance.
+     *
+     * @param text the text
+     * @return the terms, repeated as often as they occur
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = normalize(text.substring(start, i));
+                if (term != null) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns a blog's content as plain text: tags stripped and entities decoded.
+     *
+     * @param blog the blog
+     * @return the text
+     */
+    static String plainText(Blog blog) {
+        return HtmlUtils.htmlUnescape(AiTextUtils.stripHtmlTags(blog.getContent()));
+    }
+
+    /**
+     * Lowercases a word and trims a plural {@code s}, returning null for stop words and single characters.
+     */
+    private static String normalize(String word) {
+        String term = word.toLowerCase(Locale.ROOT);
+        if (term.length() < 2 || STOP_WORDS.contains(term)) {
+            return null;
+        }
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+            term = term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+
+    /**
+     * Builds an HTML-escaped excerpt of the text around the first matching word, with every matching word marked.
+     *
+     * @param text  the plain text
+     * @param terms the normalized query terms
+     * @return the snippet
+     */
+    static String snippet(String text, Set<String> terms) {
+        int firstMatch = -1;
+        for (int i = 0, start = -1; i <= text.length() && firstMatch < 0; i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (terms.contains(normalize(text.substring(start, i)))) {
+                    firstMatch = start;
+                }
+                start = -1;
+            }
+        }
+        int from = firstMatch <= SNIPPET_LEAD ? 0 : wordStart(text, firstMatch - SNIPPET_LEAD);
+        int to = Math.min(text.length(), from + SNIPPET_LENGTH);
+        if (to < text.length()) {
+            int lastSpace = text.lastIndexOf(' ', to);
+            to = lastSpace > from ? lastSpace : to;
+        }
+        StringBuilder snippet = new StringBuilder(to - from + 32);
+        if (from > 0) {
+            snippet.append(ELLIPSIS);
+        }
+        int plain = from;
+        for (int i = from, start = -1; i <= to; i++) {
+            boolean wordChar = i < to && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (terms.contains(normalize(text.substring(start, i)))) {
+                    snippet.append(HtmlUtils.htmlEscape(text.substring(plain, start)))
+                            .append(MARK_OPEN)
+                            .append(HtmlUtils.htmlEscape(text.substring(start, i)))
+                            .append(MARK_CLOSE);
+                    plain = i;
+                }
+                start = -1;
+            }
+        }
+        snippet.append(HtmlUtils.htmlEscape(text.substring(plain, to)));
+        if (to < text.length()) {
+            snippet.append(ELLIPSIS);
+        }
+        return snippet.toString();
+    }
+
+    private static int wordStart(String text, int index) {
+        int space = text.indexOf(' ', index);
+        return space < 0 ? index : space + 1;
+    }
+
+    /**
+     * An indexed blog.
+     *
+     * @param blog        the blog
+     * @param text        the content as plain text, for snippets
+     * @param terms       the distinct terms of the title and content
+     * @param frequencies the weighted frequency of each term, title occurrences counting {@value #TITLE_BOOST} times
+     * @param length      the weighted number of terms
+     */
+    private record Document(Blog blog, String text, String[] terms, int[] frequencies, int length) {
+
+        static Document of(Blog blog) {
+            String text = plainText(blog);
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            List<String> titleTerms = tokenize(blog.getTitle());
+            List<String> bodyTerms = tokenize(text);
+            titleTerms.forEach(term -> counts.merge(term, TITLE_BOOST, Integer::sum));
+            bodyTerms.forEach(term -> counts.merge(term, 1, Integer::sum));
+            String[] terms = counts.keySet().toArray(String[]::new);
+            int[] frequencies = counts.values().stream().mapToInt(Integer::intValue).toArray();
+            return new Document(blog, text, terms, frequencies, titleTerms.size() * TITLE_BOOST + bodyTerms.size());
+        }
+
+        BlogSearchResult result(double score, Set<String> queryTerms) {
+            return new BlogSearchResult(blog.getId(), blog.getTitle(), blog.getSlug(), blog.getExcerpt(),
+                    blog.getFeaturedImage(), blog.getPublishedAt(), blog.getCategory(), score,
+                    snippet(text, queryTerms));
+        }
+
+    }
+
+    /**
+     * The documents containing a term, as gaps between ascending document numbers (the first gap being the first
+     * number), with the term's weighted frequency in each.
+     *
+     * @param gaps        the document number gaps
+     * @param frequencies the term frequency per document
+     * @param last        the last document number, to append after
+     */
+    private record Postings(int[] gaps, int[] frequencies, int last) {
+
+        int size() {
+            return gaps.length;
+        }
+
+        Postings append(int number, int frequency) {
+            int[] newGaps = Arrays.copyOf(gaps, gaps.length + 1);
+            int[] newFrequencies = Arrays.copyOf(frequencies, frequencies.length + 1);
+            newGaps[gaps.length] = number - last;
+            newFrequencies[frequencies.length] = frequency;
+            return new Postings(newGaps, newFrequencies, number);
+        }
+
+        Postings without(int removed) {
+            PostingsBuilder builder = new PostingsBuilder();
+            int number = 0;
+            for (int i = 0; i < gaps.length; i++) {
+                number += gaps[i];
+                if (number != removed) {
+                    builder.add(number, frequencies[i]);
+                }
+            }
+            return builder.size == 0 ? null : builder.build();
+        }
+
+    }
+
+    /**
+     * Accumulates a posting list from ascending document numbers.
+     */
+    private static final class PostingsBuilder {
+
+        private int[] gaps = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int last;
+
+        PostingsBuilder add(int number, int frequency) {
+            if (size == gaps.length) {
+                gaps = Arrays.copyOf(gaps, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            gaps[size] = number - last;
+            frequencies[size] = frequency;
+            last = number;
+            size++;
+            return this;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(gaps, size), Arrays.copyOf(frequencies, size), last);
+        }
+
+    }
+
+}
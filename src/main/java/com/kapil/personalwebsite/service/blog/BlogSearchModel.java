@@ -0,0 +1,126 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current {@link BlogSearchIndex} that public blog search is served from.
+ * The index is built once the application is ready, from the {@link PublishedBlogReadModel} snapshot when it has
+ * loaded or from Mongo otherwise, updated incrementally after every committed {@link BlogChangedEvent}, and rebuilt
+ * whenever the read model's periodic reload has swapped in a snapshot the index was not built from. Until the first
+ * build succeeds {@link #current()} returns null, searches are refused, and the build is retried every
+ * {@value #RETRY_SECONDS} seconds.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class BlogSearchModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlogSearchModel.class);
+
+    /**
+     * How often a failed first build is retried, and how long callers are asked to wait meanwhile.
+     */
+    public static final long RETRY_SECONDS = 5;
+
+    private final PublishedBlogReadModel readModel;
+    private final BlogRepository blogRepository;
+    private volatile BlogSearchIndex index;
+    private PublishedBlogSnapshot indexedSnapshot;
+
+    public BlogSearchModel(PublishedBlogReadModel readModel, BlogRepository blogRepository) {
+        this.readModel = readModel;
+        this.blogRepository = blogRepository;
+    }
+
+    /**
+     * Returns the current index.
+     *
+     * @return the index, or null if it has not been built yet
+     */
+    public BlogSearchIndex current() {
+        return index;
+    }
+
+    /**
+     * Builds the index once the application is ready, after the read model has loaded.
+     */
+    @Order(60)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuildQuietly();
+    }
+
+    /**
+     * Rebuilds the index if the read model has reloaded its snapshot since the index was built.
+     */
+    @Scheduled(fixedDelayString = "${blog.read-model.refresh-seconds:300}",
+            initialDelayString = "${blog.read-model.refresh-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledRebuild() {
+        PublishedBlogSnapshot snapshot = readModel.current();
+        if (index == null || (snapshot != null && snapshot != indexedSnapshot)) {
+            rebuildQuietly();
+        }
+    }
+
+    /**
+     * Retries the build until the first one succeeds, so a Mongo outage at startup does not leave search down until
+     * the next periodic rebuild.
+     */
+    @Scheduled(fixedDelay = RETRY_SECONDS, initialDelay = RETRY_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void retryUntilBuilt() {
+        if (index == null) {
+            rebuildQuietly();
+        }
+    }
+
+    /**
+     * Applies a committed blog change to the index, after the read model has applied it to its snapshot.
+     *
+     * @param event the blog change
+     */
+    @Order(60)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBlogChanged(BlogChangedEvent event) {
+        BlogSearchIndex current = index;
+        if (current == null) {
+            rebuildQuietly();
+            return;
+        }
+        index = current.with(event.blog());
+        indexedSnapshot = readModel.current();
+        LOGGER.debug("Blog search index updated for blog {}: {} indexed blogs", event.blog().getId(), index.size());
+    }
+
+    /**
+     * Replaces the index with one built from the read model's snapshot, or from Mongo if it has none.
+     */
+    public synchronized void rebuild() {
+        PublishedBlogSnapshot snapshot = readModel.current();
+        index = BlogSearchIndex.of(snapshot != null
+                ? snapshot.all()
+                : blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED));
+        indexedSnapshot = snapshot;
+        LOGGER.debug("Blog search index built: {} indexed blogs", index.size());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to build blog search index; serving the previous one, or rejecting searches until "
+                    + "one is built: {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current {@link PublishedBlogSnapshot} that public blog reads are served from.
+ * The snapshot is loaded from Mongo once the application is ready, patched and swapped after every committed
+ * {@link BlogChangedEvent}, and reloaded in full every {@code blog.read-model.refresh-seconds} so that changes made
+ * through another replica, and view counts, catch up. Until the first load succeeds {@link #current()} returns null
+ * and callers fall back to Mongo.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class PublishedBlogReadModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublishedBlogReadModel.class);
+
+    private final BlogRepository blogRepository;
+    private volatile PublishedBlogSnapshot snapshot;
+
+    public PublishedBlogReadModel(BlogRepository blogRepository) {
+        this.blogRepository = blogRepository;
+    }
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return the snapshot, or null if it has not been loaded yet
+     */
+    public PublishedBlogSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Loads the snapshot as soon as the application is ready.
+     */
+    @Order(50)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reloadQuietly();
+    }
+
+    /**
+     * Reloads the snapshot from Mongo periodically.
+     */
+    @Scheduled(fixedDelayString = "${blog.read-model.refresh-seconds:300}",
+            initialDelayString = "${blog.read-model.refresh-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledReload() {
+        reloadQuietly();
+    }
+
+    /**
+     * Applies a committed blog change to the snapshot without a database round trip.
+     * Serialized with reloads, so a reload that read Mongo before the change committed cannot overwrite it.
+     *
+     * @param event the blog change
+     */
+    @Order(50)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBlogChanged(BlogChangedEvent event) {
+        PublishedBlogSnapshot current = snapshot;
+        if (current == null) {
+            reloadQuietly();
+            return;
+        }
+        snapshot = current.with(event.blog());
+        LOGGER.debug("Published blog snapshot updated for blog {}: {} published blogs", event.blog().getId(),
+                snapshot.size());
+    }
+
+    /**
+     * Replaces the snapshot with one freshly loaded from Mongo.
+     */
+    public synchronized void reload() {
+        snapshot = PublishedBlogSnapshot.of(
+                blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED));
+        LOGGER.debug("Published blog snapshot loaded: {} published blogs", snapshot.size());
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to load published blog snapshot; serving the previous one or Mongo: {}",
+                    e.getMessage());
+        }
+    }
+
+}
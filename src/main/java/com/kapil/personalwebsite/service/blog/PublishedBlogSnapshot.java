@@ -0,0 +1,183 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.entity.BlogStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable, in-memory view of every published, active blog.
+ * Holds the blogs ordered by publishedAt then ID, newest first (the order of the public listing), a slug and an ID
+ * hash index, and each blog's {@link BlogSummary} precomputed, both overall and per category in the same order.
+ * <p>
+ * A change produces a new snapshot through {@link #with(Blog)} rather than mutating this one, so readers
+ * holding a snapshot always see a consistent set of blogs. The blogs themselves are shared with readers and must
+ * not be modified.
+ *
+ * @author Kapil Garg
+ */
+public final class PublishedBlogSnapshot {
+
+    private static final Comparator<LocalDateTime> DATE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<String> ID_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Listing order: publishedAt descending with blogs lacking one last, then ID descending.
+     */
+    static final Comparator<Blog> LISTING_ORDER = (a, b) ->
+            compareKeys(a.getPublishedAt(), a.getId(), b.getPublishedAt(), b.getId());
+
+    private static final PublishedBlogSnapshot EMPTY = new PublishedBlogSnapshot(List.of());
+
+    private final List<Blog> blogs;
+    private final List<BlogSummary> summaries;
+    private final Map<String, Blog> bySlug;
+    private final Map<String, Blog> byId;
+    private final Map<BlogCategory, List<BlogSummary>> summariesByCategory;
+
+    private PublishedBlogSnapshot(List<Blog> sortedBlogs) {
+        this.blogs = List.copyOf(sortedBlogs);
+        this.summaries = blogs.stream().map(BlogSummary::of).toList();
+        Map<String, Blog> slugs = HashMap.newHashMap(blogs.size());
+        Map<String, Blog> ids = HashMap.newHashMap(blogs.size());
+        Map<BlogCategory, List<BlogSummary>> categorySummaries = new EnumMap<>(BlogCategory.class);
+        for (int i = 0; i < blogs.size(); i++) {
+            Blog blog = blogs.get(i);
+            slugs.put(blog.getSlug(), blog);
+            ids.put(blog.getId(), blog);
+            if (blog.getCategory() != null) {
+                categorySummaries.computeIfAbsent(blog.getCategory(), c -> new ArrayList<>()).add(summaries.get(i));
+            }
+        }
+        this.bySlug = Collections.unmodifiableMap(slugs);
+        this.byId = Collections.unmodifiableMap(ids);
+        categorySummaries.replaceAll((category, list) -> List.copyOf(list));
+        this.summariesByCategory = Collections.unmodifiableMap(categorySummaries);
+    }
+
+    /**
+     * Builds a snapshot from blogs in any order, keeping only the published, active ones.
+     *
+     * @param blogs the blogs
+     * @return the snapshot
+     */
+    public static PublishedBlogSnapshot of(Collection<Blog> blogs) {
+        if (blogs.isEmpty()) {
+            return EMPTY;
+        }
+        return new PublishedBlogSnapshot(blogs.stream()
+                .filter(PublishedBlogSnapshot::isListed)
+                .sorted(LISTING_ORDER)
+                .toList());
+    }
+
+    /**
+     * Returns a snapshot with the blog replacing any earlier version of it: added or moved if it is published and
+     * active, removed otherwise.
+     *
+     * @param blog the changed blog
+     * @return the new snapshot
+     */
+    public PublishedBlogSnapshot with(Blog blog) {
+        List<Blog> changed = new ArrayList<>(blogs.size() + 1);
+        for (Blog existing : blogs) {
+            if (!Objects.equals(existing.getId(), blog.getId())) {
+                changed.add(existing);
+            }
+        }
+        if (isListed(blog)) {
+            int index = Collections.binarySearch(changed, blog, LISTING_ORDER);
+            changed.add(index < 0 ? -index - 1 : index, blog);
+        }
+        return new PublishedBlogSnapshot(changed);
+    }
+
+    static boolean isListed(Blog blog) {
+        return blog.getStatus() == BlogStatus.PUBLISHED && Boolean.TRUE.equals(blog.getIsActive());
+    }
+
+    /**
+     * Returns all published blogs, newest first.
+     *
+     * @return the blogs
+     */
+    public List<Blog> all() {
+        return blogs;
+    }
+
+    /**
+     * Finds a published blog by its slug.
+     *
+     * @param slug the slug
+     * @return the blog, or empty
+     */
+    public Optional<Blog> bySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    /**
+     * Finds a published blog by its ID.
+     *
+     * @param id the ID
+     * @return the blog, or empty
+     */
+    public Optional<Blog> byId(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /**
+     * Returns one page of summaries after the cursor, locating the cursor by binary search.
+     *
+     * @param category the category to list, or null for all categories
+     * @param after    the cursor of the last blog already returned, or null for the first page
+     * @param limit    the maximum number of blogs on the page
+     * @return the page and the cursor for the next one
+     */
+    public BlogSummaryPage summaries(BlogCategory category, BlogCursor after, int limit) {
+        List<BlogSummary> listing = category == null
+                ? summaries
+                : summariesByCategory.getOrDefault(category, List.of());
+        int from = after == null ? 0 : firstAfter(listing, after);
+        int to = Math.min(listing.size(), from + limit);
+        List<BlogSummary> page = listing.subList(from, to);
+        return new BlogSummaryPage(page, to < listing.size() ? page.getLast().cursor() : null);
+    }
+
+    /**
+     * Returns the index of the first summary that comes after the cursor in listing order.
+     */
+    private static int firstAfter(List<BlogSummary> listing, BlogCursor after) {
+        int low = 0;
+        int high = listing.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            BlogSummary summary = listing.get(mid);
+            if (compareKeys(summary.publishedAt(), summary.id(), after.publishedAt(), after.id()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareKeys(LocalDateTime publishedAt1, String id1, LocalDateTime publishedAt2, String id2) {
+        int byDate = DATE_ORDER.compare(publishedAt2, publishedAt1);
+        return byDate != 0 ? byDate : ID_ORDER.compare(id2, id1);
+    }
+
+    /**
+     * Returns the number of published blogs.
+     *
+     * @return the size
+     */
+    public int size() {
+        return blogs.size();
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.entity.Blog;
+
+import java.util.*;
+
+/**
+ * Immutable, precomputed "related posts" lists for every published, active blog.
+ * Each blog is turned into an L2-normalized vector, either its embedding or a TF-IDF vector of its title and content
+ * (tokenized as {@link BlogSearchIndex} does, title terms boosted), every pair of blogs is compared by cosine
+ * similarity, and each blog keeps the summaries of its most similar neighbours above a minimum similarity. Serving
+ * the related posts of a blog is then a single map lookup.
+ *
+ * @author Kapil Garg
+ */
+public final class RelatedBlogsIndex {
+
+    private final Map<String, List<BlogSummary>> relatedByBlogId;
+    private final String method;
+
+    private RelatedBlogsIndex(Map<String, List<BlogSummary>> relatedByBlogId, String method) {
+        this.relatedByBlogId = relatedByBlogId;
+        this.method = method;
+    }
+
+    /**
+     * Builds the related lists from blog embeddings. Blogs without an embedding have no related posts and are
+     * nobody's related post.
+     *
+     * @param blogs         the blogs
+     * @param embeddings    the embedding by blog ID
+     * @param size          the number of related posts to keep per blog
+     * @param minSimilarity the cosine similarity below which posts are not related
+     * @return the index
+     */
+    public static RelatedBlogsIndex fromEmbeddings(Collection<Blog> blogs, Map<String, float[]> embeddings,
+                                                   int size, double minSimilarity) {
+        List<Blog> listed = listed(blogs);
+        List<Vector> vectors = new ArrayList<>(listed.size());
+        for (Blog blog : listed) {
+            float[] embedding = embeddings.get(blog.getId());
+            vectors.add(embedding == null ? null : Vector.dense(embedding));
+        }
+        return build(listed, vectors, size, minSimilarity, "embeddings");
+    }
+
+    /**
+     * Builds the related lists from TF-IDF vectors of the blogs' titles and content, weighting each term by
+     * {@code (1 + ln tf) * ln(N / df)}.
+     *
+     * @param blogs         the blogs
+     * @param size          the number of related posts to keep per blog
+     * @param minSimilarity the cosine similarity below which posts are not related
+     * @return the index
+     */
+    public static RelatedBlogsIndex fromTermVectors(Collection<Blog> blogs, int size, double minSimilarity) {
+        List<Blog> listed = listed(blogs);
+        Map<String, Integer> termIds = new HashMap<>();
+        List<Map<Integer, Integer>> counts = new ArrayList<>(listed.size());
+        int[] documentFrequencies = new int[16];
+        for (Blog blog : listed) {
+            Map<Integer, Integer> blogCounts = new HashMap<>();
+            for (String term : BlogSearchIndex.tokenize(blog.getTitle())) {
+                blogCounts.merge(termIds.computeIfAbsent(term, t -> termIds.size()), BlogSearchIndex.TITLE_BOOST,
+                        Integer::sum);
+            }
+            for (String term : BlogSearchIndex.tokenize(BlogSearchIndex.plainText(blog))) {
+                blogCounts.merge(termIds.computeIfAbsent(term, t -> termIds.size()), 1, Integer::sum);
+            }
+            if (termIds.size() > documentFrequencies.length) {
+                documentFrequencies = Arrays.copyOf(documentFrequencies,
+                        Math.max(termIds.size(), documentFrequencies.length * 2));
+            }
+            for (int termId : blogCounts.keySet()) {
+                documentFrequencies[termId]++;
+            }
+            counts.add(blogCounts);
+        }
+        List<Vector> vectors = new ArrayList<>(listed.size());
+        for (Map<Integer, Integer> blogCounts : counts) {
+            int[] indices = blogCounts.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            double[] weights = new double[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                weights[i] = (1 + Math.log(blogCounts.get(indices[i])))
+                        * Math.log((double) listed.size() / documentFrequencies[indices[i]]);
+            }
+            vectors.add(Vector.sparse(indices, weights));
+        }
+        return build(listed, vectors, size, minSimilarity, "tf-idf");
+    }
+
+    private static List<Blog> listed(Collection<Blog> blogs) {
+        return blogs.stream()
+                .filter(PublishedBlogSnapshot::isListed)
+                .sorted(PublishedBlogSnapshot.LISTING_ORDER)
+                .toList();
+    }
+
+    /**
+     * Compares every pair of blogs once, keeping a bounded min-heap of the best neighbours per blog.
+     * Ties go to the newer post.
+     */
+    private static RelatedBlogsIndex build(List<Blog> blogs, List<Vector> vectors, int size, double minSimilarity,
+                                           String method) {
+        Comparator<Neighbour> worstFirst = Comparator.comparingDouble(Neighbour::similarity)
+                .thenComparing(Comparator.comparingInt(Neighbour::index).reversed());
+        List<PriorityQueue<Neighbour>> neighbours = new ArrayList<>(blogs.size());
+        for (int i = 0; i < blogs.size(); i++) {
+            neighbours.add(new PriorityQueue<>(size + 1, worstFirst));
+        }
+        for (int i = 0; i < blogs.size(); i++) {
+            Vector a = vectors.get(i);
+            if (a == null) {
+                continue;
+            }
+            for (int j = i + 1; j < blogs.size(); j++) {
+                Vector b = vectors.get(j);
+                if (b == null) {
+                    continue;
+                }
+                double similarity = a.dot(b);
+                if (similarity >= minSimilarity) {
+                    offer(neighbours.get(i), new Neighbour(j, similarity), size);
+                    offer(neighbours.get(j), new Neighbour(i, similarity), size);
+                }
+            }
+        }
+        Map<String, List<BlogSummary>> related = HashMap.newHashMap(blogs.size());
+        for (int i = 0; i < blogs.size(); i++) {
+            PriorityQueue<Neighbour> heap = neighbours.get(i);
+            BlogSummary[] summaries = new BlogSummary[heap.size()];
+            for (int k = summaries.length - 1; k >= 0; k--) {
+                summaries[k] = BlogSummary.of(blogs.get(heap.poll().index()));
+            }
+            related.put(blogs.get(i).getId(), List.of(summaries));
+        }
+        return new RelatedBlogsIndex(Collections.unmodifiableMap(related), method);
+    }
+
+    private static void offer(PriorityQueue<Neighbour> heap, Neighbour neighbour, int size) {
+        heap.add(neighbour);
+        if (heap.size() > size) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * Returns the posts most related to a blog, most similar first.
+     *
+     * @param blogId the blog ID
+     * @param limit  the maximum number of posts
+     * @return the related posts, or an empty list if the blog is not indexed
+     */
+    public List<BlogSummary> related(String blogId, int limit) {
+        List<BlogSummary> related = relatedByBlogId.getOrDefault(blogId, List.of());
+        return related.size() <= limit ? related : related.subList(0, limit);
+    }
+
+    /**
+     * Returns how the similarities were computed, for logging.
+     *
+     * @return {@code embeddings} or {@code tf-idf}
+     */
+    public String method() {
+        return method;
+    }
+
+    /**
+     * Returns the number of indexed blogs.
+     *
+     * @return the size
+     */
+    public int size() {
+        return relatedByBlogId.size();
+    }
+
+    /**
+     * A candidate related post: its position in the blog list and its similarity.
+     */
+    private record Neighbour(int index, double similarity) {
+    }
+
+    /**
+     * An L2-normalized vector stored as ascending dimension indices and their values, so sparse TF-IDF vectors and
+     * dense embeddings share one dot product.
+     *
+     * @param indices the dimensions with a non-zero value, ascending
+     * @param values  the value of each dimension
+     */
+    private record Vector(int[] indices, float[] values) {
+
+        static Vector dense(float[] embedding) {
+            int[] indices = new int[embedding.length];
+            double[] values = new double[embedding.length];
+            for (int d = 0; d < embedding.length; d++) {
+                indices[d] = d;
+                values[d] = embedding[d];
+            }
+            return sparse(indices, values);
+        }
+
+        /**
+         * Normalizes the values, returning null for a zero vector, which is similar to nothing.
+         */
+        static Vector sparse(int[] indices, double[] values) {
+            double norm = 0;
+            for (double value : values) {
+                norm += value * value;
+            }
+            if (norm == 0) {
+                return null;
+            }
+            norm = Math.sqrt(norm);
+            float[] normalized = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                normalized[i] = (float) (values[i] / norm);
+            }
+            return new Vector(indices, normalized);
+        }
+
+        double dot(Vector other) {
+            double dot = 0;
+            int i = 0;
+            int j = 0;
+            while (i < indices.length && j < other.indices.length) {
+                int a = indices[i];
+                int b = other.indices[j];
+                if (a == b) {
+                    dot += (double) values[i++] * other.values[j++];
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return dot;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.ai.vector.BlogEmbeddingService;
+import com.kapil.personalwebsite.config.RelatedBlogsProperties;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the current {@link RelatedBlogsIndex} that related posts are served from.
+ * A TF-IDF index is computed as soon as the application is ready, which needs no network calls; after that the index
+ * is recomputed by a background job, never on the request path: committed {@link BlogChangedEvent}s only mark it
+ * stale, and the job, running every {@code blog.related.recompute-millis}, recomputes it once per burst of changes,
+ * as well as when the {@link PublishedBlogReadModel} reload brings in title, content or publication changes made
+ * through another replica. When embeddings are enabled the job's first run upgrades the startup index to blog chunk
+ * embedding similarities; TF-IDF remains the fallback when embedding fails. Until an index exists
+ * {@link #current()} returns null and related posts are refused.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class RelatedBlogsModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelatedBlogsModel.class);
+
+    private final PublishedBlogReadModel readModel;
+    private final BlogRepository blogRepository;
+    private final ObjectProvider<BlogEmbeddingService> blogEmbeddingService;
+    private final RelatedBlogsProperties properties;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile RelatedBlogsIndex index;
+    private PublishedBlogSnapshot checkedSnapshot;
+    private long indexedFingerprint;
+
+    public RelatedBlogsModel(PublishedBlogReadModel readModel, BlogRepository blogRepository,
+                             ObjectProvider<BlogEmbeddingService> blogEmbeddingService,
+                             RelatedBlogsProperties properties) {
+        this.readModel = readModel;
+        this.blogRepository = blogRepository;
+        this.blogEmbeddingService = blogEmbeddingService;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the current index.
+     *
+     * @return the index, or null if it has not been computed yet
+     */
+    public RelatedBlogsIndex current() {
+        return index;
+    }
+
+    /**
+     * Returns how long callers should wait before asking again while {@link #current()} is null: one run of the
+     * background job, rounded up to a whole second.
+     *
+     * @return the retry delay in seconds
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (properties.recomputeMillis() + 999) / 1000);
+    }
+
+    /**
+     * Computes a TF-IDF index once the application is ready, after the read model has loaded, leaving the index
+     * stale when embeddings are available so the background job upgrades it.
+     */
+    @Order(70)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onReady() {
+        try {
+            recompute(false);
+            stale.set(blogEmbeddingService.getIfAvailable() != null);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to compute related blogs at startup; retrying in the background: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Marks the related posts stale after a committed blog change; the background job recomputes them.
+     *
+     * @param event the blog change
+     */
+    @Order(70)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Recomputes the related posts if a blog has changed since they were computed.
+     */
+    @Scheduled(fixedDelayString = "${blog.related.recompute-millis:5000}",
+            initialDelayString = "${blog.related.recompute-millis:5000}")
+    public synchronized void recomputeIfStale() {
+        PublishedBlogSnapshot snapshot = readModel.current();
+        boolean reloaded = snapshot != null && snapshot != checkedSnapshot
+                && fingerprint(snapshot.all()) != indexedFingerprint;
+        checkedSnapshot = snapshot;
+        if (stale.getAndSet(false) || reloaded) {
+            try {
+                recompute();
+            } catch (RuntimeException e) {
+                stale.set(true);
+                LOGGER.warn("Failed to compute related blogs; serving the previous ones: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces the index with one computed from the read model's snapshot, or from Mongo if it has none, using
+     * embeddings when they are available.
+     */
+    public synchronized void recompute() {
+        recompute(true);
+    }
+
+    private void recompute(boolean useEmbeddings) {
+        PublishedBlogSnapshot snapshot = readModel.current();
+        List<Blog> blogs = snapshot != null
+                ? snapshot.all()
+                : blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED);
+        RelatedBlogsIndex computed = null;
+        BlogEmbeddingService embeddings = useEmbeddings ? blogEmbeddingService.getIfAvailable() : null;
+        if (embeddings != null) {
+            try {
+                Map<String, float[]> vectors = embeddings.embedBlogs(blogs);
+                computed = RelatedBlogsIndex.fromEmbeddings(blogs, vectors, properties.size(),
+                        properties.minSimilarity());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Blog embedding failed; computing related blogs from TF-IDF instead: {}", e.getMessage());
+            }
+        }
+        if (computed == null) {
+            computed = RelatedBlogsIndex.fromTermVectors(blogs, properties.size(), properties.minSimilarity());
+        }
+        index = computed;
+        indexedFingerprint = fingerprint(blogs);
+        checkedSnapshot = snapshot;
+        LOGGER.debug("Related blogs computed from {} for {} blogs", computed.method(), computed.size());
+    }
+
+    /**
+     * Hashes what the related posts depend on, so a reload that only changed view counts does not recompute them.
+     */
+    private static long fingerprint(List<Blog> blogs) {
+        long hash = 1;
+        for (Blog blog : blogs) {
+            hash = 31 * hash + Objects.hash(blog.getId(), blog.getSlug(), blog.getTitle(), blog.getUpdatedAt());
+        }
+        return hash;
+    }
+
+}
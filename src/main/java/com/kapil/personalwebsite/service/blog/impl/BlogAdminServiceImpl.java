@@ -8,9 +8,11 @@ import com.kapil.personalwebsite.exception.BlogNotFoundException;
 import com.kapil.personalwebsite.exception.BlogSlugAlreadyExistsException;
 import com.kapil.personalwebsite.repository.BlogRepository;
 import com.kapil.personalwebsite.service.blog.BlogAdminService;
+import com.kapil.personalwebsite.service.blog.BlogChangedEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,7 @@ public class BlogAdminServiceImpl implements BlogAdminService {
     private static final Logger LOGGER = LoggerFactory.getLogger(BlogAdminServiceImpl.class);
 
     private final BlogRepository blogRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Calculates estimated reading time based on word count at 200 words per minute.
@@ -105,7 +108,7 @@ public class BlogAdminServiceImpl implements BlogAdminService {
         blog.setFeaturedImage(request.featuredImage());
         blog.setCategory(request.category());
         blog.setReadingTime(calculateReadingTime(request.content()));
-        return blogRepository.save(blog);
+        return saveAndPublish(blog, null);
     }
 
     /**
@@ -120,8 +123,9 @@ public class BlogAdminServiceImpl implements BlogAdminService {
         LOGGER.info("Updating blog: {}", id);
         return blogRepository.findByIdAndIsActiveTrue(id)
                 .map(existingBlog -> {
+                    String previousSlug = existingBlog.getSlug();
                     applyUpdateRequest(existingBlog, request);
-                    return blogRepository.save(existingBlog);
+                    return saveAndPublish(existingBlog, previousSlug);
                 })
                 .orElseThrow(() -> new BlogNotFoundException("Blog with ID '" + id + "' not found"));
     }
@@ -137,7 +141,7 @@ public class BlogAdminServiceImpl implements BlogAdminService {
         Blog blog = blogRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new BlogNotFoundException("Blog with ID '" + id + "' not found"));
         blog.setIsActive(false);
-        blogRepository.save(blog);
+        saveAndPublish(blog, null);
     }
 
     /**
@@ -153,7 +157,7 @@ public class BlogAdminServiceImpl implements BlogAdminService {
                 .orElseThrow(() -> new BlogNotFoundException("Blog with ID '" + id + "' not found"));
         blog.setStatus(BlogStatus.PUBLISHED);
         blog.setPublishedAt(LocalDateTime.now());
-        return blogRepository.save(blog);
+        return saveAndPublish(blog, null);
     }
 
     /**
@@ -169,7 +173,21 @@ public class BlogAdminServiceImpl implements BlogAdminService {
                 .orElseThrow(() -> new BlogNotFoundException("Blog with ID '" + id + "' not found"));
         blog.setStatus(BlogStatus.DRAFT);
         blog.setPublishedAt(null);
-        return blogRepository.save(blog);
+        return saveAndPublish(blog, null);
+    }
+
+    /**
+     * Saves a blog and announces the change, to be delivered to listeners once the transaction commits.
+     *
+     * @param blog         the blog to save
+     * @param previousSlug the slug before the change, or null if the slug was not changed by this call
+     * @return the saved blog
+     */
+    private Blog saveAndPublish(Blog blog, String previousSlug) {
+        Blog saved = blogRepository.save(blog);
+        String changedFrom = previousSlug != null && !previousSlug.equals(saved.getSlug()) ? previousSlug : null;
+        eventPublisher.publishEvent(new BlogChangedEvent(saved, changedFrom));
+        return saved;
     }
 
     /**
@@ -1,10 +1,21 @@
 package com.kapil.personalwebsite.service.blog.impl;
 
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
 import com.kapil.personalwebsite.entity.Blog;
 import com.kapil.personalwebsite.entity.BlogCategory;
 import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.exception.ReadModelUnavailableException;
 import com.kapil.personalwebsite.repository.BlogRepository;
 import com.kapil.personalwebsite.service.blog.BlogPublicService;
+import com.kapil.personalwebsite.service.blog.BlogSearchIndex;
+import com.kapil.personalwebsite.service.blog.BlogSearchModel;
+import com.kapil.personalwebsite.service.blog.PublishedBlogReadModel;
+import com.kapil.personalwebsite.service.blog.PublishedBlogSnapshot;
+import com.kapil.personalwebsite.service.blog.RelatedBlogsIndex;
+import com.kapil.personalwebsite.service.blog.RelatedBlogsModel;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +27,9 @@ import java.util.Optional;
 
 /**
  * Implementation of BlogPublicService for public blog operations.
- * Provides read-only access to published blogs for website visitors.
+ * Provides read-only access to published blogs for website visitors, served from the in-memory
+ * {@link PublishedBlogReadModel} snapshot and from Mongo only until the snapshot has loaded. Searches are served
+ * from the {@link BlogSearchModel} index and related posts from the precomputed {@link RelatedBlogsModel} lists.
  *
  * @author Kapil Garg
  */
@@ -28,6 +41,9 @@ public class BlogPublicServiceImpl implements BlogPublicService {
     private static final Logger LOGGER = LoggerFactory.getLogger(BlogPublicServiceImpl.class);
 
     private final BlogRepository blogRepository;
+    private final PublishedBlogReadModel readModel;
+    private final BlogSearchModel searchModel;
+    private final RelatedBlogsModel relatedModel;
 
     /**
      * Retrieves all published blogs.
@@ -37,6 +53,10 @@ public class BlogPublicServiceImpl implements BlogPublicService {
     @Override
     public List<Blog> getPublishedBlogs() {
         LOGGER.debug("Fetching all published blogs for public access");
+        PublishedBlogSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.all();
+        }
         return blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED);
     }
 
@@ -49,6 +69,10 @@ public class BlogPublicServiceImpl implements BlogPublicService {
     @Override
     public Optional<Blog> getPublishedBlogBySlug(String slug) {
         LOGGER.debug("Fetching published blog by slug: {}", slug);
+        PublishedBlogSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.bySlug(slug);
+        }
         return blogRepository.findBySlugAndStatusAndIsActiveTrue(slug, BlogStatus.PUBLISHED);
     }
 
@@ -61,19 +85,75 @@ public class BlogPublicServiceImpl implements BlogPublicService {
     @Override
     public Optional<Blog> getPublishedBlogById(String id) {
         LOGGER.debug("Fetching published blog by ID: {}", id);
+        PublishedBlogSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.byId(id);
+        }
         return blogRepository.findByIdAndStatusAndIsActiveTrue(id, BlogStatus.PUBLISHED);
     }
 
     /**
-     * Retrieves all published blogs by category.
+     * Retrieves one page of published blog summaries, newest first.
+     * Reads one row past the limit to tell whether another page follows.
      *
-     * @param category the blog category
-     * @return a list of published blogs in the specified category
+     * @param category the category to list, or null for all categories
+     * @param after    the cursor returned with the previous page, or null for the first page
+     * @param limit    the maximum number of blogs on the page
+     * @return the page of summaries and the cursor for the next page
      */
     @Override
-    public List<Blog> getPublishedBlogsByCategory(BlogCategory category) {
-        LOGGER.debug("Fetching published blogs by category: {}", category);
-        return blogRepository.findByCategoryAndStatusOrderByPublishedAtDesc(category, BlogStatus.PUBLISHED);
+    public BlogSummaryPage getPublishedBlogSummaries(BlogCategory category, BlogCursor after, int limit) {
+        LOGGER.debug("Fetching published blog summaries: category={}, after={}, limit={}", category, after, limit);
+        PublishedBlogSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            return snapshot.summaries(category, after, limit);
+        }
+        List<BlogSummary> summaries = blogRepository.findPublishedSummaries(category, after, limit + 1);
+        if (summaries.size() <= limit) {
+            return new BlogSummaryPage(summaries, null);
+        }
+        List<BlogSummary> page = summaries.subList(0, limit);
+        return new BlogSummaryPage(List.copyOf(page), page.getLast().cursor());
+    }
+
+    /**
+     * Searches the published blogs' titles and content.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of results
+     * @return the matching blogs, most relevant first
+     * @throws ReadModelUnavailableException if the search index has not been built yet
+     */
+    @Override
+    public List<BlogSearchResult> searchPublishedBlogs(String query, int limit) {
+        LOGGER.debug("Searching published blogs: query={}, limit={}", query, limit);
+        BlogSearchIndex index = searchModel.current();
+        if (index == null) {
+            throw new ReadModelUnavailableException("Blog search", BlogSearchModel.RETRY_SECONDS);
+        }
+        return index.search(query, limit);
+    }
+
+    /**
+     * Retrieves the published blogs most related to a published blog from the precomputed lists.
+     *
+     * @param slug  the slug of the blog
+     * @param limit the maximum number of related blogs
+     * @return an Optional containing the related blogs, most similar first, or empty if the blog is not published
+     * @throws ReadModelUnavailableException if the related lists have not been computed yet
+     */
+    @Override
+    public Optional<List<BlogSummary>> getRelatedBlogs(String slug, int limit) {
+        LOGGER.debug("Fetching related blogs: slug={}, limit={}", slug, limit);
+        Optional<Blog> blog = getPublishedBlogBySlug(slug);
+        if (blog.isEmpty()) {
+            return Optional.empty();
+        }
+        RelatedBlogsIndex index = relatedModel.current();
+        if (index == null) {
+            throw new ReadModelUnavailableException("Related blogs", relatedModel.retryAfterSeconds());
+        }
+        return Optional.of(index.related(blog.get().getId(), limit));
     }
 
 }
@@ -2,10 +2,12 @@ package com.kapil.personalwebsite.service.impl;
 
 import com.kapil.personalwebsite.entity.PersonalInfo;
 import com.kapil.personalwebsite.repository.PersonalInfoRepository;
+import com.kapil.personalwebsite.service.PersonalInfoChangedEvent;
 import com.kapil.personalwebsite.service.PersonalInfoService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class PersonalInfoServiceImpl implements PersonalInfoService {
     private static final Logger LOGGER = LoggerFactory.getLogger(PersonalInfoServiceImpl.class);
 
     private final PersonalInfoRepository personalInfoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Updates the existing PersonalInfo with new values.
@@ -67,12 +70,15 @@ public class PersonalInfoServiceImpl implements PersonalInfoService {
     public PersonalInfo updatePersonalInfo(PersonalInfo personalInfo) {
         LOGGER.info("Updating personal information");
         Optional<PersonalInfo> existing = personalInfoRepository.findFirstByOrderByIdAsc();
+        PersonalInfo saved;
         if (existing.isPresent()) {
             PersonalInfo existingInfo = updatePersonalInfo(personalInfo, existing.get());
-            return personalInfoRepository.save(existingInfo);
+            saved = personalInfoRepository.save(existingInfo);
         } else {
-            return personalInfoRepository.save(personalInfo);
+            saved = personalInfoRepository.save(personalInfo);
         }
+        eventPublisher.publishEvent(new PersonalInfoChangedEvent(saved));
+        return saved;
     }
 
 }
@@ -26,10 +26,12 @@ public final class AppConstants {
     public static final String ACCEPT_LANGUAGE_HEADER = "Accept-Language";
     public static final String CONTENT_TYPE_HEADER = "Content-Type";
     public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String BEARER_PREFIX = "Bearer ";
 
     public static final String X_RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
     public static final String X_RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
     public static final String X_RATE_LIMIT_RESET = "X-RateLimit-Reset";
+    public static final String X_NEXT_CURSOR = "X-Next-Cursor";
 
     public static final String EMAIL_NOT_CONFIGURED = "Email service not configured";
     public static final String SENDER_EMAIL_NOT_CONFIGURED = "Sender email not configured";
@@ -0,0 +1,112 @@
+package com.kapil.personalwebsite.ai.budget;
+
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitProperties;
+import com.kapil.personalwebsite.config.RateLimitStore;
+import com.kapil.personalwebsite.exception.TokenBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AiTokenBudget.
+ *
+ * @author Kapil Garg
+ */
+class AiTokenBudgetTest {
+
+    private static final long CLIENT_KEY = 42L;
+    private static final String SYSTEM_PROMPT = "s".repeat(40);
+    private static final String USER_MESSAGE = "u".repeat(400);
+    private static final int ESTIMATE = (40 + 400) / 4 + 512;
+
+    private final RateLimitStore store = mock(RateLimitStore.class);
+    private final AiTokenBudget budget = new AiTokenBudget(properties(true), store);
+
+    private static RateLimitProperties properties(boolean enabled) {
+        return new RateLimitProperties(null, null, null, null, null, false, null, null, null, null,
+                new RateLimitProperties.TokenBudget(enabled, 10_000, 60, 512, 4));
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RateLimitFilter.CLIENT_KEY_ATTRIBUTE, CLIENT_KEY);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(store.tryAcquire(anyString(), anyLong(), any(), anyInt(), anyLong()))
+                .thenReturn(new RateLimitFilter.RateLimitCheckResult(true, 9_000, 0L, 0L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("charges the prompt size plus the completion allowance up front for the current client")
+    void reserve_chargesEstimate() {
+        AiTokenBudget.Charge charge = budget.reserve(SYSTEM_PROMPT, USER_MESSAGE);
+        assertThat(charge.estimatedTokens()).isEqualTo(ESTIMATE);
+        verify(store).tryAcquire(eq("tok:AI"), eq(CLIENT_KEY),
+                argThat(c -> c.algorithm() == RateLimitProperties.Algorithm.GCRA && c.maxRequests() == 10_000),
+                eq(ESTIMATE), anyLong());
+    }
+
+    @Test
+    @DisplayName("throws with the store's Retry-After once the budget is spent")
+    void reserve_deniedThrows() {
+        when(store.tryAcquire(anyString(), anyLong(), any(), anyInt(), anyLong()))
+                .thenReturn(new RateLimitFilter.RateLimitCheckResult(false, 100, 0L, 90L));
+        assertThatThrownBy(() -> budget.reserve(SYSTEM_PROMPT, USER_MESSAGE))
+                .isInstanceOf(TokenBudgetExceededException.class)
+                .satisfies(ex -> assertThat(((TokenBudgetExceededException) ex).getRetryAfterSeconds()).isEqualTo(90));
+    }
+
+    @Test
+    @DisplayName("calls outside a rate-limited request or with the budget disabled are not charged")
+    void reserve_skippedWithoutClientOrWhenDisabled() {
+        new AiTokenBudget(properties(false), store).reserve(SYSTEM_PROMPT, USER_MESSAGE).reconcile(5_000);
+        RequestContextHolder.resetRequestAttributes();
+        AiTokenBudget.Charge charge = budget.reserve(SYSTEM_PROMPT, USER_MESSAGE);
+        charge.reconcile(5_000);
+        assertThat(charge.estimatedTokens()).isEqualTo(ESTIMATE);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("reconciling refunds underuse, charges overuse and keeps the estimate when usage is unreported")
+    void reconcile_adjustsByDifference() {
+        AiTokenBudget.Charge charge = budget.reserve(SYSTEM_PROMPT, USER_MESSAGE);
+        charge.reconcile(300);
+        verify(store).adjust(eq("tok:AI"), eq(CLIENT_KEY), any(), eq(300 - ESTIMATE), anyLong());
+        charge.reconcile(ESTIMATE + 1_000);
+        verify(store).adjust(eq("tok:AI"), eq(CLIENT_KEY), any(), eq(1_000), anyLong());
+        charge.reconcile(0);
+        charge.reconcile((ChatResponse) null);
+        verify(store, times(2)).adjust(anyString(), anyLong(), any(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("reads the total token count from the response metadata")
+    void totalTokens_fromUsage() {
+        ChatResponse response = new ChatResponse(List.of(),
+                ChatResponseMetadata.builder().usage(new DefaultUsage(100, 50)).build());
+        assertThat(AiTokenBudget.totalTokens(response)).isEqualTo(150);
+        assertThat(AiTokenBudget.totalTokens(null)).isZero();
+    }
+
+}
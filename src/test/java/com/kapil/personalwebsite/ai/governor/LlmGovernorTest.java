@@ -0,0 +1,281 @@
+package com.kapil.personalwebsite.ai.governor;
+
+import com.kapil.personalwebsite.config.AdaptiveConcurrencyFilter;
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitStore;
+import com.kapil.personalwebsite.exception.LlmCapacityExceededException;
+import com.kapil.personalwebsite.util.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LlmGovernor.
+ *
+ * @author Kapil Garg
+ */
+class LlmGovernorTest {
+
+    private static final String BLOG_ASK = AppConstants.ENDPOINT_TYPE_BLOG_ASK;
+    private static final String PORTFOLIO_CHAT = AppConstants.ENDPOINT_TYPE_PORTFOLIO_CHAT;
+
+    private final RateLimitStore store = mock(RateLimitStore.class);
+    private final AtomicBoolean tokensAvailable = new AtomicBoolean(true);
+    private final AtomicReference<CountDownLatch> storeGate = new AtomicReference<>();
+    private final CountDownLatch inStore = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+
+    private LlmGovernor governor(int maxConcurrent, int queueCapacity, long maxWaitMs) {
+        return new LlmGovernor(new LlmGovernorProperties(true, maxConcurrent, 1_000, queueCapacity, maxWaitMs),
+                store, meterRegistry);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        when(store.tryAcquire(anyString(), anyLong(), any(), anyInt(), anyLong()))
+                .thenAnswer(invocation -> {
+                    CountDownLatch gate = storeGate.get();
+                    if (gate != null) {
+                        inStore.countDown();
+                        gate.await();
+                    }
+                    return new RateLimitFilter.RateLimitCheckResult(tokensAvailable.get(), 0, 0L, 1L);
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    @DisplayName("Concurrency cap")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("admits calls immediately while under the in-flight cap")
+        void acquire_underCap() {
+            LlmGovernor governor = governor(2, 5, 1_000);
+            LlmGovernor.Permit first = governor.acquire(BLOG_ASK, 100);
+            LlmGovernor.Permit second = governor.acquire(PORTFOLIO_CHAT, 100);
+            assertThat(governor.inFlight()).isEqualTo(2);
+            assertThat(meterRegistry.get("ai.governor.in.flight").gauge().value()).isEqualTo(2);
+            first.close();
+            first.close();
+            second.close();
+            assertThat(governor.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("stamps the grant time on the current request for the adaptive concurrency limit")
+        void acquire_stampsGrantTime() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                long before = System.nanoTime();
+                governor(1, 5, 1_000).acquire(BLOG_ASK, 100).close();
+                assertThat(request.getAttribute(AdaptiveConcurrencyFilter.PERMIT_GRANTED_ATTRIBUTE))
+                        .isInstanceOfSatisfying(Long.class,
+                                grantedAt -> assertThat(grantedAt).isGreaterThanOrEqualTo(before));
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+
+        @Test
+        @DisplayName("queues a call at the cap and admits it once a permit is released")
+        void acquire_waitsForRelease() throws Exception {
+            LlmGovernor governor = governor(1, 5, 5_000);
+            LlmGovernor.Permit held = governor.acquire(BLOG_ASK, 100);
+            Future<LlmGovernor.Permit> waiting = executor.submit(() -> governor.acquire(BLOG_ASK, 100));
+            awaitCondition(() -> governor.queueDepth(BLOG_ASK) == 1);
+            assertThat(meterRegistry.get("ai.governor.queue.depth").tag("endpoint", BLOG_ASK).gauge().value())
+                    .isEqualTo(1);
+            assertThat(waiting).isNotDone();
+            held.close();
+            waiting.get(5, TimeUnit.SECONDS).close();
+            assertThat(governor.queueDepth(BLOG_ASK)).isZero();
+            assertThat(meterRegistry.get("ai.governor.wait").tags("endpoint", BLOG_ASK, "outcome", "granted")
+                    .timer().count()).isEqualTo(2);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Shedding")
+    class SheddingTests {
+
+        @Test
+        @DisplayName("rejects a call outright when its endpoint queue is full")
+        void acquire_queueFull() throws Exception {
+            LlmGovernor governor = governor(1, 1, 5_000);
+            LlmGovernor.Permit held = governor.acquire(BLOG_ASK, 100);
+            Future<LlmGovernor.Permit> queued = executor.submit(() -> governor.acquire(BLOG_ASK, 100));
+            awaitCondition(() -> governor.queueDepth(BLOG_ASK) == 1);
+            assertThatThrownBy(() -> governor.acquire(BLOG_ASK, 100))
+                    .isInstanceOf(LlmCapacityExceededException.class)
+                    .satisfies(ex -> assertThat(((LlmCapacityExceededException) ex).getRetryAfterSeconds())
+                            .isEqualTo(5));
+            assertThat(meterRegistry.get("ai.governor.rejected").tags("endpoint", BLOG_ASK, "reason", "queue_full")
+                    .counter().count()).isEqualTo(1);
+            held.close();
+            queued.get(5, TimeUnit.SECONDS).close();
+        }
+
+        @Test
+        @DisplayName("sheds a waiting call once its deadline passes")
+        void acquire_deadlinePasses() {
+            LlmGovernor governor = governor(1, 5, 100);
+            LlmGovernor.Permit held = governor.acquire(BLOG_ASK, 100);
+            assertThatThrownBy(() -> governor.acquire(BLOG_ASK, 100))
+                    .isInstanceOf(LlmCapacityExceededException.class);
+            assertThat(governor.queueDepth(BLOG_ASK)).isZero();
+            assertThat(meterRegistry.get("ai.governor.rejected").tags("endpoint", BLOG_ASK, "reason", "deadline")
+                    .counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("ai.governor.wait").tags("endpoint", BLOG_ASK, "outcome", "shed")
+                    .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+            held.close();
+        }
+
+        @Test
+        @DisplayName("passes calls straight through when disabled")
+        void acquire_disabled() {
+            LlmGovernor governor = new LlmGovernor(new LlmGovernorProperties(false, 1, 1_000, 1, 100),
+                    store, meterRegistry);
+            governor.acquire(BLOG_ASK, 100);
+            governor.acquire(BLOG_ASK, 100).close();
+            assertThat(governor.inFlight()).isZero();
+            verifyNoInteractions(store);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Tokens per minute")
+    class TokenTests {
+
+        @Test
+        @DisplayName("holds calls while the shared token cap is spent and admits them as it refills")
+        void acquire_waitsForTokens() throws Exception {
+            LlmGovernor governor = governor(4, 5, 5_000);
+            tokensAvailable.set(false);
+            Future<LlmGovernor.Permit> waiting = executor.submit(() -> governor.acquire(BLOG_ASK, 300));
+            awaitCondition(() -> governor.queueDepth(BLOG_ASK) == 1);
+            assertThat(waiting).isNotDone();
+            tokensAvailable.set(true);
+            waiting.get(5, TimeUnit.SECONDS).close();
+            verify(store, atLeast(2)).tryAcquire(eq("llm:TPM"), eq(0L),
+                    argThat(c -> c.maxRequests() == 1_000 && c.windowMinutes() == 1), eq(300), anyLong());
+        }
+
+        @Test
+        @DisplayName("renews the token lease outside the lock, so a slow store does not hold up releases")
+        void acquire_slowStoreDoesNotBlockRelease() throws Exception {
+            LlmGovernor governor = governor(2, 5, 5_000);
+            LlmGovernor.Permit held = governor.acquire(BLOG_ASK, 100);
+            CountDownLatch gate = new CountDownLatch(1);
+            storeGate.set(gate);
+            Future<LlmGovernor.Permit> renewing = executor.submit(() -> governor.acquire(PORTFOLIO_CHAT, 100));
+            assertThat(inStore.await(5, TimeUnit.SECONDS)).isTrue();
+
+            executor.submit(held::close).get(1, TimeUnit.SECONDS);
+            assertThat(governor.inFlight()).isZero();
+            assertThat(renewing).isNotDone();
+
+            gate.countDown();
+            renewing.get(5, TimeUnit.SECONDS).close();
+            assertThat(governor.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("refunds the unused tokens of an expired lease to the shared store")
+        void acquire_expiredLeaseRefunded() {
+            Clock clock = mock(Clock.class);
+            when(clock.millis()).thenReturn(1_000_000L);
+            LlmGovernor governor = new LlmGovernor(new LlmGovernorProperties(true, 2, 1_000, 5, 1_000),
+                    store, meterRegistry, clock);
+            governor.acquire(BLOG_ASK, 10).close();
+            verify(store).tryAcquire(eq("llm:TPM"), eq(0L), any(), eq(50), anyLong());
+            verify(store, never()).adjust(anyString(), anyLong(), any(), anyInt(), anyLong());
+            when(clock.millis()).thenReturn(1_003_000L);
+            governor.acquire(BLOG_ASK, 10).close();
+            verify(store).adjust(eq("llm:TPM"), eq(0L), any(), eq(-40), anyLong());
+            verify(store, times(2)).tryAcquire(eq("llm:TPM"), eq(0L), any(), eq(50), anyLong());
+        }
+
+        @Test
+        @DisplayName("caps a reservation at the per-minute quota and reconciles by the reported difference")
+        void reconcile_adjustsByDifference() {
+            LlmGovernor governor = governor(1, 5, 1_000);
+            LlmGovernor.Permit permit = governor.acquire(BLOG_ASK, 5_000);
+            verify(store).tryAcquire(anyString(), anyLong(), any(), eq(1_000), anyLong());
+            permit.reconcile(400);
+            permit.reconcile(0);
+            verify(store).adjust(eq("llm:TPM"), eq(0L), any(), eq(-600), anyLong());
+            verify(store, times(1)).adjust(anyString(), anyLong(), any(), anyInt(), anyLong());
+            permit.close();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Fairness")
+    class FairnessTests {
+
+        @Test
+        @DisplayName("serves endpoint queues round-robin instead of draining the busiest first")
+        void dispatch_roundRobin() throws Exception {
+            LlmGovernor governor = governor(1, 5, 5_000);
+            List<String> admitted = new CopyOnWriteArrayList<>();
+            LlmGovernor.Permit held = governor.acquire(BLOG_ASK, 100);
+            for (String endpoint : List.of(BLOG_ASK, BLOG_ASK, PORTFOLIO_CHAT)) {
+                int depth = governor.queueDepth(endpoint);
+                executor.submit(() -> {
+                    try (LlmGovernor.Permit ignored = governor.acquire(endpoint, 100)) {
+                        admitted.add(endpoint);
+                    }
+                });
+                awaitCondition(() -> governor.queueDepth(endpoint) == depth + 1);
+            }
+            held.close();
+            awaitCondition(() -> admitted.size() == 3);
+            // Blog ask had the last turn with the held permit, so portfolio chat goes next despite queueing later.
+            assertThat(admitted).containsExactly(PORTFOLIO_CHAT, BLOG_ASK, BLOG_ASK);
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.kapil.personalwebsite.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AdaptiveConcurrencyFilter and its AIMD limit.
+ *
+ * @author Kapil Garg
+ */
+class AdaptiveConcurrencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyFilter buildFilter(int initialLimit, long latencyThresholdMs) {
+        return new AdaptiveConcurrencyFilter(new AdaptiveConcurrencyProperties(true, initialLimit, 1, 10,
+                latencyThresholdMs, 0.5, 3), meterRegistry, new RouteClassifier(""));
+    }
+
+    private static MockHttpServletRequest aiRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ai/chat");
+        request.setServletPath("/ai/chat");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static final FilterChain STREAMING_CHAIN = (req, res) -> req.startAsync();
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("rejects AI requests over the limit with 503 and Retry-After")
+        void overLimit_rejected() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(1, 10_000);
+            MockHttpServletRequest streaming = aiRequest();
+            filter.doFilter(streaming, new MockHttpServletResponse(), STREAMING_CHAIN);
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(aiRequest(), rejected, (req, res) -> {
+                throw new AssertionError("chain must not run");
+            });
+            assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+            assertThat(rejected.getContentAsString()).contains("\"retryAfter\": 3");
+            assertThat(meterRegistry.get("ai.concurrency.rejected").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("ai.concurrency.in.flight").gauge().value()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("holds a streamed request's slot until its async response completes")
+        void streaming_releasedOnComplete() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(1, 10_000);
+            MockHttpServletRequest streaming = aiRequest();
+            filter.doFilter(streaming, new MockHttpServletResponse(), STREAMING_CHAIN);
+            ((MockAsyncContext) streaming.getAsyncContext()).complete();
+            assertThat(filter.currentLimit()).isEqualTo(1);
+            MockHttpServletResponse next = new MockHttpServletResponse();
+            filter.doFilter(aiRequest(), next, (req, res) -> ((HttpServletResponse) res).setStatus(200));
+            assertThat(next.getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("does not limit non-AI endpoints")
+        void nonAiEndpoint_passesThrough() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(1, 10_000);
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(), STREAMING_CHAIN);
+            MockHttpServletRequest blogRead = new MockHttpServletRequest("GET", "/blogs/published/some-post");
+            blogRead.setServletPath("/blogs/published/some-post");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(blogRead, response, (req, res) -> ((HttpServletResponse) res).setStatus(200));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(meterRegistry.get("ai.concurrency.rejected").counter().count()).isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Limit adaptation")
+    class AdaptationTests {
+
+        @Test
+        @DisplayName("backs off when the upstream fails or responds slower than the threshold")
+        void congestion_shrinksLimit() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(8, 10_000);
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(),
+                    (req, res) -> ((HttpServletResponse) res).setStatus(500));
+            assertThat(filter.currentLimit()).isEqualTo(4);
+            AdaptiveConcurrencyFilter slowFilter = buildFilter(8, 1);
+            slowFilter.doFilter(aiRequest(), new MockHttpServletResponse(), (req, res) -> sleep(20));
+            assertThat(slowFilter.currentLimit()).isEqualTo(4);
+            assertThat(meterRegistry.find("ai.concurrency.limit").gauges()).isNotEmpty();
+        }
+
+        @Test
+        @DisplayName("samples latency from the governor's grant, not counting the wait in its queue")
+        void governorQueueWait_notCongestion() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(8, 50);
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(), (req, res) -> {
+                sleep(100);
+                req.setAttribute(AdaptiveConcurrencyFilter.PERMIT_GRANTED_ATTRIBUTE, System.nanoTime());
+                ((HttpServletResponse) res).setStatus(200);
+            });
+            assertThat(filter.currentLimit()).isGreaterThanOrEqualTo(8);
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(), (req, res) -> {
+                req.setAttribute(AdaptiveConcurrencyFilter.PERMIT_GRANTED_ATTRIBUTE, System.nanoTime());
+                sleep(100);
+            });
+            assertThat(filter.currentLimit()).isLessThan(8);
+        }
+
+        @Test
+        @DisplayName("does not back off on 503s the application rejected locally")
+        void localRejection_keepsLimit() throws Exception {
+            AdaptiveConcurrencyFilter filter = buildFilter(8, 10_000);
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(), (req, res) -> {
+                req.setAttribute(AdaptiveConcurrencyFilter.LOCAL_REJECTION_ATTRIBUTE, Boolean.TRUE);
+                ((HttpServletResponse) res).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            });
+            assertThat(filter.currentLimit()).isEqualTo(8);
+            assertThat(meterRegistry.get("ai.concurrency.in.flight").gauge().value()).isZero();
+            filter.doFilter(aiRequest(), new MockHttpServletResponse(),
+                    (req, res) -> ((HttpServletResponse) res).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value()));
+            assertThat(filter.currentLimit()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("backs off once per congestion episode rather than once per request in flight")
+        void congestion_oncePerEpoch() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 10, 0.5);
+            long first = limit.tryAcquire();
+            long second = limit.tryAcquire();
+            long third = limit.tryAcquire();
+            limit.release(first, true);
+            limit.release(second, true);
+            limit.release(third, true);
+            assertThat(limit.limit()).isEqualTo(4);
+            limit.release(limit.tryAcquire(), true);
+            assertThat(limit.limit()).isEqualTo(2);
+            limit.release(limit.tryAcquire(), true);
+            limit.release(limit.tryAcquire(), true);
+            assertThat(limit.limit()).isEqualTo(1);
+            assertThat(limit.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("grows additively on fast responses while the limit is in use, up to the maximum")
+        void recovery_growsLimit() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 3, 0.5);
+            for (int i = 0; i < 10; i++) {
+                long a = limit.tryAcquire();
+                long b = limit.tryAcquire();
+                limit.release(a, false);
+                limit.release(b, false);
+            }
+            assertThat(limit.limit()).isEqualTo(3);
+            assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+            assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+            assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+            assertThat(limit.tryAcquire()).isEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+        }
+
+        @Test
+        @DisplayName("does not grow while mostly idle")
+        void idle_doesNotGrow() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 10, 0.5);
+            for (int i = 0; i < 100; i++) {
+                limit.release(limit.tryAcquire(), false);
+            }
+            assertThat(limit.limit()).isEqualTo(8);
+        }
+
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
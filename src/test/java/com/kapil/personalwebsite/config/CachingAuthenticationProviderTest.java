@@ -0,0 +1,116 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingAuthenticationProvider.
+ *
+ * @author Kapil Garg
+ */
+class CachingAuthenticationProviderTest {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "s3cret";
+
+    private PasswordEncoder passwordEncoder;
+    private AtomicLong nanos;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        // A spy on a plain-text encoder stands in for BCrypt so the test can count full verifications.
+        passwordEncoder = spy(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        });
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername(USERNAME).password(PASSWORD).roles("ADMIN").build());
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider(users);
+        delegate.setPasswordEncoder(passwordEncoder);
+        nanos = new AtomicLong();
+        provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 16, nanos::get);
+    }
+
+    private static Authentication login(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    @Test
+    @DisplayName("verifies the password once and serves repeated logins from the cache")
+    void repeatedLogin_verifiedOnce() {
+        Authentication first = provider.authenticate(login(USERNAME, PASSWORD));
+        Authentication second = provider.authenticate(login(USERNAME, PASSWORD));
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo(USERNAME);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        assertThat(second.getCredentials()).isNull();
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("does not accept a different password for a cached user")
+    void wrongPassword_afterCachedLogin_rejected() {
+        provider.authenticate(login(USERNAME, PASSWORD));
+        assertThatThrownBy(() -> provider.authenticate(login(USERNAME, "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("never caches failed logins")
+    void failedLogin_notCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> provider.authenticate(login(USERNAME, "wrong")))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("verifies the password again once the cached login expires")
+    void cachedLogin_expires() {
+        provider.authenticate(login(USERNAME, PASSWORD));
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5) + 1);
+        provider.authenticate(login(USERNAME, PASSWORD));
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("keeps the request details on cached logins")
+    void cachedLogin_keepsDetails() {
+        provider.authenticate(login(USERNAME, PASSWORD));
+        UsernamePasswordAuthenticationToken request = UsernamePasswordAuthenticationToken.unauthenticated(
+                USERNAME, PASSWORD);
+        request.setDetails("203.0.113.42");
+        assertThat(provider.authenticate(request).getDetails()).isEqualTo("203.0.113.42");
+        verify(passwordEncoder, times(1)).matches(any(), any());
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.service.blog.BlogChangedEvent;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for CdnCacheFilter and CdnPurgeDispatcher.
+ *
+ * @author Kapil Garg
+ */
+class CdnCacheFilterTest {
+
+    private static final String PURGE_URL = "http://localhost:8089/purge";
+
+    private static CdnCacheProperties properties(int maxKeysPerRequest) {
+        return new CdnCacheProperties(true, null, null, null, null,
+                new CdnCacheProperties.Purge(PURGE_URL, null, "secret", 0, maxKeysPerRequest, 0));
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class FilterTests {
+
+        private final CdnCacheFilter filter = new CdnCacheFilter(properties(0), new RouteClassifier(""));
+
+        private MockHttpServletResponse perform(String method, String servletPath, int status) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + servletPath);
+            request.setContextPath("/api");
+            request.setServletPath(servletPath);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response,
+                    (req, res) -> ((HttpServletResponse) res).setStatus(status));
+            return response;
+        }
+
+        @Test
+        @DisplayName("tags blog listings, single blogs and portfolio collections with their surrogate keys")
+        void publicReads_taggedWithPolicyAndKeys() throws Exception {
+            MockHttpServletResponse listing = perform("GET", "/blogs/published/category/PERSONAL", 200);
+            assertThat(listing.getHeader("Surrogate-Key")).isEqualTo("blogs:list");
+            assertThat(listing.getHeader(HttpHeaders.CACHE_CONTROL))
+                    .isEqualTo("public, max-age=60, s-maxage=300, stale-while-revalidate=600, stale-if-error=86400");
+
+            MockHttpServletResponse blog = perform("GET", "/blogs/published/my-post", 304);
+            assertThat(blog.getHeader("Surrogate-Key")).isEqualTo("blog:my-post");
+            assertThat(blog.getHeader(HttpHeaders.CACHE_CONTROL)).contains("s-maxage=3600");
+
+            assertThat(perform("GET", "/blogs/published/search", 200).getHeader("Surrogate-Key"))
+                    .isEqualTo("blogs:list");
+            assertThat(perform("GET", "/projects/42", 200).getHeader("Surrogate-Key")).isEqualTo("projects");
+            assertThat(perform("GET", "/portfolio", 200).getHeader("Surrogate-Key")).isEqualTo("portfolio");
+        }
+
+        @Test
+        @DisplayName("switches error responses to no-store")
+        void errorResponse_noStore() throws Exception {
+            MockHttpServletResponse response = perform("GET", "/blogs/published/missing", 404);
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+            assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-store");
+        }
+
+        @Test
+        @DisplayName("leaves writes, blog questions and admin reads uncached")
+        void otherRequests_untouched() throws Exception {
+            assertThat(perform("PUT", "/portfolio", 200).getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+            assertThat(perform("GET", "/blogs/published/my-post/ask/stream", 200)
+                    .getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+            assertThat(perform("GET", "/blogs/id/abc", 200).getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+        }
+
+        @Test
+        @DisplayName("passes requests through unchanged when disabled")
+        void disabled_passThrough() throws Exception {
+            CdnCacheFilter disabled = new CdnCacheFilter(
+                    new CdnCacheProperties(false, null, null, null, null, null), new RouteClassifier(""));
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/skills");
+            request.setServletPath("/skills");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            disabled.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Purge dispatcher")
+    class PurgeDispatcherTests {
+
+        private final RestTemplate restTemplate = new RestTemplate();
+        private final MockRestServiceServer purgeEndpoint = MockRestServiceServer.createServer(restTemplate);
+
+        private BlogChangedEvent blogChanged(String slug, String previousSlug) {
+            Blog blog = new Blog("Title", "<p>Content</p>", slug, null);
+            return new BlogChangedEvent(blog, previousSlug);
+        }
+
+        @Test
+        @DisplayName("sends each key of a bulk edit once, split into requests of at most the configured size")
+        void flush_deduplicatesAndBatches() {
+            CdnPurgeDispatcher dispatcher = new CdnPurgeDispatcher(properties(3), restTemplate);
+            dispatcher.onBlogChanged(blogChanged("a", null));
+            dispatcher.onBlogChanged(blogChanged("b", "old-b"));
+            dispatcher.onBlogChanged(blogChanged("a", null));
+
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(header("Fastly-Key", "secret"))
+                    .andExpect(jsonPath("$.surrogate_keys.length()").value(3))
+                    .andRespond(withSuccess());
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL))
+                    .andExpect(jsonPath("$.surrogate_keys.length()").value(1))
+                    .andRespond(withSuccess());
+            dispatcher.flush();
+            dispatcher.flush();
+
+            purgeEndpoint.verify();
+        }
+
+        @Test
+        @DisplayName("purges blog keys again once every replica has reloaded its snapshot")
+        void flush_repeatsBlogPurgeAfterReadModelRefresh() {
+            CdnPurgeDispatcher dispatcher = new CdnPurgeDispatcher(properties(0), restTemplate);
+            long changedAt = System.currentTimeMillis();
+            dispatcher.onBlogChanged(blogChanged("a", null));
+
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL))
+                    .andExpect(jsonPath("$.surrogate_keys.length()").value(2))
+                    .andRespond(withSuccess());
+            dispatcher.flush(changedAt);
+            dispatcher.flush(changedAt + 60_000);
+            purgeEndpoint.verify();
+
+            purgeEndpoint.reset();
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL))
+                    .andExpect(jsonPath("$.surrogate_keys.length()").value(2))
+                    .andRespond(withSuccess());
+            dispatcher.flush(changedAt + 331_000);
+            dispatcher.flush(changedAt + 400_000);
+            purgeEndpoint.verify();
+        }
+
+        @Test
+        @DisplayName("puts keys back after a failed purge and retries them with the next batch")
+        void flush_failure_retried() {
+            CdnPurgeDispatcher dispatcher = new CdnPurgeDispatcher(properties(0), restTemplate);
+            dispatcher.onCachePurge(new CachePurgeEvent(Set.of("projects")));
+
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL)).andRespond(withServerError());
+            purgeEndpoint.expect(once(), requestTo(PURGE_URL))
+                    .andExpect(jsonPath("$.surrogate_keys[0]").value("projects"))
+                    .andRespond(withSuccess());
+            dispatcher.flush();
+            dispatcher.flush();
+
+            purgeEndpoint.verify();
+        }
+
+        @Test
+        @DisplayName("collects nothing while no purge URL is configured")
+        void noUrl_nothingSent() {
+            CdnPurgeDispatcher dispatcher = new CdnPurgeDispatcher(
+                    new CdnCacheProperties(true, null, null, null, null, null), restTemplate);
+            dispatcher.enqueue(List.of(SurrogateKeys.PORTFOLIO));
+            dispatcher.flush();
+            purgeEndpoint.verify();
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ClientAddress.
+ *
+ * @author Kapil Garg
+ */
+class ClientAddressTest {
+
+    @Nested
+    @DisplayName("parse")
+    class ParseTests {
+
+        @Test
+        @DisplayName("IPv4 is held in its IPv4-mapped IPv6 form")
+        void ipv4_isMapped() {
+            ClientAddress address = ClientAddress.parse("192.0.2.1");
+            assertThat(address).isEqualTo(new ClientAddress(0L, 0x0000_FFFF_C000_0201L));
+            assertThat(address.isIpv4()).isTrue();
+            assertThat(ClientAddress.parse("::ffff:192.0.2.1")).isEqualTo(address);
+        }
+
+        @Test
+        @DisplayName("IPv6 spellings of one address parse to the same value")
+        void ipv6_equivalentSpellings() {
+            ClientAddress expected = new ClientAddress(0x2001_0DB8_0000_0000L, 0x0000_0000_0000_0001L);
+            assertThat(ClientAddress.parse("2001:db8::1")).isEqualTo(expected);
+            assertThat(ClientAddress.parse("2001:DB8:0:0:0:0:0:1")).isEqualTo(expected);
+            assertThat(ClientAddress.parse("[2001:db8::0001]")).isEqualTo(expected);
+            assertThat(ClientAddress.parse("2001:db8::1%eth0")).isEqualTo(expected);
+            assertThat(expected.isIpv4()).isFalse();
+        }
+
+        @Test
+        @DisplayName("zero compression at either end and a trailing IPv4 are expanded")
+        void ipv6_compressionAndEmbeddedIpv4() {
+            assertThat(ClientAddress.parse("::")).isEqualTo(new ClientAddress(0L, 0L));
+            assertThat(ClientAddress.parse("::1")).isEqualTo(new ClientAddress(0L, 1L));
+            assertThat(ClientAddress.parse("fe80::")).isEqualTo(new ClientAddress(0xFE80_0000_0000_0000L, 0L));
+            assertThat(ClientAddress.parse("64:ff9b::192.0.2.33"))
+                    .isEqualTo(new ClientAddress(0x0064_FF9B_0000_0000L, 0x0000_0000_C000_0221L));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "unknown", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1.2.3.4 ", "1..2.3",
+                "2001:db8::1::2", "2001:db8:0:0:0:0:0:0:1", "2001:db8:0:0:0:0:1", "12345::", ":1", "1:",
+                "2001:db8::g", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4"})
+        @DisplayName("malformed literals are rejected")
+        void malformed_returnsNull(String text) {
+            assertThat(ClientAddress.parse(text)).isNull();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("mask")
+    class MaskTests {
+
+        @Test
+        @DisplayName("keeps only the leading prefix bits across the 64-bit halves")
+        void mask_clearsTrailingBits() {
+            ClientAddress address = ClientAddress.parse("2001:db8:aaaa:bbbb:cccc:dddd:eeee:ffff");
+            assertThat(address.mask(64)).isEqualTo(ClientAddress.parse("2001:db8:aaaa:bbbb::"));
+            assertThat(address.mask(48)).isEqualTo(ClientAddress.parse("2001:db8:aaaa::"));
+            assertThat(address.mask(80)).isEqualTo(ClientAddress.parse("2001:db8:aaaa:bbbb:cccc::"));
+            assertThat(address.mask(128)).isEqualTo(address);
+            assertThat(address.mask(0)).isEqualTo(new ClientAddress(0L, 0L));
+        }
+
+        @Test
+        @DisplayName("an IPv4 /24 is the mapped /120")
+        void ipv4Mask() {
+            assertThat(ClientAddress.parse("198.51.100.77").mask(ClientAddress.IPV4_MAPPED_PREFIX + 24))
+                    .isEqualTo(ClientAddress.parse("198.51.100.0"));
+        }
+
+    }
+
+}
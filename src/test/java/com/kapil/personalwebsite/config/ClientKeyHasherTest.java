@@ -0,0 +1,59 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ClientKeyHasher.
+ *
+ * @author Kapil Garg
+ */
+class ClientKeyHasherTest {
+
+    private final ClientKeyHasher hasher = ClientKeyHasher.fromSecret("secret");
+
+    @Test
+    @DisplayName("the same secret yields the same keys, a blank secret a random seed")
+    void seedFollowsSecret() {
+        ClientKeyHasher same = ClientKeyHasher.fromSecret("secret");
+        assertThat(same.fingerprint("1.2.3.4", "UA", "en")).isEqualTo(hasher.fingerprint("1.2.3.4", "UA", "en"));
+        assertThat(same.ip("1.2.3.4")).isEqualTo(hasher.ip("1.2.3.4"));
+        assertThat(ClientKeyHasher.fromSecret("").ip("1.2.3.4"))
+                .isNotEqualTo(ClientKeyHasher.fromSecret(null).ip("1.2.3.4"));
+    }
+
+    @Test
+    @DisplayName("IP keys live in a separate domain from fingerprints with empty headers")
+    void ipDomainIsSeparate() {
+        assertThat(hasher.ip("1.2.3.4")).isNotEqualTo(hasher.fingerprint("1.2.3.4", "", ""));
+    }
+
+    @Test
+    @DisplayName("subnet keys depend on the prefix length and differ from the IP key of the network address")
+    void subnetKeyIncludesPrefixLength() {
+        ClientAddress network = ClientAddress.parse("2001:db8::");
+        assertThat(hasher.subnet(network, 64)).isNotEqualTo(hasher.subnet(network, 48));
+        assertThat(hasher.subnet(network, 64)).isNotEqualTo(hasher.ip(network));
+    }
+
+    @Test
+    @DisplayName("distinct inputs of every length do not collide in practice")
+    void noCollisionsAcrossSimilarInputs() {
+        Set<Long> keys = new HashSet<>();
+        int inputs = 0;
+        for (int a = 0; a < 256; a++) {
+            for (int len = 0; len < 12; len++) {
+                String ua = "Mozilla/5.0".substring(0, len) + (char) a;
+                keys.add(hasher.fingerprint("10.0.0." + (a & 7), ua, "en-US"));
+                inputs++;
+            }
+        }
+        assertThat(keys).hasSize(inputs);
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.kapil.personalwebsite.config;
+
+import com.kapil.personalwebsite.service.blog.BlogChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConditionalGetFilter and the ResponseValidatorCache and ResponseBodyCache behind it.
+ *
+ * @author Kapil Garg
+ */
+class ConditionalGetFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":[]}";
+    private static final long NOW = 1_700_000_000_500L;
+
+    private static ConditionalGetProperties properties() {
+        return new ConditionalGetProperties(true, 60, 100, true, 1, 64);
+    }
+
+    @Nested
+    @DisplayName("Validator cache")
+    class ValidatorCacheTests {
+
+        private final ResponseValidatorCache cache = new ResponseValidatorCache(properties());
+
+        @Test
+        @DisplayName("keeps Last-Modified while the ETag is unchanged and trusts it only until revalidation is due")
+        void record_keepsLastModified() {
+            cache.record("/skills", "\"a\"", cache.generation(), NOW);
+            ResponseValidatorCache.Validator again = cache.record("/skills", "\"a\"", cache.generation(), NOW + 5_000);
+            assertThat(again.lastModifiedMs()).isEqualTo(1_700_000_000_000L);
+            assertThat(cache.fresh("/skills", NOW + 60_000)).isNotNull();
+            assertThat(cache.fresh("/skills", NOW + 65_000)).isNull();
+
+            ResponseValidatorCache.Validator changed = cache.record("/skills", "\"b\"", cache.generation(), NOW + 9_000);
+            assertThat(changed.lastModifiedMs()).isEqualTo(1_700_000_009_000L);
+        }
+
+        @Test
+        @DisplayName("drops blog validators on a blog change and ignores responses produced across it")
+        void onBlogChanged_invalidatesBlogs() {
+            long generation = cache.generation();
+            cache.record("/blogs/published", "\"a\"", generation, NOW);
+            cache.record("/skills", "\"b\"", generation, NOW);
+
+            cache.onBlogChanged(new BlogChangedEvent(null, null));
+
+            assertThat(cache.fresh("/blogs/published", NOW)).isNull();
+            assertThat(cache.fresh("/skills", NOW)).isNotNull();
+            cache.record("/blogs/published", "\"stale\"", generation, NOW);
+            assertThat(cache.fresh("/blogs/published", NOW)).isNull();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class FilterTests {
+
+        private final ResponseValidatorCache cache = new ResponseValidatorCache(properties());
+        private final ConditionalGetFilter filter =
+                new ConditionalGetFilter(properties(), cache, new ResponseBodyCache(properties()),
+                        new RouteClassifier(""));
+        private final AtomicInteger handled = new AtomicInteger();
+        private final AtomicReference<String> body = new AtomicReference<>(BODY);
+
+        private final FilterChain chain = (request, response) -> {
+            handled.incrementAndGet();
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setHeader("X-Next-Cursor", "cursor");
+            response.getOutputStream().write(body.get().getBytes(StandardCharsets.UTF_8));
+        };
+
+        private MockHttpServletRequest request(String method, String servletPath) {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + servletPath);
+            request.setContextPath("/api");
+            request.setServletPath(servletPath);
+            return request;
+        }
+
+        private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            return response;
+        }
+
+        @Test
+        @DisplayName("sends a strong ETag and Last-Modified with a full response")
+        void firstRequest_sendsValidators() throws Exception {
+            MockHttpServletResponse response = perform(request("GET", "/blogs/published"));
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo(BODY);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"").doesNotStartWith("W/");
+            assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("replays the cached body and the handler's headers without running the handler")
+        void repeatedRequest_servedFromBodyCache() throws Exception {
+            String etag = perform(request("GET", "/blogs/published")).getHeader(HttpHeaders.ETAG);
+
+            MockHttpServletResponse response = perform(request("GET", "/blogs/published"));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getContentAsString()).isEqualTo(BODY);
+            assertThat(response.getContentType()).startsWith("application/json");
+            assertThat(response.getHeader("X-Next-Cursor")).isEqualTo("cursor");
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(handled).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("sends the stored gzip copy of a large body to clients accepting gzip")
+        void acceptsGzip_servesCompressedCopy() throws Exception {
+            body.set("{\"data\":\"" + "blog content ".repeat(100) + "\"}");
+            perform(request("GET", "/blogs/published/large-post"));
+
+            MockHttpServletRequest gzipRequest = request("GET", "/blogs/published/large-post");
+            gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+            MockHttpServletResponse response = perform(gzipRequest);
+
+            assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(response.getHeader(HttpHeaders.ETAG)).endsWith("-gzip\"");
+            assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body.get());
+            }
+            assertThat(handled).hasValue(1);
+
+            MockHttpServletRequest conditional = request("GET", "/blogs/published/large-post");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "W/" + response.getHeader(HttpHeaders.ETAG));
+            assertThat(perform(conditional).getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        }
+
+        @Test
+        @DisplayName("neither stores nor compresses bodies while the body cache is disabled")
+        void bodyCacheDisabled_skipsCompression() {
+            ResponseBodyCache disabled =
+                    new ResponseBodyCache(new ConditionalGetProperties(true, 60, 100, false, 1, 64));
+            byte[] json = ("{\"data\":\"" + "blog content ".repeat(100) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+            ResponseBodyCache.CachedBody stored = disabled.store("/blogs/published/large-post", "\"a\"", json,
+                    "application/json", Map.of());
+
+            assertThat(stored.json()).isSameAs(json);
+            assertThat(stored.gzip()).isNull();
+            assertThat(disabled.get("/blogs/published/large-post", "\"a\"")).isNull();
+        }
+
+        @Test
+        @DisplayName("reads gzip acceptance from Accept-Encoding, honouring q=0 and the wildcard")
+        void acceptsGzip_parsesHeader() {
+            assertThat(ConditionalGetFilter.acceptsGzip("gzip")).isTrue();
+            assertThat(ConditionalGetFilter.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+            assertThat(ConditionalGetFilter.acceptsGzip("gzip;q=0, *")).isFalse();
+            assertThat(ConditionalGetFilter.acceptsGzip("*")).isTrue();
+            assertThat(ConditionalGetFilter.acceptsGzip("identity")).isFalse();
+            assertThat(ConditionalGetFilter.acceptsGzip(null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("answers a matching If-None-Match with 304 without running the handler")
+        void matchingEtag_notModifiedBeforeHandler() throws Exception {
+            String etag = perform(request("GET", "/projects")).getHeader(HttpHeaders.ETAG);
+
+            MockHttpServletRequest conditional = request("GET", "/projects");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "W/" + etag);
+            MockHttpServletResponse response = perform(conditional);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(response.getContentAsByteArray()).isEmpty();
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(handled).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("runs the handler again after invalidation and sends the new body when it changed")
+        void invalidated_changedBody_newEtag() throws Exception {
+            String etag = perform(request("GET", "/portfolio")).getHeader(HttpHeaders.ETAG);
+            cache.invalidate("/portfolio");
+            body.set("{\"success\":true,\"data\":{}}");
+
+            MockHttpServletRequest conditional = request("GET", "/portfolio");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            MockHttpServletResponse response = perform(conditional);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+            assertThat(handled).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("answers 304 after running the handler when the unchanged body still matches")
+        void invalidated_sameBody_notModified() throws Exception {
+            String etag = perform(request("GET", "/skills")).getHeader(HttpHeaders.ETAG);
+            cache.invalidate("/skills");
+
+            MockHttpServletRequest conditional = request("GET", "/skills");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            MockHttpServletResponse response = perform(conditional);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(response.getContentAsByteArray()).isEmpty();
+            assertThat(handled).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("leaves writes, blog questions, searches and other paths alone")
+        void nonConditionalRequests_passThrough() throws Exception {
+            assertThat(perform(request("PUT", "/portfolio")).getHeader(HttpHeaders.ETAG)).isNull();
+            assertThat(perform(request("GET", "/blogs/published/slug/ask/stream")).getHeader(HttpHeaders.ETAG))
+                    .isNull();
+            assertThat(perform(request("GET", "/blogs/id/abc")).getHeader(HttpHeaders.ETAG)).isNull();
+            MockHttpServletRequest search = request("GET", "/blogs/published/search");
+            search.setQueryString("q=caffeine");
+            assertThat(perform(search).getHeader(HttpHeaders.ETAG)).isNull();
+            assertThat(cache.fresh("/blogs/published/search?q=caffeine", System.currentTimeMillis())).isNull();
+            assertThat(handled).hasValue(4);
+        }
+
+        @Test
+        @DisplayName("keys listings by the parameters the handler reads, in canonical form")
+        void listingParameters_shareCanonicalKey() throws Exception {
+            MockHttpServletRequest first = request("GET", "/blogs/published/category/TECH");
+            first.setQueryString("limit=20&after=abc");
+            String etag = perform(first).getHeader(HttpHeaders.ETAG);
+
+            MockHttpServletRequest reordered = request("GET", "/blogs/published/category/TECH");
+            reordered.setQueryString("after=abc&limit=020&");
+            MockHttpServletResponse response = perform(reordered);
+
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+            assertThat(cache.fresh("/blogs/published/category/TECH?after=abc&limit=20", System.currentTimeMillis()))
+                    .isNotNull();
+            assertThat(handled).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("passes requests with parameters the handler does not read through uncached")
+        void unknownParameters_bypassCaches() throws Exception {
+            String etag = perform(request("GET", "/projects")).getHeader(HttpHeaders.ETAG);
+            for (String query : new String[]{"x=1", "limit=10", "x=2&limit=10"}) {
+                MockHttpServletRequest junk = request("GET", "/projects");
+                junk.setQueryString(query);
+                assertThat(perform(junk).getHeader(HttpHeaders.ETAG)).isNull();
+            }
+            for (String query : new String[]{"limit=5&limit=6", "limit=1000", "limit=-1", "cache=bust"}) {
+                MockHttpServletRequest junk = request("GET", "/blogs/published");
+                junk.setQueryString(query);
+                assertThat(perform(junk).getHeader(HttpHeaders.ETAG)).isNull();
+            }
+            assertThat(handled).hasValue(8);
+
+            MockHttpServletRequest conditional = request("GET", "/projects");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            assertThat(perform(conditional).getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(handled).hasValue(8);
+        }
+
+        @Test
+        @DisplayName("keeps real validators resident under a flood of made-up query strings")
+        void queryFlood_keepsValidators() throws Exception {
+            String etag = perform(request("GET", "/skills")).getHeader(HttpHeaders.ETAG);
+            for (int i = 0; i < 1_000; i++) {
+                MockHttpServletRequest junk = request("GET", "/skills");
+                junk.setQueryString("v=" + i);
+                perform(junk);
+            }
+
+            MockHttpServletRequest conditional = request("GET", "/skills");
+            conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+            assertThat(perform(conditional).getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(handled).hasValue(1_001);
+        }
+
+        @Test
+        @DisplayName("records no validator for error responses")
+        void errorResponse_notRecorded() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/blogs/published/missing"), response,
+                    (req, res) -> ((HttpServletResponse) res).setStatus(404));
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+            assertThat(cache.fresh("/blogs/published/missing", System.currentTimeMillis())).isNull();
+        }
+
+    }
+
+}
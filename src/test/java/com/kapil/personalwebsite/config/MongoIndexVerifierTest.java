@@ -0,0 +1,58 @@
+package com.kapil.personalwebsite.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MongoIndexVerifier.
+ *
+ * @author Kapil Garg
+ */
+class MongoIndexVerifierTest {
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    @Test
+    @DisplayName("accepts an index scan that already returns documents in sort order")
+    void indexScan_noUnindexedStages() {
+        Document plan = new Document("stage", "LIMIT").append("inputStage",
+                new Document("stage", "FETCH").append("inputStage",
+                        new Document("stage", "IXSCAN").append("indexName", "published_listing")));
+        assertThat(MongoIndexVerifier.unindexedStages(explain(plan))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("reports collection scans and in-memory sorts, also inside slot-based plans")
+    void collscanAndSort_reported() {
+        Document classic = new Document("stage", "SORT").append("inputStage",
+                new Document("stage", "COLLSCAN"));
+        assertThat(MongoIndexVerifier.unindexedStages(explain(classic))).containsExactly("SORT", "COLLSCAN");
+
+        Document slotBased = new Document("queryPlan", new Document("stage", "FETCH").append("inputStages",
+                List.of(new Document("stage", "IXSCAN"), new Document("stage", "COLLSCAN"))));
+        assertThat(MongoIndexVerifier.unindexedStages(explain(slotBased))).containsExactly("COLLSCAN");
+    }
+
+    @Test
+    @DisplayName("only warns when MongoDB cannot be reached, even when set to fail")
+    void mongoUnavailable_startupContinues() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        MongoIndexVerifier verifier = new MongoIndexVerifier(mongoTemplate,
+                new MongoIndexProperties(true, MongoIndexProperties.Verify.FAIL));
+        assertThatCode(verifier::onReady).doesNotThrowAnyException();
+    }
+
+}
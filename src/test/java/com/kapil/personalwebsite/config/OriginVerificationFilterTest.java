@@ -54,7 +54,8 @@ class OriginVerificationFilterTest {
     }
 
     private void initFilter(String allowedOrigins, String serverApiKey, boolean allowLoopbackNoOrigin) {
-        filter = new OriginVerificationFilter(serverApiKey, allowedOrigins, allowLoopbackNoOrigin);
+        filter = new OriginVerificationFilter(serverApiKey, allowedOrigins, allowLoopbackNoOrigin,
+                new RouteClassifier(""));
     }
 
     @Nested
@@ -0,0 +1,264 @@
+package com.kapil.personalwebsite.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProbeBanFilter and the ProbeBanList behind it.
+ *
+ * @author Kapil Garg
+ */
+class ProbeBanFilterTest {
+
+    private static final String SCANNER_IP = "198.51.100.23";
+    private static final String VICTIM_IP = "203.0.113.50";
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static ProbeBanProperties properties(boolean enabled, long tarpitMs) {
+        return new ProbeBanProperties(enabled, 3, 60, 10, 100, tarpitMs, 1, 60);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blogs/published");
+        request.setRemoteAddr(remoteAddr);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    /**
+     * Runs the request through the forwarded-header filter and then {@code filter}, as the application does.
+     */
+    private static void filterForwarded(Filter filter, MockHttpServletRequest request,
+                                        MockHttpServletResponse response, MockFilterChain chain) throws Exception {
+        new ForwardedHeaderFilter().doFilter(request, response, (req, res) -> filter.doFilter(req, res, chain));
+    }
+
+    private static void probe(ProbeBanList banList, int times) {
+        probe(banList, times, NOW);
+    }
+
+    private static void probe(ProbeBanList banList, int times, long currentTimeMs) {
+        for (int i = 0; i < times; i++) {
+            banList.recordProbe(SCANNER_IP, currentTimeMs);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ban list")
+    class BanListTests {
+
+        @Test
+        @DisplayName("bans an IP once it reaches the probe threshold")
+        void thresholdReached_banned() {
+            ProbeBanList banList = new ProbeBanList(properties(true, 0));
+            probe(banList, 2);
+            assertThat(banList.isBanned(SCANNER_IP, NOW)).isFalse();
+            assertThat(banList.recordProbe(SCANNER_IP, NOW)).isTrue();
+            assertThat(banList.isBanned(SCANNER_IP, NOW)).isTrue();
+            assertThat(banList.isBanned("198.51.100.24", NOW)).isFalse();
+        }
+
+        @Test
+        @DisplayName("lifts the ban once it has run its course")
+        void banExpires() {
+            ProbeBanList banList = new ProbeBanList(properties(true, 0));
+            probe(banList, 3);
+            assertThat(banList.isBanned(SCANNER_IP, NOW + TimeUnit.MINUTES.toMillis(10) - 1)).isTrue();
+            assertThat(banList.isBanned(SCANNER_IP, NOW + TimeUnit.MINUTES.toMillis(10))).isFalse();
+        }
+
+        @Test
+        @DisplayName("forgets strikes once the window has passed")
+        void strikesExpireWithWindow() {
+            AtomicLong nanos = new AtomicLong();
+            ProbeBanList banList = new ProbeBanList(properties(true, 0), nanos::get);
+            probe(banList, 2);
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+            assertThat(banList.recordProbe(SCANNER_IP, NOW)).isFalse();
+            assertThat(banList.isBanned(SCANNER_IP, NOW)).isFalse();
+        }
+
+        @Test
+        @DisplayName("treats different spellings of one address as the same client")
+        void equivalentAddresses_shareStrikes() {
+            ProbeBanList banList = new ProbeBanList(properties(true, 0));
+            banList.recordProbe("2001:db8::1", NOW);
+            banList.recordProbe("2001:DB8:0:0:0:0:0:1", NOW);
+            banList.recordProbe("2001:0db8::0001", NOW);
+            assertThat(banList.isBanned("2001:db8::1", NOW)).isTrue();
+        }
+
+        @Test
+        @DisplayName("never strikes or bans loopback or unparseable addresses")
+        void loopbackAndUnparseable_neverBanned() {
+            ProbeBanList banList = new ProbeBanList(properties(true, 0));
+            for (String clientIp : List.of("127.0.0.1", "127.10.20.30", "::1", "::ffff:127.0.0.1", "unknown")) {
+                for (int i = 0; i < 3; i++) {
+                    assertThat(banList.recordProbe(clientIp, NOW)).isFalse();
+                }
+                assertThat(banList.isBanned(clientIp, NOW)).isFalse();
+            }
+        }
+
+        @Test
+        @DisplayName("never bans when disabled")
+        void disabled_neverBans() {
+            ProbeBanList banList = new ProbeBanList(properties(false, 0));
+            probe(banList, 10);
+            assertThat(banList.isBanned(SCANNER_IP, NOW)).isFalse();
+        }
+
+        @Test
+        @DisplayName("logs a summary and starts a new interval")
+        void logSummary_resetsInterval() {
+            ProbeBanList banList = new ProbeBanList(properties(true, 0));
+            probe(banList, 3);
+            banList.logSummary();
+            banList.logSummary();
+            assertThat(banList.isBanned(SCANNER_IP, NOW)).isTrue();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class FilterTests {
+
+        @Test
+        @DisplayName("passes requests from clients that are not banned")
+        void notBanned_passesThrough() throws Exception {
+            ProbeBanProperties props = properties(true, 0);
+            ProbeBanFilter filter = new ProbeBanFilter(new ProbeBanList(props), props, false);
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request(SCANNER_IP), response, chain);
+            assertThat(chain.getRequest()).isNotNull();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        @Test
+        @DisplayName("answers banned clients with 403 without running the chain")
+        void banned_rejectedImmediately() throws Exception {
+            ProbeBanProperties props = properties(true, 0);
+            ProbeBanList banList = new ProbeBanList(props);
+            probe(banList, 3, System.currentTimeMillis()); // the filter checks bans on the wall clock
+            ProbeBanFilter filter = new ProbeBanFilter(banList, props, false);
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request(SCANNER_IP), response, chain);
+            assertThat(chain.getRequest()).isNull();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+            assertThat(response.getContentAsString()).contains("\"status\": 403");
+        }
+
+        @Test
+        @DisplayName("charges probes to the connection's peer, not a spoofed X-Forwarded-For")
+        void spoofedForwardedFor_bansPeerOnly() throws Exception {
+            ProbeBanProperties props = properties(true, 0);
+            ProbeBanList banList = new ProbeBanList(props);
+            SensitiveFileProbeFilter probeFilter =
+                    new SensitiveFileProbeFilter(new RouteClassifier(""), banList, false);
+            for (int i = 0; i < 3; i++) {
+                MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/.env");
+                spoofed.setRemoteAddr(SCANNER_IP);
+                spoofed.addHeader("X-Forwarded-For", VICTIM_IP);
+                filterForwarded(probeFilter, spoofed, new MockHttpServletResponse(), new MockFilterChain());
+            }
+            assertThat(banList.isBanned(VICTIM_IP, NOW)).isFalse();
+            ProbeBanFilter filter = new ProbeBanFilter(banList, props, false);
+
+            MockHttpServletResponse victim = new MockHttpServletResponse();
+            filterForwarded(filter, request(VICTIM_IP), victim, new MockFilterChain());
+            assertThat(victim.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+            MockHttpServletRequest scanner = request(SCANNER_IP);
+            scanner.addHeader("X-Forwarded-For", VICTIM_IP);
+            MockHttpServletResponse scannerResponse = new MockHttpServletResponse();
+            filterForwarded(filter, scanner, scannerResponse, new MockFilterChain());
+            assertThat(scannerResponse.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        }
+
+        @Test
+        @DisplayName("never bans a client connecting from 127.0.0.1")
+        void loopbackClient_neverBanned() throws Exception {
+            ProbeBanProperties props = properties(true, 0);
+            ProbeBanList banList = new ProbeBanList(props);
+            SensitiveFileProbeFilter probeFilter =
+                    new SensitiveFileProbeFilter(new RouteClassifier(""), banList, false);
+            for (int i = 0; i < 3; i++) {
+                MockHttpServletRequest probe = new MockHttpServletRequest("GET", "/.env");
+                probe.setRemoteAddr("127.0.0.1");
+                probeFilter.doFilter(probe, new MockHttpServletResponse(), new MockFilterChain());
+            }
+            ProbeBanFilter filter = new ProbeBanFilter(banList, props, false);
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("127.0.0.1"), response, chain);
+            assertThat(chain.getRequest()).isNotNull();
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+
+        @Test
+        @DisplayName("tarpits banned clients asynchronously and answers the rest once the tarpit is full")
+        void tarpit_parksUpToLimit() throws Exception {
+            ProbeBanProperties props = properties(true, 200);
+            ProbeBanList banList = new ProbeBanList(props);
+            probe(banList, 3, System.currentTimeMillis()); // the filter checks bans on the wall clock
+            ProbeBanFilter filter = new ProbeBanFilter(banList, props, false);
+            try {
+                MockHttpServletRequest parked = request(SCANNER_IP);
+                MockHttpServletResponse parkedResponse = new MockHttpServletResponse();
+                filter.doFilter(parked, parkedResponse, new MockFilterChain());
+                assertThat(parked.isAsyncStarted()).isTrue();
+                assertThat(parkedResponse.getContentAsByteArray()).isEmpty();
+                CountDownLatch released = new CountDownLatch(1);
+                parked.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        released.countDown();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+
+                MockHttpServletResponse overflow = new MockHttpServletResponse();
+                filter.doFilter(request(SCANNER_IP), overflow, new MockFilterChain());
+                assertThat(overflow.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+
+                assertThat(released.await(2, TimeUnit.SECONDS)).isTrue();
+                assertThat(parkedResponse.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+                assertThat(parked.isAsyncStarted()).isFalse();
+            } finally {
+                filter.shutdown();
+            }
+        }
+
+    }
+
+}
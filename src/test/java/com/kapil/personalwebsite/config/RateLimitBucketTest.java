@@ -0,0 +1,207 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the GCRA and token-bucket implementations of RateLimitBucket.
+ *
+ * @author Kapil Garg
+ */
+class RateLimitBucketTest {
+
+    private static final long NOW = 1_000_000_000L;
+
+    private static RateLimitFilter.RateLimitConfig config(int maxRequests, RateLimitProperties.Algorithm algorithm) {
+        return new RateLimitFilter.RateLimitConfig(maxRequests, 1, algorithm);
+    }
+
+    @Nested
+    @DisplayName("GCRA")
+    class GcraTests {
+
+        private final RateLimitFilter.RateLimitConfig config = config(3, RateLimitProperties.Algorithm.GCRA);
+
+        @Test
+        @DisplayName("admits a burst of maxRequests then spaces requests by the emission interval")
+        void burstThenEmissionInterval() {
+            GcraBucket bucket = new GcraBucket();
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isEqualTo(2);
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isEqualTo(1);
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isZero();
+            RateLimitFilter.RateLimitCheckResult blocked = bucket.tryAcquire(NOW, config);
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.retryAfterSeconds()).isEqualTo(20);
+            assertThat(bucket.tryAcquire(NOW + 19_999, config).allowed()).isFalse();
+            assertThat(bucket.tryAcquire(NOW + 20_000, config).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("reset reports when the bucket is fully drained")
+        void resetIsDrainTime() {
+            GcraBucket bucket = new GcraBucket();
+            RateLimitFilter.RateLimitCheckResult first = bucket.tryAcquire(NOW, config);
+            assertThat(first.resetEpochSeconds()).isEqualTo((NOW + 20_000) / 1000);
+        }
+
+        @Test
+        @DisplayName("becomes idle once the theoretical arrival time has passed")
+        void idleAfterDrain() {
+            GcraBucket bucket = new GcraBucket();
+            assertThat(bucket.isIdle(NOW, config)).isTrue();
+            bucket.tryAcquire(NOW, config);
+            bucket.tryAcquire(NOW, config);
+            assertThat(bucket.isIdle(NOW + 39_999, config)).isFalse();
+            assertThat(bucket.isIdle(NOW + 40_000, config)).isTrue();
+        }
+
+        @Test
+        @DisplayName("charges push the bucket into debt while refunds never bank unused quota")
+        void adjustChargesDebtAndRefunds() {
+            GcraBucket charged = new GcraBucket();
+            charged.tryAcquire(NOW, config);
+            charged.adjust(NOW, config, 3);
+            assertThat(charged.tryAcquire(NOW + 39_999, config).allowed()).isFalse();
+            assertThat(charged.tryAcquire(NOW + 40_000, config).allowed()).isTrue();
+            GcraBucket refunded = new GcraBucket();
+            refunded.adjust(NOW, config, -5);
+            for (int i = 0; i < 3; i++) {
+                assertThat(refunded.tryAcquire(NOW, config).allowed()).isTrue();
+            }
+            assertThat(refunded.tryAcquire(NOW, config).allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("concurrent callers never admit more than the burst allows")
+        void concurrentAdmissionCountIsExact() throws Exception {
+            RateLimitFilter.RateLimitConfig large = config(500, RateLimitProperties.Algorithm.GCRA);
+            for (int round = 0; round < 20; round++) {
+                GcraBucket bucket = new GcraBucket();
+                AtomicInteger admitted = new AtomicInteger();
+                runConcurrently(16, () -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire(NOW, large).allowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+                assertThat(admitted.get()).isEqualTo(500);
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Token bucket")
+    class TokenBucketTests {
+
+        private final RateLimitFilter.RateLimitConfig config = config(3, RateLimitProperties.Algorithm.TOKEN_BUCKET);
+
+        @Test
+        @DisplayName("starts full and refills continuously at maxRequests per window")
+        void refillsContinuously() {
+            TokenBucket bucket = new TokenBucket();
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isEqualTo(2);
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isEqualTo(1);
+            assertThat(bucket.tryAcquire(NOW, config).remaining()).isZero();
+            RateLimitFilter.RateLimitCheckResult blocked = bucket.tryAcquire(NOW + 10_000, config);
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.retryAfterSeconds()).isEqualTo(10);
+            assertThat(bucket.tryAcquire(NOW + 20_000, config).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("never accumulates more than maxRequests tokens")
+        void capsAtCapacity() {
+            TokenBucket bucket = new TokenBucket();
+            bucket.tryAcquire(NOW, config);
+            RateLimitFilter.RateLimitCheckResult later = bucket.tryAcquire(NOW + 3_600_000, config);
+            assertThat(later.remaining()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("charges may drive the level negative and refunds return tokens up to capacity")
+        void adjustChargesDebtAndRefunds() {
+            TokenBucket early = new TokenBucket();
+            early.adjust(NOW, config, 4);
+            assertThat(early.tryAcquire(NOW + 39_999, config).allowed()).isFalse();
+            TokenBucket bucket = new TokenBucket();
+            bucket.adjust(NOW, config, 4);
+            assertThat(bucket.tryAcquire(NOW + 40_000, config).allowed()).isTrue();
+            bucket.adjust(NOW + 40_000, config, -10);
+            assertThat(bucket.tryAcquire(NOW + 40_000, config).remaining()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("reports no remaining quota, never a negative count, while in debt")
+        void debt_reportsZeroRemaining() {
+            TokenBucket bucket = new TokenBucket();
+            bucket.adjust(NOW, config, 6);
+            RateLimitFilter.RateLimitCheckResult blocked = bucket.tryAcquire(NOW, config);
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.remaining()).isZero();
+        }
+
+        @Test
+        @DisplayName("is idle once it has refilled to capacity")
+        void idleOnceFull() {
+            TokenBucket bucket = new TokenBucket();
+            assertThat(bucket.isIdle(NOW, config)).isTrue();
+            bucket.tryAcquire(NOW, config);
+            assertThat(bucket.isIdle(NOW + 19_999, config)).isFalse();
+            assertThat(bucket.isIdle(NOW + 20_000, config)).isTrue();
+        }
+
+        @Test
+        @DisplayName("is not idle while charged debt is still being paid back, even after a whole window")
+        void notIdleWhileInDebt() {
+            TokenBucket bucket = new TokenBucket();
+            bucket.adjust(NOW, config, 6);
+            assertThat(bucket.isIdle(NOW + 60_000, config)).isFalse();
+            assertThat(bucket.isIdle(NOW + 119_999, config)).isFalse();
+            assertThat(bucket.isIdle(NOW + 120_000, config)).isTrue();
+        }
+
+        @Test
+        @DisplayName("resets only once any debt has been paid back and the bucket is full again")
+        void resetAtIncludesDebt() {
+            TokenBucket bucket = new TokenBucket();
+            assertThat(bucket.resetAtMs(config)).isZero();
+            bucket.tryAcquire(NOW, config);
+            assertThat(bucket.resetAtMs(config)).isEqualTo(NOW + 20_000);
+            bucket.adjust(NOW, config, 4);
+            assertThat(bucket.resetAtMs(config)).isEqualTo(NOW + 100_000);
+        }
+
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.kapil.personalwebsite.config;
 
 import com.kapil.personalwebsite.util.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,15 +10,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.DelegatingServletOutputStream;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +40,8 @@ class RateLimitFilterTest {
 
     private RateLimitFilter filter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @Mock
     private HttpServletRequest request;
 
@@ -43,23 +51,59 @@ class RateLimitFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    private ByteArrayOutputStream responseBody;
+
     @BeforeEach
     void setUp() throws Exception {
-        StringWriter responseWriter = new StringWriter();
-        when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+        stubResponseBody();
+        meterRegistry = new SimpleMeterRegistry();
         filter = buildFilter(5, 60);
     }
 
+    private void stubResponseBody() throws Exception {
+        responseBody = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new DelegatingServletOutputStream(responseBody));
+    }
+
     private RateLimitFilter buildFilter(int maxRequests, int windowMinutes) {
         return buildFilter(maxRequests, windowMinutes, maxRequests * 10, windowMinutes);
     }
 
     private RateLimitFilter buildFilter(int fpMax, int fpWindow, int ipMax, int ipWindow) {
+        return buildFilter(fpMax, fpWindow, ipMax, ipWindow, RateLimitProperties.Algorithm.SLIDING_LOG);
+    }
+
+    private RateLimitFilter buildFilter(int fpMax, int fpWindow, int ipMax, int ipWindow,
+                                        RateLimitProperties.Algorithm algorithm) {
+        return buildFilter(fpMax, fpWindow, ipMax, ipWindow, algorithm, new InMemoryRateLimitStore());
+    }
+
+    private RateLimitFilter buildFilter(int fpMax, int fpWindow, int ipMax, int ipWindow,
+                                        RateLimitProperties.Algorithm algorithm, RateLimitStore store) {
+        return buildFilter(fpMax, fpWindow, ipMax, ipWindow, algorithm, store, "test-secret");
+    }
+
+    private RateLimitFilter buildFilter(int fpMax, int fpWindow, int ipMax, int ipWindow,
+                                        RateLimitProperties.Algorithm algorithm, RateLimitStore store,
+                                        String keySecret) {
         var fp = new RateLimitProperties.EndpointLimitConfig.BucketConfig(fpMax, fpWindow);
         var ip = new RateLimitProperties.EndpointLimitConfig.BucketConfig(ipMax, ipWindow);
-        var cfg = new RateLimitProperties.EndpointLimitConfig(fp, ip);
-        RateLimitProperties properties = new RateLimitProperties(cfg, cfg, cfg, cfg, cfg, false);
-        return new RateLimitFilter(properties);
+        var cfg = new RateLimitProperties.EndpointLimitConfig(fp, ip, null);
+        RateLimitProperties properties =
+                new RateLimitProperties(cfg, cfg, cfg, cfg, cfg, false, algorithm, null, keySecret, null, null);
+        return new RateLimitFilter(properties, store, meterRegistry, new RouteClassifier(""));
+    }
+
+    private RateLimitFilter buildSubnetFilter(int ipMax, int subnetMax, String... overrides) {
+        var fp = new RateLimitProperties.EndpointLimitConfig.BucketConfig(100, 60);
+        var ip = new RateLimitProperties.EndpointLimitConfig.BucketConfig(ipMax, 60);
+        var subnet = new RateLimitProperties.EndpointLimitConfig.BucketConfig(subnetMax, 60);
+        var cfg = new RateLimitProperties.EndpointLimitConfig(fp, ip, subnet);
+        RateLimitProperties properties = new RateLimitProperties(cfg, cfg, cfg, cfg, cfg, true,
+                RateLimitProperties.Algorithm.SLIDING_LOG, null, "test-secret",
+                new RateLimitProperties.Subnet(24, 64, List.of(overrides)), null);
+        return new RateLimitFilter(properties, new InMemoryRateLimitStore(), meterRegistry,
+                new RouteClassifier(""));
     }
 
     private void stubContactPost(String userAgent) {
@@ -80,8 +124,8 @@ class RateLimitFilterTest {
         void sameInputs_sameFingerprintEveryTime() {
             when(request.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("Mozilla/5.0");
             when(request.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en-US");
-            String fp1 = filter.buildClientFingerprint("1.2.3.4", request);
-            String fp2 = filter.buildClientFingerprint("1.2.3.4", request);
+            long fp1 = filter.buildClientFingerprint("1.2.3.4", request);
+            long fp2 = filter.buildClientFingerprint("1.2.3.4", request);
             assertEquals(fp1, fp2);
         }
 
@@ -94,8 +138,8 @@ class RateLimitFilterTest {
             when(req1.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en-US");
             when(req2.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("Firefox/121");
             when(req2.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en-US");
-            String fp1 = filter.buildClientFingerprint("1.2.3.4", req1);
-            String fp2 = filter.buildClientFingerprint("1.2.3.4", req2);
+            long fp1 = filter.buildClientFingerprint("1.2.3.4", req1);
+            long fp2 = filter.buildClientFingerprint("1.2.3.4", req2);
             assertNotEquals(fp1, fp2, "Different User-Agents on same IP must yield different fingerprints");
         }
 
@@ -104,18 +148,38 @@ class RateLimitFilterTest {
         void differentIpSameUserAgent_differentFingerprint() {
             when(request.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("Chrome/120");
             when(request.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en-US");
-            String fp1 = filter.buildClientFingerprint("1.2.3.4", request);
-            String fp2 = filter.buildClientFingerprint("5.6.7.8", request);
+            long fp1 = filter.buildClientFingerprint("1.2.3.4", request);
+            long fp2 = filter.buildClientFingerprint("5.6.7.8", request);
             assertNotEquals(fp1, fp2);
         }
 
         @Test
-        @DisplayName("fingerprint is exactly 24 hex characters")
-        void fingerprint_hasExpectedLength() {
+        @DisplayName("field boundaries matter: shifting chars between headers changes the fingerprint")
+        void shiftedFieldBoundary_differentFingerprint() {
+            HttpServletRequest req1 = mock(HttpServletRequest.class);
+            HttpServletRequest req2 = mock(HttpServletRequest.class);
+            when(req1.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("TestAgent");
+            when(req1.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en");
+            when(req2.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("TestAgente");
+            when(req2.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("n");
+            assertNotEquals(filter.buildClientFingerprint("127.0.0.1", req1),
+                    filter.buildClientFingerprint("127.0.0.1", req2));
+        }
+
+        @Test
+        @DisplayName("instances configured with the same key secret derive identical fingerprints")
+        void sameKeySecret_sameFingerprintAcrossInstances() {
             when(request.getHeader(AppConstants.USER_AGENT_HEADER)).thenReturn("TestAgent");
             when(request.getHeader(AppConstants.ACCEPT_LANGUAGE_HEADER)).thenReturn("en");
-            String fp = filter.buildClientFingerprint("127.0.0.1", request);
-            assertThat(fp).hasSize(24).matches("[0-9a-f]+");
+            RateLimitFilter replicaA = buildFilter(5, 60, 50, 60, RateLimitProperties.Algorithm.SLIDING_LOG,
+                    new InMemoryRateLimitStore(), "shared-secret");
+            RateLimitFilter replicaB = buildFilter(5, 60, 50, 60, RateLimitProperties.Algorithm.SLIDING_LOG,
+                    new InMemoryRateLimitStore(), "shared-secret");
+            RateLimitFilter other = buildFilter(5, 60, 50, 60, RateLimitProperties.Algorithm.SLIDING_LOG,
+                    new InMemoryRateLimitStore(), "other-secret");
+            long fp = replicaA.buildClientFingerprint("127.0.0.1", request);
+            assertEquals(fp, replicaB.buildClientFingerprint("127.0.0.1", request));
+            assertNotEquals(fp, other.buildClientFingerprint("127.0.0.1", request));
         }
 
         @Test
@@ -141,6 +205,14 @@ class RateLimitFilterTest {
             verify(response, never()).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         }
 
+        @Test
+        @DisplayName("allowed requests carry the client key for downstream limiters such as the AI token budget")
+        void allowedRequest_setsClientKeyAttribute() throws Exception {
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            verify(request).setAttribute(eq(RateLimitFilter.CLIENT_KEY_ATTRIBUTE), any(Long.class));
+        }
+
         @Test
         @DisplayName("request exactly at limit is blocked with 429")
         void atLimit_requestBlocked() throws Exception {
@@ -216,7 +288,7 @@ class RateLimitFilterTest {
             // 3rd request from a new UA — fp bucket is fresh but IP is exhausted
             reset(request);
             reset(response);
-            when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+            stubResponseBody();
             stubContactPost("Safari/17");
             filter.doFilter(request, response, filterChain);
             verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
@@ -311,4 +383,304 @@ class RateLimitFilterTest {
 
     }
 
+    @Nested
+    @DisplayName("Blocked client fast path")
+    class BlockedClientTests {
+
+        @Test
+        @DisplayName("a denied client is rejected from the blocked table without touching the store again")
+        void blockedClient_skipsStore() throws Exception {
+            RateLimitStore store = spy(new InMemoryRateLimitStore());
+            filter = buildFilter(1, 2, 10, 2, RateLimitProperties.Algorithm.SLIDING_LOG, store);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain); // allowed
+            filter.doFilter(request, response, filterChain); // denied by the fingerprint bucket
+            verify(store, times(4)).tryAcquire(anyString(), anyLong(), any(), anyInt(), anyLong());
+            reset(filterChain);
+            filter.doFilter(request, response, filterChain); // answered from the blocked table
+            verify(store, times(4)).tryAcquire(anyString(), anyLong(), any(), anyInt(), anyLong());
+            verify(filterChain, never()).doFilter(any(), any());
+            verify(response, times(2)).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            verify(response, times(2)).setHeader("Retry-After", "120");
+        }
+
+        @Test
+        @DisplayName("the pre-serialized 429 body carries the Retry-After delay")
+        void rejection_writesSerializedBody() throws Exception {
+            filter = buildFilter(1, 2);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain);
+            String body = responseBody.toString(StandardCharsets.UTF_8);
+            assertThat(body).contains("\"error\": \"Rate limit exceeded\"").contains("\"retryAfter\": 120");
+            verify(response).setContentLength(body.getBytes(StandardCharsets.UTF_8).length);
+            assertThat(RateLimitExceededResponse.forRetryAfter(120)).isSameAs(RateLimitExceededResponse.forRetryAfter(120));
+        }
+
+        @Test
+        @DisplayName("blocking one fingerprint leaves other browsers on the same IP unaffected")
+        void blockedFingerprint_doesNotBlockIp() throws Exception {
+            filter = buildFilter(1, 60);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain); // Chrome now blocked
+            reset(filterChain);
+            stubContactPost("Firefox/121");
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain).doFilter(request, response);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        private double requests(String bucket, String outcome) {
+            return meterRegistry.get("rate.limit.requests")
+                    .tags("endpoint", AppConstants.ENDPOINT_TYPE_CONTACT, "bucket", bucket, "outcome", outcome)
+                    .counter().count();
+        }
+
+        @Test
+        @DisplayName("counts allowed and rejected checks per endpoint and bucket type, and times each check")
+        void checks_countedPerBucket() throws Exception {
+            meterRegistry = new SimpleMeterRegistry();
+            filter = buildFilter(2, 60);
+            stubContactPost("Chrome/120");
+            for (int i = 0; i < 4; i++) {
+                filter.doFilter(request, response, filterChain);
+            }
+            assertThat(requests("fp", "allowed")).isEqualTo(2);
+            assertThat(requests("fp", "rejected")).isEqualTo(1);
+            assertThat(requests("ip", "allowed")).isEqualTo(3);
+            assertThat(requests("ip", "rejected")).isZero();
+            assertThat(meterRegistry.get("rate.limit.blocked").tag("endpoint", AppConstants.ENDPOINT_TYPE_CONTACT)
+                    .counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("rate.limit.check")
+                    .tags("endpoint", AppConstants.ENDPOINT_TYPE_CONTACT, "bucket", "fp").timer().count())
+                    .isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("reports the live bucket count and the cost of each cleanup run")
+        void bucketsAndCleanup_reported() throws Exception {
+            meterRegistry = new SimpleMeterRegistry();
+            filter = buildFilter(5, 60);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            assertThat(meterRegistry.get("rate.limit.buckets").gauge().value()).isEqualTo(2);
+            filter.cleanupExpiredEntries();
+            assertThat(meterRegistry.get("rate.limit.cleanup").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("rate.limit.cleanup.removed").counter().count()).isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Algorithm selection")
+    class AlgorithmSelectionTests {
+
+        @ParameterizedTest
+        @EnumSource(RateLimitProperties.Algorithm.class)
+        @DisplayName("every algorithm blocks past the limit and reports Retry-After in seconds")
+        void blocksPastLimit(RateLimitProperties.Algorithm algorithm) throws Exception {
+            filter = buildFilter(1, 2, 10, 2, algorithm);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain); // allowed
+            verify(filterChain, times(1)).doFilter(request, response);
+            reset(filterChain);
+            filter.doFilter(request, response, filterChain); // blocked
+            verify(filterChain, never()).doFilter(any(), any());
+            verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            verify(response).setHeader("Retry-After", "120");
+        }
+
+        @Test
+        @DisplayName("GCRA spreads the quota so Retry-After is one emission interval, not the whole window")
+        void gcraRetryAfterIsEmissionInterval() throws Exception {
+            filter = buildFilter(4, 2, 40, 2, RateLimitProperties.Algorithm.GCRA);
+            stubContactPost("Chrome/120");
+            for (int i = 0; i < 4; i++) {
+                filter.doFilter(request, response, filterChain);
+            }
+            verify(filterChain, times(4)).doFilter(request, response);
+            filter.doFilter(request, response, filterChain);
+            verify(response).setHeader("Retry-After", "30");
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Rule reload")
+    class RuleReloadTests {
+
+        private RateLimitProperties properties(int fpMax, RateLimitProperties.Algorithm algorithm) {
+            var fp = new RateLimitProperties.EndpointLimitConfig.BucketConfig(fpMax, 60);
+            var ip = new RateLimitProperties.EndpointLimitConfig.BucketConfig(fpMax * 10, 60);
+            var cfg = new RateLimitProperties.EndpointLimitConfig(fp, ip, null);
+            return new RateLimitProperties(cfg, cfg, cfg, cfg, cfg, false, algorithm, null, "test-secret", null,
+                    null);
+        }
+
+        @Test
+        @DisplayName("a raised limit applies at once and keeps the share of the window clients already used")
+        void raisedLimit_keepsBucketState() throws Exception {
+            filter = buildFilter(4, 60, 100, 60, RateLimitProperties.Algorithm.GCRA);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain); // half of the window used
+            assertThat(filter.reload(properties(10, RateLimitProperties.Algorithm.GCRA), "test")).isEqualTo(2);
+            for (int i = 0; i < 5; i++) {
+                filter.doFilter(request, response, filterChain);
+            }
+            verify(filterChain, times(7)).doFilter(request, response);
+            reset(filterChain);
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, never()).doFilter(any(), any());
+        }
+
+        @Test
+        @DisplayName("clients blocked under the old limits are re-checked against the new ones")
+        void changedLimit_releasesBlockedClients() throws Exception {
+            filter = buildFilter(1, 60, 10, 60, RateLimitProperties.Algorithm.GCRA);
+            stubContactPost("Chrome/120");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain); // denied and blocked
+            filter.reload(properties(5, RateLimitProperties.Algorithm.SLIDING_LOG), "test");
+            reset(filterChain);
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("reports the active version, source and limits")
+        void rules_reportActiveVersion() {
+            assertThat(filter.rules().version()).isEqualTo(1);
+            assertThat(filter.rules().source()).isEqualTo("startup");
+            filter.reload(properties(7, RateLimitProperties.Algorithm.TOKEN_BUCKET), "rules file");
+            RateLimitFilter.RulesStatus rules = filter.rules();
+            assertThat(rules.version()).isEqualTo(2);
+            assertThat(rules.source()).isEqualTo("rules file");
+            assertThat(rules.algorithm()).isEqualTo(RateLimitProperties.Algorithm.TOKEN_BUCKET);
+            assertThat(rules.endpoints().get(AppConstants.ENDPOINT_TYPE_CONTACT).fingerprint().maxRequests())
+                    .isEqualTo(7);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Shared rate limit store")
+    class SharedStoreTests {
+
+        @Test
+        @DisplayName("two filter instances sharing one store enforce one combined limit")
+        void twoInstances_shareOneQuota() throws Exception {
+            RateLimitStore shared = new InMemoryRateLimitStore();
+            RateLimitFilter replicaA = buildFilter(3, 60, 30, 60, RateLimitProperties.Algorithm.SLIDING_LOG, shared);
+            RateLimitFilter replicaB = buildFilter(3, 60, 30, 60, RateLimitProperties.Algorithm.SLIDING_LOG, shared);
+            stubContactPost("Chrome/120");
+            replicaA.doFilter(request, response, filterChain);
+            replicaB.doFilter(request, response, filterChain);
+            replicaA.doFilter(request, response, filterChain);
+            verify(filterChain, times(3)).doFilter(request, response);
+            reset(filterChain);
+            replicaB.doFilter(request, response, filterChain);
+            verify(filterChain, never()).doFilter(any(), any());
+            verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @DisplayName("leasing replicas never exceed the combined limit and strand at most one partial lease")
+        void leasingInstances_shareOneQuota() throws Exception {
+            RateLimitStore shared = new InMemoryRateLimitStore();
+            RateLimitFilter replicaA = buildFilter(10, 60, 100, 60, RateLimitProperties.Algorithm.GCRA,
+                    new LeasingRateLimitStore(shared, 4, 60_000L));
+            RateLimitFilter replicaB = buildFilter(10, 60, 100, 60, RateLimitProperties.Algorithm.GCRA,
+                    new LeasingRateLimitStore(shared, 4, 60_000L));
+            stubContactPost("Chrome/120");
+            AtomicInteger passed = new AtomicInteger();
+            doAnswer(invocation -> passed.incrementAndGet()).when(filterChain).doFilter(request, response);
+            for (int i = 0; i < 20; i++) {
+                (i % 2 == 0 ? replicaA : replicaB).doFilter(request, response, filterChain);
+            }
+            assertThat(passed.get()).isLessThanOrEqualTo(10).isGreaterThanOrEqualTo(10 - 3);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Subnet aggregate bucket")
+    class SubnetBucketTests {
+
+        private void stubForwardedContactPost(String forwardedFor) {
+            stubContactPost("Chrome/120");
+            when(request.getHeader("X-Forwarded-For")).thenReturn(forwardedFor);
+        }
+
+        @Test
+        @DisplayName("rotating addresses inside one IPv6 /64 is blocked once the subnet bucket is exhausted")
+        void ipv6AddressRotation_blockedBySubnetBucket() throws Exception {
+            filter = buildSubnetFilter(2, 3);
+            for (int i = 1; i <= 4; i++) {
+                stubForwardedContactPost("2001:db8:0:1::" + i);
+                filter.doFilter(request, response, filterChain);
+            }
+            verify(filterChain, times(3)).doFilter(request, response);
+            verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @DisplayName("IPv4 addresses aggregate per /24 and neighbouring networks keep their own quota")
+        void ipv4Networks_independentBuckets() throws Exception {
+            filter = buildSubnetFilter(5, 2);
+            stubForwardedContactPost("198.51.100.7");
+            filter.doFilter(request, response, filterChain);
+            stubForwardedContactPost("198.51.100.8");
+            filter.doFilter(request, response, filterChain);
+            stubForwardedContactPost("198.51.100.9");
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, times(2)).doFilter(request, response);
+            stubForwardedContactPost("198.51.101.9");
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, times(3)).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("differently written forms of one IPv6 address share the IP bucket")
+        void equivalentIpv6Spellings_shareIpBucket() throws Exception {
+            filter = buildSubnetFilter(2, 100);
+            stubForwardedContactPost("2001:DB8::1");
+            filter.doFilter(request, response, filterChain);
+            stubForwardedContactPost("2001:db8:0:0:0:0:0:1");
+            filter.doFilter(request, response, filterChain);
+            stubForwardedContactPost("[2001:db8::0001]");
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, times(2)).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("an override range tracks carrier-grade NAT clients per address instead of per /24")
+        void overrideRange_narrowsAggregation() throws Exception {
+            filter = buildSubnetFilter(5, 2, "100.64.0.0/10=32");
+            stubForwardedContactPost("100.64.1.1");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain);
+            stubForwardedContactPost("100.64.1.2");
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, times(3)).doFilter(request, response);
+        }
+
+        @Test
+        @DisplayName("a client IP that is not an address literal skips the subnet bucket")
+        void unparseableClientIp_notSubnetLimited() throws Exception {
+            filter = buildSubnetFilter(5, 1);
+            stubForwardedContactPost("unknown");
+            filter.doFilter(request, response, filterChain);
+            filter.doFilter(request, response, filterChain);
+            verify(filterChain, times(2)).doFilter(request, response);
+        }
+
+    }
+
 }
@@ -0,0 +1,126 @@
+package com.kapil.personalwebsite.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RateLimitRulesReloader.
+ *
+ * @author Kapil Garg
+ */
+class RateLimitRulesReloaderTest {
+
+    private static final String[] ENDPOINTS = {"contact", "contact-polish", "blog", "blog-ask", "portfolio-chat"};
+
+    @TempDir
+    Path tempDir;
+
+    private StandardEnvironment environment;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> base = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            base.put("rate.limit." + endpoint + ".fingerprint.max-requests", "${FP_MAX:5}");
+            base.put("rate.limit." + endpoint + ".fingerprint.window-minutes", "60");
+            base.put("rate.limit." + endpoint + ".ip.max-requests", "20");
+            base.put("rate.limit." + endpoint + ".ip.window-minutes", "60");
+        }
+        base.put("rate.limit.key-secret", "test-secret");
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application", base));
+        var bucket = new RateLimitProperties.EndpointLimitConfig.BucketConfig(5, 60);
+        var limits = new RateLimitProperties.EndpointLimitConfig(bucket, bucket, null);
+        filter = new RateLimitFilter(new RateLimitProperties(limits, limits, limits, limits, limits, false, null,
+                null, "test-secret", null, null), new InMemoryRateLimitStore(), new SimpleMeterRegistry(),
+                new RouteClassifier(""));
+    }
+
+    private RateLimitRulesReloader reloader(String rulesFile) {
+        return new RateLimitRulesReloader(filter, environment, rulesFile);
+    }
+
+    private MockHttpServletResponse contactPost() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/contact");
+        request.setServletPath("/contact");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("applies only the overridden keys on top of the application configuration")
+    void reload_overlaysApplicationConfig() {
+        long version = reloader("").reload("""
+                rate.limit.contact.fingerprint.max-requests=2
+                rate.limit.algorithm=gcra
+                """, "admin endpoint");
+        assertThat(version).isEqualTo(2);
+        RateLimitFilter.RulesStatus rules = filter.rules();
+        assertThat(rules.algorithm()).isEqualTo(RateLimitProperties.Algorithm.GCRA);
+        assertThat(rules.endpoints().get("CONTACT").fingerprint().maxRequests()).isEqualTo(2);
+        assertThat(rules.endpoints().get("CONTACT").ip().maxRequests()).isEqualTo(20);
+        assertThat(rules.endpoints().get("BLOG").fingerprint().maxRequests()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("keeps a client that is already over a lowered sliding-log limit limited")
+    void reload_lowerLimitKeepsClientLimited() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThat(contactPost().getStatus()).isEqualTo(HttpStatus.OK.value());
+        }
+        reloader("").reload("rate.limit.contact.fingerprint.max-requests=2", "admin endpoint");
+        assertThat(filter.rules().algorithm()).isEqualTo(RateLimitProperties.Algorithm.SLIDING_LOG);
+        assertThat(contactPost().getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    @DisplayName("rejects invalid rules and keeps the active ones in force")
+    void reload_invalidRulesRejected() {
+        RateLimitRulesReloader reloader = reloader("");
+        assertThatThrownBy(() -> reloader.reload("rate.limit.blog.ip.max-requests=0", "test"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate.limit.blog.ip");
+        assertThatThrownBy(() -> reloader.reload("rate.limit.algorithm=fastest", "test"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(filter.rules().version()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reloads the rules file only when it changes")
+    void pollRulesFile_reloadsOnChange() throws IOException {
+        Path rulesFile = tempDir.resolve("rate-limit.properties");
+        Files.writeString(rulesFile, "rate.limit.contact.fingerprint.max-requests=3\n");
+        RateLimitRulesReloader reloader = reloader(rulesFile.toString());
+        reloader.pollRulesFile();
+        reloader.pollRulesFile();
+        assertThat(filter.rules().version()).isEqualTo(2);
+        assertThat(filter.rules().source()).isEqualTo(rulesFile.toString());
+        Files.writeString(rulesFile, "rate.limit.contact.fingerprint.max-requests=4\n");
+        Files.setLastModifiedTime(rulesFile, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        reloader.pollRulesFile();
+        assertThat(filter.rules().version()).isEqualTo(3);
+        assertThat(filter.rules().endpoints().get("CONTACT").fingerprint().maxRequests()).isEqualTo(4);
+    }
+
+}
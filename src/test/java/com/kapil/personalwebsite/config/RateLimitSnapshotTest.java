@@ -0,0 +1,212 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RateLimitSnapshot.
+ *
+ * @author Kapil Garg
+ */
+class RateLimitSnapshotTest {
+
+    private static final long NOW = 1_000_000_000L;
+    private static final long KEY_CHECK = 42L;
+    private static final String NAMESPACE = "fp:CONTACT";
+    private static final long KEY = 0x5eedL;
+
+    @TempDir
+    Path tempDir;
+
+    private static RateLimitFilter.RateLimitConfig config(RateLimitProperties.Algorithm algorithm) {
+        return new RateLimitFilter.RateLimitConfig(3, 1, algorithm);
+    }
+
+    private RateLimitSnapshot snapshot(InMemoryRateLimitStore store) {
+        return new RateLimitSnapshot(tempDir.resolve("rate-limit.snapshot"), KEY_CHECK, store, 5_000);
+    }
+
+    private static void exhaust(InMemoryRateLimitStore store, RateLimitFilter.RateLimitConfig config, long key) {
+        for (int i = 0; i < config.maxRequests(); i++) {
+            store.tryAcquire(NAMESPACE, key, config, 1, NOW);
+        }
+    }
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTripTests {
+
+        @ParameterizedTest
+        @EnumSource(RateLimitProperties.Algorithm.class)
+        @DisplayName("restores an exhausted bucket so the client stays limited after a restart")
+        void exhaustedBucket_staysLimited(RateLimitProperties.Algorithm algorithm) throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(algorithm);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore();
+            exhaust(before, config, KEY);
+            assertThat(snapshot(before).checkpoint(NOW)).isEqualTo(1);
+
+            InMemoryRateLimitStore after = new InMemoryRateLimitStore();
+            assertThat(snapshot(after).restore(NOW)).isEqualTo(1);
+            assertThat(after.tryAcquire(NAMESPACE, KEY, config, 1, NOW).allowed()).isFalse();
+            assertThat(after.tryAcquire(NAMESPACE, KEY + 1, config, 1, NOW).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("skips buckets whose window has passed by the time they are restored")
+        void expiredBucket_skipped() throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(RateLimitProperties.Algorithm.SLIDING_LOG);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore();
+            exhaust(before, config, KEY);
+            snapshot(before).checkpoint(NOW);
+
+            InMemoryRateLimitStore after = new InMemoryRateLimitStore();
+            assertThat(snapshot(after).restore(NOW + config.windowMillis() + 1)).isZero();
+        }
+
+        @Test
+        @DisplayName("starts fresh buckets when the limits changed since the snapshot was written")
+        void changedConfig_notAdopted() throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(RateLimitProperties.Algorithm.GCRA);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore();
+            exhaust(before, config, KEY);
+            snapshot(before).checkpoint(NOW);
+
+            InMemoryRateLimitStore after = new InMemoryRateLimitStore();
+            snapshot(after).restore(NOW);
+            RateLimitFilter.RateLimitConfig raised =
+                    new RateLimitFilter.RateLimitConfig(10, 1, RateLimitProperties.Algorithm.GCRA);
+            assertThat(after.tryAcquire(NAMESPACE, KEY, raised, 1, NOW).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("keeps restored namespaces not yet used in the next checkpoint")
+        void stagedNamespace_checkpointedAgain() throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(RateLimitProperties.Algorithm.GCRA);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore();
+            exhaust(before, config, KEY);
+            snapshot(before).checkpoint(NOW);
+
+            InMemoryRateLimitStore restarted = new InMemoryRateLimitStore();
+            snapshot(restarted).restore(NOW);
+            assertThat(snapshot(restarted).checkpoint(NOW)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("writes a partial snapshot, smallest buckets first, when the reservation exceeds the size cap")
+        void oversizedReservation_writesPartialSnapshot() throws IOException {
+            RateLimitFilter.RateLimitConfig contact = config(RateLimitProperties.Algorithm.SLIDING_LOG);
+            RateLimitFilter.RateLimitConfig blog =
+                    new RateLimitFilter.RateLimitConfig(600, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore();
+            for (long key = 0; key < 1_000; key++) {
+                before.tryAcquire("ip:BLOG", key, blog, 1, NOW);
+            }
+            exhaust(before, contact, KEY);
+            Path file = tempDir.resolve("rate-limit.snapshot");
+            long maxBytes = 64 * 1024;
+            int written = new RateLimitSnapshot(file, KEY_CHECK, before, 5_000, maxBytes).checkpoint(NOW);
+            assertThat(written).isGreaterThan(1).isLessThan(1_001);
+            assertThat(Files.size(file)).isLessThanOrEqualTo(maxBytes);
+
+            InMemoryRateLimitStore after = new InMemoryRateLimitStore();
+            assertThat(snapshot(after).restore(NOW)).isEqualTo(written);
+            assertThat(after.tryAcquire(NAMESPACE, KEY, contact, 1, NOW).allowed()).isFalse();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Rejected snapshots")
+    class RejectedSnapshotTests {
+
+        private Path writeExhaustedSnapshot() throws IOException {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            exhaust(store, config(RateLimitProperties.Algorithm.GCRA), KEY);
+            snapshot(store).checkpoint(NOW);
+            return tempDir.resolve("rate-limit.snapshot");
+        }
+
+        @Test
+        @DisplayName("ignores a snapshot written with a different key secret")
+        void differentKeySecret_ignored() throws IOException {
+            Path file = writeExhaustedSnapshot();
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            assertThat(new RateLimitSnapshot(file, KEY_CHECK + 1, store, 5_000).restore(NOW)).isZero();
+        }
+
+        @Test
+        @DisplayName("ignores a corrupted snapshot")
+        void corrupted_ignored() throws IOException {
+            Path file = writeExhaustedSnapshot();
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 0x7f;
+            Files.write(file, bytes);
+            assertThat(snapshot(new InMemoryRateLimitStore()).restore(NOW)).isZero();
+        }
+
+        @Test
+        @DisplayName("ignores a snapshot with an unknown layout version")
+        void unknownVersion_ignored() throws IOException {
+            Path file = writeExhaustedSnapshot();
+            byte[] bytes = Files.readAllBytes(file);
+            ByteBuffer.wrap(bytes).putShort(Integer.BYTES, (short) (RateLimitSnapshot.VERSION + 1));
+            Files.write(file, bytes);
+            assertThat(snapshot(new InMemoryRateLimitStore()).restore(NOW)).isZero();
+        }
+
+        @Test
+        @DisplayName("starts empty when there is no snapshot yet")
+        void missingFile_startsEmpty() {
+            assertThat(snapshot(new InMemoryRateLimitStore()).restore(NOW)).isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Restore time")
+    class RestoreTimeTests {
+
+        @Test
+        @DisplayName("restores 100k buckets well within the default budget")
+        void largeSnapshot_restoredWithinBudget() throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(RateLimitProperties.Algorithm.GCRA);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore(100_000);
+            for (long key = 0; key < 100_000; key++) {
+                before.tryAcquire(NAMESPACE, key, config, 1, NOW);
+            }
+            snapshot(before).checkpoint(NOW);
+
+            long start = System.nanoTime();
+            assertThat(snapshot(new InMemoryRateLimitStore(100_000)).restore(NOW)).isEqualTo(100_000);
+            assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        }
+
+        @Test
+        @DisplayName("stops restoring once the time budget is spent")
+        void exhaustedBudget_stopsEarly() throws IOException {
+            RateLimitFilter.RateLimitConfig config = config(RateLimitProperties.Algorithm.GCRA);
+            InMemoryRateLimitStore before = new InMemoryRateLimitStore(10_000);
+            for (long key = 0; key < 10_000; key++) {
+                before.tryAcquire(NAMESPACE, key, config, 1, NOW);
+            }
+            snapshot(before).checkpoint(NOW);
+
+            RateLimitSnapshot noBudget = new RateLimitSnapshot(tempDir.resolve("rate-limit.snapshot"), KEY_CHECK,
+                    new InMemoryRateLimitStore(10_000), 0);
+            assertThat(noBudget.restore(NOW)).isLessThan(10_000);
+        }
+
+    }
+
+}
@@ -0,0 +1,348 @@
+package com.kapil.personalwebsite.config;
+
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the RateLimitStore implementations.
+ *
+ * @author Kapil Garg
+ */
+class RateLimitStoreTest {
+
+    private static final long NOW = 1_000_000_000L;
+    private static final String NAMESPACE = "fp:CONTACT";
+    private static final long KEY = 0x5eedL;
+    private static final String DOCUMENT_ID = "fp:CONTACT:5eed";
+
+    private static final RateLimitFilter.RateLimitConfig GCRA_CONFIG =
+            new RateLimitFilter.RateLimitConfig(10, 1, RateLimitProperties.Algorithm.GCRA);
+
+    @Nested
+    @DisplayName("In-memory store")
+    class InMemoryStoreTests {
+
+        @Test
+        @DisplayName("rejects most of a flood of one million unique sliding-log keys within its byte budget")
+        void floodOfUniqueKeysStaysWithinBudget() {
+            RateLimitFilter.RateLimitConfig slidingLog =
+                    new RateLimitFilter.RateLimitConfig(600, 60, RateLimitProperties.Algorithm.SLIDING_LOG);
+            long maxBytes = 16L * 1024 * 1024;
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore(100_000, maxBytes);
+            store.tryAcquire(NAMESPACE, KEY, slidingLog, 600, NOW);
+            long allowed = 0;
+            for (long flooder = 1; flooder <= 1_000_000; flooder++) {
+                if (store.tryAcquire(NAMESPACE, KEY + flooder * 0x9E3779B97F4A7C15L, slidingLog, 1, NOW).allowed()) {
+                    allowed++;
+                }
+                if (flooder % 100 == 0) {
+                    // The tracked client keeps sending requests throughout the flood.
+                    assertThat(store.tryAcquire(NAMESPACE, KEY, slidingLog, 1, NOW).allowed()).isFalse();
+                }
+            }
+            store.evictIdle(NOW, 3_600_000L);
+            long[] weightedSize = new long[1];
+            store.forEachNamespace((name, ns) -> weightedSize[0] +=
+                    ns.buckets().policy().eviction().orElseThrow().weightedSize().orElseThrow());
+            assertThat(weightedSize[0]).isLessThanOrEqualTo(maxBytes);
+            assertThat(store.size()).isLessThanOrEqualTo(maxBytes / InMemoryRateLimitStore.entryWeight(slidingLog));
+            // Only about the keys that fit before the namespace filled, plus one client's allowance for the keys
+            // on probation after that, get through; the tracked client is not reset and newcomers stay denied.
+            assertThat(1_000_000 - allowed).isGreaterThan(980_000);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, slidingLog, 1, NOW).allowed()).isFalse();
+            assertThat(store.tryAcquire(NAMESPACE, KEY - 1, slidingLog, 1, NOW).allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("splits its byte budget across namespaces")
+        void budgetIsSharedAcrossNamespaces() {
+            long maxBytes = 64L * InMemoryRateLimitStore.entryWeight(GCRA_CONFIG);
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore(100_000, maxBytes);
+            for (long key = 0; key < 1_000; key++) {
+                store.tryAcquire("fp:CONTACT", key, GCRA_CONFIG, 1, NOW);
+                store.tryAcquire("ip:CONTACT", key, GCRA_CONFIG, 1, NOW);
+            }
+            store.evictIdle(NOW, 60_000L);
+            assertThat(store.size()).isLessThanOrEqualTo(64);
+        }
+
+        @Test
+        @DisplayName("adjusts the same bucket tryAcquire charged")
+        void adjustReachesSameBucket() {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 10, NOW).allowed()).isTrue();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW).allowed()).isFalse();
+            store.adjust(NAMESPACE, KEY, GCRA_CONFIG, -4, NOW);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 4, NOW).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("expires buckets once they are back to their initial state")
+        void expiresIdleBuckets() {
+            AtomicLong nanos = new AtomicLong();
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, nanos::get);
+            store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW); // drained after one 6s emission interval
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+            store.evictIdle(NOW, 60_000L);
+            assertThat(store.size()).isEqualTo(1);
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            store.evictIdle(NOW, 60_000L);
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("keeps a bucket in debt past an idle window until the debt is paid back")
+        void keepsDebtPastIdleWindow() {
+            AtomicLong nanos = new AtomicLong();
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, nanos::get);
+            store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 10, NOW);
+            store.adjust(NAMESPACE, KEY, GCRA_CONFIG, 10, NOW); // owes a second full window
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+            store.evictIdle(NOW + 61_000, 60_000L);
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW + 61_000).allowed()).isFalse();
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+            store.evictIdle(NOW + 121_000, 60_000L);
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("keeps bucket state when the limit of the same algorithm changes")
+        void changedLimit_keepsState() {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 5, NOW); // half of the window used
+            RateLimitFilter.RateLimitConfig raised =
+                    new RateLimitFilter.RateLimitConfig(20, 1, RateLimitProperties.Algorithm.GCRA);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, raised, 10, NOW).allowed()).isTrue();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, raised, 1, NOW).allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("never moves a namespace back to the config of an older rule set")
+        void olderGeneration_doesNotRevertReload() {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            RateLimitFilter.RateLimitConfig before =
+                    new RateLimitFilter.RateLimitConfig(10, 1, RateLimitProperties.Algorithm.SLIDING_LOG, 1);
+            RateLimitFilter.RateLimitConfig reloaded =
+                    new RateLimitFilter.RateLimitConfig(5, 1, RateLimitProperties.Algorithm.SLIDING_LOG, 2);
+            store.tryAcquire(NAMESPACE, KEY, before, 8, NOW);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, reloaded, 1, NOW).allowed()).isFalse();
+            // A request still running under the previous rules sees the reloaded log of five, not a fresh one.
+            assertThat(store.tryAcquire(NAMESPACE, KEY, before, 1, NOW).allowed()).isFalse();
+            assertThat(store.tryAcquire(NAMESPACE, KEY + 1, before, 6, NOW).allowed()).isFalse();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, reloaded, 1, NOW).allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("starts fresh buckets when the algorithm changes")
+        void changedAlgorithm_startsFresh() {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 10, NOW);
+            RateLimitFilter.RateLimitConfig slidingLog =
+                    new RateLimitFilter.RateLimitConfig(10, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, slidingLog, 10, NOW).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("carries sliding logs over into the new capacity when it grows or shrinks")
+        void changedSlidingLogCapacity_keepsNewestRequests() {
+            InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+            RateLimitFilter.RateLimitConfig slidingLog =
+                    new RateLimitFilter.RateLimitConfig(10, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+            store.tryAcquire(NAMESPACE, KEY, slidingLog, 8, NOW);
+            RateLimitFilter.RateLimitConfig largerLog =
+                    new RateLimitFilter.RateLimitConfig(20, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, largerLog, 12, NOW + 1).allowed()).isTrue();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, largerLog, 1, NOW + 1).allowed()).isFalse();
+            RateLimitFilter.RateLimitConfig smallerLog =
+                    new RateLimitFilter.RateLimitConfig(5, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+            assertThat(store.tryAcquire(NAMESPACE, KEY, smallerLog, 1, NOW + 2).allowed()).isFalse();
+            // The newest five requests, made at NOW + 1, age out together one window later.
+            assertThat(store.tryAcquire(NAMESPACE, KEY, smallerLog, 5, NOW + 60_001).allowed()).isFalse();
+            assertThat(store.tryAcquire(NAMESPACE, KEY, smallerLog, 5, NOW + 60_002).allowed()).isTrue();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Leasing store")
+    class LeasingStoreTests {
+
+        private static final RateLimitFilter.RateLimitConfig LEASE_CONFIG =
+                new RateLimitFilter.RateLimitConfig(100, 1, RateLimitProperties.Algorithm.GCRA);
+
+        @Test
+        @DisplayName("serves a whole lease from one shared round trip")
+        void servesLeaseLocally() {
+            RateLimitStore shared = spy(new InMemoryRateLimitStore());
+            LeasingRateLimitStore leasing = new LeasingRateLimitStore(shared, 5, 60_000L);
+            for (int i = 0; i < 5; i++) {
+                assertThat(leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW).allowed()).isTrue();
+            }
+            verify(shared, times(1)).tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 5, NOW);
+        }
+
+        @Test
+        @DisplayName("takes a partial block near the limit instead of stranding quota")
+        void takesPartialBlockNearLimit() {
+            RateLimitStore shared = new InMemoryRateLimitStore();
+            LeasingRateLimitStore leasing = new LeasingRateLimitStore(shared, 8, 60_000L);
+            int admitted = 0;
+            for (int i = 0; i < 150; i++) {
+                if (leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW).allowed()) {
+                    admitted++;
+                }
+            }
+            assertThat(admitted).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("never leases more than a tenth of a rule's limit at once")
+        void capsBlockAtFractionOfLimit() {
+            RateLimitStore shared = spy(new InMemoryRateLimitStore());
+            LeasingRateLimitStore leasing = new LeasingRateLimitStore(shared, 50, 60_000L);
+            leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW);
+            verify(shared).tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 10, NOW);
+            RateLimitFilter.RateLimitConfig contact =
+                    new RateLimitFilter.RateLimitConfig(5, 60, RateLimitProperties.Algorithm.GCRA);
+            leasing.tryAcquire(NAMESPACE, KEY + 1, contact, 1, NOW);
+            verify(shared).tryAcquire(NAMESPACE, KEY + 1, contact, 1, NOW);
+        }
+
+        @Test
+        @DisplayName("re-syncs with the shared store once a lease expires")
+        void expiredLeaseIsRefetched() {
+            RateLimitStore shared = spy(new InMemoryRateLimitStore());
+            LeasingRateLimitStore leasing = new LeasingRateLimitStore(shared, 5, 1_000L);
+            leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW);
+            leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW + 1_000L);
+            verify(shared, times(2)).tryAcquire(eq(NAMESPACE), eq(KEY), eq(LEASE_CONFIG), eq(5), anyLong());
+            verify(shared).adjust(NAMESPACE, KEY, LEASE_CONFIG, -4, NOW + 1_000L);
+        }
+
+        @Test
+        @DisplayName("refunds the unused permits of an expired lease to the shared store")
+        void expiredLeaseRefundsUnusedPermits() {
+            AtomicLong nanos = new AtomicLong();
+            RateLimitStore shared = new InMemoryRateLimitStore(100, nanos::get);
+            LeasingRateLimitStore leasing = new LeasingRateLimitStore(shared, 10, 1_000L, 100, nanos::get,
+                    Runnable::run);
+            assertThat(leasing.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 1, NOW).allowed()).isTrue();
+            // Holding the lease, the shared store has only 90 permits left for other replicas.
+            assertThat(shared.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 91, NOW).allowed()).isFalse();
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            leasing.evictIdle(NOW + 2_000L, 60_000L);
+            assertThat(shared.tryAcquire(NAMESPACE, KEY, LEASE_CONFIG, 99, NOW + 2_000L).allowed()).isTrue();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("MongoDB store")
+    class MongoStoreTests {
+
+        private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        private final MongoRateLimitStore store;
+
+        MongoStoreTests() {
+            when(mongoTemplate.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+            store = new MongoRateLimitStore(mongoTemplate, "rate_limits");
+        }
+
+        @Test
+        @DisplayName("creates the bucket document on first use")
+        void insertsFreshBucket() {
+            RateLimitFilter.RateLimitCheckResult result = store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW);
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(9);
+            verify(mongoTemplate).insert(any(Document.class), eq("rate_limits"));
+        }
+
+        @Test
+        @DisplayName("retries when another replica updates the bucket concurrently")
+        void retriesOnLostUpdate() {
+            when(mongoTemplate.findById(DOCUMENT_ID, Document.class, "rate_limits"))
+                    .thenReturn(new Document("tat_micros", NOW * 1_000L));
+            when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("rate_limits")))
+                    .thenReturn(UpdateResult.acknowledged(1, 0L, null))
+                    .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW).allowed()).isTrue();
+            verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq("rate_limits"));
+        }
+
+        @Test
+        @DisplayName("retries with an update when another replica created the bucket first")
+        void retriesOnDuplicateInsert() {
+            when(mongoTemplate.findById(DOCUMENT_ID, Document.class, "rate_limits"))
+                    .thenReturn(null)
+                    .thenReturn(new Document("tat_micros", NOW * 1_000L));
+            when(mongoTemplate.insert(any(Document.class), eq("rate_limits")))
+                    .thenThrow(new DuplicateKeyException("duplicate"));
+            when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("rate_limits")))
+                    .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("rejects without writing once the shared quota is used up")
+        void rejectsWhenExhausted() {
+            long exhaustedTat = (NOW + 60_000L) * 1_000L;
+            when(mongoTemplate.findById(DOCUMENT_ID, Document.class, "rate_limits"))
+                    .thenReturn(new Document("tat_micros", exhaustedTat));
+            RateLimitFilter.RateLimitCheckResult result = store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW);
+            assertThat(result.allowed()).isFalse();
+            assertThat(result.retryAfterSeconds()).isEqualTo(6);
+            verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), anyString());
+        }
+
+        @Test
+        @DisplayName("refunds move the stored TAT back with a compare-and-set")
+        void adjustRefundsStoredTat() {
+            long tat = (NOW + 30_000L) * 1_000L;
+            when(mongoTemplate.findById(DOCUMENT_ID, Document.class, "rate_limits"))
+                    .thenReturn(new Document("tat_micros", tat));
+            when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq("rate_limits")))
+                    .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+            store.adjust(NAMESPACE, KEY, GCRA_CONFIG, -2, NOW);
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq("rate_limits"));
+            assertThat(update.getValue().getUpdateObject().get("$set", Document.class).getLong("tat_micros"))
+                    .isEqualTo(tat - 12_000_000L);
+        }
+
+        @Test
+        @DisplayName("a refund against a drained bucket writes nothing")
+        void adjustSkipsMissingBucketOnRefund() {
+            store.adjust(NAMESPACE, KEY, GCRA_CONFIG, -2, NOW);
+            verify(mongoTemplate, never()).insert(any(Document.class), anyString());
+            verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), anyString());
+        }
+
+        @Test
+        @DisplayName("fails open when MongoDB is unavailable")
+        void failsOpenOnDataAccessError() {
+            when(mongoTemplate.findById(DOCUMENT_ID, Document.class, "rate_limits"))
+                    .thenThrow(new DataAccessResourceFailureException("down"));
+            assertThat(store.tryAcquire(NAMESPACE, KEY, GCRA_CONFIG, 1, NOW).allowed()).isTrue();
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ring-buffer backed RequestWindow.
+ *
+ * @author Kapil Garg
+ */
+class RequestWindowTest {
+
+    private static final long WINDOW_MS = 60_000L;
+
+    private static RateLimitFilter.RateLimitConfig config(int maxRequests) {
+        return new RateLimitFilter.RateLimitConfig(maxRequests, 1, RateLimitProperties.Algorithm.SLIDING_LOG);
+    }
+
+    @Nested
+    @DisplayName("Sliding window semantics")
+    class SlidingWindowTests {
+
+        @Test
+        @DisplayName("admits exactly maxRequests within one window and reports decreasing remaining")
+        void admitsUpToCapacity() {
+            RequestWindow window = new RequestWindow(3);
+            long now = 1_000_000L;
+            assertThat(window.tryAcquire(now, config(3)).remaining()).isEqualTo(2);
+            assertThat(window.tryAcquire(now + 1, config(3)).remaining()).isEqualTo(1);
+            assertThat(window.tryAcquire(now + 2, config(3)).remaining()).isZero();
+            RateLimitFilter.RateLimitCheckResult blocked = window.tryAcquire(now + 3, config(3));
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.remaining()).isZero();
+        }
+
+        @Test
+        @DisplayName("refunds drop the newest entries and charges stop at capacity")
+        void adjustRefundsAndCharges() {
+            RequestWindow window = new RequestWindow(3);
+            long now = 1_000_000L;
+            for (int i = 0; i < 3; i++) {
+                window.tryAcquire(now, config(3));
+            }
+            window.adjust(now, config(3), -2);
+            assertThat(window.tryAcquire(now, config(3), 2).allowed()).isTrue();
+            assertThat(window.tryAcquire(now, config(3)).allowed()).isFalse();
+            window.adjust(now, config(3), 5);
+            window.adjust(now, config(3), -1);
+            assertThat(window.tryAcquire(now, config(3)).allowed()).isTrue();
+            assertThat(window.tryAcquire(now, config(3)).allowed()).isFalse();
+        }
+
+        @Test
+        @DisplayName("expired timestamps free capacity and the oldest timestamp advances")
+        void expiredEntriesAreEvicted() {
+            RequestWindow window = new RequestWindow(2);
+            long now = 1_000_000L;
+            window.tryAcquire(now, config(2));
+            window.tryAcquire(now + 10_000, config(2));
+            assertThat(window.tryAcquire(now + 20_000, config(2)).allowed()).isFalse();
+            RateLimitFilter.RateLimitCheckResult afterFirstExpires = window.tryAcquire(now + WINDOW_MS + 1, config(2));
+            assertThat(afterFirstExpires.allowed()).isTrue();
+            assertThat(afterFirstExpires.resetEpochSeconds()).isEqualTo((now + 10_000 + WINDOW_MS) / 1000);
+        }
+
+        @Test
+        @DisplayName("retryAfter counts down to the moment the oldest timestamp expires")
+        void retryAfterFollowsOldestTimestamp() {
+            RequestWindow window = new RequestWindow(1);
+            long now = 1_000_000L;
+            window.tryAcquire(now, config(1));
+            assertThat(window.tryAcquire(now + 15_000, config(1)).retryAfterSeconds()).isEqualTo(45);
+            assertThat(window.tryAcquire(now + 59_500, config(1)).retryAfterSeconds()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("reset is derived from the oldest timestamp in the window")
+        void resetFollowsOldestTimestamp() {
+            RequestWindow window = new RequestWindow(2);
+            long now = 1_000_000L;
+            window.tryAcquire(now, config(2));
+            RateLimitFilter.RateLimitCheckResult second = window.tryAcquire(now + 5_000, config(2));
+            assertThat(second.resetEpochSeconds()).isEqualTo((now + WINDOW_MS) / 1000);
+        }
+
+        @Test
+        @DisplayName("ring buffer wraps around correctly over many windows")
+        void wrapsAroundOverManyWindows() {
+            RequestWindow window = new RequestWindow(4);
+            long now = 0L;
+            for (int round = 0; round < 50; round++) {
+                for (int i = 0; i < 4; i++) {
+                    assertThat(window.tryAcquire(now + i, config(4)).allowed()).isTrue();
+                }
+                assertThat(window.tryAcquire(now + 4, config(4)).allowed()).isFalse();
+                now += WINDOW_MS + 10;
+            }
+        }
+
+        @Test
+        @DisplayName("isIdle reports an empty window once every timestamp has expired")
+        void isIdleAfterExpiry() {
+            RequestWindow window = new RequestWindow(2);
+            window.tryAcquire(1_000L, config(2));
+            assertThat(window.isIdle(500L + WINDOW_MS, config(2))).isFalse();
+            assertThat(window.isIdle(2_000L + WINDOW_MS, config(2))).isTrue();
+            assertThat(window.resetAtMs(config(2))).isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("concurrent callers never admit more or fewer than maxRequests")
+        void concurrentAdmissionCountIsExact() throws Exception {
+            int maxRequests = 200;
+            int threads = 16;
+            int attemptsPerThread = 1_000;
+            for (int round = 0; round < 20; round++) {
+                RequestWindow window = new RequestWindow(maxRequests);
+                AtomicInteger admitted = new AtomicInteger();
+                runConcurrently(threads, () -> {
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (window.tryAcquire(System.currentTimeMillis(), config(maxRequests)).allowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+                assertThat(admitted.get()).isEqualTo(maxRequests);
+                assertThat(window.tryAcquire(System.currentTimeMillis(), config(maxRequests)).allowed()).isFalse();
+            }
+        }
+
+        @Test
+        @DisplayName("remaining values handed out under contention are unique and cover the whole quota")
+        void remainingValuesAreUnique() throws Exception {
+            int maxRequests = 60;
+            RequestWindow window = new RequestWindow(maxRequests);
+            ConcurrentLinkedQueue<Integer> remainingValues = new ConcurrentLinkedQueue<>();
+            runConcurrently(8, () -> {
+                for (int i = 0; i < 100; i++) {
+                    RateLimitFilter.RateLimitCheckResult result =
+                            window.tryAcquire(System.currentTimeMillis(), config(maxRequests));
+                    if (result.allowed()) {
+                        remainingValues.add(result.remaining());
+                    }
+                }
+            });
+            assertThat(remainingValues).hasSize(maxRequests).doesNotHaveDuplicates();
+            assertThat(remainingValues).allMatch(r -> r >= 0 && r < maxRequests);
+        }
+
+        private void runConcurrently(int threads, Runnable task) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        task.run();
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+    }
+
+}
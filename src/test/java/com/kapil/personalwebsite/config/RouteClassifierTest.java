@@ -0,0 +1,124 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RouteClassifier and the path trie it compiles.
+ *
+ * @author Kapil Garg
+ */
+class RouteClassifierTest {
+
+    private final RouteClassifier classifier = new RouteClassifier("");
+
+    private static MockHttpServletRequest request(String method, String servletPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + servletPath);
+        request.setContextPath("/api");
+        request.setServletPath(servletPath);
+        return request;
+    }
+
+    @Nested
+    @DisplayName("Probes and excluded paths")
+    class ProbeTests {
+
+        @ParameterizedTest
+        @CsvSource({"/.env", "/.ENV.local", "/CONFIG.PHP", "/.git/HEAD", "/.DS_Store"})
+        @DisplayName("matches sensitive patterns on the request URI regardless of case")
+        void sensitivePath_isProbe(String uri) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+            assertThat(classifier.classify(request)).isEqualTo(RouteClassifier.Route.PROBE);
+        }
+
+        @Test
+        @DisplayName("uses the configured blocked paths instead of the defaults")
+        void customBlockedPaths_replaceDefaults() {
+            RouteClassifier custom = new RouteClassifier(" /private/secret , ");
+            assertThat(custom.classify(new MockHttpServletRequest("GET", "/private/secret/data")))
+                    .isEqualTo(RouteClassifier.Route.PROBE);
+            assertThat(custom.classify(new MockHttpServletRequest("GET", "/.env")))
+                    .isEqualTo(RouteClassifier.Route.OTHER);
+        }
+
+        @Test
+        @DisplayName("recognizes monitoring paths excluded from origin verification")
+        void actuatorHealth_isExcluded() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+            assertThat(classifier.classify(request)).isEqualTo(RouteClassifier.Route.EXCLUDED);
+        }
+
+        @Test
+        @DisplayName("treats a request without URI or servlet path as OTHER")
+        void missingPaths_isOther() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setRequestURI(null);
+            request.setServletPath(null);
+            assertThat(classifier.classify(request)).isEqualTo(RouteClassifier.Route.OTHER);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Application routes")
+    class ApplicationRouteTests {
+
+        @ParameterizedTest
+        @CsvSource({
+                "GET,    /blogs,                               PUBLIC_BLOG",
+                "GET,    /blogs/published/some-post,           PUBLIC_BLOG",
+                "GET,    /blogs/published/some-post/ask,       BLOG_ASK",
+                "POST,   /blogs/published/some-post/ask,       BLOG_ASK",
+                "POST,   /blogs/published/some-post/ask/stream, BLOG_ASK",
+                "PUT,    /blogs/published/some-post/ask,       PUBLIC_BLOG",
+                "GET,    /blogs/published/some-post/asking,    PUBLIC_BLOG",
+                "POST,   /contact,                             CONTACT",
+                "POST,   /contact/,                            CONTACT",
+                "GET,    /contact,                             OTHER",
+                "POST,   /contact/polish,                      CONTACT_POLISH",
+                "POST,   /contact/polish/,                     CONTACT_POLISH",
+                "POST,   /contact/other,                       OTHER",
+                "POST,   /ai/chat,                             PORTFOLIO_CHAT",
+                "GET,    /ai/chat,                             OTHER",
+                "GET,    /admin,                               OTHER",
+                "PUT,    /admin/rate-limit/rules,              OTHER",
+                "GET,    /administrator,                       OTHER",
+                "GET,    /portfolio,                           OTHER",
+                "GET,    /Blogs,                               OTHER"
+        })
+        @DisplayName("classifies the servlet path together with the method")
+        void servletPath_classified(String method, String servletPath, RouteClassifier.Route expected) {
+            assertThat(classifier.classify(request(method, servletPath))).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("marks only model-backed routes as AI and blog reads as public")
+        void routeFlags() {
+            assertThat(RouteClassifier.Route.BLOG_ASK.isAi()).isTrue();
+            assertThat(RouteClassifier.Route.PORTFOLIO_CHAT.isAi()).isTrue();
+            assertThat(RouteClassifier.Route.CONTACT_POLISH.isAi()).isTrue();
+            assertThat(RouteClassifier.Route.CONTACT.isAi()).isFalse();
+            assertThat(RouteClassifier.Route.BLOG_ASK.isPublicBlog()).isTrue();
+            assertThat(RouteClassifier.Route.PUBLIC_BLOG.isPublicBlog()).isTrue();
+            assertThat(RouteClassifier.Route.OTHER.endpointType()).isNull();
+        }
+
+    }
+
+    @Test
+    @DisplayName("classifies a request once and reads the route back from the request attribute")
+    void classify_cachesRouteOnRequest() {
+        MockHttpServletRequest request = request("POST", "/contact");
+        assertThat(classifier.classify(request)).isEqualTo(RouteClassifier.Route.CONTACT);
+        assertThat(request.getAttribute(RouteClassifier.ROUTE_ATTRIBUTE)).isEqualTo(RouteClassifier.Route.CONTACT);
+        request.setServletPath("/ai/chat");
+        assertThat(classifier.classify(request)).isEqualTo(RouteClassifier.Route.CONTACT);
+    }
+
+}
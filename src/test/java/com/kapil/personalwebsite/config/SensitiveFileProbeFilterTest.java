@@ -36,6 +36,9 @@ class SensitiveFileProbeFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Mock
+    private ProbeBanList probeBanList;
+
     private StringWriter responseWriter;
 
     @BeforeEach
@@ -48,7 +51,7 @@ class SensitiveFileProbeFilterTest {
     }
 
     private void initFilter(String blockedPaths) {
-        filter = new SensitiveFileProbeFilter(blockedPaths);
+        filter = new SensitiveFileProbeFilter(new RouteClassifier(blockedPaths), probeBanList, false);
     }
 
     @Nested
@@ -70,6 +73,17 @@ class SensitiveFileProbeFilterTest {
             assertThat(responseWriter.toString()).contains("\"status\": 404");
         }
 
+        @Test
+        @DisplayName("Records each probe as a strike against the client IP")
+        void shouldRecordProbeStrike() throws Exception {
+            initFilter("");
+            stubResponseWriter();
+            when(request.getRequestURI()).thenReturn("/.env");
+            when(request.getRemoteAddr()).thenReturn("203.0.113.7");
+            filter.doFilter(request, response, filterChain);
+            verify(probeBanList).recordProbe(eq("203.0.113.7"), anyLong());
+        }
+
         @Test
         @DisplayName("Allows non-sensitive paths to proceed")
         void shouldAllowNonSensitivePath() throws Exception {
@@ -78,6 +92,7 @@ class SensitiveFileProbeFilterTest {
             filter.doFilter(request, response, filterChain);
             verify(filterChain).doFilter(request, response);
             verify(response, never()).setStatus(anyInt());
+            verifyNoInteractions(probeBanList);
         }
 
     }
@@ -0,0 +1,102 @@
+package com.kapil.personalwebsite.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SubnetAggregator and the PrefixTrie backing its overrides.
+ *
+ * @author Kapil Garg
+ */
+class SubnetAggregatorTest {
+
+    private static SubnetAggregator aggregator(int ipv4Prefix, int ipv6Prefix, String... overrides) {
+        return new SubnetAggregator(new RateLimitProperties.Subnet(ipv4Prefix, ipv6Prefix, List.of(overrides)));
+    }
+
+    @Nested
+    @DisplayName("SubnetAggregator")
+    class AggregatorTests {
+
+        @Test
+        @DisplayName("defaults aggregate IPv4 per /24 and IPv6 per /64")
+        void defaults() {
+            SubnetAggregator aggregator = new SubnetAggregator(new RateLimitProperties.Subnet(null, null, null));
+            ClientAddress ipv4 = ClientAddress.parse("203.0.113.200");
+            ClientAddress ipv6 = ClientAddress.parse("2001:db8:1:2:3:4:5:6");
+            assertThat(aggregator.prefixLengthOf(ipv4)).isEqualTo(96 + 24);
+            assertThat(ipv4.mask(aggregator.prefixLengthOf(ipv4))).isEqualTo(ClientAddress.parse("203.0.113.0"));
+            assertThat(aggregator.prefixLengthOf(ipv6)).isEqualTo(64);
+            assertThat(ipv6.mask(aggregator.prefixLengthOf(ipv6))).isEqualTo(ClientAddress.parse("2001:db8:1:2::"));
+        }
+
+        @Test
+        @DisplayName("an IPv6 /48 groups a whole site")
+        void ipv6Site() {
+            SubnetAggregator aggregator = aggregator(24, 48);
+            ClientAddress first = ClientAddress.parse("2001:db8:1:ffff::1");
+            ClientAddress second = ClientAddress.parse("2001:db8:1:2::1");
+            assertThat(first.mask(aggregator.prefixLengthOf(first)))
+                    .isEqualTo(second.mask(aggregator.prefixLengthOf(second)));
+        }
+
+        @Test
+        @DisplayName("the longest matching override decides the prefix length")
+        void longestOverrideWins() {
+            SubnetAggregator aggregator = aggregator(24, 64, "100.64.0.0/10=32", "100.64.5.0/24=28",
+                    "2001:db8::/32=56");
+            assertThat(aggregator.prefixLengthOf(ClientAddress.parse("100.65.0.1"))).isEqualTo(96 + 32);
+            assertThat(aggregator.prefixLengthOf(ClientAddress.parse("100.64.5.9"))).isEqualTo(96 + 28);
+            assertThat(aggregator.prefixLengthOf(ClientAddress.parse("100.128.0.1"))).isEqualTo(96 + 24);
+            assertThat(aggregator.prefixLengthOf(ClientAddress.parse("2001:db8:7::1"))).isEqualTo(56);
+            assertThat(aggregator.prefixLengthOf(ClientAddress.parse("2001:db9::1"))).isEqualTo(64);
+        }
+
+        @Test
+        @DisplayName("malformed settings fail fast at startup")
+        void malformedSettings_rejected() {
+            assertThatThrownBy(() -> aggregator(33, 64)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> aggregator(24, 64, "100.64.0.0/10")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> aggregator(24, 64, "bogus/8=16")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> aggregator(24, 64, "10.0.0.0/8=x")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> aggregator(24, 64, "10.0.0.0/40=32"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("PrefixTrie")
+    class PrefixTrieTests {
+
+        @Test
+        @DisplayName("returns the default when nothing matches and grows past its initial capacity")
+        void growsAndFallsBack() {
+            PrefixTrie trie = new PrefixTrie();
+            assertThat(trie.longestMatch(ClientAddress.parse("2001:db8::1"), -5)).isEqualTo(-5);
+            for (int i = 0; i < 200; i++) {
+                trie.insert(ClientAddress.parse("2001:db8:" + Integer.toHexString(i) + "::"), 48, i);
+            }
+            assertThat(trie.longestMatch(ClientAddress.parse("2001:db8:c7::9"), -5)).isEqualTo(199);
+            assertThat(trie.longestMatch(ClientAddress.parse("2001:db8:1000::9"), -5)).isEqualTo(-5);
+        }
+
+        @Test
+        @DisplayName("a zero-length prefix matches every address")
+        void rootPrefix() {
+            PrefixTrie trie = new PrefixTrie();
+            trie.insert(new ClientAddress(0L, 0L), 0, 7);
+            trie.insert(ClientAddress.parse("10.0.0.0"), 96 + 8, 9);
+            assertThat(trie.longestMatch(ClientAddress.parse("fe80::1"), -1)).isEqualTo(7);
+            assertThat(trie.longestMatch(ClientAddress.parse("10.1.2.3"), -1)).isEqualTo(9);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.kapil.personalwebsite.controller;
+
+import com.kapil.personalwebsite.config.AdminTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for AdminAuthController.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminAuthControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AdminTokenService adminTokenService;
+
+    @InjectMocks
+    private AdminAuthController adminAuthController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(adminAuthController).build();
+    }
+
+    @Test
+    @DisplayName("POST /admin/auth/token issues a token for a password-authenticated admin")
+    void issueToken_PasswordAuthenticated_ReturnsToken() throws Exception {
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        when(adminTokenService.issue(eq(admin), anyLong()))
+                .thenReturn(new AdminTokenService.IssuedToken("payload.signature", "Bearer", 1_700_000_900L));
+        mockMvc.perform(post("/admin/auth/token").principal(admin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").value("payload.signature"))
+                .andExpect(jsonPath("$.data.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.data.expiresAt").value(1_700_000_900L));
+    }
+
+    @Test
+    @DisplayName("POST /admin/auth/token refuses to renew a bearer token")
+    void issueToken_BearerAuthenticated_ReturnsForbidden() throws Exception {
+        Authentication bearer = new PreAuthenticatedAuthenticationToken(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        mockMvc.perform(post("/admin/auth/token").principal(bearer))
+                .andExpect(status().isForbidden());
+        verify(adminTokenService, never()).issue(any(), anyLong());
+    }
+
+}
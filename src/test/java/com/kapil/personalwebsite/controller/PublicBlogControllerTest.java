@@ -0,0 +1,138 @@
+package com.kapil.personalwebsite.controller;
+
+import com.kapil.personalwebsite.config.RelatedBlogsProperties;
+import com.kapil.personalwebsite.dto.blog.BlogCursor;
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.service.blog.BlogAnalyticsService;
+import com.kapil.personalwebsite.service.blog.BlogPublicService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for PublicBlogController.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+class PublicBlogControllerTest {
+
+    private static final LocalDateTime PUBLISHED_AT = LocalDateTime.of(2025, 3, 14, 9, 30, 0, 123_000_000);
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BlogPublicService blogPublicService;
+
+    @Mock
+    private BlogAnalyticsService blogAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        PublicBlogController publicBlogController = new PublicBlogController(blogPublicService, blogAnalyticsService,
+                new RelatedBlogsProperties(5, null, null));
+        mockMvc = MockMvcBuilders.standaloneSetup(publicBlogController).build();
+    }
+
+    private static BlogSummary summary(String id) {
+        return new BlogSummary(id, "Title " + id, "slug-" + id, "Excerpt", null, 5, PUBLISHED_AT,
+                BlogCategory.BACKEND_AND_SYSTEMS);
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published returns the first page and the cursor for the next one")
+    void getPublishedBlogs_FirstPage_ReturnsSummariesAndCursor() throws Exception {
+        BlogSummary last = summary("65f2c0a1e4b0a1b2c3d4e5f6");
+        when(blogPublicService.getPublishedBlogSummaries(null, null, 20))
+                .thenReturn(new BlogSummaryPage(List.of(last), last.cursor()));
+        mockMvc.perform(get("/blogs/published"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2025-03-14T09:30:00.123,65f2c0a1e4b0a1b2c3d4e5f6"))
+                .andExpect(jsonPath("$.data[0].slug").value("slug-65f2c0a1e4b0a1b2c3d4e5f6"))
+                .andExpect(jsonPath("$.data[0].content").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published passes the cursor on and omits the header on the last page")
+    void getPublishedBlogs_LastPage_NoCursorHeader() throws Exception {
+        BlogCursor cursor = new BlogCursor(PUBLISHED_AT, "65f2c0a1e4b0a1b2c3d4e5f6");
+        when(blogPublicService.getPublishedBlogSummaries(BlogCategory.BACKEND_AND_SYSTEMS, cursor, 100))
+                .thenReturn(new BlogSummaryPage(List.of(summary("65f2c0a1e4b0a1b2c3d4e5f5")), null));
+        mockMvc.perform(get("/blogs/published/category/BACKEND_AND_SYSTEMS")
+                        .param("after", cursor.toString())
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published rejects a malformed cursor with 400")
+    void getPublishedBlogs_MalformedCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/blogs/published").param("after", "yesterday,abc"))
+                .andExpect(status().isBadRequest());
+        verify(blogPublicService, never()).getPublishedBlogSummaries(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published/search returns ranked results with snippets, capping the limit")
+    void searchPublishedBlogs_ReturnsResults() throws Exception {
+        BlogSearchResult result = new BlogSearchResult("65f2c0a1e4b0a1b2c3d4e5f6", "Caching in Spring",
+                "caching-in-spring", "Excerpt", null, PUBLISHED_AT, BlogCategory.BACKEND_AND_SYSTEMS, 2.5,
+                "Using <mark>Caffeine</mark> caches");
+        when(blogPublicService.searchPublishedBlogs("caffeine", 50)).thenReturn(List.of(result));
+        mockMvc.perform(get("/blogs/published/search").param("q", "  caffeine ").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].slug").value("caching-in-spring"))
+                .andExpect(jsonPath("$.data[0].snippet").value("Using <mark>Caffeine</mark> caches"));
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published/search rejects a blank query with 400")
+    void searchPublishedBlogs_BlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/blogs/published/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/blogs/published/search"))
+                .andExpect(status().isBadRequest());
+        verify(blogPublicService, never()).searchPublishedBlogs(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published/{slug}/related returns the precomputed neighbours, capping the limit")
+    void getRelatedBlogs_ReturnsNeighbours() throws Exception {
+        when(blogPublicService.getRelatedBlogs("my-post", 5))
+                .thenReturn(Optional.of(List.of(summary("65f2c0a1e4b0a1b2c3d4e5f6"))));
+        mockMvc.perform(get("/blogs/published/my-post/related").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].slug").value("slug-65f2c0a1e4b0a1b2c3d4e5f6"))
+                .andExpect(jsonPath("$.data[0].content").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /blogs/published/{slug}/related returns 404 for a blog that is not published")
+    void getRelatedBlogs_UnknownSlug_ReturnsNotFound() throws Exception {
+        when(blogPublicService.getRelatedBlogs("missing", 5)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/blogs/published/missing/related"))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.kapil.personalwebsite.controller;
+
+import com.kapil.personalwebsite.config.RateLimitFilter;
+import com.kapil.personalwebsite.config.RateLimitProperties;
+import com.kapil.personalwebsite.config.RateLimitRulesReloader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for RateLimitAdminController.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitAdminControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private RateLimitFilter rateLimitFilter;
+
+    @Mock
+    private RateLimitRulesReloader rateLimitRulesReloader;
+
+    @InjectMocks
+    private RateLimitAdminController rateLimitAdminController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(rateLimitAdminController).build();
+    }
+
+    private static RateLimitFilter.RulesStatus rules(long version) {
+        var config = new RateLimitFilter.RateLimitConfig(5, 60, RateLimitProperties.Algorithm.GCRA);
+        return new RateLimitFilter.RulesStatus(version, Instant.parse("2026-01-01T00:00:00Z"), "admin endpoint",
+                RateLimitProperties.Algorithm.GCRA, false,
+                Map.of("CONTACT", new RateLimitFilter.EndpointLimits(config, config, null)));
+    }
+
+    @Test
+    @DisplayName("GET /admin/rate-limit/rules returns the active rules and version")
+    void getRules_ReturnsActiveRules() throws Exception {
+        when(rateLimitFilter.rules()).thenReturn(rules(1));
+        mockMvc.perform(get("/admin/rate-limit/rules"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(1))
+                .andExpect(jsonPath("$.data.endpoints.CONTACT.fingerprint.maxRequests").value(5));
+    }
+
+    @Test
+    @DisplayName("PUT /admin/rate-limit/rules reloads the rules and returns the new version")
+    void reloadRules_ValidRules_ReturnsNewVersion() throws Exception {
+        String body = "rate.limit.contact.fingerprint.max-requests=5";
+        when(rateLimitRulesReloader.reload(body, "admin endpoint")).thenReturn(2L);
+        when(rateLimitFilter.rules()).thenReturn(rules(2));
+        mockMvc.perform(put("/admin/rate-limit/rules")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.version").value(2));
+    }
+
+    @Test
+    @DisplayName("PUT /admin/rate-limit/rules with invalid rules returns 400 and keeps the active rules")
+    void reloadRules_InvalidRules_ReturnsBadRequest() throws Exception {
+        when(rateLimitRulesReloader.reload(anyString(), anyString()))
+                .thenThrow(new IllegalArgumentException("rate.limit.blog.ip needs a positive max-requests"));
+        mockMvc.perform(put("/admin/rate-limit/rules")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("rate.limit.blog.ip.max-requests=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        verify(rateLimitFilter, never()).rules();
+    }
+
+}
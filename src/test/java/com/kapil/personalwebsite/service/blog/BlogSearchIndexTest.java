@@ -0,0 +1,157 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.dto.blog.BlogSearchResult;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for BlogSearchIndex.
+ *
+ * @author Kapil Garg
+ */
+class BlogSearchIndexTest {
+
+    private static Blog blog(String id, String title, String content) {
+        Blog blog = new Blog(title, content, "slug-" + id, null);
+        blog.setId(id);
+        blog.setStatus(BlogStatus.PUBLISHED);
+        blog.setPublishedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return blog;
+    }
+
+    private static List<String> ids(List<BlogSearchResult> results) {
+        return results.stream().map(BlogSearchResult::id).toList();
+    }
+
+    @Nested
+    @DisplayName("Ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("ranks blogs that use a term more, in shorter text, first and skips blogs without it")
+        void search_ranksByBm25() {
+            BlogSearchIndex index = BlogSearchIndex.of(List.of(
+                    blog("a", "Mongo indexes", "<p>Compound indexes, and caffeine mentioned once among many other "
+                            + "words about query plans, sorting, covered queries and explain output.</p>"),
+                    blog("b", "Local caches", "<p>Caffeine keeps hot entries; caffeine evicts cold ones.</p>"),
+                    blog("c", "Unrelated", "<p>Nothing relevant here.</p>")));
+
+            List<BlogSearchResult> results = index.search("Caffeine", 10);
+
+            assertThat(ids(results)).containsExactly("b", "a");
+            assertThat(results.get(0).score()).isGreaterThan(results.get(1).score());
+        }
+
+        @Test
+        @DisplayName("weighs title matches above body matches and matches plural forms")
+        void search_boostsTitles() {
+            BlogSearchIndex index = BlogSearchIndex.of(List.of(
+                    blog("body", "Java notes", "<p>Virtual thread pinning and virtual thread scheduling.</p>"),
+                    blog("title", "Virtual threads", "<p>Scheduling and pinning explained.</p>")));
+
+            assertThat(ids(index.search("virtual threads", 10))).containsExactly("title", "body");
+        }
+
+        @Test
+        @DisplayName("returns nothing for queries made only of stop words, and honours the limit")
+        void search_stopWordsAndLimit() {
+            BlogSearchIndex index = BlogSearchIndex.of(List.of(
+                    blog("a", "Spring one", "<p>The spring.</p>"), blog("b", "Spring two", "<p>The spring.</p>")));
+
+            assertThat(index.search("the and of", 10)).isEmpty();
+            assertThat(index.search("spring", 1)).hasSize(1);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Incremental updates")
+    class IncrementalTests {
+
+        @Test
+        @DisplayName("indexes edits, publishes and unpublishes without touching the original index")
+        void with_appliesChanges() {
+            BlogSearchIndex original = BlogSearchIndex.of(List.of(
+                    blog("a", "Caffeine caches", "<p>Hot entries.</p>"),
+                    blog("b", "Mongo", "<p>Caffeine in front of Mongo.</p>")));
+
+            BlogSearchIndex edited = original.with(blog("b", "Mongo", "<p>Indexes only.</p>"));
+            assertThat(ids(edited.search("caffeine", 10))).containsExactly("a");
+            assertThat(ids(edited.search("indexes", 10))).containsExactly("b");
+
+            Blog draft = blog("a", "Caffeine caches", "<p>Hot entries.</p>");
+            draft.setStatus(BlogStatus.DRAFT);
+            BlogSearchIndex unpublished = edited.with(draft);
+            assertThat(unpublished.search("caffeine", 10)).isEmpty();
+            assertThat(unpublished.size()).isEqualTo(1);
+
+            BlogSearchIndex published = unpublished.with(blog("c", "New post", "<p>Caffeine again.</p>"));
+            assertThat(ids(published.search("caffeine", 10))).containsExactly("c");
+
+            assertThat(ids(original.search("caffeine", 10))).containsExactlyInAnyOrder("a", "b");
+        }
+
+        @Test
+        @DisplayName("scores the same as an index rebuilt from scratch, including after compaction")
+        void with_matchesFullRebuild() {
+            BlogSearchIndex index = BlogSearchIndex.of(List.of());
+            for (int i = 0; i < 200; i++) {
+                index = index.with(blog("id" + (i % 5), "Post " + i, "<p>Caffeine tuning part " + i + ".</p>"));
+            }
+            BlogSearchIndex rebuilt = BlogSearchIndex.of(List.of(
+                    blog("id0", "Post 195", "<p>Caffeine tuning part 195.</p>"),
+                    blog("id1", "Post 196", "<p>Caffeine tuning part 196.</p>"),
+                    blog("id2", "Post 197", "<p>Caffeine tuning part 197.</p>"),
+                    blog("id3", "Post 198", "<p>Caffeine tuning part 198.</p>"),
+                    blog("id4", "Post 199", "<p>Caffeine tuning part 199.</p>")));
+
+            List<BlogSearchResult> incremental = index.search("caffeine 197", 10);
+            List<BlogSearchResult> expected = rebuilt.search("caffeine 197", 10);
+
+            assertThat(index.size()).isEqualTo(5);
+            assertThat(ids(incremental)).first().isEqualTo("id2");
+            assertThat(incremental).hasSameSizeAs(expected);
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(incremental.get(i).score()).isCloseTo(expected.get(i).score(), within(1e-9));
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Snippets")
+    class SnippetTests {
+
+        @Test
+        @DisplayName("marks matching words and escapes the surrounding text")
+        void snippet_marksAndEscapes() {
+            BlogSearchIndex index = BlogSearchIndex.of(List.of(blog("a", "Tips",
+                    "<p>Tips &amp; tricks: use <code>&lt;Caffeine&gt;</code> caches.</p>")));
+
+            assertThat(index.search("caffeine", 10).getFirst().snippet())
+                    .isEqualTo("Tips &amp; tricks: use &lt;<mark>Caffeine</mark>&gt; caches.");
+        }
+
+        @Test
+        @DisplayName("centres long text on the first match with ellipses on both sides")
+        void snippet_trimsLongText() {
+            String filler = "lorem ipsum dolor sit amet ".repeat(20);
+            String snippet = BlogSearchIndex.snippet(filler + "Caffeine " + filler, Set.of("caffeine"));
+
+            assertThat(snippet).startsWith("…").endsWith("…").contains("<mark>Caffeine</mark>");
+            assertThat(snippet.length()).isLessThan(250);
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.dto.blog.BlogSummaryPage;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogCategory;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.repository.BlogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PublishedBlogReadModel and the PublishedBlogSnapshot it serves.
+ *
+ * @author Kapil Garg
+ */
+class PublishedBlogReadModelTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private static Blog blog(String id, int day, BlogCategory category) {
+        Blog blog = new Blog("Title " + id, "<p>Content " + id + "</p>", "slug-" + id, category);
+        blog.setId(id);
+        blog.setStatus(BlogStatus.PUBLISHED);
+        blog.setPublishedAt(BASE.plusDays(day));
+        return blog;
+    }
+
+    private static List<String> ids(List<BlogSummary> summaries) {
+        return summaries.stream().map(BlogSummary::id).toList();
+    }
+
+    @Nested
+    @DisplayName("Snapshot")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("keeps only published, active blogs, newest first with ties broken by ID")
+        void of_filtersAndOrders() {
+            Blog draft = blog("d", 9, null);
+            draft.setStatus(BlogStatus.DRAFT);
+            Blog deleted = blog("x", 9, null);
+            deleted.setIsActive(false);
+            PublishedBlogSnapshot snapshot = PublishedBlogSnapshot.of(List.of(
+                    blog("a", 1, null), blog("c", 2, null), blog("b", 2, null), draft, deleted));
+            assertThat(snapshot.all()).extracting(Blog::getId).containsExactly("c", "b", "a");
+            assertThat(snapshot.bySlug("slug-b")).isPresent();
+            assertThat(snapshot.bySlug("slug-d")).isEmpty();
+            assertThat(snapshot.byId("x")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("adds, moves and removes a changed blog without touching the original snapshot")
+        void with_appliesChange() {
+            PublishedBlogSnapshot original = PublishedBlogSnapshot.of(List.of(
+                    blog("a", 1, BlogCategory.PERSONAL), blog("b", 2, BlogCategory.PERSONAL)));
+
+            PublishedBlogSnapshot added = original.with(blog("c", 3, BlogCategory.PERSONAL));
+            assertThat(added.all()).extracting(Blog::getId).containsExactly("c", "b", "a");
+            assertThat(added.summaries(BlogCategory.PERSONAL, null, 10).items()).hasSize(3);
+
+            Blog renamed = blog("a", 4, BlogCategory.CAREER_AND_GROWTH);
+            renamed.setSlug("new-slug");
+            PublishedBlogSnapshot moved = added.with(renamed);
+            assertThat(moved.all()).extracting(Blog::getId).containsExactly("a", "c", "b");
+            assertThat(moved.bySlug("slug-a")).isEmpty();
+            assertThat(moved.bySlug("new-slug")).isPresent();
+            assertThat(ids(moved.summaries(BlogCategory.PERSONAL, null, 10).items())).containsExactly("c", "b");
+
+            Blog unpublished = blog("c", 3, BlogCategory.PERSONAL);
+            unpublished.setStatus(BlogStatus.DRAFT);
+            assertThat(moved.with(unpublished).all()).extracting(Blog::getId).containsExactly("a", "b");
+
+            assertThat(original.all()).extracting(Blog::getId).containsExactly("b", "a");
+        }
+
+        @Test
+        @DisplayName("pages through summaries with cursors, per category too")
+        void summaries_pageWithCursor() {
+            List<Blog> blogs = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                blogs.add(blog("id" + i, i, i % 2 == 0 ? BlogCategory.PERSONAL : BlogCategory.CAREER_AND_GROWTH));
+            }
+            PublishedBlogSnapshot snapshot = PublishedBlogSnapshot.of(blogs);
+
+            BlogSummaryPage first = snapshot.summaries(null, null, 2);
+            assertThat(ids(first.items())).containsExactly("id4", "id3");
+            BlogSummaryPage second = snapshot.summaries(null, first.nextCursor(), 2);
+            assertThat(ids(second.items())).containsExactly("id2", "id1");
+            BlogSummaryPage last = snapshot.summaries(null, second.nextCursor(), 2);
+            assertThat(ids(last.items())).containsExactly("id0");
+            assertThat(last.nextCursor()).isNull();
+
+            BlogSummaryPage personal = snapshot.summaries(BlogCategory.PERSONAL, first.nextCursor(), 10);
+            assertThat(ids(personal.items())).containsExactly("id2", "id0");
+            assertThat(snapshot.summaries(BlogCategory.LEARNING_AND_FUNDAMENTALS, null, 10).items()).isEmpty();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Read model")
+    class ReadModelTests {
+
+        private final BlogRepository blogRepository = mock(BlogRepository.class);
+        private final PublishedBlogReadModel readModel = new PublishedBlogReadModel(blogRepository);
+
+        @Test
+        @DisplayName("has no snapshot until loaded, so reads fall back to Mongo")
+        void beforeLoad_noSnapshot() {
+            assertThat(readModel.current()).isNull();
+            when(blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED))
+                    .thenThrow(new IllegalStateException("Mongo unavailable"));
+            readModel.onReady();
+            assertThat(readModel.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("applies blog changes to the loaded snapshot without querying Mongo again")
+        void onBlogChanged_patchesSnapshot() {
+            when(blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED))
+                    .thenReturn(List.of(blog("a", 1, null)));
+            readModel.onReady();
+            PublishedBlogSnapshot loaded = readModel.current();
+
+            readModel.onBlogChanged(new BlogChangedEvent(blog("b", 2, null), null));
+
+            assertThat(readModel.current()).isNotSameAs(loaded);
+            assertThat(readModel.current().all()).extracting(Blog::getId).containsExactly("b", "a");
+            verify(blogRepository, times(1)).findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED);
+        }
+
+    }
+
+}
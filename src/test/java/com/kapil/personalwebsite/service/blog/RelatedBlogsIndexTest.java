@@ -0,0 +1,94 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.dto.blog.BlogSummary;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RelatedBlogsIndex.
+ *
+ * @author Kapil Garg
+ */
+class RelatedBlogsIndexTest {
+
+    private static Blog blog(String id, int day, String title, String content) {
+        Blog blog = new Blog(title, content, "slug-" + id, null);
+        blog.setId(id);
+        blog.setStatus(BlogStatus.PUBLISHED);
+        blog.setPublishedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusDays(day));
+        return blog;
+    }
+
+    private static List<String> ids(List<BlogSummary> summaries) {
+        return summaries.stream().map(BlogSummary::id).toList();
+    }
+
+    @Nested
+    @DisplayName("Embeddings")
+    class EmbeddingTests {
+
+        private final List<Blog> blogs = List.of(
+                blog("a", 1, "A", "<p>a</p>"), blog("b", 2, "B", "<p>b</p>"), blog("c", 3, "C", "<p>c</p>"),
+                blog("d", 4, "D", "<p>d</p>"), blog("e", 5, "E", "<p>e</p>"));
+        private final Map<String, float[]> embeddings = Map.of(
+                "a", new float[]{1, 0, 0},
+                "b", new float[]{0.9f, 0.1f, 0},
+                "c", new float[]{0, 1, 0},
+                "d", new float[]{0, 0.8f, 0.6f});
+
+        @Test
+        @DisplayName("keeps the most similar posts above the minimum similarity, never the post itself")
+        void fromEmbeddings_ranksByCosine() {
+            RelatedBlogsIndex index = RelatedBlogsIndex.fromEmbeddings(blogs, embeddings, 3, 0.5);
+
+            assertThat(ids(index.related("a", 5))).containsExactly("b");
+            assertThat(ids(index.related("c", 5))).containsExactly("d");
+            assertThat(index.related("e", 5)).isEmpty();
+            assertThat(index.related("unknown", 5)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("keeps at most the configured number of posts, newer ones winning ties, and honours the limit")
+        void fromEmbeddings_boundedAndTieBroken() {
+            RelatedBlogsIndex index = RelatedBlogsIndex.fromEmbeddings(blogs, embeddings, 2, -1);
+
+            assertThat(ids(index.related("a", 5))).containsExactly("b", "d");
+            assertThat(ids(index.related("a", 1))).containsExactly("b");
+        }
+
+    }
+
+    @Nested
+    @DisplayName("TF-IDF")
+    class TermVectorTests {
+
+        @Test
+        @DisplayName("relates posts that share distinctive terms and ignores unpublished ones")
+        void fromTermVectors_relatesSharedTopics() {
+            Blog draft = blog("draft", 6, "Caffeine eviction draft", "<p>Caffeine eviction and cache sizing.</p>");
+            draft.setStatus(BlogStatus.DRAFT);
+            RelatedBlogsIndex index = RelatedBlogsIndex.fromTermVectors(List.of(
+                    blog("cache1", 1, "Caffeine cache tuning", "<p>Sizing a Caffeine cache and eviction.</p>"),
+                    blog("cache2", 2, "Caffeine eviction", "<p>How Caffeine picks entries for eviction.</p>"),
+                    blog("mongo1", 3, "Mongo compound indexes", "<p>Compound indexes cover Mongo queries.</p>"),
+                    blog("mongo2", 4, "Mongo query plans", "<p>Explain shows whether Mongo queries use indexes.</p>"),
+                    draft), 3, 0.05);
+
+            assertThat(ids(index.related("cache1", 3))).first().isEqualTo("cache2");
+            assertThat(ids(index.related("mongo1", 3))).first().isEqualTo("mongo2");
+            assertThat(ids(index.related("cache2", 3))).doesNotContain("cache2", "draft");
+            assertThat(index.size()).isEqualTo(4);
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.kapil.personalwebsite.service.blog;
+
+import com.kapil.personalwebsite.ai.vector.BlogEmbeddingService;
+import com.kapil.personalwebsite.config.RelatedBlogsProperties;
+import com.kapil.personalwebsite.entity.Blog;
+import com.kapil.personalwebsite.entity.BlogStatus;
+import com.kapil.personalwebsite.repository.BlogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RelatedBlogsModel.
+ *
+ * @author Kapil Garg
+ */
+class RelatedBlogsModelTest {
+
+    private final BlogRepository blogRepository = mock(BlogRepository.class);
+    private final BlogEmbeddingService embeddingService = mock(BlogEmbeddingService.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<BlogEmbeddingService> embeddingProvider = mock(ObjectProvider.class);
+    private final RelatedBlogsModel model = new RelatedBlogsModel(new PublishedBlogReadModel(blogRepository),
+            blogRepository, embeddingProvider, new RelatedBlogsProperties(5, 0.0, 1_500L));
+
+    private static Blog blog(String id, int day) {
+        Blog blog = new Blog("Title " + id, "<p>Content " + id + "</p>", "slug-" + id, null);
+        blog.setId(id);
+        blog.setStatus(BlogStatus.PUBLISHED);
+        blog.setPublishedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusDays(day));
+        return blog;
+    }
+
+    private void givenPublished(Blog... blogs) {
+        when(blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED))
+                .thenReturn(List.of(blogs));
+    }
+
+    @Test
+    @DisplayName("computes TF-IDF lists at startup without embedding and without recomputing afterwards")
+    void onReady_withoutEmbeddings_computesTermVectorsOnce() {
+        givenPublished(blog("a", 1), blog("b", 2));
+
+        model.onReady();
+        model.recomputeIfStale();
+
+        assertThat(model.current().method()).isEqualTo("tf-idf");
+        verify(blogRepository, times(1)).findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED);
+    }
+
+    @Test
+    @DisplayName("serves TF-IDF lists from startup and upgrades them to embeddings in the background")
+    void onReady_withEmbeddings_upgradesInBackground() {
+        givenPublished(blog("a", 1), blog("b", 2));
+        when(embeddingProvider.getIfAvailable()).thenReturn(embeddingService);
+        when(embeddingService.embedBlogs(any())).thenReturn(Map.of("a", new float[]{1, 0}, "b", new float[]{1, 0}));
+
+        model.onReady();
+
+        assertThat(model.current().method()).isEqualTo("tf-idf");
+        verifyNoInteractions(embeddingService);
+
+        model.recomputeIfStale();
+
+        assertThat(model.current().method()).isEqualTo("embeddings");
+    }
+
+    @Test
+    @DisplayName("leaves the lists missing when startup fails and computes them on the next background run")
+    void onReady_failure_retriedInBackground() {
+        when(blogRepository.findByStatusAndIsActiveTrueOrderByPublishedAtDesc(BlogStatus.PUBLISHED))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenReturn(List.of(blog("a", 1)));
+
+        model.onReady();
+
+        assertThat(model.current()).isNull();
+        assertThat(model.retryAfterSeconds()).isEqualTo(2);
+
+        model.recomputeIfStale();
+
+        assertThat(model.current()).isNotNull();
+    }
+
+}